@@ -0,0 +1,44 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.service.DestinoAuditoria;
+import com.SAFE_Rescue.API_Administrador.service.DestinoAuditoriaArchivo;
+import com.SAFE_Rescue.API_Administrador.service.DestinoAuditoriaTabla;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Selección del destino de los registros de auditoría: la tabla auditoria de la base de datos
+ * o un archivo local de líneas JSON con rotación por tamaño.
+ */
+@Configuration
+public class AuditoriaConfig {
+
+    /**
+     * Crea el destino indicado en app.auditoria.destino.
+     * @param destino Nombre del destino (tabla o archivo)
+     * @param ruta Ruta del archivo actual, si el destino es archivo
+     * @param tamanoMaximo Bytes a partir de los cuales se rota el archivo
+     * @param archivos Cantidad de archivos conservados
+     * @param jdbc Acceso a la base de datos
+     * @param objectMapper Serializador de los registros
+     * @return Destino de la auditoría
+     * @throws IllegalArgumentException Si el destino no es tabla ni archivo
+     */
+    @Bean
+    public DestinoAuditoria destinoAuditoria(@Value("${app.auditoria.destino:tabla}") String destino,
+                                             @Value("${app.auditoria.archivo.ruta:auditoria/auditoria.log}") String ruta,
+                                             @Value("${app.auditoria.archivo.tamano-maximo-bytes:10485760}") long tamanoMaximo,
+                                             @Value("${app.auditoria.archivo.archivos:5}") int archivos,
+                                             JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        return switch (destino) {
+            case "tabla" -> new DestinoAuditoriaTabla(jdbc);
+            case "archivo" -> new DestinoAuditoriaArchivo(Path.of(ruta), tamanoMaximo, archivos, objectMapper);
+            default -> throw new IllegalArgumentException("Destino de auditoría desconocido: " + destino);
+        };
+    }
+}
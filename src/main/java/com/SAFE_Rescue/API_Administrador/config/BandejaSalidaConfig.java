@@ -0,0 +1,39 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.service.DestinoSalida;
+import com.SAFE_Rescue.API_Administrador.service.DestinoSalidaArchivo;
+import com.SAFE_Rescue.API_Administrador.service.DestinoSalidaMemoria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Selección del destino al que la bandeja de salida entrega los eventos: una lista en memoria, por
+ * omisión, o un archivo local de líneas JSON que se activa explícitamente. Un intermediario de
+ * mensajes se agrega como otra implementación de DestinoSalida.
+ */
+@Configuration
+public class BandejaSalidaConfig {
+
+    /**
+     * Crea el destino indicado en app.bandeja-salida.destino.
+     * @param destino Nombre del destino (memoria o archivo)
+     * @param ruta Ruta del archivo, si el destino es archivo
+     * @param objectMapper Serializador de los eventos
+     * @return Destino de la bandeja de salida
+     * @throws IllegalArgumentException Si el destino no es archivo ni memoria
+     */
+    @Bean
+    public DestinoSalida destinoSalida(@Value("${app.bandeja-salida.destino:memoria}") String destino,
+                                       @Value("${app.bandeja-salida.archivo.ruta:bandeja-salida/eventos.log}") String ruta,
+                                       ObjectMapper objectMapper) {
+        return switch (destino) {
+            case "archivo" -> new DestinoSalidaArchivo(Path.of(ruta), objectMapper);
+            case "memoria" -> new DestinoSalidaMemoria();
+            default -> throw new IllegalArgumentException("Destino de la bandeja de salida desconocido: " + destino);
+        };
+    }
+}
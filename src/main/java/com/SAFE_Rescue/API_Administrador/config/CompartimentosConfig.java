@@ -0,0 +1,28 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.service.Compartimentos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+
+/**
+ * Registro del filtro de compartimentos de solicitudes.
+ * Se ejecuta antes que los demás filtros para rechazar la sobrecarga lo antes posible.
+ */
+@Configuration
+public class CompartimentosConfig {
+
+    @Bean
+    public FilterRegistrationBean<FiltroCompartimentos> filtroCompartimentos(Compartimentos compartimentos,
+                                                                            ObjectMapper objectMapper) throws IOException {
+        FilterRegistrationBean<FiltroCompartimentos> registro =
+                new FilterRegistrationBean<>(new FiltroCompartimentos(compartimentos, objectMapper));
+        registro.addUrlPatterns("/api-administrador/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
@@ -0,0 +1,80 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración del enrutamiento lectura/escritura entre la base de datos primaria y una réplica.
+ * Solo se activa cuando se define la propiedad app.datasource.replica.url;
+ * en otro caso se usa el DataSource autoconfigurado por Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class DataSourceConfig {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    /**
+     * Construye el DataSource enrutado.
+     * El proxy perezoso retrasa la obtención de la conexión hasta la primera sentencia,
+     * cuando ya se conoce si la transacción es de solo lectura.
+     * @param propiedades Propiedades spring.datasource de la base de datos primaria
+     * @param tamanoPoolPrimaria Tamaño máximo del pool de la primaria
+     * @param url URL JDBC de la réplica
+     * @param usuario Usuario de la réplica
+     * @param contrasenia Contraseña de la réplica
+     * @param tamanoPool Tamaño máximo del pool de la réplica
+     * @param consultaRetraso Consulta que devuelve el retraso de la réplica en segundos
+     * @param retrasoMaximo Retraso máximo tolerado en segundos
+     * @return DataSource principal de la aplicación
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties propiedades,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanoPoolPrimaria,
+                                 @Value("${app.datasource.replica.url}") String url,
+                                 @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String usuario,
+                                 @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String contrasenia,
+                                 @Value("${app.datasource.replica.maximum-pool-size:10}") int tamanoPool,
+                                 @Value("${app.datasource.replica.lag-query:}") String consultaRetraso,
+                                 @Value("${app.datasource.replica.max-lag-seconds:5}") long retrasoMaximo) {
+        HikariDataSource primaria = propiedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primaria.setPoolName("primaria");
+        primaria.setMaximumPoolSize(tamanoPoolPrimaria);
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario)
+                .password(contrasenia)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(tamanoPool);
+        replica.setReadOnly(true);
+
+        routingDataSource = new ReplicaRoutingDataSource(primaria, replica, consultaRetraso, retrasoMaximo);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Verifica periódicamente la salud y el retraso de la réplica.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:5000}")
+    public void verificarReplica() {
+        if (routingDataSource != null) {
+            routingDataSource.verificarReplica();
+        }
+    }
+}
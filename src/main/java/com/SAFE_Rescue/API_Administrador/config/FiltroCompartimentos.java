@@ -0,0 +1,85 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.modelo.ErrorRespuesta;
+import com.SAFE_Rescue.API_Administrador.service.Compartimentos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro que asigna cada solicitud de la API a su compartimento y rechaza con 503 SERVICE UNAVAILABLE
+ * las que no obtienen lugar. Las métricas quedan fuera de los compartimentos para poder observar
+ * el servicio aun cuando está saturado, y también los tokens: la verificación y la introspección
+ * responden desde memoria con el tráfico de cada solicitud del gateway, y una avalancha de logins
+ * no debe dejarlas sin lugar.
+ */
+public class FiltroCompartimentos extends OncePerRequestFilter {
+
+    private static final String PREFIJO = "/api-administrador/v1/";
+
+    private final Compartimentos compartimentos;
+    private final byte[] cuerpoRechazo;
+
+    /**
+     * Crea el filtro.
+     * @param compartimentos Compartimentos de solicitudes
+     * @param objectMapper Serializador del cuerpo de la respuesta de rechazo
+     * @throws IOException Si no se puede serializar la respuesta de rechazo
+     */
+    public FiltroCompartimentos(Compartimentos compartimentos, ObjectMapper objectMapper) throws IOException {
+        this.compartimentos = compartimentos;
+        this.cuerpoRechazo = objectMapper.writeValueAsBytes(new ErrorRespuesta(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "SOBRECARGA", "El servicio está saturado, intente nuevamente en unos segundos", null));
+    }
+
+    /**
+     * Clasifica la solicitud en login, lectura o escritura.
+     * @param request Solicitud HTTP
+     * @return Clase de la solicitud, o null si no pasa por los compartimentos
+     */
+    static Compartimentos.Clase clasificar(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        if (!ruta.startsWith(PREFIJO) || ruta.startsWith(PREFIJO + "metricas") || ruta.startsWith(PREFIJO + "tokens/")) {
+            return null;
+        }
+        if (ruta.startsWith(PREFIJO + "credenciales/login")) {
+            return Compartimentos.Clase.LOGIN;
+        }
+        String metodo = request.getMethod();
+        if ("GET".equals(metodo) || "HEAD".equals(metodo)) {
+            return Compartimentos.Clase.LECTURA;
+        }
+        return Compartimentos.Clase.ESCRITURA;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Compartimentos.Clase clase = clasificar(request);
+        if (clase == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long inicio = System.nanoTime();
+        if (!compartimentos.entrar(clase)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(cuerpoRechazo);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            compartimentos.salir(clase, System.nanoTime() - inicio);
+        }
+    }
+}
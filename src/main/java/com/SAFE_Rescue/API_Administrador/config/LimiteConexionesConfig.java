@@ -0,0 +1,130 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.service.LimiteConcurrenciaBaseDatos;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aplicación del límite adaptativo de concurrencia a la obtención de conexiones del DataSource.
+ * <p>
+ * Cada conexión que pide una solicitud HTTP ocupa un lugar del límite desde que se obtiene hasta que
+ * se devuelve al pool, y ese tiempo es la latencia con que el límite se ajusta. Como el lugar se ocupa
+ * antes de pedir la conexión, una solicitud rechazada no llega a tomarla. Lo que se mide es el uso
+ * real del pool: una lectura resuelta por la caché dentro de una transacción cuenta solo lo que dura
+ * esa transacción, y la que no abre transacción no cuenta. Las conexiones de los hilos de segundo
+ * plano (trabajos, auditoría, tareas programadas) no se limitan: no deben rechazarse y su duración,
+ * con recorridos largos, no dice nada sobre la capacidad disponible para las solicitudes.
+ * </p>
+ * <p>
+ * Con JPA el rechazo llega envuelto en la excepción de Spring que indica que no se pudo abrir la
+ * transacción; ManejadorErrores lo busca entre las causas para responder 503.
+ * </p>
+ */
+@Configuration
+public class LimiteConexionesConfig {
+
+    /**
+     * Registra el post-procesador que envuelve el DataSource principal con el límite.
+     * Es estático para no adelantar la creación de esta configuración; el límite se resuelve
+     * en la primera conexión.
+     * @param limite Proveedor del límite adaptativo
+     * @return Post-procesador del DataSource
+     */
+    @Bean
+    public static BeanPostProcessor limiteConexiones(ObjectProvider<LimiteConcurrenciaBaseDatos> limite) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if ("dataSource".equals(nombre) && bean instanceof DataSource dataSource
+                        && !(bean instanceof DataSourceLimitado)) {
+                    return new DataSourceLimitado(dataSource, limite);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * DataSource que ocupa un lugar del límite por cada conexión pedida desde una solicitud HTTP
+     * y lo libera al cerrarla.
+     */
+    static final class DataSourceLimitado extends DelegatingDataSource {
+
+        private final ObjectProvider<LimiteConcurrenciaBaseDatos> limite;
+
+        DataSourceLimitado(DataSource destino, ObjectProvider<LimiteConcurrenciaBaseDatos> limite) {
+            super(destino);
+            this.limite = limite;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return limitar(null, null);
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String contrasenia) throws SQLException {
+            return limitar(usuario, contrasenia);
+        }
+
+        // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+        private Connection limitar(String usuario, String contrasenia) throws SQLException {
+            if (RequestContextHolder.getRequestAttributes() == null) {
+                return obtener(usuario, contrasenia);
+            }
+            LimiteConcurrenciaBaseDatos actual = limite.getObject();
+            actual.entrar();
+            long inicio = System.nanoTime();
+            Connection conexion;
+            try {
+                conexion = obtener(usuario, contrasenia);
+            } catch (SQLException | RuntimeException e) {
+                actual.salir(inicio);
+                throw e;
+            }
+            AtomicBoolean cerrada = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, metodo, argumentos) -> switch (metodo.getName()) {
+                        case "equals" -> proxy == argumentos[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "close" -> {
+                            try {
+                                yield invocar(conexion, metodo, argumentos);
+                            } finally {
+                                if (cerrada.compareAndSet(false, true)) {
+                                    actual.salir(inicio);
+                                }
+                            }
+                        }
+                        default -> invocar(conexion, metodo, argumentos);
+                    });
+        }
+
+        private Connection obtener(String usuario, String contrasenia) throws SQLException {
+            return usuario == null ? obtainTargetDataSource().getConnection()
+                    : obtainTargetDataSource().getConnection(usuario, contrasenia);
+        }
+
+        private static Object invocar(Connection conexion, Method metodo, Object[] argumentos)
+                throws Throwable {
+            try {
+                return metodo.invoke(conexion, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * DataSource que enruta las transacciones de solo lectura hacia la réplica
+ * y el resto del trabajo hacia la base de datos primaria.
+ * Si la réplica no responde o su retraso supera el máximo tolerado,
+ * las lecturas vuelven a la primaria hasta la siguiente verificación correcta.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIA = "primaria";
+    public static final String REPLICA = "replica";
+
+    private final DataSource primaria;
+    private final DataSource replica;
+    private final String consultaRetraso;
+    private final long retrasoMaximoSegundos;
+
+    private volatile boolean replicaDisponible = true;
+
+    /**
+     * Crea el DataSource de enrutamiento.
+     * @param primaria DataSource de la base de datos primaria
+     * @param replica DataSource de la réplica de lectura
+     * @param consultaRetraso Consulta que devuelve el retraso de la réplica en segundos (puede ser vacía)
+     * @param retrasoMaximoSegundos Retraso máximo tolerado antes de volver a la primaria
+     */
+    public ReplicaRoutingDataSource(DataSource primaria, DataSource replica,
+                                    String consultaRetraso, long retrasoMaximoSegundos) {
+        this.primaria = primaria;
+        this.replica = replica;
+        this.consultaRetraso = consultaRetraso;
+        this.retrasoMaximoSegundos = retrasoMaximoSegundos;
+        setTargetDataSources(Map.of(PRIMARIA, primaria, REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Determina el destino de la conexión según el estado de la transacción actual.
+     * @return REPLICA si la transacción es de solo lectura y la réplica está disponible, PRIMARIA en otro caso
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaDisponible && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return REPLICA;
+        }
+        return PRIMARIA;
+    }
+
+    /**
+     * Obtiene una conexión y vuelve a la primaria si la réplica falla.
+     * @return Conexión a la base de datos elegida
+     * @throws SQLException Si la primaria tampoco entrega conexión
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PRIMARIA.equals(determineCurrentLookupKey())) {
+            return primaria.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaDisponible = false;
+            logger.warn("Réplica no disponible, las lecturas vuelven a la primaria: " + e.getMessage());
+            return primaria.getConnection();
+        }
+    }
+
+    /**
+     * Verifica la salud y el retraso de la réplica.
+     * Se invoca periódicamente para decidir si las lecturas pueden volver a la réplica.
+     */
+    public void verificarReplica() {
+        boolean disponible;
+        try (Connection conexion = replica.getConnection()) {
+            disponible = conexion.isValid(2) && retrasoDentroDeTolerancia(conexion);
+        } catch (SQLException e) {
+            disponible = false;
+        }
+        if (disponible != replicaDisponible) {
+            logger.info("Réplica de lectura " + (disponible ? "habilitada" : "deshabilitada"));
+        }
+        replicaDisponible = disponible;
+    }
+
+    /**
+     * Indica si la réplica está recibiendo las lecturas.
+     * @return true si la réplica está disponible
+     */
+    public boolean isReplicaDisponible() {
+        return replicaDisponible;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private boolean retrasoDentroDeTolerancia(Connection conexion) throws SQLException {
+        if (consultaRetraso == null || consultaRetraso.isBlank()) {
+            return true;
+        }
+        try (Statement sentencia = conexion.createStatement();
+             ResultSet resultado = sentencia.executeQuery(consultaRetraso)) {
+            if (!resultado.next()) {
+                return false;
+            }
+            long retraso = resultado.getLong(1);
+            return !resultado.wasNull() && retraso <= retrasoMaximoSegundos;
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.SAFE_Rescue.API_Administrador.controller;
 
 import com.SAFE_Rescue.API_Administrador.service.BomberoService;
+import com.SAFE_Rescue.API_Administrador.service.DeteccionDuplicados;
+import com.SAFE_Rescue.API_Administrador.service.ImportacionBomberos;
+import com.SAFE_Rescue.API_Administrador.service.NominaBomberos;
+import com.SAFE_Rescue.API_Administrador.service.RegistroIdempotencia;
+import com.SAFE_Rescue.API_Administrador.service.TrabajoService;
 import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.PosibleDuplicado;
+import com.SAFE_Rescue.API_Administrador.modelo.ReporteDuplicados;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,13 +18,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * Controlador REST para la gestión de Bomberos
@@ -26,35 +51,97 @@ import java.util.NoSuchElementException;
 @Tag(name = "Bomberos", description = "Operaciones de CRUD relacionadas con bomberos y asignación de credenciales")
 public class BomberoController {
 
+    private static final Logger log = LoggerFactory.getLogger(BomberoController.class);
+
     @Autowired
     private BomberoService bomberoService;
 
+    @Autowired
+    private RegistroIdempotencia registroIdempotencia;
+
+    @Autowired
+    private ImportacionBomberos importacionBomberos;
+
+    @Autowired
+    private TrabajoService trabajoService;
+
+    @Autowired
+    private NominaBomberos nominaBomberos;
+
+    @Autowired
+    private DeteccionDuplicados deteccionDuplicados;
+
     // OPERACIONES CRUD BÁSICAS
 
     /**
      * Obtiene todos los bomberos registrados en el sistema.
+     * Sin el parámetro fields y con respuesta JSON, el listado se sirve desde la nómina en memoria,
+     * ordenado por ID y sin consultar la base de datos; si la nómina no está disponible se consulta.
+     * Con el parámetro fields solo se consultan y devuelven los campos indicados.
+     * @param fields Campos a devolver separados por coma (opcional)
+     * @param accept Tipos de contenido aceptados por el cliente
      * @return ResponseEntity con lista de bomberos o estado NO_CONTENT si no hay registros
      */
     @GetMapping
-    @Operation(summary = "Obtener todos los bomberos", description = "Obtiene una lista con todos los bomberos")
+    @Operation(summary = "Obtener todos los bomberos", description = "Obtiene una lista con todos los bomberos, opcionalmente solo con los campos indicados")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de bomberos obtenida exitosamente.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = Bombero.class))),
-            @ApiResponse(responseCode = "204", description = "No hay bomberos registrados.")
+            @ApiResponse(responseCode = "204", description = "No hay bomberos registrados."),
+            @ApiResponse(responseCode = "400", description = "Campo solicitado no permitido.")
     })
-    public ResponseEntity<List<Bombero>> listar() {
-        List<Bombero> bomberos = bomberoService.findAll();
+    public ResponseEntity<?> listar(@Parameter(description = "Campos a devolver separados por coma, por ejemplo id,run,nombre,telefono")
+                                    @RequestParam(required = false) String fields,
+                                    @Parameter(hidden = true)
+                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (fields == null && aceptaJson(accept)) {
+            NominaBomberos.CuerpoNomina nomina = nominaBomberos.leer();
+            if (nomina != null) {
+                if (nomina.getBomberos() == 0) {
+                    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                }
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .contentLength(nomina.contentLength())
+                        .body(nomina);
+            }
+        }
+        List<?> bomberos;
+        if (fields != null) {
+            bomberos = bomberoService.findAllCampos(fields);
+        } else {
+            bomberos = bomberoService.findAll();
+        }
         if (bomberos.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         return ResponseEntity.ok(bomberos);
     }
 
+    /**
+     * Obtiene los bomberos indicados por un lote de IDs.
+     * Los IDs repetidos se consideran una vez; los que no existen se informan en faltantes.
+     * @param ids IDs separados por coma, por ejemplo 1,2,3
+     * @return ResponseEntity con los bomberos encontrados en el orden solicitado y los IDs faltantes
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Obtener bomberos por lote de IDs", description = "Obtiene varios bomberos con una sola consulta, en el orden de los IDs solicitados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote resuelto; los IDs inexistentes se informan en faltantes.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoLote.class))),
+            @ApiResponse(responseCode = "400", description = "Sin IDs, IDs inválidos o más de " + ResultadoLote.MAXIMO_IDS + " IDs.")
+    })
+    public ResponseEntity<ResultadoLote<Bombero>> listarPorIds(@Parameter(description = "IDs separados por coma, por ejemplo 1,2,3", required = true)
+                                                               @RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(bomberoService.findByIds(ids));
+    }
+
     /**
      * Busca un bombero por su ID.
      * @param id ID del bombero a buscar
-     * @return ResponseEntity con el bombero encontrado o mensaje de error
+     * @return ResponseEntity con el bombero encontrado
      */
     @GetMapping("/{id}")
     @Operation(summary = "Obtiene un bombero por su ID", description = "Obtiene un bombero al buscarlo por su ID")
@@ -64,39 +151,183 @@ public class BomberoController {
                             schema = @Schema(implementation = Bombero.class))),
             @ApiResponse(responseCode = "404", description = "Bombero no encontrado.")
     })
-    public ResponseEntity<?> buscarBombero(@Parameter(description = "ID del bombero a buscar", required = true)
-                                           @PathVariable Integer id) {
-        Bombero bombero;
-        try {
-            bombero = bomberoService.findByID(id);
-        } catch (NoSuchElementException e) {
-            return new ResponseEntity<>("Bombero no encontrado", HttpStatus.NOT_FOUND);
-        }
+    public ResponseEntity<Bombero> buscarBombero(@Parameter(description = "ID del bombero a buscar", required = true)
+                                                 @PathVariable Integer id) {
+        Bombero bombero = bomberoService.findByID(id);
         return ResponseEntity.ok(bombero);
     }
 
+    /**
+     * Busca un bombero por su RUN.
+     * @param run RUN del bombero a buscar, sin dígito verificador
+     * @return ResponseEntity con el bombero encontrado
+     */
+    @GetMapping("/run/{run}")
+    @Operation(summary = "Obtiene un bombero por su RUN", description = "Obtiene un bombero al buscarlo por su RUN sin dígito verificador")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bombero encontrado.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Bombero.class))),
+            @ApiResponse(responseCode = "404", description = "Bombero no encontrado.")
+    })
+    public ResponseEntity<Bombero> buscarBomberoPorRun(@Parameter(description = "RUN del bombero a buscar", required = true)
+                                                       @PathVariable int run) {
+        Bombero bombero = bomberoService.findByRun(run);
+        return ResponseEntity.ok(bombero);
+    }
+
+    /**
+     * Busca un bombero por su teléfono.
+     * @param telefono Teléfono del bombero a buscar
+     * @return ResponseEntity con el bombero encontrado
+     */
+    @GetMapping("/telefono/{telefono}")
+    @Operation(summary = "Obtiene un bombero por su teléfono", description = "Obtiene un bombero al buscarlo por su número de teléfono")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bombero encontrado.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Bombero.class))),
+            @ApiResponse(responseCode = "404", description = "Bombero no encontrado.")
+    })
+    public ResponseEntity<Bombero> buscarBomberoPorTelefono(@Parameter(description = "Teléfono del bombero a buscar", required = true)
+                                                            @PathVariable int telefono) {
+        Bombero bombero = bomberoService.findByTelefono(telefono);
+        return ResponseEntity.ok(bombero);
+    }
+
+    /**
+     * Analiza todos los bomberos en busca de personas registradas dos veces con pequeñas diferencias
+     * en el nombre, los apellidos o el RUN, sobre el padrón en memoria de DeteccionDuplicados.
+     * @param umbral Puntaje mínimo de un par (opcional)
+     * @param limite Cantidad máxima de pares devueltos
+     * @return ResponseEntity con los pares encontrados de mayor a menor puntaje y el costo del análisis
+     */
+    @GetMapping("/duplicados")
+    @Operation(summary = "Detectar bomberos duplicados", description = "Compara nombre, apellidos y RUN por distancia de edición y clave fonética, solo entre bomberos del mismo bloque fonético")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Análisis completado.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReporteDuplicados.class))),
+            @ApiResponse(responseCode = "400", description = "Umbral o límite fuera de rango."),
+            @ApiResponse(responseCode = "503", description = "Ya hay un análisis en curso o el padrón todavía no está construido.")
+    })
+    public ResponseEntity<ReporteDuplicados> detectarDuplicados(@Parameter(description = "Puntaje mínimo entre 0 y 1; por defecto el configurado")
+                                                                @RequestParam(required = false) Double umbral,
+                                                                @Parameter(description = "Cantidad máxima de pares devueltos")
+                                                                @RequestParam(defaultValue = "100") int limite) {
+        return ResponseEntity.ok(deteccionDuplicados.analizar(umbral, limite));
+    }
+
     /**
      * Crea un nuevo Bombero.
+     * Con el encabezado Idempotency-Key los reintentos reciben la respuesta original sin volver a crear el bombero.
+     * Con verificarDuplicados el bombero se crea igual y, si se parece a otros, sus IDs se informan en el
+     * encabezado X-Posibles-Duplicados (no se repite en las respuestas guardadas por idempotencia). La
+     * búsqueda es solo un aviso: corre después de confirmar la creación y, si falla, se omite el encabezado.
      * @param bombero Datos del Bombero a crear
+     * @param claveIdempotencia Clave de idempotencia opcional
+     * @param verificarDuplicados Indica si se buscan bomberos parecidos al creado
      * @return ResponseEntity con mensaje de confirmación o error
      */
     @PostMapping
     @Operation(summary = "Crear un nuevo bombero", description = "Crea un nuevo bombero en el sistema")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Bombero creado con éxito."),
+            @ApiResponse(responseCode = "201", description = "Bombero creado con éxito; con verificarDuplicados, el encabezado X-Posibles-Duplicados lista los bomberos parecidos."),
             @ApiResponse(responseCode = "400", description = "Error en la solicitud."),
+            @ApiResponse(responseCode = "409", description = "RUN, teléfono o correo ya registrados, o solicitud en curso con la misma clave de idempotencia."),
+            @ApiResponse(responseCode = "422", description = "Clave de idempotencia usada con otro contenido."),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor.")
     })
     public ResponseEntity<String> agregarBombero(@RequestBody @Parameter(description = "Datos del bombero a crear", required = true)
-                                                 Bombero bombero) {
-        try {
-            bomberoService.save(bombero);
+                                                 Bombero bombero,
+                                                 @Parameter(description = "Clave para reintentar la creación sin repetirla")
+                                                 @RequestHeader(value = RegistroIdempotencia.ENCABEZADO, required = false) String claveIdempotencia,
+                                                 @Parameter(description = "Buscar bomberos parecidos al creado e informarlos en X-Posibles-Duplicados")
+                                                 @RequestParam(defaultValue = "false") boolean verificarDuplicados) {
+        AtomicReference<Bombero> guardado = new AtomicReference<>();
+        ResponseEntity<String> respuesta = registroIdempotencia.ejecutar(claveIdempotencia, "POST /bomberos", bombero, () -> {
+            guardado.set(bomberoService.save(bombero));
             return ResponseEntity.status(HttpStatus.CREATED).body("Bombero creado con éxito.");
+        });
+        if (!verificarDuplicados || guardado.get() == null) {
+            return respuesta;
+        }
+        List<PosibleDuplicado> similares;
+        try {
+            similares = deteccionDuplicados.buscarSimilares(guardado.get());
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron buscar duplicados del bombero {}; se responde sin el aviso", guardado.get().getId(), e);
+            return respuesta;
+        }
+        if (similares.isEmpty()) {
+            return respuesta;
+        }
+        return ResponseEntity.status(respuesta.getStatusCode())
+                .headers(respuesta.getHeaders())
+                .header(DeteccionDuplicados.ENCABEZADO, similares.stream()
+                        .map(similar -> String.valueOf(similar.getDuplicadoId()))
+                        .collect(Collectors.joining(",")))
+                .body(respuesta.getBody());
+    }
+
+    /**
+     * Importa bomberos desde un archivo CSV con las columnas run, dv, nombre, aPaterno, aMaterno,
+     * telefono, correo, contrasenia y rolId (separadas por coma o punto y coma, en UTF-8).
+     * La solicitud solo verifica el encabezado y guarda el archivo; la importación corre en segundo
+     * plano como trabajo IMPORTAR_BOMBEROS, cuyo avance se consulta en /trabajos/{id}.
+     * @param archivo Archivo CSV
+     * @return ResponseEntity con el trabajo creado y estado ACCEPTED
+     * @throws IOException Si no se puede leer o guardar el archivo
+     */
+    @PostMapping(value = "/importar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar bomberos desde CSV", description = "Encola la creación masiva de bomberos y devuelve el trabajo; el resultado de cada fila se obtiene en /bomberos/importar/{id}/reporte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Archivo recibido; la importación quedó encolada.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Trabajo.class))),
+            @ApiResponse(responseCode = "400", description = "Archivo vacío o sin las columnas requeridas."),
+            @ApiResponse(responseCode = "503", description = "La cola de trabajos está llena.")
+    })
+    public ResponseEntity<Trabajo> importarBomberos(@Parameter(description = "Archivo CSV con un bombero por fila", required = true)
+                                                    @RequestParam("archivo") MultipartFile archivo) throws IOException {
+        Map<String, String> parametros;
+        try (InputStream entrada = archivo.getInputStream()) {
+            parametros = importacionBomberos.preparar(entrada);
+        }
+        Trabajo trabajo;
+        try {
+            trabajo = trabajoService.enviar(ImportacionBomberos.TIPO, parametros);
         } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
+            importacionBomberos.descartar(parametros);
+            throw e;
         }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api-administrador/v1/trabajos/" + trabajo.getId()))
+                .body(trabajo);
+    }
+
+    /**
+     * Obtiene el reporte CSV de una importación con el resultado de cada fila procesada.
+     * @param id ID del trabajo de importación
+     * @param response Respuesta HTTP donde se escribe el reporte
+     * @throws IOException Si no se puede escribir el reporte
+     */
+    @GetMapping("/importar/{id}/reporte")
+    @Operation(summary = "Obtener el reporte de una importación", description = "Devuelve un CSV (fila,resultado,id,campo,mensaje) con las filas ya procesadas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reporte de las filas procesadas hasta el momento.",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "404", description = "Importación no encontrada.")
+    })
+    public void reporteImportacion(@Parameter(description = "ID del trabajo de importación", required = true)
+                                   @PathVariable int id,
+                                   HttpServletResponse response) throws IOException {
+        String importacion = importacionBomberos.buscarImportacion(id);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("text/csv;charset=UTF-8");
+        Writer reporte = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        importacionBomberos.escribirReporte(importacion, reporte);
+        reporte.flush();
     }
 
     /**
@@ -111,22 +342,15 @@ public class BomberoController {
             @ApiResponse(responseCode = "200", description = "Bombero actualizado con éxito."),
             @ApiResponse(responseCode = "404", description = "Bombero no encontrado."),
             @ApiResponse(responseCode = "400", description = "Error en la solicitud."),
+            @ApiResponse(responseCode = "409", description = "RUN o teléfono ya registrados."),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor.")
     })
     public ResponseEntity<String> actualizarBombero(@Parameter(description = "ID del bombero a actualizar", required = true)
                                                     @PathVariable Integer id,
                                                     @RequestBody @Parameter(description = "Datos actualizados del bombero", required = true)
                                                     Bombero bombero) {
-        try {
-            bomberoService.update(bombero, id);
-            return ResponseEntity.ok("Actualizado con éxito");
-        } catch (NoSuchElementException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Bombero no encontrado");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
-        }
+        bomberoService.update(bombero, id);
+        return ResponseEntity.ok("Actualizado con éxito");
     }
 
     /**
@@ -143,16 +367,8 @@ public class BomberoController {
     })
     public ResponseEntity<String> eliminarBombero(@Parameter(description = "ID del bombero a eliminar", required = true)
                                                   @PathVariable Integer id) {
-        try {
-            bomberoService.delete(id);
-            return ResponseEntity.ok("Bombero eliminado con éxito.");
-        } catch (NoSuchElementException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Bombero no encontrado");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
-        }
+        bomberoService.delete(id);
+        return ResponseEntity.ok("Bombero eliminado con éxito.");
     }
 
     // GESTIÓN DE RELACIONES
@@ -174,11 +390,30 @@ public class BomberoController {
                                                     @PathVariable Integer bomberoId,
                                                     @Parameter(description = "ID de la credencial a asignar", required = true)
                                                     @PathVariable Integer credencialId) {
+        bomberoService.asignarCredencial(bomberoId, credencialId);
+        return ResponseEntity.ok("Credencial asignada al bombero exitosamente");
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Indica si el tipo de contenido preferido por el cliente (el de mayor calidad, y a igual calidad
+     * el primero) es JSON. Sin encabezado Accept se responde JSON.
+     */
+    private static boolean aceptaJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
         try {
-            bomberoService.asignarCredencial(bomberoId, credencialId);
-            return ResponseEntity.ok("Credencial asignada al bombero exitosamente");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            MediaType preferido = null;
+            for (MediaType tipo : MediaType.parseMediaTypes(accept)) {
+                if (preferido == null || tipo.getQualityValue() > preferido.getQualityValue()) {
+                    preferido = tipo;
+                }
+            }
+            return preferido != null && preferido.getQualityValue() > 0 && preferido.isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
         }
     }
 }
\ No newline at end of file
@@ -2,7 +2,12 @@ package com.SAFE_Rescue.API_Administrador.controller;
 
 import com.SAFE_Rescue.API_Administrador.modelo.Login;
 import com.SAFE_Rescue.API_Administrador.service.CredencialService;
+import com.SAFE_Rescue.API_Administrador.service.RegistroIdempotencia;
+import com.SAFE_Rescue.API_Administrador.service.LimitadorLogin;
+import com.SAFE_Rescue.API_Administrador.service.TokenService;
 import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
+import com.SAFE_Rescue.API_Administrador.modelo.TokenSesion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,13 +15,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.NoSuchElementException;
 
 /**
  * Controlador REST para la gestión de credenciales
@@ -30,6 +36,15 @@ public class CredencialController {
     @Autowired
     private CredencialService credencialService;
 
+    @Autowired
+    private RegistroIdempotencia registroIdempotencia;
+
+    @Autowired
+    private LimitadorLogin limitadorLogin;
+
+    @Autowired
+    private TokenService tokenService;
+
     // OPERACIONES CRUD BÁSICAS
 
     /**
@@ -52,10 +67,29 @@ public class CredencialController {
         return ResponseEntity.ok(credenciales);
     }
 
+    /**
+     * Obtiene las credenciales indicadas por un lote de IDs.
+     * Los IDs repetidos se consideran una vez; los que no existen se informan en faltantes.
+     * @param ids IDs separados por coma, por ejemplo 1,2,3
+     * @return ResponseEntity con las credenciales encontradas en el orden solicitado y los IDs faltantes
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Obtener credenciales por lote de IDs", description = "Obtiene varias credenciales con una sola consulta, en el orden de los IDs solicitados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote resuelto; los IDs inexistentes se informan en faltantes.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoLote.class))),
+            @ApiResponse(responseCode = "400", description = "Sin IDs, IDs inválidos o más de " + ResultadoLote.MAXIMO_IDS + " IDs.")
+    })
+    public ResponseEntity<ResultadoLote<Credencial>> listarPorIds(@Parameter(description = "IDs separados por coma, por ejemplo 1,2,3", required = true)
+                                                                  @RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(credencialService.findByIds(ids));
+    }
+
     /**
      * Busca una credencial por su ID.
      * @param id ID de la credencial a buscar
-     * @return ResponseEntity con la credencial encontrada o mensaje de error
+     * @return ResponseEntity con la credencial encontrada
      */
     @GetMapping("/{id}")
     @Operation(summary = "Obtiene una credencial por su ID", description = "Obtiene una credencial al buscarla por su ID")
@@ -65,20 +99,17 @@ public class CredencialController {
                             schema = @Schema(implementation = Credencial.class))),
             @ApiResponse(responseCode = "404", description = "Credencial no encontrada.")
     })
-    public ResponseEntity<?> buscarCredencial(@Parameter(description = "ID de la credencial a buscar", required = true)
-                                              @PathVariable Integer id) {
-        Credencial credencial;
-        try {
-            credencial = credencialService.findByID(id);
-        } catch (NoSuchElementException e) {
-            return new ResponseEntity<>("Credencial no encontrada", HttpStatus.NOT_FOUND);
-        }
+    public ResponseEntity<Credencial> buscarCredencial(@Parameter(description = "ID de la credencial a buscar", required = true)
+                                                       @PathVariable Integer id) {
+        Credencial credencial = credencialService.findByID(id);
         return ResponseEntity.ok(credencial);
     }
 
     /**
      * Crea una nueva credencial.
+     * Con el encabezado Idempotency-Key los reintentos reciben la respuesta original sin volver a crear la credencial.
      * @param credencial Datos de la credencial a crear
+     * @param claveIdempotencia Clave de idempotencia opcional
      * @return ResponseEntity con mensaje de confirmación o error
      */
     @PostMapping
@@ -86,18 +117,18 @@ public class CredencialController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Credencial creada con éxito."),
             @ApiResponse(responseCode = "400", description = "Error en la solicitud."),
+            @ApiResponse(responseCode = "409", description = "Correo ya registrado, o solicitud en curso con la misma clave de idempotencia."),
+            @ApiResponse(responseCode = "422", description = "Clave de idempotencia usada con otro contenido."),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor.")
     })
     public ResponseEntity<String> agregarCredencial(@RequestBody @Parameter(description = "Datos de la credencial a crear", required = true)
-                                                    Credencial credencial) {
-        try {
+                                                    Credencial credencial,
+                                                    @Parameter(description = "Clave para reintentar la creación sin repetirla")
+                                                    @RequestHeader(value = RegistroIdempotencia.ENCABEZADO, required = false) String claveIdempotencia) {
+        return registroIdempotencia.ejecutar(claveIdempotencia, "POST /credenciales", credencial, () -> {
             credencialService.save(credencial);
             return ResponseEntity.status(HttpStatus.CREATED).body("Credencial creada con éxito.");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
-        }
+        });
     }
 
     /**
@@ -112,22 +143,15 @@ public class CredencialController {
             @ApiResponse(responseCode = "200", description = "Credencial actualizada con éxito."),
             @ApiResponse(responseCode = "404", description = "Credencial no encontrada."),
             @ApiResponse(responseCode = "400", description = "Error en la solicitud."),
+            @ApiResponse(responseCode = "409", description = "Correo ya registrado."),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor.")
     })
     public ResponseEntity<String> actualizarCredencial(@Parameter(description = "ID de la credencial a actualizar", required = true)
                                                        @PathVariable Integer id,
                                                        @RequestBody @Parameter(description = "Datos actualizados de la credencial", required = true)
                                                        Credencial credencial) {
-        try {
-            credencialService.update(credencial, id);
-            return ResponseEntity.ok("Actualizado con éxito");
-        } catch (NoSuchElementException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Credencial no encontrada");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
-        }
+        credencialService.update(credencial, id);
+        return ResponseEntity.ok("Actualizado con éxito");
     }
 
     /**
@@ -144,35 +168,41 @@ public class CredencialController {
     })
     public ResponseEntity<String> eliminarCredencial(@Parameter(description = "ID de la credencial a eliminar", required = true)
                                                      @PathVariable Integer id) {
-        try {
-            credencialService.delete(id);
-            return ResponseEntity.ok("Credencial eliminada con éxito.");
-        } catch (NoSuchElementException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Credencial no encontrada");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
-        }
+        credencialService.delete(id);
+        return ResponseEntity.ok("Credencial eliminada con éxito.");
     }
 
     /**
      * Permite iniciar sesión.
+     * Los intentos se limitan por IP y por correo antes de consultar la base de datos.
+     * Un inicio de sesión exitoso entrega un token firmado que los demás servicios
+     * pueden validar sin consultar esta API.
      * @param login credenciales de inicio de sesión
-     * @return ResponseEntity con mensaje de confirmación o error y aumenta la cantidad de intentos fallidos
+     * @param request solicitud HTTP, usada para obtener la IP del cliente
+     * @return ResponseEntity con el token de sesión o error y aumenta la cantidad de intentos fallidos
      */
     @PostMapping("/login")
-    @Operation(summary = "Iniciar sesión", description = "Permite a un usuario iniciar sesión con sus credenciales")
+    @Operation(summary = "Iniciar sesión", description = "Permite a un usuario iniciar sesión con sus credenciales y obtener un token firmado")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Login exitoso."),
-            @ApiResponse(responseCode = "401", description = "Credenciales incorrectas.")
+            @ApiResponse(responseCode = "200", description = "Login exitoso.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TokenSesion.class))),
+            @ApiResponse(responseCode = "401", description = "Credenciales incorrectas."),
+            @ApiResponse(responseCode = "429", description = "Demasiados intentos de inicio de sesión.")
     })
-    public ResponseEntity<String> login(@RequestBody @Parameter(description = "Credenciales de inicio de sesión", required = true)
-                                        Login login) {
-        boolean isAuthenticated = credencialService.verificarCredenciales(login.getCorreo(), login.getContrasenia());
+    public ResponseEntity<?> login(@RequestBody @Parameter(description = "Credenciales de inicio de sesión", required = true)
+                                   Login login, HttpServletRequest request) {
+        long espera = limitadorLogin.intentar(request.getRemoteAddr(), login.getCorreo());
+        if (espera > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(espera))
+                    .body("Demasiados intentos de inicio de sesión");
+        }
 
-        if (isAuthenticated) {
-            return ResponseEntity.ok("Login exitoso");
+        Credencial credencial = credencialService.autenticar(login.getCorreo(), login.getContrasenia());
+
+        if (credencial != null) {
+            return ResponseEntity.ok(tokenService.emitir(credencial));
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Credenciales incorrectas");
         }
@@ -195,11 +225,7 @@ public class CredencialController {
                                              @PathVariable Integer credencialId,
                                              @Parameter(description = "ID del rol a asignar", required = true)
                                              @PathVariable Integer rolId) {
-        try {
-            credencialService.asignarRol(credencialId, rolId);
-            return ResponseEntity.ok("Rol asignado a la credencial exitosamente");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-        }
+        credencialService.asignarRol(credencialId, rolId);
+        return ResponseEntity.ok("Rol asignado a la credencial exitosamente");
     }
 }
\ No newline at end of file
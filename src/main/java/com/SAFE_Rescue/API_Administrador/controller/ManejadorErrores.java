@@ -0,0 +1,144 @@
+package com.SAFE_Rescue.API_Administrador.controller;
+
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.ErrorDominioException;
+import com.SAFE_Rescue.API_Administrador.exception.NoProcesableException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.ErrorRespuesta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Traducción centralizada de errores a respuestas HTTP con cuerpo ErrorRespuesta.
+ * Los errores de dominio se responden sin registrar trazas; cualquier otro error se
+ * registra y se responde como error interno sin exponer su detalle.
+ */
+@ControllerAdvice
+public class ManejadorErrores {
+
+    private static final Logger log = LoggerFactory.getLogger(ManejadorErrores.class);
+
+    /**
+     * Responde los errores de validación con 400 BAD REQUEST.
+     * @param e Error de validación
+     * @return Respuesta con el detalle del error
+     */
+    @ExceptionHandler(ValidacionException.class)
+    public ResponseEntity<ErrorRespuesta> validacion(ValidacionException e) {
+        return responder(HttpStatus.BAD_REQUEST, e);
+    }
+
+    /**
+     * Responde los recursos inexistentes con 404 NOT FOUND.
+     * @param e Error de recurso no encontrado
+     * @return Respuesta con el detalle del error
+     */
+    @ExceptionHandler(RecursoNoEncontradoException.class)
+    public ResponseEntity<ErrorRespuesta> noEncontrado(RecursoNoEncontradoException e) {
+        return responder(HttpStatus.NOT_FOUND, e);
+    }
+
+    /**
+     * Responde los valores únicos repetidos con 409 CONFLICT.
+     * @param e Error de conflicto
+     * @return Respuesta con el detalle del error
+     */
+    @ExceptionHandler(ConflictoException.class)
+    public ResponseEntity<ErrorRespuesta> conflicto(ConflictoException e) {
+        return responder(HttpStatus.CONFLICT, e);
+    }
+
+    /**
+     * Responde las solicitudes que no se pueden procesar con 422 UNPROCESSABLE ENTITY.
+     * @param e Error de solicitud no procesable
+     * @return Respuesta con el detalle del error
+     */
+    @ExceptionHandler(NoProcesableException.class)
+    public ResponseEntity<ErrorRespuesta> noProcesable(NoProcesableException e) {
+        return responder(HttpStatus.UNPROCESSABLE_ENTITY, e);
+    }
+
+    /**
+     * Responde la saturación temporal con 503 SERVICE UNAVAILABLE e indica cuándo reintentar.
+     * @param e Error de sobrecarga
+     * @return Respuesta con el detalle del error
+     */
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<ErrorRespuesta> sobrecarga(SobrecargaException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorRespuesta(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getCodigo(), e.getMessage(), null));
+    }
+
+    /**
+     * Responde con 404 NOT FOUND las búsquedas de componentes que aún usan NoSuchElementException.
+     * @param e Error de elemento no encontrado
+     * @return Respuesta con el detalle del error
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ErrorRespuesta> noEncontrado(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorRespuesta(HttpStatus.NOT_FOUND.value(), "NO_ENCONTRADO", e.getMessage(), null));
+    }
+
+    /**
+     * Responde con 400 BAD REQUEST los argumentos inválidos, los parámetros con tipo incorrecto
+     * y los cuerpos que no se pueden leer.
+     * @param e Error de argumento inválido
+     * @return Respuesta con el detalle del error
+     */
+    @ExceptionHandler({IllegalArgumentException.class, TypeMismatchException.class, HttpMessageNotReadableException.class})
+    public ResponseEntity<ErrorRespuesta> solicitudInvalida(RuntimeException e) {
+        String mensaje = e instanceof IllegalArgumentException ? e.getMessage() : "Solicitud con formato inválido";
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorRespuesta(HttpStatus.BAD_REQUEST.value(), "VALIDACION", mensaje, null));
+    }
+
+    /**
+     * Responde cualquier otro error. Las excepciones de Spring MVC que ya definen su estado
+     * (método no permitido, encabezado faltante, etc.) conservan ese estado, y una sobrecarga
+     * envuelta por otra excepción (por ejemplo, al abrir una transacción) se responde como
+     * sobrecarga; el resto se registra con su traza y se responde con 500 INTERNAL SERVER ERROR.
+     * @param e Error inesperado
+     * @return Respuesta con el estado correspondiente
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorRespuesta> errorInterno(Exception e) {
+        if (e instanceof ErrorResponse respuesta) {
+            HttpStatusCode estado = respuesta.getStatusCode();
+            return ResponseEntity.status(estado)
+                    .headers(respuesta.getHeaders())
+                    .body(new ErrorRespuesta(estado.value(), estado.is4xxClientError() ? "SOLICITUD_INVALIDA" : "ERROR_INTERNO",
+                            respuesta.getBody().getDetail(), null));
+        }
+        for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof SobrecargaException sobrecarga) {
+                return sobrecarga(sobrecarga);
+            }
+        }
+        log.error("Error inesperado al procesar la solicitud", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorRespuesta(HttpStatus.INTERNAL_SERVER_ERROR.value(), "ERROR_INTERNO",
+                        "Error interno del servidor.", null));
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private ResponseEntity<ErrorRespuesta> responder(HttpStatus estado, ErrorDominioException e) {
+        return ResponseEntity.status(estado)
+                .body(new ErrorRespuesta(estado.value(), e.getCodigo(), e.getMessage(), e.getCampo()));
+    }
+}
@@ -0,0 +1,255 @@
+package com.SAFE_Rescue.API_Administrador.controller;
+
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaAuditoria;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaBandejaSalida;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaIndices;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaInvalidacion;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaBarrido;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCache;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCoalescencia;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCompartimento;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaLimite;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaNomina;
+import com.SAFE_Rescue.API_Administrador.service.Auditoria;
+import com.SAFE_Rescue.API_Administrador.service.BandejaSalida;
+import com.SAFE_Rescue.API_Administrador.service.BusInvalidacion;
+import com.SAFE_Rescue.API_Administrador.service.BloqueoCredenciales;
+import com.SAFE_Rescue.API_Administrador.service.BomberoService;
+import com.SAFE_Rescue.API_Administrador.service.CacheCorreosDesconocidos;
+import com.SAFE_Rescue.API_Administrador.service.Compartimentos;
+import com.SAFE_Rescue.API_Administrador.service.CredencialService;
+import com.SAFE_Rescue.API_Administrador.service.EstadisticasCacheService;
+import com.SAFE_Rescue.API_Administrador.service.IndicesBomberos;
+import com.SAFE_Rescue.API_Administrador.service.LimitadorLogin;
+import com.SAFE_Rescue.API_Administrador.service.LimiteConcurrenciaBaseDatos;
+import com.SAFE_Rescue.API_Administrador.service.NominaBomberos;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador REST para la consulta de métricas internas
+ * Proporciona endpoints para observar cachés y otros componentes de rendimiento
+ */
+@RestController
+@RequestMapping("/api-administrador/v1/metricas")
+@Tag(name = "Métricas", description = "Consulta de métricas internas de rendimiento")
+public class MetricasController {
+
+    @Autowired
+    private EstadisticasCacheService estadisticasCacheService;
+
+    @Autowired
+    private LimitadorLogin limitadorLogin;
+
+    @Autowired
+    private CacheCorreosDesconocidos correosDesconocidos;
+
+    @Autowired
+    private BomberoService bomberoService;
+
+    @Autowired
+    private CredencialService credencialService;
+
+    @Autowired
+    private Compartimentos compartimentos;
+
+    @Autowired
+    private LimiteConcurrenciaBaseDatos limiteBaseDatos;
+
+    @Autowired
+    private BloqueoCredenciales bloqueoCredenciales;
+
+    @Autowired
+    private Auditoria auditoria;
+
+    @Autowired
+    private BandejaSalida bandejaSalida;
+
+    @Autowired
+    private BusInvalidacion busInvalidacion;
+
+    @Autowired
+    private NominaBomberos nominaBomberos;
+
+    @Autowired
+    private IndicesBomberos indicesBomberos;
+
+    /**
+     * Obtiene las estadísticas de la caché de segundo nivel por región.
+     * @return ResponseEntity con la lista de estadísticas por región
+     */
+    @GetMapping("/cache")
+    @Operation(summary = "Obtener estadísticas de caché", description = "Obtiene aciertos, fallos y tasa de aciertos de cada región de la caché de segundo nivel")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaCache.class)))
+    })
+    public ResponseEntity<List<EstadisticaCache>> estadisticasCache() {
+        return ResponseEntity.ok(estadisticasCacheService.findAll());
+    }
+
+    /**
+     * Obtiene el estado del limitador de intentos de inicio de sesión y de la caché de correos desconocidos.
+     * @return ResponseEntity con las cubetas activas, los intentos rechazados y los correos desconocidos
+     */
+    @GetMapping("/login")
+    @Operation(summary = "Obtener métricas del limitador de login", description = "Obtiene la cantidad de clientes con cubeta activa, de intentos rechazados y de correos desconocidos en caché")
+    @ApiResponse(responseCode = "200", description = "Métricas obtenidas exitosamente.")
+    public ResponseEntity<Map<String, Long>> limitadorLogin() {
+        return ResponseEntity.ok(Map.of(
+                "cubetasActivas", (long) limitadorLogin.getCubetasActivas(),
+                "rechazos", limitadorLogin.getRechazos(),
+                "correosDesconocidos", correosDesconocidos.getTamano(),
+                "rechazosCorreoDesconocido", correosDesconocidos.getAciertos()));
+    }
+
+    /**
+     * Obtiene las estadísticas de agrupación de búsquedas concurrentes por ID.
+     * @return ResponseEntity con la lista de estadísticas por consulta
+     */
+    @GetMapping("/coalescencia")
+    @Operation(summary = "Obtener estadísticas de coalescencia", description = "Obtiene cuántas búsquedas por ID compartieron una consulta ya en curso")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaCoalescencia.class)))
+    })
+    public ResponseEntity<List<EstadisticaCoalescencia>> coalescencia() {
+        return ResponseEntity.ok(List.of(
+                bomberoService.getEstadisticaCoalescencia(),
+                credencialService.getEstadisticaCoalescencia()));
+    }
+
+    /**
+     * Obtiene el estado de los compartimentos de login, lecturas y escrituras.
+     * @return ResponseEntity con la lista de estadísticas por compartimento
+     */
+    @GetMapping("/compartimentos")
+    @Operation(summary = "Obtener estado de los compartimentos", description = "Obtiene la concurrencia, la cola, los rechazos y la latencia de cada clase de solicitudes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaCompartimento.class)))
+    })
+    public ResponseEntity<List<EstadisticaCompartimento>> compartimentos() {
+        return ResponseEntity.ok(compartimentos.getEstadisticas());
+    }
+
+    /**
+     * Obtiene el estado del límite adaptativo de operaciones contra la base de datos.
+     * @return ResponseEntity con el límite actual, las latencias y los rechazos
+     */
+    @GetMapping("/limite-base-datos")
+    @Operation(summary = "Obtener estado del límite de la base de datos", description = "Obtiene el límite de operaciones simultáneas aprendido a partir de la latencia, las operaciones en curso y los rechazos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado obtenido exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaLimite.class)))
+    })
+    public ResponseEntity<EstadisticaLimite> limiteBaseDatos() {
+        return ResponseEntity.ok(limiteBaseDatos.getEstadistica());
+    }
+
+    /**
+     * Obtiene la última ejecución de los barridos de desactivación y reinicio de intentos fallidos.
+     * @return ResponseEntity con las credenciales procesadas, los lotes y el rendimiento de cada barrido
+     */
+    @GetMapping("/bloqueo-credenciales")
+    @Operation(summary = "Obtener barridos de bloqueo de credenciales", description = "Obtiene la última ejecución de la desactivación por intentos fallidos y del reinicio de contadores, con credenciales procesadas por segundo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Barridos obtenidos exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaBarrido.class)))
+    })
+    public ResponseEntity<List<EstadisticaBarrido>> bloqueoCredenciales() {
+        return ResponseEntity.ok(bloqueoCredenciales.getEstadisticas());
+    }
+
+    /**
+     * Obtiene el estado del registro de auditoría asíncrono.
+     * @return ResponseEntity con eventos pendientes, descartados, escritos y retraso del consumidor
+     */
+    @GetMapping("/auditoria")
+    @Operation(summary = "Obtener estado de la auditoría", description = "Obtiene los eventos pendientes, descartados por desborde, escritos y perdidos, y el retraso del consumidor de la auditoría")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado obtenido exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaAuditoria.class)))
+    })
+    public ResponseEntity<EstadisticaAuditoria> auditoria() {
+        return ResponseEntity.ok(auditoria.getEstadistica());
+    }
+
+    /**
+     * Obtiene el estado de la retransmisión de la bandeja de salida.
+     * @return ResponseEntity con eventos pendientes, entregados y retraso de entrega
+     */
+    @GetMapping("/bandeja-salida")
+    @Operation(summary = "Obtener estado de la bandeja de salida", description = "Obtiene los eventos pendientes de entregar a otros módulos, los entregados por este nodo y el retraso de entrega")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado obtenido exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaBandejaSalida.class)))
+    })
+    public ResponseEntity<EstadisticaBandejaSalida> bandejaSalida() {
+        return ResponseEntity.ok(bandejaSalida.getEstadistica());
+    }
+
+    /**
+     * Obtiene el estado del bus de invalidación de cachés entre nodos.
+     * @return ResponseEntity con el costo de los sondeos y el retraso de las invalidaciones
+     */
+    @GetMapping("/invalidacion")
+    @Operation(summary = "Obtener estado de la invalidación entre nodos", description = "Obtiene la cantidad y duración promedio de los sondeos, las invalidaciones aplicadas y su retraso promedio y máximo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado obtenido exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaInvalidacion.class)))
+    })
+    public ResponseEntity<EstadisticaInvalidacion> invalidacion() {
+        return ResponseEntity.ok(busInvalidacion.getEstadistica());
+    }
+
+    /**
+     * Obtiene el tamaño y el costo de mantener la nómina de bomberos en memoria.
+     * @return ResponseEntity con los bomberos, la memoria estimada, la duración de la última reconstrucción y los parches
+     */
+    @GetMapping("/nomina")
+    @Operation(summary = "Obtener estado de la nómina en memoria", description = "Obtiene los bomberos y la memoria estimada de la instantánea, la duración de la última reconstrucción y la cantidad y duración promedio de los parches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado obtenido exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaNomina.class)))
+    })
+    public ResponseEntity<EstadisticaNomina> nomina() {
+        return ResponseEntity.ok(nominaBomberos.getEstadistica());
+    }
+
+    /**
+     * Obtiene el tamaño y la memoria de los índices de RUN y teléfono en memoria.
+     * @return ResponseEntity con los bomberos indexados, la memoria estimada y las búsquedas
+     */
+    @GetMapping("/indices")
+    @Operation(summary = "Obtener estado de los índices de RUN y teléfono", description = "Obtiene los bomberos indexados, la memoria estimada por bombero, la duración de la última reconstrucción y las búsquedas resueltas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado obtenido exitosamente.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticaIndices.class)))
+    })
+    public ResponseEntity<EstadisticaIndices> indices() {
+        return ResponseEntity.ok(indicesBomberos.getEstadistica());
+    }
+}
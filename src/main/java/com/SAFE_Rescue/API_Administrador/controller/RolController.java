@@ -1,6 +1,7 @@
 package com.SAFE_Rescue.API_Administrador.controller;
 
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
 import com.SAFE_Rescue.API_Administrador.service.RolService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,7 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.NoSuchElementException;
 
 /**
  * Controlador REST para la gestión de roles
@@ -51,10 +51,29 @@ public class RolController {
         return ResponseEntity.ok(roles);
     }
 
+    /**
+     * Obtiene los roles indicados por un lote de IDs.
+     * Los IDs repetidos se consideran una vez; los que no existen se informan en faltantes.
+     * @param ids IDs separados por coma, por ejemplo 1,2,3
+     * @return ResponseEntity con los roles encontrados en el orden solicitado y los IDs faltantes
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Obtener roles por lote de IDs", description = "Obtiene varios roles con una sola consulta, en el orden de los IDs solicitados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote resuelto; los IDs inexistentes se informan en faltantes.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoLote.class))),
+            @ApiResponse(responseCode = "400", description = "Sin IDs, IDs inválidos o más de " + ResultadoLote.MAXIMO_IDS + " IDs.")
+    })
+    public ResponseEntity<ResultadoLote<Rol>> listarPorIds(@Parameter(description = "IDs separados por coma, por ejemplo 1,2,3", required = true)
+                                                           @RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(rolService.findByIds(ids));
+    }
+
     /**
      * Busca un rol por su ID.
      * @param id ID del rol a buscar
-     * @return ResponseEntity con el rol encontrado o mensaje de error
+     * @return ResponseEntity con el rol encontrado
      */
     @GetMapping("/{id}")
     @Operation(summary = "Obtiene un rol por su ID", description = "Obtiene un rol al buscarlo por su ID")
@@ -64,14 +83,9 @@ public class RolController {
                             schema = @Schema(implementation = Rol.class))),
             @ApiResponse(responseCode = "404", description = "Rol no encontrado.")
     })
-    public ResponseEntity<?> buscarRol(@Parameter(description = "ID del rol a buscar", required = true)
-                                       @PathVariable int id) {
-        Rol rol;
-        try {
-            rol = rolService.findById(id);
-        } catch (NoSuchElementException e) {
-            return new ResponseEntity<>("Rol no encontrado", HttpStatus.NOT_FOUND);
-        }
+    public ResponseEntity<Rol> buscarRol(@Parameter(description = "ID del rol a buscar", required = true)
+                                         @PathVariable int id) {
+        Rol rol = rolService.findById(id);
         return ResponseEntity.ok(rol);
     }
 
@@ -89,14 +103,8 @@ public class RolController {
     })
     public ResponseEntity<String> agregarRol(@RequestBody @Parameter(description = "Datos del rol a crear", required = true)
                                              Rol rol) {
-        try {
-            rolService.save(rol);
-            return ResponseEntity.status(HttpStatus.CREATED).body("Rol creado con éxito.");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
-        }
+        rolService.save(rol);
+        return ResponseEntity.status(HttpStatus.CREATED).body("Rol creado con éxito.");
     }
 
     /**
@@ -117,16 +125,8 @@ public class RolController {
                                                 @PathVariable Integer id,
                                                 @RequestBody @Parameter(description = "Datos actualizados del rol", required = true)
                                                 Rol rol) {
-        try {
-            rolService.update(rol, id);
-            return ResponseEntity.ok("Actualizado con éxito");
-        } catch (NoSuchElementException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Rol no encontrado");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
-        }
+        rolService.update(rol, id);
+        return ResponseEntity.ok("Actualizado con éxito");
     }
 
     /**
@@ -143,15 +143,7 @@ public class RolController {
     })
     public ResponseEntity<String> eliminarRol(@Parameter(description = "ID del rol a eliminar", required = true)
                                               @PathVariable Integer id) {
-        try {
-            rolService.delete(id);
-            return ResponseEntity.ok("Rol eliminada con éxito.");
-        } catch (NoSuchElementException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Rol no encontrada");
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
-        }
+        rolService.delete(id);
+        return ResponseEntity.ok("Rol eliminada con éxito.");
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.SAFE_Rescue.API_Administrador.controller;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Introspeccion;
+import com.SAFE_Rescue.API_Administrador.modelo.TokenVerificado;
+import com.SAFE_Rescue.API_Administrador.service.EstadoCredenciales;
+import com.SAFE_Rescue.API_Administrador.service.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para la gestión de tokens de sesión
+ * Proporciona endpoints para verificar e introspeccionar tokens
+ */
+@RestController
+@RequestMapping("/api-administrador/v1/tokens")
+@Tag(name = "Tokens", description = "Verificación e introspección de tokens de sesión")
+public class TokenController {
+
+    private static final String PREFIJO_BEARER = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EstadoCredenciales estadoCredenciales;
+
+    /**
+     * Verifica un token de sesión sin consultar la base de datos.
+     * @param autorizacion Encabezado Authorization con el token en formato Bearer
+     * @return ResponseEntity con el contenido del token o mensaje de error
+     */
+    @PostMapping("/verificar")
+    @Operation(summary = "Verificar un token", description = "Valida la firma y la expiración de un token de sesión")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token válido.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TokenVerificado.class))),
+            @ApiResponse(responseCode = "401", description = "Token inválido o expirado.")
+    })
+    public ResponseEntity<?> verificar(@Parameter(description = "Token en formato Bearer", required = true)
+                                       @RequestHeader(HttpHeaders.AUTHORIZATION) String autorizacion) {
+        TokenVerificado verificado = tokenService.verificar(extraerToken(autorizacion));
+        if (verificado == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Token inválido o expirado");
+        }
+        return ResponseEntity.ok(verificado);
+    }
+
+    /**
+     * Introspecciona un token: valida su firma y expiración y comprueba que la credencial siga activa.
+     * Pensado para que los demás servicios lo consulten en cada petición, por lo que
+     * no accede a la base de datos.
+     * @param autorizacion Encabezado Authorization con el token en formato Bearer
+     * @return ResponseEntity con el resultado de la introspección
+     */
+    @PostMapping("/introspeccion")
+    @Operation(summary = "Introspeccionar un token", description = "Indica si un token es válido y su credencial sigue activa")
+    @ApiResponse(responseCode = "200", description = "Resultado de la introspección.",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = Introspeccion.class)))
+    public ResponseEntity<Introspeccion> introspeccion(@Parameter(description = "Token en formato Bearer", required = true)
+                                                       @RequestHeader(HttpHeaders.AUTHORIZATION) String autorizacion) {
+        TokenVerificado verificado = tokenService.verificar(extraerToken(autorizacion));
+        if (verificado == null || !estadoCredenciales.estaActiva(verificado.getCredencialId())) {
+            return ResponseEntity.ok(Introspeccion.INACTIVA);
+        }
+        return ResponseEntity.ok(new Introspeccion(true, verificado.getCredencialId(),
+                verificado.getRolId(), verificado.getExpira()));
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    static String extraerToken(String autorizacion) {
+        if (autorizacion != null && autorizacion.startsWith(PREFIJO_BEARER)) {
+            return autorizacion.substring(PREFIJO_BEARER.length()).trim();
+        }
+        return autorizacion;
+    }
+}
@@ -0,0 +1,85 @@
+package com.SAFE_Rescue.API_Administrador.controller;
+
+import com.SAFE_Rescue.API_Administrador.modelo.SolicitudTrabajo;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
+import com.SAFE_Rescue.API_Administrador.service.TrabajoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para los trabajos asíncronos de larga duración
+ * Proporciona endpoints para enviar, consultar y cancelar trabajos
+ */
+@RestController
+@RequestMapping("/api-administrador/v1/trabajos")
+@Tag(name = "Trabajos", description = "Operaciones masivas que se ejecutan en segundo plano")
+public class TrabajoController {
+
+    @Autowired
+    private TrabajoService trabajoService;
+
+    /**
+     * Envía un trabajo para su ejecución en segundo plano.
+     * @param solicitud Tipo y parámetros del trabajo
+     * @return ResponseEntity con el trabajo creado y estado ACCEPTED
+     */
+    @PostMapping
+    @Operation(summary = "Enviar un trabajo", description = "Encola un trabajo masivo y devuelve su ID sin esperar a que termine")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Trabajo encolado.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Trabajo.class))),
+            @ApiResponse(responseCode = "400", description = "Tipo de trabajo inexistente o parámetros inválidos."),
+            @ApiResponse(responseCode = "503", description = "La cola de trabajos está llena.")
+    })
+    public ResponseEntity<Trabajo> enviar(@RequestBody SolicitudTrabajo solicitud) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(trabajoService.enviar(solicitud.getTipo(), solicitud.getParametros()));
+    }
+
+    /**
+     * Obtiene el estado, el avance y el rendimiento de un trabajo.
+     * @param id ID del trabajo
+     * @return ResponseEntity con el trabajo
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener un trabajo", description = "Obtiene el estado, el avance y el rendimiento de un trabajo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trabajo encontrado.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Trabajo.class))),
+            @ApiResponse(responseCode = "404", description = "Trabajo no encontrado.")
+    })
+    public ResponseEntity<Trabajo> buscarTrabajo(@Parameter(description = "ID del trabajo", required = true)
+                                                 @PathVariable int id) {
+        return ResponseEntity.ok(trabajoService.findById(id));
+    }
+
+    /**
+     * Cancela un trabajo pendiente o en curso.
+     * @param id ID del trabajo
+     * @return ResponseEntity con el trabajo cancelado
+     */
+    @PostMapping("/{id}/cancelar")
+    @Operation(summary = "Cancelar un trabajo", description = "Detiene un trabajo después del lote en curso; los lotes ya confirmados se conservan")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trabajo cancelado.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Trabajo.class))),
+            @ApiResponse(responseCode = "404", description = "Trabajo no encontrado."),
+            @ApiResponse(responseCode = "409", description = "El trabajo ya terminó.")
+    })
+    public ResponseEntity<Trabajo> cancelar(@Parameter(description = "ID del trabajo", required = true)
+                                            @PathVariable int id) {
+        return ResponseEntity.ok(trabajoService.cancelar(id));
+    }
+}
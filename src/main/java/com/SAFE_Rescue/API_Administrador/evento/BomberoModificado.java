@@ -0,0 +1,21 @@
+package com.SAFE_Rescue.API_Administrador.evento;
+
+import lombok.Value;
+
+/**
+ * Evento publicado cuando un bombero se crea, se modifica o se elimina.
+ * Los componentes que mantienen estado en memoria lo reciben después del commit.
+ */
+@Value
+public class BomberoModificado {
+
+    /**
+     * Identificador del bombero modificado.
+     */
+    int bomberoId;
+
+    /**
+     * Indica si el bombero fue eliminado.
+     */
+    boolean eliminado;
+}
@@ -0,0 +1,31 @@
+package com.SAFE_Rescue.API_Administrador.evento;
+
+import lombok.Value;
+
+/**
+ * Evento publicado por CredencialService cuando una credencial se crea, modifica o elimina.
+ * Los componentes que mantienen estado en memoria lo reciben después del commit.
+ */
+@Value
+public class CredencialModificada {
+
+    /**
+     * Identificador de la credencial modificada.
+     */
+    int credencialId;
+
+    /**
+     * Correo de la credencial tras el cambio; null si no se conoce.
+     */
+    String correo;
+
+    /**
+     * Estado de la credencial tras el cambio; false si fue desactivada o eliminada.
+     */
+    boolean activa;
+
+    /**
+     * Indica si la credencial fue eliminada.
+     */
+    boolean eliminada;
+}
@@ -0,0 +1,58 @@
+package com.SAFE_Rescue.API_Administrador.evento;
+
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * Evento de auditoría publicado por los servicios al crear, modificar o eliminar bomberos,
+ * credenciales y roles. Se arma en el hilo de la solicitud con los datos tal como llegaron;
+ * el consumidor de la auditoría resuelve el autor a partir del token fuera de la solicitud.
+ */
+@Value
+public class EventoAuditoria {
+
+    /**
+     * Operación realizada.
+     */
+    public enum Accion {
+        CREAR, ACTUALIZAR, ELIMINAR, ASIGNAR, DESACTIVAR, REINICIAR_INTENTOS
+    }
+
+    /**
+     * Tipo de registro afectado.
+     */
+    public enum Entidad {
+        BOMBERO, CREDENCIAL, ROL
+    }
+
+    /**
+     * Momento de la operación, en milisegundos desde la época.
+     */
+    long fecha;
+
+    /**
+     * Operación realizada.
+     */
+    Accion accion;
+
+    /**
+     * Tipo de registro afectado.
+     */
+    Entidad entidad;
+
+    /**
+     * Identificador del registro afectado.
+     */
+    int entidadId;
+
+    /**
+     * Encabezado Authorization de la solicitud sin verificar, o null si no se envió.
+     */
+    @ToString.Exclude
+    String autorizacion;
+
+    /**
+     * Dirección IP del cliente, o null si la operación no proviene de una solicitud HTTP.
+     */
+    String origen;
+}
@@ -0,0 +1,20 @@
+package com.SAFE_Rescue.API_Administrador.evento;
+
+import lombok.Value;
+
+/**
+ * Evento publicado por RolService cuando un rol se crea, modifica o elimina.
+ */
+@Value
+public class RolModificado {
+
+    /**
+     * Identificador del rol modificado.
+     */
+    int rolId;
+
+    /**
+     * Indica si el rol fue eliminado.
+     */
+    boolean eliminado;
+}
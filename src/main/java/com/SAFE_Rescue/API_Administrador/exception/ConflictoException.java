@@ -0,0 +1,17 @@
+package com.SAFE_Rescue.API_Administrador.exception;
+
+/**
+ * Error por un valor que debe ser único y ya está registrado.
+ * Se responde con 409 CONFLICT.
+ */
+public class ConflictoException extends ErrorDominioException {
+
+    /**
+     * Crea el error de conflicto.
+     * @param campo Campo con el valor repetido
+     * @param mensaje Mensaje legible para el cliente
+     */
+    public ConflictoException(String campo, String mensaje) {
+        super("CONFLICTO", campo, mensaje);
+    }
+}
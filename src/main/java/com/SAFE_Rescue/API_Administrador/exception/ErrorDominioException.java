@@ -0,0 +1,44 @@
+package com.SAFE_Rescue.API_Administrador.exception;
+
+/**
+ * Base de los errores de dominio de la API.
+ * <p>
+ * Son errores esperados (datos inválidos, recursos inexistentes, conflictos) que el
+ * ManejadorErrores convierte en respuestas estructuradas, por lo que no capturan la traza
+ * de la pila ni admiten excepciones suprimidas. Al ser inmutables, las que tienen un mensaje
+ * fijo pueden crearse una sola vez como constantes y lanzarse repetidamente.
+ * </p>
+ */
+public abstract class ErrorDominioException extends RuntimeException {
+
+    private final String codigo;
+    private final String campo;
+
+    /**
+     * Crea el error sin traza de la pila.
+     * @param codigo Código estable del tipo de error
+     * @param campo Campo de la solicitud que causó el error, o null si no aplica
+     * @param mensaje Mensaje legible para el cliente
+     */
+    protected ErrorDominioException(String codigo, String campo, String mensaje) {
+        super(mensaje, null, false, false);
+        this.codigo = codigo;
+        this.campo = campo;
+    }
+
+    /**
+     * Obtiene el código estable del tipo de error.
+     * @return Código del error
+     */
+    public String getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Obtiene el campo de la solicitud que causó el error.
+     * @return Nombre del campo, o null si no aplica
+     */
+    public String getCampo() {
+        return campo;
+    }
+}
@@ -0,0 +1,18 @@
+package com.SAFE_Rescue.API_Administrador.exception;
+
+/**
+ * Error por una solicitud bien formada que no se puede procesar en el estado actual,
+ * por ejemplo una clave de idempotencia reutilizada con otro contenido.
+ * Se responde con 422 UNPROCESSABLE ENTITY.
+ */
+public class NoProcesableException extends ErrorDominioException {
+
+    /**
+     * Crea el error de solicitud no procesable.
+     * @param campo Campo o encabezado que causó el error
+     * @param mensaje Mensaje legible para el cliente
+     */
+    public NoProcesableException(String campo, String mensaje) {
+        super("NO_PROCESABLE", campo, mensaje);
+    }
+}
@@ -0,0 +1,16 @@
+package com.SAFE_Rescue.API_Administrador.exception;
+
+/**
+ * Error por un recurso que no existe.
+ * Se responde con 404 NOT FOUND.
+ */
+public class RecursoNoEncontradoException extends ErrorDominioException {
+
+    /**
+     * Crea el error de recurso no encontrado.
+     * @param mensaje Mensaje legible para el cliente
+     */
+    public RecursoNoEncontradoException(String mensaje) {
+        super("NO_ENCONTRADO", null, mensaje);
+    }
+}
@@ -0,0 +1,16 @@
+package com.SAFE_Rescue.API_Administrador.exception;
+
+/**
+ * Error por saturación temporal de un recurso (por ejemplo, la base de datos).
+ * Se responde con 503 SERVICE UNAVAILABLE; el cliente puede reintentar más tarde.
+ */
+public class SobrecargaException extends ErrorDominioException {
+
+    /**
+     * Crea el error de sobrecarga.
+     * @param mensaje Mensaje legible para el cliente
+     */
+    public SobrecargaException(String mensaje) {
+        super("SOBRECARGA", null, mensaje);
+    }
+}
@@ -0,0 +1,17 @@
+package com.SAFE_Rescue.API_Administrador.exception;
+
+/**
+ * Error de validación de los datos recibidos.
+ * Se responde con 400 BAD REQUEST.
+ */
+public class ValidacionException extends ErrorDominioException {
+
+    /**
+     * Crea el error de validación.
+     * @param campo Campo inválido
+     * @param mensaje Mensaje legible para el cliente
+     */
+    public ValidacionException(String campo, String mensaje) {
+        super("VALIDACION", campo, mensaje);
+    }
+}
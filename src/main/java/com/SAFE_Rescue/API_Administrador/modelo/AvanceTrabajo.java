@@ -0,0 +1,30 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import lombok.Value;
+
+/**
+ * Resultado del procesamiento de un lote de un trabajo asíncrono.
+ */
+@Value
+public class AvanceTrabajo {
+
+    /**
+     * Nuevo punto de control, desde el que continúa el siguiente lote.
+     */
+    long puntoControl;
+
+    /**
+     * Elementos del lote procesados correctamente.
+     */
+    int procesados;
+
+    /**
+     * Elementos del lote que no se pudieron procesar.
+     */
+    int errores;
+
+    /**
+     * Indica si ya no quedan elementos por procesar.
+     */
+    boolean terminado;
+}
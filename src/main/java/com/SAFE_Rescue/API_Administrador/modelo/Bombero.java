@@ -14,7 +14,10 @@ import java.util.Date;
  * Contiene información sobre la composición y estado del bombero.
  */
 @Entity
-@Table(name = "Bombero")
+@Table(name = "Bombero", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bombero_run", columnNames = "run"),
+        @UniqueConstraint(name = "uk_bombero_telefono", columnNames = "telefono")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
@@ -32,7 +35,7 @@ public class Bombero {
      * Run del Bombero.
      * Debe ser un valor no nulo, único y con una longitud máxima recomendada de 8 caracteres.
      */
-    @Column(unique = true, length = 8, nullable = false)
+    @Column(length = 8, nullable = false)
     @Schema(description = "Run del bombero", example = "12345678", required = true)
     private int run;
 
@@ -81,7 +84,7 @@ public class Bombero {
      * Teléfono disponible del bombero.
      * Valor entero no negativo (>= 0).
      */
-    @Column(unique = true, length = 9, nullable = false)
+    @Column(length = 9, nullable = false)
     @Schema(description = "Teléfono del bombero", example = "987654321", required = true)
     private int telefono;
 
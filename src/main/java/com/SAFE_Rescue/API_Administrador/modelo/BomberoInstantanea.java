@@ -0,0 +1,81 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * Copia inmutable de un bombero y su credencial, independiente del contexto de persistencia.
+ * Es lo que guarda la caché de bomberos: cada lectura obtiene una entidad nueva con toBombero(),
+ * por lo que ningún llamador puede modificar el valor compartido.
+ */
+@Value
+public class BomberoInstantanea {
+
+    private static final int TAMANO_BASE = 96;
+    private static final int TAMANO_CADENA = 40;
+
+    int id;
+    int run;
+    String dv;
+    String nombre;
+    String aPaterno;
+    String aMaterno;
+    long fechaRegistro;
+    int telefono;
+    Integer credencialId;
+    String correo;
+    String contrasenia;
+    int intentosFallidos;
+    boolean activo;
+    Integer rolId;
+    String rolNombre;
+
+    /**
+     * Crea la copia de un bombero.
+     * @param bombero Bombero a copiar
+     * @return Copia inmutable
+     */
+    public static BomberoInstantanea de(Bombero bombero) {
+        Credencial credencial = bombero.getCredencial();
+        Rol rol = credencial != null ? credencial.getRol() : null;
+        return new BomberoInstantanea(bombero.getId(), bombero.getRun(), bombero.getDv(), bombero.getNombre(),
+                bombero.getAPaterno(), bombero.getAMaterno(),
+                bombero.getFechaRegistro() != null ? bombero.getFechaRegistro().getTime() : Long.MIN_VALUE,
+                bombero.getTelefono(),
+                credencial != null ? credencial.getId() : null,
+                credencial != null ? credencial.getCorreo() : null,
+                credencial != null ? credencial.getContrasenia() : null,
+                credencial != null ? credencial.getIntentosFallidos() : 0,
+                credencial == null || credencial.isActivo(),
+                rol != null ? rol.getId() : null,
+                rol != null ? rol.getNombre() : null);
+    }
+
+    /**
+     * Construye una entidad nueva, no administrada, con los datos de la copia.
+     * @return Bombero con su credencial y rol
+     */
+    public Bombero toBombero() {
+        Credencial credencial = null;
+        if (credencialId != null) {
+            Rol rol = rolId != null ? new Rol(rolId, rolNombre) : null;
+            credencial = new Credencial(credencialId, correo, contrasenia, intentosFallidos, activo, rol);
+        }
+        return new Bombero(id, run, dv, nombre, aPaterno, aMaterno,
+                fechaRegistro != Long.MIN_VALUE ? new Date(fechaRegistro) : null, telefono, credencial);
+    }
+
+    /**
+     * Estima la memoria que ocupa la copia, contando los objetos y el contenido de las cadenas.
+     * @return Bytes estimados
+     */
+    public int getTamanoEstimado() {
+        return TAMANO_BASE + tamano(dv) + tamano(nombre) + tamano(aPaterno) + tamano(aMaterno)
+                + tamano(correo) + tamano(contrasenia) + tamano(rolNombre);
+    }
+
+    private static int tamano(String texto) {
+        return texto == null ? 0 : TAMANO_CADENA + 2 * texto.length();
+    }
+}
@@ -0,0 +1,79 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Entidad DTO que representa una proyección parcial de un bombero.
+ * Solo se completan y serializan los campos solicitados con el parámetro fields.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BomberoParcial {
+
+    /**
+     * Campos que se pueden solicitar, con su nombre en JSON y su atributo en la entidad Bombero.
+     */
+    public static final Map<String, String> CAMPOS = Map.of(
+            "id", "id",
+            "run", "run",
+            "dv", "dv",
+            "nombre", "nombre",
+            "apaterno", "aPaterno",
+            "amaterno", "aMaterno",
+            "fechaRegistro", "fechaRegistro",
+            "telefono", "telefono");
+
+    @Schema(description = "Identificador único del bombero", example = "1")
+    private Integer id;
+
+    @Schema(description = "Run del bombero", example = "12345678")
+    private Integer run;
+
+    @Schema(description = "Dígito verificador del bombero", example = "K")
+    private String dv;
+
+    @Schema(description = "Nombre del bombero", example = "Juan")
+    private String nombre;
+
+    @Schema(description = "Apellido paterno del bombero", example = "Pérez")
+    private String aPaterno;
+
+    @Schema(description = "Apellido materno del bombero", example = "González")
+    private String aMaterno;
+
+    @Schema(description = "Fecha de registro del bombero", example = "2022-01-01")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ", timezone = "GMT-4")
+    private Date fechaRegistro;
+
+    @Schema(description = "Teléfono del bombero", example = "987654321")
+    private Integer telefono;
+
+    /**
+     * Asigna el valor de un atributo de la entidad Bombero a esta proyección.
+     * @param atributo Nombre del atributo en la entidad
+     * @param valor Valor leído de la base de datos
+     */
+    public void asignar(String atributo, Object valor) {
+        switch (atributo) {
+            case "id" -> id = (Integer) valor;
+            case "run" -> run = (Integer) valor;
+            case "dv" -> dv = (String) valor;
+            case "nombre" -> nombre = (String) valor;
+            case "aPaterno" -> aPaterno = (String) valor;
+            case "aMaterno" -> aMaterno = (String) valor;
+            case "fechaRegistro" -> fechaRegistro = (Date) valor;
+            case "telefono" -> telefono = (Integer) valor;
+            default -> throw new IllegalArgumentException("Campo no permitido: " + atributo);
+        }
+    }
+}
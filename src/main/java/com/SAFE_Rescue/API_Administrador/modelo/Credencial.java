@@ -5,13 +5,18 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidad que representa una credencial en el sistema.
  * Contiene información sobre la composición y estado de la credencial.
  */
 @Entity
-@Table(name = "Credencial")
+@Table(name = "Credencial", uniqueConstraints = @UniqueConstraint(name = "uk_credencial_correo", columnNames = "correo"),
+        indexes = @Index(name = "idx_credencial_intentos", columnList = "intentos_fallidos"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "credencial")
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
@@ -29,7 +34,7 @@ public class Credencial {
      * Correo de la credencial.
      * Debe ser un valor no nulo y con una longitud máxima recomendada de 80 caracteres.
      */
-    @Column(unique = true, length = 80, nullable = false)
+    @Column(length = 80, nullable = false)
     @Schema(description = "Correo de la credencial", example = "usuario@ejemplo.com", required = true)
     private String correo;
 
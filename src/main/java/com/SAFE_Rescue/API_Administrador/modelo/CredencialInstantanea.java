@@ -0,0 +1,41 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import lombok.Value;
+
+/**
+ * Copia inmutable de una credencial y su rol, independiente del contexto de persistencia.
+ * Es lo que comparten las búsquedas concurrentes agrupadas: cada llamador obtiene una entidad nueva
+ * con toCredencial(), sin tocar la sesión de la solicitud que hizo la consulta.
+ */
+@Value
+public class CredencialInstantanea {
+
+    int id;
+    String correo;
+    String contrasenia;
+    int intentosFallidos;
+    boolean activo;
+    Integer rolId;
+    String rolNombre;
+
+    /**
+     * Crea la copia de una credencial.
+     * @param credencial Credencial a copiar
+     * @return Copia inmutable
+     */
+    public static CredencialInstantanea de(Credencial credencial) {
+        Rol rol = credencial.getRol();
+        return new CredencialInstantanea(credencial.getId(), credencial.getCorreo(), credencial.getContrasenia(),
+                credencial.getIntentosFallidos(), credencial.isActivo(),
+                rol != null ? rol.getId() : null, rol != null ? rol.getNombre() : null);
+    }
+
+    /**
+     * Construye una entidad nueva, no administrada, con los datos de la copia.
+     * @return Credencial con su rol
+     */
+    public Credencial toCredencial() {
+        Rol rol = rolId != null ? new Rol(rolId, rolNombre) : null;
+        return new Credencial(id, correo, contrasenia, intentosFallidos, activo, rol);
+    }
+}
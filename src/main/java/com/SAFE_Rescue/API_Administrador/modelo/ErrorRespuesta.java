@@ -0,0 +1,41 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa el cuerpo de una respuesta de error.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorRespuesta {
+
+    /**
+     * Código de estado HTTP.
+     */
+    @Schema(description = "Código de estado HTTP", example = "400")
+    private int estado;
+
+    /**
+     * Código estable del tipo de error.
+     */
+    @Schema(description = "Tipo de error: VALIDACION, NO_ENCONTRADO, CONFLICTO, NO_PROCESABLE, SOLICITUD_INVALIDA, SOBRECARGA o ERROR_INTERNO", example = "VALIDACION")
+    private String codigo;
+
+    /**
+     * Mensaje legible del error.
+     */
+    @Schema(description = "Mensaje del error", example = "El valor RUN excede máximo de caracteres (8)")
+    private String mensaje;
+
+    /**
+     * Campo de la solicitud que causó el error, si aplica.
+     */
+    @Schema(description = "Campo que causó el error", example = "run")
+    private String campo;
+}
@@ -0,0 +1,93 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa el estado del registro de auditoría asíncrono.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaAuditoria {
+
+    /**
+     * Destino de los registros (tabla o archivo).
+     */
+    @Schema(description = "Destino de los registros", example = "tabla")
+    private String destino;
+
+    /**
+     * Política ante el búfer lleno (DESCARTAR o ESPERAR).
+     */
+    @Schema(description = "Política ante el búfer lleno", example = "DESCARTAR")
+    private String politica;
+
+    /**
+     * Capacidad del búfer circular.
+     */
+    @Schema(description = "Capacidad del búfer", example = "8192")
+    private int capacidad;
+
+    /**
+     * Eventos en el búfer esperando al consumidor.
+     */
+    @Schema(description = "Eventos pendientes", example = "12")
+    private long pendientes;
+
+    /**
+     * Mayor cantidad de eventos pendientes observada por el consumidor.
+     */
+    @Schema(description = "Máximo de eventos pendientes observado", example = "340")
+    private long maximoPendientes;
+
+    /**
+     * Antigüedad del evento más antiguo del último lote al momento de escribirlo.
+     */
+    @Schema(description = "Retraso del último lote en milisegundos", example = "4")
+    private long retrasoMs;
+
+    /**
+     * Mayor retraso observado.
+     */
+    @Schema(description = "Máximo retraso observado en milisegundos", example = "85")
+    private long maximoRetrasoMs;
+
+    /**
+     * Eventos aceptados en el búfer.
+     */
+    @Schema(description = "Eventos aceptados", example = "120000")
+    private long publicados;
+
+    /**
+     * Eventos descartados por encontrar el búfer lleno.
+     */
+    @Schema(description = "Eventos descartados por desborde", example = "0")
+    private long descartados;
+
+    /**
+     * Eventos escritos en el destino.
+     */
+    @Schema(description = "Eventos escritos", example = "119988")
+    private long escritos;
+
+    /**
+     * Eventos perdidos porque el destino falló en todos los reintentos.
+     */
+    @Schema(description = "Eventos perdidos por errores del destino", example = "0")
+    private long perdidos;
+
+    /**
+     * Lotes escritos.
+     */
+    @Schema(description = "Lotes escritos", example = "2400")
+    private long lotes;
+
+    /**
+     * Escrituras fallidas, incluidas las que se reintentaron con éxito.
+     */
+    @Schema(description = "Escrituras fallidas", example = "0")
+    private long errores;
+}
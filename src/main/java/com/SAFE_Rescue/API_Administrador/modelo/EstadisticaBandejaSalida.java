@@ -0,0 +1,57 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa el estado de la retransmisión de la bandeja de salida en este nodo.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaBandejaSalida {
+
+    /**
+     * Destino de los eventos.
+     */
+    @Schema(description = "Destino de los eventos", example = "archivo")
+    private String destino;
+
+    /**
+     * Eventos en la tabla esperando ser entregados, por todos los nodos.
+     */
+    @Schema(description = "Eventos pendientes en la tabla", example = "3")
+    private long pendientes;
+
+    /**
+     * Eventos entregados por este nodo.
+     */
+    @Schema(description = "Eventos entregados por este nodo", example = "1520")
+    private long enviados;
+
+    /**
+     * Lotes entregados por este nodo.
+     */
+    @Schema(description = "Lotes entregados por este nodo", example = "40")
+    private long lotes;
+
+    /**
+     * Lotes que el destino rechazó y quedaron para reintentar.
+     */
+    @Schema(description = "Lotes rechazados por el destino", example = "0")
+    private long errores;
+
+    /**
+     * Antigüedad del evento más antiguo del último lote al entregarlo.
+     */
+    @Schema(description = "Retraso del último lote en milisegundos", example = "850")
+    private long retrasoMs;
+
+    /**
+     * Mayor retraso observado.
+     */
+    @Schema(description = "Máximo retraso observado en milisegundos", example = "1900")
+    private long maximoRetrasoMs;
+}
@@ -0,0 +1,61 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Entidad DTO que representa la última ejecución de un barrido programado de credenciales.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaBarrido {
+
+    /**
+     * Nombre del barrido.
+     */
+    @Schema(description = "Nombre del barrido", example = "desactivacion")
+    private String tarea;
+
+    /**
+     * Credenciales modificadas.
+     */
+    @Schema(description = "Credenciales modificadas", example = "1200")
+    private long procesados;
+
+    /**
+     * Lotes ejecutados, cada uno en su propia transacción.
+     */
+    @Schema(description = "Lotes ejecutados", example = "6")
+    private int lotes;
+
+    /**
+     * Duración del barrido en milisegundos, incluidas las pausas entre lotes.
+     */
+    @Schema(description = "Duración en milisegundos", example = "850")
+    private long milisegundos;
+
+    /**
+     * Credenciales modificadas por segundo.
+     */
+    @Schema(description = "Credenciales modificadas por segundo", example = "1411.7")
+    private double porSegundo;
+
+    /**
+     * Indica si el barrido terminó antes de recorrer todas las credenciales (por ejemplo, por sobrecarga).
+     */
+    @Schema(description = "Indica si el barrido quedó incompleto", example = "false")
+    private boolean incompleto;
+
+    /**
+     * Fecha de término del barrido.
+     */
+    @Schema(description = "Fecha de término del barrido")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ", timezone = "GMT-4")
+    private Date fin;
+}
@@ -0,0 +1,58 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa las estadísticas de una región de caché.
+ * Permite ajustar el tamaño de cada región según su tasa de aciertos.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaCache {
+
+    /**
+     * Nombre de la región de caché.
+     */
+    @Schema(description = "Nombre de la región de caché", example = "credencial")
+    private String region;
+
+    /**
+     * Lecturas resueltas desde la caché.
+     */
+    @Schema(description = "Lecturas resueltas desde la caché", example = "950")
+    private long aciertos;
+
+    /**
+     * Lecturas que no encontraron el elemento en la caché.
+     */
+    @Schema(description = "Lecturas que no encontraron el elemento en la caché", example = "50")
+    private long fallos;
+
+    /**
+     * Elementos agregados a la caché.
+     */
+    @Schema(description = "Elementos agregados a la caché", example = "50")
+    private long inserciones;
+
+    /**
+     * Elementos actualmente en memoria.
+     */
+    @Schema(description = "Elementos actualmente en memoria", example = "48")
+    private long elementos;
+
+    /**
+     * Proporción de aciertos sobre el total de lecturas (0 a 1).
+     */
+    @Schema(description = "Proporción de aciertos sobre el total de lecturas", example = "0.95")
+    private double tasaAciertos;
+
+    /**
+     * Memoria estimada de los elementos en bytes, o -1 si la caché no la estima.
+     */
+    @Schema(description = "Memoria estimada de los elementos en bytes, -1 si no se estima", example = "524288")
+    private long bytesEstimados;
+}
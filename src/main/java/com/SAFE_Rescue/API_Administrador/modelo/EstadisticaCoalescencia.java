@@ -0,0 +1,39 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa las estadísticas de agrupación de consultas concurrentes.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaCoalescencia {
+
+    /**
+     * Nombre de la consulta agrupada.
+     */
+    @Schema(description = "Nombre de la consulta agrupada", example = "bombero")
+    private String consulta;
+
+    /**
+     * Consultas recibidas.
+     */
+    @Schema(description = "Consultas recibidas", example = "1000")
+    private long consultas;
+
+    /**
+     * Consultas resueltas con una carga ya en curso, sin acceder a la base de datos.
+     */
+    @Schema(description = "Consultas que compartieron una carga en curso", example = "400")
+    private long compartidas;
+
+    /**
+     * Proporción de consultas compartidas sobre el total (0 a 1).
+     */
+    @Schema(description = "Proporción de consultas compartidas sobre el total", example = "0.4")
+    private double tasaCoalescencia;
+}
@@ -0,0 +1,69 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa el estado de un compartimento de solicitudes (login, lecturas o escrituras).
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaCompartimento {
+
+    /**
+     * Clase de solicitudes del compartimento.
+     */
+    @Schema(description = "Clase de solicitudes", example = "LOGIN")
+    private String clase;
+
+    /**
+     * Solicitudes que pueden procesarse a la vez.
+     */
+    @Schema(description = "Solicitudes simultáneas permitidas", example = "4")
+    private int concurrencia;
+
+    /**
+     * Solicitudes en proceso.
+     */
+    @Schema(description = "Solicitudes en proceso", example = "3")
+    private int enProceso;
+
+    /**
+     * Solicitudes esperando un lugar.
+     */
+    @Schema(description = "Solicitudes en cola", example = "2")
+    private int enCola;
+
+    /**
+     * Solicitudes que pueden esperar en cola.
+     */
+    @Schema(description = "Tamaño máximo de la cola", example = "50")
+    private int colaMaxima;
+
+    /**
+     * Solicitudes atendidas desde el inicio.
+     */
+    @Schema(description = "Solicitudes atendidas", example = "1200")
+    private long atendidas;
+
+    /**
+     * Solicitudes rechazadas por cola llena o espera agotada.
+     */
+    @Schema(description = "Solicitudes rechazadas", example = "15")
+    private long rechazadas;
+
+    /**
+     * Latencia promedio de las solicitudes atendidas, en milisegundos.
+     */
+    @Schema(description = "Latencia promedio en milisegundos", example = "12.5")
+    private double latenciaPromedioMs;
+
+    /**
+     * Latencia máxima desde el inicio, en milisegundos.
+     */
+    @Schema(description = "Latencia máxima en milisegundos", example = "180.0")
+    private double latenciaMaximaMs;
+}
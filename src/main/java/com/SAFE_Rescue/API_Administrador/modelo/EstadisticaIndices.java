@@ -0,0 +1,69 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa el estado de los índices en memoria de RUN y teléfono.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaIndices {
+
+    /**
+     * Indica si las búsquedas y validaciones usan los índices; si no, se consulta la base de datos.
+     */
+    @Schema(description = "Indica si los índices están disponibles", example = "true")
+    private boolean disponible;
+
+    /**
+     * Bomberos indexados.
+     */
+    @Schema(description = "Bomberos indexados", example = "100000")
+    private int bomberos;
+
+    /**
+     * Memoria estimada de los cuatro arreglos: RUN y teléfono por ID y sus inversos.
+     */
+    @Schema(description = "Memoria estimada de los índices en bytes", example = "6291776")
+    private long bytesEstimados;
+
+    /**
+     * Memoria estimada por bombero indexado.
+     */
+    @Schema(description = "Bytes por bombero", example = "62.9")
+    private double bytesPorBombero;
+
+    /**
+     * Reconstrucciones completas desde la base de datos.
+     */
+    @Schema(description = "Reconstrucciones completas", example = "12")
+    private long reconstrucciones;
+
+    /**
+     * Duración de la última reconstrucción completa.
+     */
+    @Schema(description = "Duración de la última reconstrucción en milisegundos", example = "240")
+    private long ultimaReconstruccionMs;
+
+    /**
+     * Actualizaciones aplicadas después de confirmar cambios de bomberos.
+     */
+    @Schema(description = "Parches aplicados", example = "1508")
+    private long parches;
+
+    /**
+     * Búsquedas por RUN o teléfono resueltas en los índices.
+     */
+    @Schema(description = "Búsquedas en los índices", example = "48200")
+    private long busquedas;
+
+    /**
+     * Búsquedas que se repitieron con cerrojo porque un parche escribió al mismo tiempo.
+     */
+    @Schema(description = "Búsquedas repetidas por una escritura concurrente", example = "3")
+    private long reintentosLectura;
+}
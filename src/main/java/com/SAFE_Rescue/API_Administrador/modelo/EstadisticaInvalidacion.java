@@ -0,0 +1,69 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa el estado del bus de invalidación entre nodos en este nodo.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaInvalidacion {
+
+    /**
+     * Identificador de este nodo en la tabla de invalidaciones.
+     */
+    @Schema(description = "Identificador de este nodo", example = "3f2c9a1e-8d7b-4c55-9a0e-2b61f0c4d8aa")
+    private String nodo;
+
+    /**
+     * Último ID procesado sin huecos anteriores.
+     */
+    @Schema(description = "Último ID de invalidación procesado", example = "18345")
+    private long ultimoId;
+
+    /**
+     * Consultas de sondeo realizadas.
+     */
+    @Schema(description = "Consultas de sondeo realizadas", example = "7200")
+    private long sondeos;
+
+    /**
+     * Duración promedio de un sondeo, incluida la aplicación de las invalidaciones.
+     */
+    @Schema(description = "Duración promedio de un sondeo en milisegundos", example = "0.4")
+    private double promedioSondeoMs;
+
+    /**
+     * Filas leídas por primera vez, de este nodo y de los demás.
+     */
+    @Schema(description = "Filas leídas", example = "950")
+    private long filasLeidas;
+
+    /**
+     * Invalidaciones de otros nodos aplicadas.
+     */
+    @Schema(description = "Invalidaciones de otros nodos aplicadas", example = "610")
+    private long aplicadas;
+
+    /**
+     * IDs que nunca aparecieron (transacciones revertidas) y se dejaron de esperar.
+     */
+    @Schema(description = "Huecos de ID descartados", example = "2")
+    private long huecosDescartados;
+
+    /**
+     * Tiempo promedio entre el cambio en otro nodo y su invalidación en este.
+     */
+    @Schema(description = "Retraso promedio de las invalidaciones en milisegundos", example = "260.5")
+    private double retrasoPromedioMs;
+
+    /**
+     * Mayor retraso observado entre el cambio en otro nodo y su invalidación en este.
+     */
+    @Schema(description = "Máximo retraso observado en milisegundos", example = "740")
+    private long maximoRetrasoMs;
+}
@@ -0,0 +1,63 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa el estado del límite adaptativo de operaciones contra la base de datos.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaLimite {
+
+    /**
+     * Operaciones simultáneas permitidas en este momento.
+     */
+    @Schema(description = "Límite actual de operaciones simultáneas", example = "18")
+    private int limite;
+
+    /**
+     * Operaciones en curso.
+     */
+    @Schema(description = "Operaciones en curso", example = "7")
+    private int enCurso;
+
+    /**
+     * Límite mínimo configurado.
+     */
+    @Schema(description = "Límite mínimo", example = "4")
+    private int minimo;
+
+    /**
+     * Límite máximo configurado.
+     */
+    @Schema(description = "Límite máximo", example = "200")
+    private int maximo;
+
+    /**
+     * Promedio de largo plazo de la latencia, en milisegundos.
+     */
+    @Schema(description = "Latencia de referencia en milisegundos", example = "1.8")
+    private double latenciaReferenciaMs;
+
+    /**
+     * Latencia de la última operación, en milisegundos.
+     */
+    @Schema(description = "Última latencia en milisegundos", example = "2.1")
+    private double latenciaUltimaMs;
+
+    /**
+     * Operaciones atendidas desde el inicio.
+     */
+    @Schema(description = "Operaciones atendidas", example = "52000")
+    private long atendidas;
+
+    /**
+     * Operaciones rechazadas por superar el límite.
+     */
+    @Schema(description = "Operaciones rechazadas", example = "35")
+    private long rechazadas;
+}
@@ -0,0 +1,87 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa el estado de la nómina de bomberos en memoria.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EstadisticaNomina {
+
+    /**
+     * Indica si el listado se sirve desde la instantánea; si no, se consulta la base de datos.
+     */
+    @Schema(description = "Indica si la instantánea está disponible", example = "true")
+    private boolean disponible;
+
+    /**
+     * Bomberos incluidos en la instantánea vigente.
+     */
+    @Schema(description = "Bomberos en la instantánea", example = "100000")
+    private int bomberos;
+
+    /**
+     * Bloques de IDs con al menos un bombero.
+     */
+    @Schema(description = "Bloques con bomberos", example = "391")
+    private int bloques;
+
+    /**
+     * Tamaño del cuerpo JSON del listado completo.
+     */
+    @Schema(description = "Bytes del JSON del listado", example = "31457280")
+    private long bytesJson;
+
+    /**
+     * Memoria estimada de la instantánea: JSON, arreglos de IDs y desplazamientos, y encabezados de objetos.
+     */
+    @Schema(description = "Memoria estimada de la instantánea en bytes", example = "33100000")
+    private long bytesEstimados;
+
+    /**
+     * Instantáneas publicadas desde el inicio, por reconstrucción o por parche.
+     */
+    @Schema(description = "Versión de la instantánea", example = "1520")
+    private long version;
+
+    /**
+     * Reconstrucciones completas desde la base de datos.
+     */
+    @Schema(description = "Reconstrucciones completas", example = "12")
+    private long reconstrucciones;
+
+    /**
+     * Duración de la última reconstrucción completa.
+     */
+    @Schema(description = "Duración de la última reconstrucción en milisegundos", example = "1850")
+    private long ultimaReconstruccionMs;
+
+    /**
+     * Parches aplicados después de confirmar cambios.
+     */
+    @Schema(description = "Parches aplicados", example = "1508")
+    private long parches;
+
+    /**
+     * Bomberos vueltos a leer y serializar por los parches.
+     */
+    @Schema(description = "Bomberos actualizados por parches", example = "2210")
+    private long bomberosParchados;
+
+    /**
+     * Duración promedio de un parche, incluida la lectura de los bomberos cambiados.
+     */
+    @Schema(description = "Duración promedio de un parche en milisegundos", example = "1.2")
+    private double promedioParcheMs;
+
+    /**
+     * Listados servidos desde la instantánea.
+     */
+    @Schema(description = "Listados servidos desde la instantánea", example = "48200")
+    private long lecturas;
+}
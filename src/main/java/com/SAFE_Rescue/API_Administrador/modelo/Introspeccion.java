@@ -0,0 +1,43 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+/**
+ * Entidad DTO inmutable con el resultado de la introspección de un token.
+ * Si el token no es válido o la credencial ya no está activa solo se informa activo = false.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Introspeccion {
+
+    /**
+     * Respuesta compartida para todos los tokens rechazados.
+     */
+    public static final Introspeccion INACTIVA = new Introspeccion(false, null, null, null);
+
+    /**
+     * Indica si el token es válido y la credencial sigue activa.
+     */
+    @Schema(description = "Indica si el token puede usarse", example = "true")
+    boolean activo;
+
+    /**
+     * Identificador de la credencial del token.
+     */
+    @Schema(description = "Identificador de la credencial", example = "12")
+    Integer credencialId;
+
+    /**
+     * Identificador del rol al momento de emitir el token.
+     */
+    @Schema(description = "Identificador del rol", example = "1")
+    Integer rolId;
+
+    /**
+     * Expiración del token en segundos desde epoch.
+     */
+    @Schema(description = "Expiración en segundos desde epoch", example = "1767225600")
+    Long expira;
+}
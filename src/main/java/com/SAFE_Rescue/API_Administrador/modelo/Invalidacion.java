@@ -0,0 +1,70 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Entidad que representa el cambio de una credencial, un bombero o un rol anotado para que los demás
+ * nodos invaliden sus cachés. BusInvalidacion la inserta y la sondea con JDBC; el mapeo define el
+ * esquema de la tabla invalidacion junto con el resto de las entidades.
+ */
+@Entity
+@Table(name = "invalidacion", indexes = @Index(name = "idx_invalidacion_fecha", columnList = "fecha"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class Invalidacion {
+
+    /**
+     * Identificador creciente del cambio; los nodos sondean por rango sobre él.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    /**
+     * Tipo de entidad modificada (CREDENCIAL, BOMBERO o ROL).
+     */
+    @Column(length = 20, nullable = false)
+    private String entidad;
+
+    /**
+     * Identificador de la entidad modificada.
+     */
+    @Column(name = "entidad_id", nullable = false)
+    private int entidadId;
+
+    /**
+     * Correo de la credencial, para las cachés indexadas por correo.
+     */
+    @Column(length = 80)
+    private String correo;
+
+    /**
+     * Indica si la credencial quedó activa.
+     */
+    @Column(nullable = false)
+    private boolean activa;
+
+    /**
+     * Indica si la entidad fue eliminada.
+     */
+    @Column(nullable = false)
+    private boolean eliminada;
+
+    /**
+     * Nodo que hizo el cambio, que no necesita aplicarlo.
+     */
+    @Column(length = 64, nullable = false)
+    private String nodo;
+
+    /**
+     * Momento en que se confirmó el cambio, para calcular el retraso y borrar las filas antiguas.
+     */
+    @Column(nullable = false)
+    private Date fecha;
+}
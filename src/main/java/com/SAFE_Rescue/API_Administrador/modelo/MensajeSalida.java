@@ -0,0 +1,64 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Entidad que representa un evento de la bandeja de salida destinado a otros módulos de SAFE Rescue.
+ * BandejaSalida la inserta, reclama y borra con JDBC; el mapeo define el esquema de la tabla bandeja_salida
+ * junto con el resto de las entidades.
+ */
+@Entity
+@Table(name = "bandeja_salida")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class MensajeSalida {
+
+    /**
+     * Tipos de evento publicados.
+     */
+    public enum Tipo {
+        CREDENCIAL_DESACTIVADA, CREDENCIAL_ELIMINADA, CREDENCIAL_ROL_ASIGNADO,
+        ROL_CREADO, ROL_ACTUALIZADO, ROL_ELIMINADO
+    }
+
+    /**
+     * Identificador creciente del evento; define el orden de publicación.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    /**
+     * Tipo de evento.
+     */
+    @Column(length = 40, nullable = false)
+    private String tipo;
+
+    /**
+     * Identificador de la credencial o del rol afectado.
+     */
+    @Column(name = "agregado_id", nullable = false)
+    private int agregadoId;
+
+    /**
+     * Datos del evento en JSON.
+     */
+    @JsonRawValue
+    @Column(length = 2000, nullable = false)
+    private String carga;
+
+    /**
+     * Momento en que se confirmó el cambio.
+     */
+    @Column(nullable = false)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ", timezone = "GMT-4")
+    private Date fecha;
+}
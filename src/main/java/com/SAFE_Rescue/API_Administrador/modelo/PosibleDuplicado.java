@@ -0,0 +1,69 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa un par de bomberos que podrían ser la misma persona.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class PosibleDuplicado {
+
+    /**
+     * ID del primer bombero del par.
+     */
+    @Schema(description = "ID del bombero", example = "15")
+    private int bomberoId;
+
+    /**
+     * RUN del primer bombero del par.
+     */
+    @Schema(description = "RUN del bombero", example = "12345678")
+    private int run;
+
+    /**
+     * Nombre y apellidos del primer bombero del par, tal como se registraron.
+     */
+    @Schema(description = "Nombre completo del bombero", example = "Juan González Muñoz")
+    private String nombre;
+
+    /**
+     * ID del bombero parecido.
+     */
+    @Schema(description = "ID del bombero parecido", example = "842")
+    private int duplicadoId;
+
+    /**
+     * RUN del bombero parecido.
+     */
+    @Schema(description = "RUN del bombero parecido", example = "12345687")
+    private int runDuplicado;
+
+    /**
+     * Nombre y apellidos del bombero parecido, tal como se registraron.
+     */
+    @Schema(description = "Nombre completo del bombero parecido", example = "Juan Gonsales Muños")
+    private String nombreDuplicado;
+
+    /**
+     * Similitud entre 0 y 1 del nombre y los apellidos, por distancia de edición y clave fonética.
+     */
+    @Schema(description = "Similitud del nombre completo", example = "0.93")
+    private double similitudNombre;
+
+    /**
+     * Indica si los RUN difieren en a lo más un dígito o en dos dígitos contiguos intercambiados.
+     */
+    @Schema(description = "Indica si los RUN son cercanos", example = "true")
+    private boolean runCercano;
+
+    /**
+     * Puntaje entre 0 y 1: 0.75 por la similitud del nombre y 0.25 si los RUN son cercanos.
+     */
+    @Schema(description = "Puntaje del par", example = "0.95")
+    private double puntaje;
+}
@@ -0,0 +1,85 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Entidad que representa una fila del registro de auditoría, con el autor ya resuelto.
+ * El destino tabla la inserta por lote con JDBC; el mapeo define el esquema de la tabla auditoria
+ * junto con el resto de las entidades.
+ */
+@Entity
+@Table(name = "auditoria", indexes = @Index(name = "idx_auditoria_entidad", columnList = "entidad, entidad_id"))
+@NoArgsConstructor
+@Data
+public class RegistroAuditoria {
+
+    /**
+     * Identificador único del registro.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    /**
+     * Momento de la operación.
+     */
+    @Column(nullable = false)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ", timezone = "GMT-4")
+    private Date fecha;
+
+    /**
+     * Operación realizada (CREAR, ACTUALIZAR, ELIMINAR, ASIGNAR, DESACTIVAR o REINICIAR_INTENTOS).
+     */
+    @Column(length = 30, nullable = false)
+    private String accion;
+
+    /**
+     * Tipo de registro afectado (BOMBERO, CREDENCIAL o ROL).
+     */
+    @Column(length = 30, nullable = false)
+    private String entidad;
+
+    /**
+     * Identificador del registro afectado.
+     */
+    @Column(name = "entidad_id", nullable = false)
+    private int entidadId;
+
+    /**
+     * Autor: credencial:ID si la solicitud traía un token válido, token-invalido, anonimo, o sistema
+     * si la operación no proviene de una solicitud HTTP.
+     */
+    @Column(length = 50, nullable = false)
+    private String actor;
+
+    /**
+     * Dirección IP del cliente, o null si la operación no proviene de una solicitud HTTP.
+     */
+    @Column(length = 45)
+    private String origen;
+
+    /**
+     * Crea un registro todavía no guardado.
+     * @param fecha Momento de la operación
+     * @param accion Operación realizada
+     * @param entidad Tipo de registro afectado
+     * @param entidadId Identificador del registro afectado
+     * @param actor Autor resuelto
+     * @param origen Dirección IP del cliente, o null
+     */
+    public RegistroAuditoria(Date fecha, String accion, String entidad, int entidadId, String actor, String origen) {
+        this.fecha = fecha;
+        this.accion = accion;
+        this.entidad = entidad;
+        this.entidadId = entidadId;
+        this.actor = actor;
+        this.origen = origen;
+    }
+}
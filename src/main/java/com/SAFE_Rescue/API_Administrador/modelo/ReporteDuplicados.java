@@ -0,0 +1,53 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Entidad DTO que representa el resultado de un análisis completo de bomberos duplicados.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ReporteDuplicados {
+
+    /**
+     * Bomberos analizados.
+     */
+    @Schema(description = "Bomberos analizados", example = "1000000")
+    private int bomberos;
+
+    /**
+     * Pares comparados dentro de los bloques; sin bloqueo serían bomberos * (bomberos - 1) / 2.
+     */
+    @Schema(description = "Pares comparados", example = "2850000")
+    private long comparaciones;
+
+    /**
+     * Pares con puntaje mayor o igual al umbral, incluidos los que no se devuelven por el límite.
+     */
+    @Schema(description = "Pares encontrados", example = "37")
+    private int encontrados;
+
+    /**
+     * Duración del análisis sobre el padrón en memoria.
+     */
+    @Schema(description = "Duración del análisis en milisegundos", example = "4200")
+    private long duracionMs;
+
+    /**
+     * Tiempo desde que se leyó el padrón analizado; los bomberos creados después no se incluyen.
+     */
+    @Schema(description = "Antigüedad del padrón analizado en milisegundos", example = "1200000")
+    private long antiguedadPadronMs;
+
+    /**
+     * Pares encontrados de mayor a menor puntaje, hasta el límite solicitado.
+     */
+    @Schema(description = "Posibles duplicados de mayor a menor puntaje")
+    private List<PosibleDuplicado> duplicados;
+}
@@ -0,0 +1,59 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import lombok.Value;
+
+/**
+ * Entidad DTO inmutable con el resultado guardado para una clave de idempotencia.
+ * Mientras la solicitud original se procesa el estado es 0; luego guarda el estado HTTP
+ * y el cuerpo de la respuesta, o el código, campo y mensaje del error de dominio.
+ */
+@Value
+public class RespuestaIdempotente {
+
+    /**
+     * Estado de las claves reservadas cuya solicitud aún no termina.
+     */
+    public static final int EN_CURSO = 0;
+
+    /**
+     * Huella SHA-256 del contenido de la solicitud original.
+     */
+    String huella;
+
+    /**
+     * Estado HTTP de la respuesta, o EN_CURSO.
+     */
+    int estado;
+
+    /**
+     * Código del error de dominio, o null si la solicitud fue exitosa.
+     */
+    String codigo;
+
+    /**
+     * Campo del error de dominio, si aplica.
+     */
+    String campo;
+
+    /**
+     * Cuerpo de la respuesta exitosa o mensaje del error.
+     */
+    String cuerpo;
+
+    /**
+     * Crea la reserva de una clave cuya solicitud comienza a procesarse.
+     * @param huella Huella del contenido de la solicitud
+     * @return Respuesta en curso
+     */
+    public static RespuestaIdempotente enCurso(String huella) {
+        return new RespuestaIdempotente(huella, EN_CURSO, null, null, null);
+    }
+
+    /**
+     * Indica si la solicitud original aún se está procesando.
+     * @return true si la respuesta está en curso
+     */
+    public boolean isEnCurso() {
+        return estado == EN_CURSO;
+    }
+}
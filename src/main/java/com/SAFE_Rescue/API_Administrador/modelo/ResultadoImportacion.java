@@ -0,0 +1,74 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Entidad que representa el resultado de una fila de una importación masiva de bomberos.
+ * Se guarda en la misma transacción que las inserciones del lote de la fila, y la última fila guardada
+ * es el punto de control desde el que se reanuda la importación, por lo que el reporte nunca repite ni
+ * pierde filas.
+ */
+@Entity
+@Table(name = "resultado_importacion", indexes = {
+        @Index(name = "idx_resultado_importacion_fila", columnList = "importacion, fila"),
+        @Index(name = "idx_resultado_importacion_fecha", columnList = "fecha")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ResultadoImportacion {
+
+    /**
+     * Identificador único del resultado.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    /**
+     * Identificador de la importación (el nombre de su archivo).
+     */
+    @Column(length = 36, nullable = false)
+    private String importacion;
+
+    /**
+     * Número de registro de la fila en el archivo; el encabezado es el registro 1.
+     */
+    @Column(nullable = false)
+    private long fila;
+
+    /**
+     * Posición en bytes del final de la fila en el archivo, desde la que continúa la importación.
+     */
+    @Column(nullable = false)
+    private long posicion;
+
+    /**
+     * ID del bombero creado, o null si la fila se rechazó.
+     */
+    @Column(name = "bombero_id")
+    private Integer bomberoId;
+
+    /**
+     * Campo que causó el rechazo, si se conoce.
+     */
+    @Column(length = 100)
+    private String campo;
+
+    /**
+     * Motivo del rechazo.
+     */
+    @Column(length = 255)
+    private String mensaje;
+
+    /**
+     * Fecha en que se procesó la fila, para eliminar los reportes antiguos.
+     */
+    @Column(nullable = false)
+    private Date fecha;
+}
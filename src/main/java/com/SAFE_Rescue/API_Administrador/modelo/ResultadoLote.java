@@ -0,0 +1,59 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entidad DTO que representa el resultado de una búsqueda por lote de IDs.
+ * Los resultados conservan el orden en que se pidieron los IDs.
+ * @param <T> Tipo de los elementos encontrados
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ResultadoLote<T> {
+
+    /**
+     * Cantidad máxima de IDs que se aceptan en una búsqueda por lote.
+     */
+    public static final int MAXIMO_IDS = 200;
+
+    /**
+     * Elementos encontrados, en el orden de los IDs solicitados.
+     */
+    @Schema(description = "Elementos encontrados, en el orden solicitado")
+    private List<T> resultados;
+
+    /**
+     * IDs solicitados que no existen.
+     */
+    @Schema(description = "IDs solicitados que no existen", example = "[4, 7]")
+    private List<Integer> faltantes;
+
+    /**
+     * Arma el resultado recorriendo los IDs en el orden solicitado.
+     * @param ids IDs solicitados, sin repetir
+     * @param encontrados Elementos encontrados indexados por ID
+     * @param <T> Tipo de los elementos
+     * @return Resultado con los elementos ordenados y los IDs faltantes
+     */
+    public static <T> ResultadoLote<T> ordenar(Iterable<Integer> ids, Map<Integer, T> encontrados) {
+        List<T> resultados = new ArrayList<>(encontrados.size());
+        List<Integer> faltantes = new ArrayList<>();
+        for (Integer id : ids) {
+            T elemento = encontrados.get(id);
+            if (elemento != null) {
+                resultados.add(elemento);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        return new ResultadoLote<>(resultados, faltantes);
+    }
+}
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidad que representa un credencial en el sistema.
@@ -12,6 +14,8 @@ import lombok.NoArgsConstructor;
  */
 @Entity
 @Table(name = "Rol")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rol")
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
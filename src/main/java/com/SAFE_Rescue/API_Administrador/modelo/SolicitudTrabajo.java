@@ -0,0 +1,29 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Entidad DTO que representa la solicitud de un trabajo asíncrono.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class SolicitudTrabajo {
+
+    /**
+     * Tipo de trabajo a ejecutar.
+     */
+    @Schema(description = "Tipo de trabajo", example = "DESACTIVAR_CREDENCIALES", required = true)
+    private String tipo;
+
+    /**
+     * Parámetros del trabajo; dependen del tipo.
+     */
+    @Schema(description = "Parámetros del trabajo", example = "{\"rolId\": \"3\"}")
+    private Map<String, String> parametros;
+}
@@ -0,0 +1,40 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad DTO que representa la respuesta de un inicio de sesión exitoso.
+ * Contiene el token firmado que los demás servicios validan sin consultar la base de datos.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class TokenSesion {
+
+    /**
+     * Mensaje de confirmación del inicio de sesión.
+     */
+    @Schema(description = "Mensaje de confirmación", example = "Login exitoso")
+    private String mensaje;
+
+    /**
+     * Token firmado con el identificador de la credencial, el rol y la expiración.
+     */
+    @Schema(description = "Token firmado de la sesión", example = "k1.12.3.1767225600.c2lnbmF0dXJh")
+    private String token;
+
+    /**
+     * Tipo de token para el encabezado Authorization.
+     */
+    @Schema(description = "Tipo de token", example = "Bearer")
+    private String tipo;
+
+    /**
+     * Instante de expiración en segundos desde epoch.
+     */
+    @Schema(description = "Expiración del token en segundos desde epoch", example = "1767225600")
+    private long expira;
+}
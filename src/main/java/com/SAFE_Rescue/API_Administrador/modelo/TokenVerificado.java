@@ -0,0 +1,35 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+/**
+ * Entidad DTO inmutable que representa el contenido de un token de sesión válido.
+ */
+@Value
+public class TokenVerificado {
+
+    /**
+     * Identificador de la credencial que inició sesión.
+     */
+    @Schema(description = "Identificador de la credencial", example = "12")
+    int credencialId;
+
+    /**
+     * Identificador del rol de la credencial al momento de emitir el token.
+     */
+    @Schema(description = "Identificador del rol", example = "3")
+    int rolId;
+
+    /**
+     * Instante de expiración en segundos desde epoch.
+     */
+    @Schema(description = "Expiración del token en segundos desde epoch", example = "1767225600")
+    long expira;
+
+    /**
+     * Identificador de la clave con la que se firmó el token.
+     */
+    @Schema(description = "Identificador de la clave de firma", example = "k1")
+    String clave;
+}
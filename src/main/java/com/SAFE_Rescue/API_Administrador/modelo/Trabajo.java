@@ -0,0 +1,154 @@
+package com.SAFE_Rescue.API_Administrador.modelo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Entidad que representa un trabajo asíncrono de larga duración (importaciones, desactivaciones masivas, etc.).
+ * Guarda el punto de control del último lote confirmado para poder reanudarlo tras un reinicio.
+ */
+@Entity
+@Table(name = "trabajo", indexes = @Index(name = "idx_trabajo_estado", columnList = "estado"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class Trabajo {
+
+    /**
+     * Estados del ciclo de vida de un trabajo.
+     */
+    public enum Estado {
+        PENDIENTE, EN_CURSO, COMPLETADO, CANCELADO, FALLIDO;
+
+        /**
+         * Indica si el trabajo aún puede avanzar.
+         * @return true si está pendiente o en curso
+         */
+        public boolean isActivo() {
+            return this == PENDIENTE || this == EN_CURSO;
+        }
+    }
+
+    /**
+     * Identificador único del trabajo.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Identificador único del trabajo", example = "1")
+    private int id;
+
+    /**
+     * Tipo de trabajo, que determina qué procesador lo ejecuta.
+     */
+    @Column(length = 40, nullable = false)
+    @Schema(description = "Tipo de trabajo", example = "DESACTIVAR_CREDENCIALES")
+    private String tipo;
+
+    /**
+     * Estado actual del trabajo.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 12, nullable = false)
+    @Schema(description = "Estado del trabajo", example = "EN_CURSO")
+    private Estado estado;
+
+    /**
+     * Parámetros del trabajo serializados en JSON.
+     */
+    @JsonIgnore
+    @Column(length = 2000)
+    private String parametros;
+
+    /**
+     * Punto de control del último lote confirmado; su significado depende del procesador.
+     */
+    @Column(name = "punto_control", nullable = false)
+    @Schema(description = "Punto de control del último lote confirmado", example = "1500")
+    private long puntoControl;
+
+    /**
+     * Cantidad de elementos a procesar, o -1 si no se conoce.
+     */
+    @Column(nullable = false)
+    @Schema(description = "Elementos a procesar, o -1 si no se conoce", example = "5000")
+    private long total = -1;
+
+    /**
+     * Elementos procesados correctamente.
+     */
+    @Column(nullable = false)
+    @Schema(description = "Elementos procesados", example = "1500")
+    private long procesados;
+
+    /**
+     * Elementos que no se pudieron procesar.
+     */
+    @Column(nullable = false)
+    @Schema(description = "Elementos con error", example = "3")
+    private long errores;
+
+    /**
+     * Mensaje del último error que detuvo el trabajo.
+     */
+    @Column(length = 255)
+    @Schema(description = "Mensaje del error que detuvo el trabajo")
+    private String mensaje;
+
+    /**
+     * Fecha de creación del trabajo.
+     */
+    @Column(nullable = false)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ", timezone = "GMT-4")
+    @Schema(description = "Fecha de creación")
+    private Date creado;
+
+    /**
+     * Fecha en que comenzó a procesarse el primer lote.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ", timezone = "GMT-4")
+    @Schema(description = "Fecha de inicio del procesamiento")
+    private Date iniciado;
+
+    /**
+     * Fecha en que el trabajo terminó, fue cancelado o falló.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ", timezone = "GMT-4")
+    @Schema(description = "Fecha de término")
+    private Date finalizado;
+
+    /**
+     * Obtiene el porcentaje de avance, si se conoce el total.
+     * @return Porcentaje entre 0 y 100, o null si el total es desconocido
+     */
+    @Schema(description = "Porcentaje de avance, o null si el total es desconocido", example = "30.0")
+    public Double getProgreso() {
+        if (total < 0) {
+            return null;
+        }
+        if (total == 0) {
+            return 100.0;
+        }
+        return Math.min(100.0, (procesados + errores) * 100.0 / total);
+    }
+
+    /**
+     * Obtiene el rendimiento promedio desde el inicio del procesamiento.
+     * @return Elementos procesados por segundo
+     */
+    @Schema(description = "Elementos procesados por segundo", example = "250.0")
+    public double getPorSegundo() {
+        if (iniciado == null) {
+            return 0;
+        }
+        long fin = finalizado != null ? finalizado.getTime() : System.currentTimeMillis();
+        long milisegundos = Math.max(1, fin - iniciado.getTime());
+        return (procesados + errores) * 1000.0 / milisegundos;
+    }
+}
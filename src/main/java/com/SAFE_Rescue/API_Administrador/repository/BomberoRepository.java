@@ -1,19 +1,50 @@
 package com.SAFE_Rescue.API_Administrador.repository;
 
 import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repositorio para la gestión de Bomberos
  * Maneja operaciones CRUD desde la base de datos usando Jakarta
- * Maneja validadores para encontrar el run y telefono
+ * Maneja validadores y búsquedas por run y telefono
+ * Maneja proyecciones parciales mediante BomberoRepositoryCustom
+ * Maneja búsquedas por lote de IDs cargando credencial y rol en la misma consulta
+ * Maneja la lectura por páginas ordenadas por ID, con credencial y rol, para la nómina en memoria
+ * Maneja la verificación por lote de RUN y teléfonos ya registrados para la importación masiva
  */
 @Repository
-public interface BomberoRepository extends JpaRepository<Bombero , Integer> {
+public interface BomberoRepository extends JpaRepository<Bombero , Integer>, BomberoRepositoryCustom {
 
     public boolean existsByRun(int run);
 
     public boolean existsByTelefono(int telefono);
 
+    Optional<Bombero> findByRun(int run);
+
+    Optional<Bombero> findByTelefono(int telefono);
+
+    @Query("select b from Bombero b left join fetch b.credencial c left join fetch c.rol where b.id in :ids")
+    List<Bombero> findAllByIdConRelaciones(Collection<Integer> ids);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("select b from Bombero b left join fetch b.credencial c left join fetch c.rol where b.id > :desde order by b.id")
+    List<Bombero> findPaginaConRelaciones(int desde, Limit limite);
+
+    @Query("select b.run from Bombero b where b.run in :runs")
+    List<Integer> findRunsExistentes(Collection<Integer> runs);
+
+    @Query("select b.telefono from Bombero b where b.telefono in :telefonos")
+    List<Integer> findTelefonosExistentes(Collection<Integer> telefonos);
+
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.SAFE_Rescue.API_Administrador.repository;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.BomberoParcial;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operaciones de bomberos que no se pueden derivar del nombre del método
+ */
+public interface BomberoRepositoryCustom {
+
+    /**
+     * Obtiene todos los bomberos seleccionando solo los atributos indicados.
+     * @param atributos Atributos de la entidad Bombero a seleccionar
+     * @return Lista de proyecciones parciales
+     */
+    List<BomberoParcial> findAllCampos(Collection<String> atributos);
+
+    /**
+     * Inserta bomberos nuevos junto con sus credenciales usando inserciones JDBC por lote.
+     * Debe ejecutarse dentro de una transacción; asigna a cada bombero y credencial su ID generado.
+     * Si la base de datos rechaza alguna inserción, deshace las del lote y la transacción sigue utilizable.
+     * @param bomberos Bomberos nuevos, cada uno con su credencial nueva
+     */
+    void insertarLote(List<Bombero> bomberos);
+}
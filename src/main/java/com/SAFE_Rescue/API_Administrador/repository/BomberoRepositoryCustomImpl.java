@@ -0,0 +1,140 @@
+package com.SAFE_Rescue.API_Administrador.repository;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.BomberoParcial;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementación de las operaciones personalizadas de bomberos.
+ * La proyección se construye con Criteria para que el SELECT contenga solo las columnas pedidas.
+ * La inserción por lote usa JDBC sobre la conexión de la transacción en curso, porque Hibernate
+ * no agrupa inserciones de entidades con ID autoincremental; un punto de guardado deshace el lote
+ * completo si la base de datos rechaza alguna fila.
+ */
+public class BomberoRepositoryCustomImpl implements BomberoRepositoryCustom {
+
+    private static final String INSERTAR_CREDENCIAL =
+            "insert into credencial (correo, contrasenia, intentos_fallidos, activo, rol_id) values (?, ?, ?, ?, ?)";
+    private static final String INSERTAR_BOMBERO =
+            "insert into bombero (run, dv, nombre, a_paterno, a_materno, fecha_registro, telefono, credenciales_id) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BomberoParcial> findAllCampos(Collection<String> atributos) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<Bombero> bombero = consulta.from(Bombero.class);
+
+        List<Selection<?>> columnas = new ArrayList<>();
+        for (String atributo : atributos) {
+            columnas.add(bombero.get(atributo).alias(atributo));
+        }
+        consulta.multiselect(columnas).orderBy(cb.asc(bombero.get("id")));
+
+        List<BomberoParcial> resultado = new ArrayList<>();
+        for (Tuple fila : entityManager.createQuery(consulta).getResultList()) {
+            BomberoParcial parcial = new BomberoParcial();
+            for (String atributo : atributos) {
+                parcial.asignar(atributo, fila.get(atributo));
+            }
+            resultado.add(parcial);
+        }
+        return resultado;
+    }
+
+    @Override
+    public void insertarLote(List<Bombero> bomberos) {
+        if (bomberos.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.unwrap(Session.class).doWork(conexion -> {
+            Savepoint inicio = conexion.setSavepoint();
+            try {
+                insertarCredenciales(conexion, bomberos);
+                insertarBomberos(conexion, bomberos);
+            } catch (SQLException e) {
+                conexion.rollback(inicio);
+                throw e;
+            }
+            conexion.releaseSavepoint(inicio);
+        });
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private void insertarCredenciales(Connection conexion, List<Bombero> bomberos) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(INSERTAR_CREDENCIAL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Bombero bombero : bomberos) {
+                Credencial credencial = bombero.getCredencial();
+                sentencia.setString(1, credencial.getCorreo());
+                sentencia.setString(2, credencial.getContrasenia());
+                sentencia.setInt(3, credencial.getIntentosFallidos());
+                sentencia.setBoolean(4, credencial.isActivo());
+                if (credencial.getRol() != null) {
+                    sentencia.setInt(5, credencial.getRol().getId());
+                } else {
+                    sentencia.setNull(5, Types.INTEGER);
+                }
+                sentencia.addBatch();
+            }
+            sentencia.executeBatch();
+            try (ResultSet claves = sentencia.getGeneratedKeys()) {
+                for (Bombero bombero : bomberos) {
+                    if (!claves.next()) {
+                        throw new SQLException("El controlador JDBC no devolvió los IDs de las credenciales insertadas");
+                    }
+                    bombero.getCredencial().setId(claves.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void insertarBomberos(Connection conexion, List<Bombero> bomberos) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(INSERTAR_BOMBERO, Statement.RETURN_GENERATED_KEYS)) {
+            for (Bombero bombero : bomberos) {
+                sentencia.setInt(1, bombero.getRun());
+                sentencia.setString(2, bombero.getDv());
+                sentencia.setString(3, bombero.getNombre());
+                sentencia.setString(4, bombero.getAPaterno());
+                sentencia.setString(5, bombero.getAMaterno());
+                sentencia.setTimestamp(6, new Timestamp(bombero.getFechaRegistro().getTime()));
+                sentencia.setInt(7, bombero.getTelefono());
+                sentencia.setInt(8, bombero.getCredencial().getId());
+                sentencia.addBatch();
+            }
+            sentencia.executeBatch();
+            try (ResultSet claves = sentencia.getGeneratedKeys()) {
+                for (Bombero bombero : bomberos) {
+                    if (!claves.next()) {
+                        throw new SQLException("El controlador JDBC no devolvió los IDs de los bomberos insertados");
+                    }
+                    bombero.setId(claves.getInt(1));
+                }
+            }
+        }
+    }
+}
@@ -1,19 +1,69 @@
 package com.SAFE_Rescue.API_Administrador.repository;
 
 import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repositorio para la gestión de Credenciales
  * Maneja operaciones CRUD desde la base de datos usando Jakarta
  * Maneja validadores para encontrar el correo
+ * La búsqueda por correo usa la caché de consultas de Hibernate
+ * Maneja búsquedas por lote de IDs cargando el rol en la misma consulta
+ * Recorre las credenciales activas de un rol por páginas de ID creciente para los trabajos masivos, bloqueando sus filas
+ * Recorre las credenciales activas con intentos fallidos por páginas de ID creciente, usando el índice de intentos;
+ * bloquea sus filas y salta las que ya bloqueó otro nodo (timeout de bloqueo -2, SKIP LOCKED)
+ * Cuenta los intentos fallidos, desactiva y reinicia intentos con UPDATE condicionales, sin leer y reescribir
+ * la entidad completa, para no perder incrementos concurrentes ni reactivar una credencial desactivada;
+ * el conteo de intentos saca de la caché solo la credencial afectada (CredencialRepositoryCustom)
+ * Maneja la verificación por lote de correos ya registrados para la importación masiva
  */
 @Repository
-public interface CredencialRepository extends JpaRepository<Credencial, Integer> {
+public interface CredencialRepository extends JpaRepository<Credencial, Integer>, CredencialRepositoryCustom {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Credencial findByCorreo(String correo);
 
     public boolean existsByCorreo(String correo);
+
+    @Query("select c.id from Credencial c where c.activo = true")
+    List<Integer> findIdsActivos();
+
+    @Query("select c from Credencial c left join fetch c.rol where c.id in :ids")
+    List<Credencial> findAllByIdConRol(Collection<Integer> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Credencial c where c.rol.id = :rolId and c.activo = true and c.id > :desdeId order by c.id")
+    List<Credencial> findActivasPorRol(int rolId, int desdeId, Pageable pagina);
+
+    long countByRol_IdAndActivoTrue(int rolId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select c from Credencial c where c.intentosFallidos >= :minimo and c.activo = true and c.id > :desdeId order by c.id")
+    List<Credencial> findActivasConIntentos(int minimo, int desdeId, Pageable pagina);
+
+    @Modifying
+    @Query("update Credencial c set c.activo = false where c.id in :ids and c.activo = true")
+    int desactivar(Collection<Integer> ids);
+
+    @Modifying
+    @Query("update Credencial c set c.intentosFallidos = 0 where c.id in :ids and c.activo = true")
+    int reiniciarIntentos(Collection<Integer> ids);
+
+    @Query("select c.correo from Credencial c where c.correo in :correos")
+    List<String> findCorreosExistentes(Collection<String> correos);
 }
 
@@ -0,0 +1,16 @@
+package com.SAFE_Rescue.API_Administrador.repository;
+
+/**
+ * Operaciones de credenciales que no se pueden derivar del nombre del método
+ */
+public interface CredencialRepositoryCustom {
+
+    /**
+     * Suma un intento fallido a una credencial activa con un UPDATE condicional, sin leer ni reescribir la entidad.
+     * Solo saca de la caché de segundo nivel esa credencial: el resto de la región y la caché de consultas
+     * se conservan, ya que ninguna consulta en caché depende de los intentos fallidos.
+     * @param id ID de la credencial
+     * @return Cantidad de filas actualizadas: 0 si la credencial no existe o está desactivada
+     */
+    int incrementarIntentos(int id);
+}
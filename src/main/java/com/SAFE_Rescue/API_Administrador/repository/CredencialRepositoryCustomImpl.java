@@ -0,0 +1,52 @@
+package com.SAFE_Rescue.API_Administrador.repository;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Implementación de las operaciones personalizadas de credenciales.
+ * El contador de intentos fallidos se actualiza con JDBC sobre la conexión de la transacción en curso:
+ * un UPDATE masivo de JPQL haría que Hibernate vaciara la región completa de credenciales y las marcas de
+ * tiempo de la caché de consultas en cada intento fallido. La credencial se saca de la caché al actualizarla
+ * y otra vez al terminar la transacción, para que una lectura concurrente no deje en caché el valor anterior.
+ */
+public class CredencialRepositoryCustomImpl implements CredencialRepositoryCustom {
+
+    private static final String INCREMENTAR_INTENTOS =
+            "update credencial set intentos_fallidos = intentos_fallidos + 1 where id = ? and activo = true";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int incrementarIntentos(int id) {
+        int actualizadas = entityManager.unwrap(Session.class).doReturningWork(conexion -> {
+            try (PreparedStatement sentencia = conexion.prepareStatement(INCREMENTAR_INTENTOS)) {
+                sentencia.setInt(1, id);
+                return sentencia.executeUpdate();
+            }
+        });
+        evictar(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int estado) {
+                    evictar(id);
+                }
+            });
+        }
+        return actualizadas;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private void evictar(int id) {
+        entityManager.getEntityManagerFactory().getCache().evict(Credencial.class, id);
+    }
+}
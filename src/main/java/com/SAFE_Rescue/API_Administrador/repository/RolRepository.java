@@ -1,14 +1,23 @@
 package com.SAFE_Rescue.API_Administrador.repository;
 
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repositorio para la gestión de roles
  * Maneja operaciones CRUD desde la base de datos usando Jakarta
+ * El listado de roles usa la caché de consultas de Hibernate
  */
 @Repository
 public interface RolRepository extends JpaRepository<Rol, Integer> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Rol> findAll();
+
 }
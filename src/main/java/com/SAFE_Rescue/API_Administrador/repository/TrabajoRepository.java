@@ -0,0 +1,34 @@
+package com.SAFE_Rescue.API_Administrador.repository;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repositorio para la gestión de trabajos asíncronos
+ * Maneja operaciones CRUD desde la base de datos usando Jakarta
+ * Bloquea la fila del trabajo mientras se procesa cada lote para que el punto de control
+ * y la cancelación no se pisen
+ */
+@Repository
+public interface TrabajoRepository extends JpaRepository<Trabajo, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trabajo t where t.id = :id")
+    Trabajo findByIdParaActualizar(int id);
+
+    @Query("select t.id from Trabajo t where t.estado in :estados order by t.id")
+    List<Integer> findIdsPorEstado(Collection<Trabajo.Estado> estados);
+
+    @Modifying
+    @Query("update Trabajo t set t.estado = :estado, t.finalizado = :fecha where t.id = :id and t.estado in :actuales")
+    int actualizarEstado(int id, Collection<Trabajo.Estado> actuales, Trabajo.Estado estado, Date fecha);
+}
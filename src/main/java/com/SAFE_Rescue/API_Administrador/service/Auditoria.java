@@ -0,0 +1,255 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.EventoAuditoria;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaAuditoria;
+import com.SAFE_Rescue.API_Administrador.modelo.RegistroAuditoria;
+import com.SAFE_Rescue.API_Administrador.modelo.TokenVerificado;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro de auditoría asíncrono de las modificaciones de bomberos, credenciales y roles.
+ * <p>
+ * Los servicios llaman a registrar, que arma el evento con el encabezado Authorization y la IP de la
+ * solicitud en curso y lo agrega a un búfer circular sin bloqueos; si hay una transacción activa, el
+ * evento se agrega recién al confirmarla, por lo que las operaciones revertidas no quedan registradas.
+ * Un único hilo consumidor vacía el búfer por lotes, verifica los tokens a la fecha de cada evento para
+ * resolver el autor y escribe en el destino configurado, reintentando los lotes que fallan.
+ * </p>
+ * <p>
+ * Con el búfer lleno, la política DESCARTAR pierde el evento sin demorar la solicitud y ESPERAR lo
+ * reintenta durante espera-maxima-ms antes de descartarlo. Los descartes, los eventos pendientes y el
+ * retraso del consumidor se informan en getEstadistica.
+ * </p>
+ */
+@Component
+public class Auditoria {
+
+    private static final Logger log = LoggerFactory.getLogger(Auditoria.class);
+
+    private static final String PREFIJO_BEARER = "Bearer ";
+    private static final int REINTENTOS_ESCRITURA = 3;
+
+    /**
+     * Comportamiento de registrar cuando el búfer está lleno.
+     */
+    public enum PoliticaDesborde {
+        DESCARTAR, ESPERAR
+    }
+
+    // SERVICIOS INYECTADOS
+    @Autowired private DestinoAuditoria destino;
+    @Autowired private TokenService tokenService;
+
+    @Value("${app.auditoria.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.auditoria.capacidad:8192}")
+    private int capacidad;
+
+    @Value("${app.auditoria.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${app.auditoria.politica:DESCARTAR}")
+    private PoliticaDesborde politica;
+
+    @Value("${app.auditoria.espera-maxima-ms:5}")
+    private long esperaMaximaMs;
+
+    @Value("${app.auditoria.intervalo-ms:5}")
+    private long intervaloMs;
+
+    private BuferCircular<EventoAuditoria> bufer;
+    private Thread consumidor;
+    private volatile boolean activo;
+
+    // CONTADORES DE LOS PRODUCTORES
+    private final LongAdder publicados = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+
+    // CONTADORES DEL CONSUMIDOR (solo los escribe su hilo)
+    private volatile long escritos;
+    private volatile long perdidos;
+    private volatile long lotes;
+    private volatile long errores;
+    private volatile long maximoPendientes;
+    private volatile long retrasoMs;
+    private volatile long maximoRetrasoMs;
+
+    /**
+     * Crea el búfer e inicia el hilo consumidor.
+     */
+    @PostConstruct
+    public void inicializar() {
+        bufer = new BuferCircular<>(capacidad);
+        activo = true;
+        consumidor = new Thread(this::consumir, "auditoria");
+        consumidor.setDaemon(true);
+        consumidor.start();
+    }
+
+    /**
+     * Detiene el consumidor después de escribir los eventos pendientes.
+     * @throws InterruptedException Si se interrumpe la espera del consumidor
+     */
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        activo = false;
+        LockSupport.unpark(consumidor);
+        consumidor.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // MÉTODOS PRINCIPALES
+
+    /**
+     * Registra una operación. Solo arma el evento y lo agrega al búfer, o programa agregarlo al
+     * confirmar la transacción en curso; no accede a la base de datos ni al disco.
+     * @param accion Operación realizada
+     * @param entidad Tipo de registro afectado
+     * @param entidadId Identificador del registro afectado
+     */
+    public void registrar(EventoAuditoria.Accion accion, EventoAuditoria.Entidad entidad, int entidadId) {
+        if (!habilitado) {
+            return;
+        }
+        String autorizacion = null;
+        String origen = null;
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos instanceof ServletRequestAttributes servlet) {
+            HttpServletRequest request = servlet.getRequest();
+            autorizacion = request.getHeader(HttpHeaders.AUTHORIZATION);
+            origen = request.getRemoteAddr();
+        }
+        EventoAuditoria evento = new EventoAuditoria(System.currentTimeMillis(), accion, entidad, entidadId, autorizacion, origen);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicar(evento);
+                }
+            });
+        } else {
+            publicar(evento);
+        }
+    }
+
+    /**
+     * Obtiene el estado del búfer y del consumidor.
+     * @return Estadística de la auditoría
+     */
+    public EstadisticaAuditoria getEstadistica() {
+        return new EstadisticaAuditoria(destino.getNombre(), politica.name(), bufer.getCapacidad(), bufer.getPendientes(),
+                maximoPendientes, retrasoMs, maximoRetrasoMs, publicados.sum(), descartados.sum(), escritos, perdidos,
+                lotes, errores);
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private void publicar(EventoAuditoria evento) {
+        if (bufer.ofrecer(evento)) {
+            publicados.increment();
+            return;
+        }
+        if (politica == PoliticaDesborde.ESPERAR) {
+            long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+            while (System.nanoTime() < limite) {
+                LockSupport.parkNanos(50_000);
+                if (bufer.ofrecer(evento)) {
+                    publicados.increment();
+                    return;
+                }
+            }
+        }
+        descartados.increment();
+    }
+
+    /**
+     * Ciclo del hilo consumidor: vacía el búfer por lotes y, si está vacío, duerme un intervalo.
+     */
+    private void consumir() {
+        List<EventoAuditoria> lote = new ArrayList<>(tamanoLote);
+        long intervalo = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        while (true) {
+            long pendientes = bufer.getPendientes();
+            if (pendientes > maximoPendientes) {
+                maximoPendientes = pendientes;
+            }
+            if (bufer.drenar(lote, tamanoLote) == 0) {
+                if (!activo) {
+                    return;
+                }
+                LockSupport.parkNanos(intervalo);
+                continue;
+            }
+            escribir(lote);
+            lote.clear();
+        }
+    }
+
+    private void escribir(List<EventoAuditoria> lote) {
+        long retraso = System.currentTimeMillis() - lote.get(0).getFecha();
+        retrasoMs = retraso;
+        if (retraso > maximoRetrasoMs) {
+            maximoRetrasoMs = retraso;
+        }
+        List<RegistroAuditoria> registros = new ArrayList<>(lote.size());
+        for (EventoAuditoria evento : lote) {
+            registros.add(new RegistroAuditoria(new Date(evento.getFecha()), evento.getAccion().name(), evento.getEntidad().name(),
+                    evento.getEntidadId(), actor(evento), evento.getOrigen()));
+        }
+        for (int intento = 1; intento <= REINTENTOS_ESCRITURA; intento++) {
+            try {
+                destino.escribir(registros);
+                escritos += registros.size();
+                lotes++;
+                return;
+            } catch (Exception e) {
+                errores++;
+                log.warn("No se pudo escribir un lote de {} registros de auditoría (intento {} de {})",
+                        registros.size(), intento, REINTENTOS_ESCRITURA, e);
+                if (intento < REINTENTOS_ESCRITURA) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(500L * intento));
+                }
+            }
+        }
+        perdidos += registros.size();
+    }
+
+    /**
+     * Resuelve el autor verificando el token de la solicitud en el momento en que se hizo, de modo que
+     * un token que expira mientras el evento espera en el búfer o en los reintentos sigue identificando
+     * a su credencial.
+     */
+    private String actor(EventoAuditoria evento) {
+        if (evento.getOrigen() == null) {
+            return "sistema";
+        }
+        String autorizacion = evento.getAutorizacion();
+        if (autorizacion == null || !autorizacion.startsWith(PREFIJO_BEARER)) {
+            return "anonimo";
+        }
+        TokenVerificado verificado = tokenService.verificar(autorizacion.substring(PREFIJO_BEARER.length()).trim(),
+                Instant.ofEpochMilli(evento.getFecha()));
+        return verificado != null ? "credencial:" + verificado.getCredencialId() : "token-invalido";
+    }
+}
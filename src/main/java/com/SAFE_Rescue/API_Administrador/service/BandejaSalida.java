@@ -0,0 +1,194 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaBandejaSalida;
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bandeja de salida transaccional de los eventos que otros módulos de SAFE Rescue necesitan conocer:
+ * desactivación y eliminación de credenciales, y cambios de roles.
+ * <p>
+ * Los servicios llaman a agregar dentro de la misma transacción que modifica la entidad, por lo que el
+ * evento se guarda en la tabla bandeja_salida (mapeada por MensajeSalida) solo si el cambio se confirma.
+ * La retransmisión programada reclama lotes ordenados por id con SELECT ... FOR UPDATE SKIP LOCKED, los
+ * entrega al destino y los borra en la misma transacción: varios nodos drenan la tabla en paralelo sin tomar los mismos eventos,
+ * y si el destino falla la transacción se revierte y el lote se vuelve a entregar más tarde.
+ * </p>
+ * <p>
+ * La entrega es al menos una vez: si el nodo cae después de entregar y antes de confirmar, el lote se
+ * repite. El orden está garantizado dentro de cada lote; entre lotes de distintos nodos, los
+ * consumidores ordenan por id.
+ * </p>
+ */
+@Component
+public class BandejaSalida {
+
+    private static final Logger log = LoggerFactory.getLogger(BandejaSalida.class);
+
+    private static final String RECLAMAR = "SELECT id, tipo, agregado_id, carga, fecha FROM bandeja_salida "
+            + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final RowMapper<MensajeSalida> MAPEO = (fila, numero) -> new MensajeSalida(
+            fila.getLong("id"), fila.getString("tipo"), fila.getInt("agregado_id"), fila.getString("carga"),
+            new Date(fila.getTimestamp("fecha").getTime()));
+
+    private final DestinoSalida destino;
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaccionLote;
+    private final boolean habilitado;
+    private final int tamanoLote;
+    private final int maximoLotes;
+
+    // CONTADORES
+    private final LongAdder enviados = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private volatile long retrasoMs;
+    private volatile long maximoRetrasoMs;
+
+    /**
+     * Crea la bandeja de salida.
+     * @param destino Destino al que se entregan los eventos
+     * @param jdbc Acceso a la base de datos
+     * @param objectMapper Serializador de los datos de los eventos
+     * @param transactionManager Administrador de las transacciones de entrega
+     * @param habilitado Indica si la retransmisión programada está activa en este nodo
+     * @param tamanoLote Eventos reclamados por transacción
+     * @param maximoLotes Lotes entregados como máximo por ejecución
+     * @param timeoutSegundos Duración máxima de la transacción de un lote
+     */
+    public BandejaSalida(DestinoSalida destino, JdbcTemplate jdbc, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.bandeja-salida.habilitado:true}") boolean habilitado,
+                         @Value("${app.bandeja-salida.tamano-lote:100}") int tamanoLote,
+                         @Value("${app.bandeja-salida.maximo-lotes:20}") int maximoLotes,
+                         @Value("${app.bandeja-salida.timeout-segundos:30}") int timeoutSegundos) {
+        this.destino = destino;
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.tamanoLote = tamanoLote;
+        this.maximoLotes = maximoLotes;
+        this.transaccionLote = new TransactionTemplate(transactionManager);
+        this.transaccionLote.setTimeout(timeoutSegundos);
+    }
+
+    // MÉTODOS PRINCIPALES
+
+    /**
+     * Guarda un evento en la transacción en curso.
+     * @param tipo Tipo de evento
+     * @param agregadoId Identificador de la credencial o del rol afectado
+     * @param datos Datos del evento, que se guardan en JSON
+     * @throws org.springframework.transaction.IllegalTransactionStateException Si no hay una transacción en curso
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void agregar(MensajeSalida.Tipo tipo, int agregadoId, Map<String, Object> datos) {
+        String carga;
+        try {
+            carga = objectMapper.writeValueAsString(datos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Datos del evento no serializables", e);
+        }
+        jdbc.update("INSERT INTO bandeja_salida (tipo, agregado_id, carga, fecha) VALUES (?, ?, ?, ?)",
+                tipo.name(), agregadoId, carga, new Timestamp(System.currentTimeMillis()));
+    }
+
+    /**
+     * Retransmite periódicamente los eventos pendientes.
+     */
+    @Scheduled(fixedDelayString = "${app.bandeja-salida.intervalo-ms:1000}")
+    public void retransmitirProgramado() {
+        if (habilitado) {
+            retransmitir();
+        }
+    }
+
+    /**
+     * Entrega lotes de eventos pendientes hasta vaciar la tabla, alcanzar el máximo de lotes por
+     * ejecución o encontrar un error del destino.
+     * @return Cantidad de eventos entregados
+     */
+    public int retransmitir() {
+        int total = 0;
+        for (int i = 0; i < maximoLotes; i++) {
+            int entregados;
+            try {
+                entregados = transaccionLote.execute(estado -> entregarLote());
+            } catch (RuntimeException e) {
+                errores.increment();
+                log.warn("No se pudo entregar un lote de la bandeja de salida; se reintentará", e);
+                break;
+            }
+            total += entregados;
+            if (entregados < tamanoLote) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene el estado de la retransmisión.
+     * @return Estadística de la bandeja de salida
+     */
+    public EstadisticaBandejaSalida getEstadistica() {
+        Long pendientes = jdbc.queryForObject("SELECT COUNT(*) FROM bandeja_salida", Long.class);
+        return new EstadisticaBandejaSalida(destino.getNombre(), pendientes != null ? pendientes : 0, enviados.sum(),
+                lotes.sum(), errores.sum(), retrasoMs, maximoRetrasoMs);
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Reclama, entrega y borra un lote dentro de la transacción en curso.
+     * @return Cantidad de eventos entregados
+     */
+    private int entregarLote() {
+        List<MensajeSalida> lote = jdbc.query(RECLAMAR, MAPEO, tamanoLote);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        try {
+            destino.enviar(lote);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("El destino " + destino.getNombre() + " rechazó el lote", e);
+        }
+        List<Object[]> ids = new ArrayList<>(lote.size());
+        for (MensajeSalida mensaje : lote) {
+            ids.add(new Object[]{mensaje.getId()});
+        }
+        jdbc.batchUpdate("DELETE FROM bandeja_salida WHERE id = ?", ids);
+
+        long retraso = System.currentTimeMillis() - lote.get(0).getFecha().getTime();
+        retrasoMs = retraso;
+        if (retraso > maximoRetrasoMs) {
+            maximoRetrasoMs = retraso;
+        }
+        enviados.add(lote.size());
+        lotes.increment();
+        return lote.size();
+    }
+}
@@ -0,0 +1,132 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaBarrido;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Barridos programados que conectan los intentos fallidos de inicio de sesión con el estado de las credenciales.
+ * <p>
+ * La desactivación recorre periódicamente las credenciales activas con al menos {@code umbral} intentos
+ * fallidos y las desactiva; el reinicio, según su expresión cron, vuelve a cero los intentos de las que
+ * siguen activas, de modo que el umbral cuenta los fallos de un período. Ambos avanzan por ID creciente
+ * sobre el índice de intentos, en lotes de {@code tamano-lote} credenciales, cada uno en su propia
+ * transacción corta y con una pausa entre lotes, para que los bloqueos de filas no demoren el login.
+ * </p>
+ * <p>
+ * Todos los nodos ejecutan los barridos, pero cada lote bloquea sus filas saltando las que otro nodo ya
+ * tiene bloqueadas (SKIP LOCKED) y las modifica con un UPDATE condicional, por lo que una credencial se
+ * desactiva y se informa a la bandeja de salida y a la auditoría una sola vez.
+ * </p>
+ */
+@Component
+public class BloqueoCredenciales {
+
+    private static final Logger log = LoggerFactory.getLogger(BloqueoCredenciales.class);
+
+    // SERVICIOS INYECTADOS
+    @Autowired private CredencialService credencialService;
+
+    @Value("${app.credenciales.bloqueo.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.credenciales.bloqueo.umbral:5}")
+    private int umbral;
+
+    @Value("${app.credenciales.bloqueo.tamano-lote:200}")
+    private int tamanoLote;
+
+    @Value("${app.credenciales.bloqueo.pausa-ms:20}")
+    private long pausaMs;
+
+    private volatile EstadisticaBarrido ultimaDesactivacion;
+    private volatile EstadisticaBarrido ultimoReinicio;
+
+    /**
+     * Desactiva las credenciales activas que alcanzaron el umbral de intentos fallidos.
+     */
+    @Scheduled(fixedDelayString = "${app.credenciales.bloqueo.intervalo-ms:60000}", initialDelayString = "${app.credenciales.bloqueo.intervalo-ms:60000}")
+    public void desactivar() {
+        if (habilitado) {
+            ultimaDesactivacion = barrer("desactivacion", desdeId -> credencialService.desactivarSobreUmbral(umbral, desdeId, tamanoLote));
+        }
+    }
+
+    /**
+     * Reinicia los intentos fallidos de las credenciales activas.
+     */
+    @Scheduled(cron = "${app.credenciales.bloqueo.reinicio-cron:0 0 4 * * *}")
+    public void reiniciar() {
+        if (habilitado) {
+            ultimoReinicio = barrer("reinicio", desdeId -> credencialService.reiniciarIntentos(desdeId, tamanoLote));
+        }
+    }
+
+    /**
+     * Obtiene la última ejecución de cada barrido.
+     * @return Estadísticas de los barridos ya ejecutados
+     */
+    public List<EstadisticaBarrido> getEstadisticas() {
+        List<EstadisticaBarrido> estadisticas = new ArrayList<>(2);
+        if (ultimaDesactivacion != null) {
+            estadisticas.add(ultimaDesactivacion);
+        }
+        if (ultimoReinicio != null) {
+            estadisticas.add(ultimoReinicio);
+        }
+        return estadisticas;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Ejecuta lotes desde el ID 0 hasta que uno venga incompleto. Si la base de datos está saturada
+     * se detiene; el siguiente barrido retoma desde el inicio.
+     * @param tarea Nombre del barrido
+     * @param lote Operación que procesa el lote siguiente al ID indicado en su propia transacción
+     * @return Estadística del barrido
+     */
+    private EstadisticaBarrido barrer(String tarea, IntFunction<List<Credencial>> lote) {
+        long inicio = System.nanoTime();
+        long procesados = 0;
+        int lotes = 0;
+        int desdeId = 0;
+        boolean incompleto = false;
+        try {
+            while (true) {
+                List<Credencial> procesadas = lote.apply(desdeId);
+                lotes++;
+                procesados += procesadas.size();
+                if (procesadas.size() < tamanoLote) {
+                    break;
+                }
+                desdeId = procesadas.get(procesadas.size() - 1).getId();
+                Thread.sleep(pausaMs);
+            }
+        } catch (SobrecargaException e) {
+            incompleto = true;
+            log.warn("Barrido de {} detenido por sobrecarga de la base de datos tras {} credenciales", tarea, procesados);
+        } catch (InterruptedException e) {
+            incompleto = true;
+            Thread.currentThread().interrupt();
+        }
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        double porSegundo = procesados * 1000.0 / Math.max(1, milisegundos);
+        if (procesados > 0) {
+            log.info("Barrido de {}: {} credenciales en {} lotes, {} ms ({} por segundo)",
+                    tarea, procesados, lotes, milisegundos, Math.round(porSegundo));
+        }
+        return new EstadisticaBarrido(tarea, procesados, lotes, milisegundos, porSegundo, incompleto, new Date());
+    }
+}
@@ -1,18 +1,32 @@
 package com.SAFE_Rescue.API_Administrador.service;
 
+import com.SAFE_Rescue.API_Administrador.evento.BomberoModificado;
+import com.SAFE_Rescue.API_Administrador.evento.EventoAuditoria;
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.BomberoInstantanea;
 import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
 import com.SAFE_Rescue.API_Administrador.repository.BomberoRepository;
 import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCoalescencia;
+import com.SAFE_Rescue.API_Administrador.modelo.BomberoParcial;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
 import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
-import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Servicio para la gestión integral de ciudadano
@@ -23,6 +37,27 @@ import java.util.NoSuchElementException;
 @Transactional
 public class BomberoService {
 
+    // ERRORES PREDEFINIDOS
+    private static final RecursoNoEncontradoException BOMBERO_NO_ENCONTRADO = new RecursoNoEncontradoException("Bombero no encontrado");
+    private static final RecursoNoEncontradoException CREDENCIAL_NO_ENCONTRADA = new RecursoNoEncontradoException("Credencial no encontrada");
+    private static final ConflictoException CORREO_EN_USO = new ConflictoException("credencial.correo", "Error: el correo de la credencial ya está en uso.");
+    private static final ConflictoException RUN_EXISTE = new ConflictoException("run", "El RUN ya existe");
+    private static final ConflictoException TELEFONO_EXISTE = new ConflictoException("telefono", "El Telefono ya existe");
+    private static final ValidacionException BOMBERO_NULO = new ValidacionException("bombero", "El bombero no puede ser nulo");
+    private static final ValidacionException RUN_NEGATIVO = new ValidacionException("run", "El RUN debe ser un número positivo");
+    private static final ValidacionException RUN_EXCEDE = new ValidacionException("run", "El valor RUN excede máximo de caracteres (8)");
+    private static final ValidacionException DV_REQUERIDO = new ValidacionException("dv", "El DV del bombero es requerido");
+    private static final ValidacionException DV_EXCEDE = new ValidacionException("dv", "El valor DV excede máximo de caracteres (1)");
+    private static final ValidacionException NOMBRE_REQUERIDO = new ValidacionException("nombre", "El nombre del bombero es requerido");
+    private static final ValidacionException NOMBRE_EXCEDE = new ValidacionException("nombre", "El valor nombre del bombero excede máximo de caracteres (50)");
+    private static final ValidacionException APATERNO_REQUERIDO = new ValidacionException("aPaterno", "El apellido paterno del bombero es requerido");
+    private static final ValidacionException APATERNO_EXCEDE = new ValidacionException("aPaterno", "El valor apellido paterno del bombero excede máximo de caracteres (50)");
+    private static final ValidacionException AMATERNO_REQUERIDO = new ValidacionException("aMaterno", "El apellido materno del bombero es requerido");
+    private static final ValidacionException AMATERNO_EXCEDE = new ValidacionException("aMaterno", "El valor apellido materno excede máximo de caracteres (50)");
+    private static final ValidacionException TELEFONO_NEGATIVO = new ValidacionException("telefono", "El teléfono debe ser un número positivo");
+    private static final ValidacionException TELEFONO_EXCEDE = new ValidacionException("telefono", "El valor telefono excede máximo de caracteres (9)");
+    private static final ValidacionException SIN_CAMPOS = new ValidacionException("fields", "Debe indicar al menos un campo");
+
     // REPOSITORIOS INYECTADOS
     @Autowired private BomberoRepository bomberoRepository;
     @Autowired private CredencialRepository credencialRepository;
@@ -30,6 +65,15 @@ public class BomberoService {
     // SERVICIOS INYECTADOS
     @Autowired private CredencialService credencialService;
 
+    // CACHÉS Y EVENTOS
+    @Autowired private CacheBomberos cacheBomberos;
+    @Autowired private ReservasUnicas reservasUnicas;
+    @Autowired private IndicesBomberos indicesBomberos;
+    @Autowired private ApplicationEventPublisher eventos;
+    @Autowired private Auditoria auditoria;
+
+    // CONSULTAS CONCURRENTES AGRUPADAS
+    private final CoalescedorConsultas<Integer, BomberoInstantanea> coalescedorPorId = new CoalescedorConsultas<>("bombero");
 
     // MÉTODOS CRUD PRINCIPALES
 
@@ -37,19 +81,152 @@ public class BomberoService {
      * Obtiene todos los Bomberos registrados en el sistema.
      * @return Lista completa de Bomberos
      */
+    @Transactional(readOnly = true)
     public List<Bombero> findAll(){
         return bomberoRepository.findAll();
     }
 
     /**
      * Busca un Bombero por su ID único.
+     * Se resuelve desde la caché de bomberos; en caso de fallo, las búsquedas concurrentes
+     * del mismo ID comparten una sola consulta a la base de datos. Cada llamador recibe
+     * una entidad nueva, no administrada. No abre una transacción propia para que
+     * las búsquedas en espera no retengan una conexión.
      * @param id Identificador del Bombero
      * @return Bombero encontrado
-     * @throws NoSuchElementException Si no se encuentra el Bombero
+     * @throws RecursoNoEncontradoException Si no se encuentra el Bombero
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Bombero findByID(Integer id){
-        return bomberoRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("No se encontró Bomberos con ID: " + id));
+        BomberoInstantanea bombero = cacheBomberos.buscarPorId(id);
+        if (bombero == null) {
+            bombero = coalescedorPorId.obtener(id, () -> {
+                long generacion = cacheBomberos.getGeneracion();
+                BomberoInstantanea leido = BomberoInstantanea.de(bomberoRepository.findById(id)
+                        .orElseThrow(() -> BOMBERO_NO_ENCONTRADO));
+                cacheBomberos.guardar(leido, generacion);
+                return leido;
+            });
+        }
+        return bombero.toBombero();
+    }
+
+    /**
+     * Busca un Bombero por su RUN.
+     * Con el índice de RUN construido, un RUN presente se resuelve por ID. Si el RUN no está en el índice
+     * (un bombero insertado fuera de los commits de este nodo falta hasta la próxima reconstrucción), si el
+     * bombero encontrado ya no tiene ese RUN o el índice no está listo, se usa la caché de bomberos y, en
+     * caso de fallo, una consulta por RUN.
+     * @param run RUN del Bombero, sin dígito verificador
+     * @return Bombero encontrado
+     * @throws RecursoNoEncontradoException Si no se encuentra el Bombero
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Bombero findByRun(int run){
+        if (indicesBomberos.isListo()) {
+            Bombero indexado = porIndice(indicesBomberos.buscarPorRun(run));
+            if (indexado != null && indexado.getRun() == run) {
+                return indexado;
+            }
+        }
+        BomberoInstantanea bombero = cacheBomberos.buscarPorRun(run);
+        if (bombero == null) {
+            long generacion = cacheBomberos.getGeneracion();
+            bombero = BomberoInstantanea.de(bomberoRepository.findByRun(run)
+                    .orElseThrow(() -> BOMBERO_NO_ENCONTRADO));
+            cacheBomberos.guardar(bombero, generacion);
+        }
+        return bombero.toBombero();
+    }
+
+    /**
+     * Busca un Bombero por su teléfono.
+     * Con el índice de teléfonos construido, un teléfono presente se resuelve por ID; si no está en el
+     * índice, si el índice está desactualizado o no está listo, se consulta por teléfono.
+     * @param telefono Teléfono del Bombero
+     * @return Bombero encontrado
+     * @throws RecursoNoEncontradoException Si no se encuentra el Bombero
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Bombero findByTelefono(int telefono){
+        if (indicesBomberos.isListo()) {
+            Bombero indexado = porIndice(indicesBomberos.buscarPorTelefono(telefono));
+            if (indexado != null && indexado.getTelefono() == telefono) {
+                return indexado;
+            }
+        }
+        long generacion = cacheBomberos.getGeneracion();
+        BomberoInstantanea bombero = BomberoInstantanea.de(bomberoRepository.findByTelefono(telefono)
+                .orElseThrow(() -> BOMBERO_NO_ENCONTRADO));
+        cacheBomberos.guardar(bombero, generacion);
+        return bombero.toBombero();
+    }
+
+    /**
+     * Busca varios Bomberos por sus IDs.
+     * Los que están en la caché de bomberos se resuelven sin consultar; el resto se obtiene
+     * con una sola consulta IN que trae también su credencial y rol.
+     * @param ids IDs solicitados
+     * @return Bomberos en el orden solicitado e IDs que no existen
+     * @throws ValidacionException Si no se indica ningún ID o se supera el máximo permitido
+     */
+    @Transactional(readOnly = true)
+    public ResultadoLote<Bombero> findByIds(List<Integer> ids){
+        Set<Integer> unicos = IdsLote.normalizar(ids);
+        Map<Integer, Bombero> encontrados = new HashMap<>();
+        List<Integer> pendientes = new ArrayList<>();
+        for (Integer id : unicos) {
+            BomberoInstantanea bombero = cacheBomberos.buscarPorId(id);
+            if (bombero != null) {
+                encontrados.put(id, bombero.toBombero());
+            } else {
+                pendientes.add(id);
+            }
+        }
+        if (!pendientes.isEmpty()) {
+            long generacion = cacheBomberos.getGeneracion();
+            for (Bombero leido : bomberoRepository.findAllByIdConRelaciones(pendientes)) {
+                BomberoInstantanea bombero = BomberoInstantanea.de(leido);
+                cacheBomberos.guardar(bombero, generacion);
+                encontrados.put(bombero.getId(), bombero.toBombero());
+            }
+        }
+        return ResultadoLote.ordenar(unicos, encontrados);
+    }
+
+    /**
+     * Obtiene las estadísticas de agrupación de las búsquedas por ID.
+     * @return Estadísticas de coalescencia
+     */
+    public EstadisticaCoalescencia getEstadisticaCoalescencia() {
+        return coalescedorPorId.getEstadistica();
+    }
+
+    /**
+     * Obtiene todos los Bomberos con solo los campos solicitados.
+     * La proyección se resuelve en el SELECT, sin cargar credenciales ni roles.
+     * @param campos Campos separados por coma, por ejemplo "id,run,nombre,telefono"
+     * @return Lista de Bomberos con los campos solicitados
+     * @throws ValidacionException Si algún campo no está permitido o no se indica ninguno
+     */
+    @Transactional(readOnly = true)
+    public List<BomberoParcial> findAllCampos(String campos){
+        Set<String> atributos = new LinkedHashSet<>();
+        for (String campo : campos.split(",")) {
+            String nombre = campo.trim();
+            if (nombre.isEmpty()) {
+                continue;
+            }
+            String atributo = BomberoParcial.CAMPOS.get(nombre);
+            if (atributo == null) {
+                throw new ValidacionException("fields", "Campo no permitido: " + nombre);
+            }
+            atributos.add(atributo);
+        }
+        if (atributos.isEmpty()) {
+            throw SIN_CAMPOS;
+        }
+        return bomberoRepository.findAllCampos(atributos);
     }
 
     /**
@@ -57,26 +234,32 @@ public class BomberoService {
      * Realiza validaciones y guarda relaciones con otros componentes.
      * @param bombero Datos del Bombero a guardar
      * @return Bombero guardado con ID generado
-     * @throws RuntimeException Si ocurre algún error durante el proceso
-     * @throws DataIntegrityViolationException Si ocurre algún error durante el proceso
+     * @throws ValidacionException Si el Bombero no cumple con las reglas de validación
+     * @throws ConflictoException Si el RUN, el teléfono o el correo de la credencial ya están registrados
      */
     public Bombero save(Bombero bombero) {
-        try {
-
-            Credencial guardadaCredencial = credencialService.save(bombero.getCredencial());
-
-            validarBombero(bombero);
-
-            bombero.setCredencial(guardadaCredencial);
+        if (bombero == null) {
+            throw BOMBERO_NULO;
+        }
+        validarBombero(bombero);
+        reservar("run", bombero.getRun(), RUN_EXISTE);
+        reservar("telefono", bombero.getTelefono(), TELEFONO_EXISTE);
 
-            return bomberoRepository.save(bombero);
+        Credencial guardadaCredencial;
+        try {
+            guardadaCredencial = credencialService.save(bombero.getCredencial());
         } catch (DataIntegrityViolationException e) {
-            throw new RuntimeException("Error: el correo de la credencial ya está en uso.");
-        } catch (EntityNotFoundException e) {
-            throw new RuntimeException("Error al guardar el bombero: " + e.getMessage());
-        } catch (Exception e) {
-            throw new RuntimeException("Error inesperado: " + e.getMessage());
+            if (RestriccionesUnicas.violaLa(RestriccionesUnicas.restriccionDe(e), RestriccionesUnicas.CREDENCIAL_CORREO)) {
+                throw CORREO_EN_USO;
+            }
+            throw e;
         }
+        bombero.setCredencial(guardadaCredencial);
+
+        Bombero guardado = guardar(bombero);
+        eventos.publishEvent(new BomberoModificado(guardado.getId(), false));
+        auditoria.registrar(EventoAuditoria.Accion.CREAR, EventoAuditoria.Entidad.BOMBERO, guardado.getId());
+        return guardado;
     }
 
     /**
@@ -84,168 +267,232 @@ public class BomberoService {
      * @param bombero Datos actualizados del bombero
      * @param id Identificador del bombero a actualizar
      * @return bombero actualizado
-     * @throws IllegalArgumentException Si el bombero proporcionado es nulo
-     * @throws NoSuchElementException Si no se encuentra el bombero a actualizar
-     * @throws RuntimeException Si ocurre algún error durante la actualización
+     * @throws ValidacionException Si el bombero proporcionado es nulo o sus datos no son válidos
+     * @throws RecursoNoEncontradoException Si no se encuentra el bombero a actualizar
+     * @throws ConflictoException Si el RUN o el teléfono ya están registrados
      */
     public Bombero update(Bombero bombero, Integer id) {
-        try {
-            if (bombero == null) {
-                throw new IllegalArgumentException("El bombero no puede ser nulo");
-            }
-
-            Bombero antiguoBombero = bomberoRepository.findById(id)
-                    .orElseThrow(() -> new NoSuchElementException("Bombero no encontrado"));
-
-            //Control de errores
-            if (bombero.getNombre() != null) {
-                if (bombero.getNombre().length() > 50) {
-                    throw new RuntimeException("El valor nombre excede máximo de caracteres (50)");
-                }else {
-                    antiguoBombero.setNombre(bombero.getNombre());
-                }
-            }
+        if (bombero == null) {
+            throw BOMBERO_NULO;
+        }
 
-            if (bomberoRepository.existsByTelefono(bombero.getTelefono())) {
-                throw new RuntimeException("El Telefono ya existe");
-            }else{
-                if (String.valueOf(bombero.getTelefono()).length()> 9) {
-                    throw new RuntimeException("El valor telefono excede máximo de caracteres (9)");
-                }else {
-                    antiguoBombero.setTelefono(bombero.getTelefono());
-                }
-            }
+        Bombero antiguoBombero = bomberoRepository.findById(id).orElseThrow(() -> BOMBERO_NO_ENCONTRADO);
 
-            if (bomberoRepository.existsByRun(bombero.getRun())) {
-                throw new RuntimeException("El RUN ya existe");
-            }else{
-                if (String.valueOf(bombero.getRun()).length() > 8) {
-                    throw new RuntimeException("El valor RUN excede máximo de caracteres (8)");
-                }else {
-                    antiguoBombero.setRun(bombero.getRun());
-                }
+        //Control de errores
+        if (bombero.getNombre() != null) {
+            if (bombero.getNombre().length() > 50) {
+                throw NOMBRE_EXCEDE;
             }
+            antiguoBombero.setNombre(bombero.getNombre());
+        }
 
+        if (String.valueOf(bombero.getTelefono()).length() > 9) {
+            throw TELEFONO_EXCEDE;
+        }
+        if (bombero.getTelefono() != antiguoBombero.getTelefono()) {
+            verificarTelefonoLibre(bombero.getTelefono(), id);
+            reservar("telefono", bombero.getTelefono(), TELEFONO_EXISTE);
+        }
+        antiguoBombero.setTelefono(bombero.getTelefono());
 
-            if (bombero.getDv() != null) {
-                if (bombero.getDv().length() > 1) {
-                    throw new RuntimeException("El valor DV excede máximo de caracteres (1)");
-                }else {
-                    antiguoBombero.setDv(bombero.getDv());
-                }
-            }
+        if (String.valueOf(bombero.getRun()).length() > 8) {
+            throw RUN_EXCEDE;
+        }
+        if (bombero.getRun() != antiguoBombero.getRun()) {
+            verificarRunLibre(bombero.getRun(), id);
+            reservar("run", bombero.getRun(), RUN_EXISTE);
+        }
+        antiguoBombero.setRun(bombero.getRun());
 
-            if (bombero.getAPaterno() != null) {
-                if (bombero.getAPaterno().length() > 50) {
-                    throw new RuntimeException("El valor a_paterno excede máximo de caracteres (50)");
-                }else {
-                    antiguoBombero.setAPaterno(bombero.getAPaterno());
-                }
+        if (bombero.getDv() != null) {
+            if (bombero.getDv().length() > 1) {
+                throw DV_EXCEDE;
             }
+            antiguoBombero.setDv(bombero.getDv());
+        }
 
-            if (bombero.getAMaterno() != null) {
-                if (bombero.getAMaterno().length() > 50) {
-                    throw new RuntimeException("El valor a_materno excede máximo de caracteres (50)");
-                }else {
-                    antiguoBombero.setAMaterno(bombero.getAMaterno());
-                }
+        if (bombero.getAPaterno() != null) {
+            if (bombero.getAPaterno().length() > 50) {
+                throw APATERNO_EXCEDE;
             }
+            antiguoBombero.setAPaterno(bombero.getAPaterno());
+        }
 
-            if (bombero.getFechaRegistro() != null) {
-                antiguoBombero.setFechaRegistro(bombero.getFechaRegistro());
+        if (bombero.getAMaterno() != null) {
+            if (bombero.getAMaterno().length() > 50) {
+                throw AMATERNO_EXCEDE;
             }
+            antiguoBombero.setAMaterno(bombero.getAMaterno());
+        }
 
-
-            return bomberoRepository.save(antiguoBombero);
-
-        }catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Error al actualizar el bombero: " + e.getMessage());
-        } catch (NoSuchElementException  f) {
-            throw new NoSuchElementException("Error al actualizar el bombero: " + f.getMessage());
-        } catch (Exception g) {
-            throw new RuntimeException("Error al actualizar el bombero: " + g.getMessage());
+        if (bombero.getFechaRegistro() != null) {
+            antiguoBombero.setFechaRegistro(bombero.getFechaRegistro());
         }
+
+        Bombero actualizado = guardar(antiguoBombero);
+        eventos.publishEvent(new BomberoModificado(id, false));
+        auditoria.registrar(EventoAuditoria.Accion.ACTUALIZAR, EventoAuditoria.Entidad.BOMBERO, id);
+        return actualizado;
     }
 
     /**
      * Elimina un bombero del sistema.
      * @param id Identificador del bombero a eliminar
-     * @throws NoSuchElementException Si no se encuentra el bombero
+     * @throws RecursoNoEncontradoException Si no se encuentra el bombero
      */
     public void delete(Integer id){
 
         if (!bomberoRepository.existsById(id)) {
-            throw new NoSuchElementException("Bombero no encontrado");
+            throw BOMBERO_NO_ENCONTRADO;
         }
         bomberoRepository.deleteById(id);
-
+        eventos.publishEvent(new BomberoModificado(id, true));
+        auditoria.registrar(EventoAuditoria.Accion.ELIMINAR, EventoAuditoria.Entidad.BOMBERO, id);
     }
 
     // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
 
+    /**
+     * Resuelve por ID el bombero encontrado en un índice.
+     * @param id ID del índice o IndiceEntero.AUSENTE
+     * @return Bombero, o null si el valor no está en el índice o este apunta a un bombero que ya no existe;
+     *         en ambos casos quien llama consulta la base de datos
+     */
+    private Bombero porIndice(int id) {
+        if (id == IndiceEntero.AUSENTE) {
+            return null;
+        }
+        try {
+            return findByID(id);
+        } catch (RecursoNoEncontradoException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rechaza un RUN que el índice asigna a otro bombero, confirmándolo con la base de datos porque
+     * el índice puede estar desactualizado. Sin coincidencia no se consulta: la restricción única
+     * sigue siendo la verificación final al guardar.
+     * @param run RUN a verificar
+     * @param id ID del bombero que lo usará (0 si es nuevo)
+     * @throws ConflictoException Si otro bombero ya tiene el RUN
+     */
+    private void verificarRunLibre(int run, int id) {
+        if (!indicesBomberos.isListo()) {
+            return;
+        }
+        int dueno = indicesBomberos.buscarPorRun(run);
+        if (dueno != IndiceEntero.AUSENTE && dueno != id && bomberoRepository.existsByRun(run)) {
+            throw RUN_EXISTE;
+        }
+    }
+
+    /**
+     * Rechaza un teléfono que el índice asigna a otro bombero, confirmándolo con la base de datos.
+     * @param telefono Teléfono a verificar
+     * @param id ID del bombero que lo usará (0 si es nuevo)
+     * @throws ConflictoException Si otro bombero ya tiene el teléfono
+     */
+    private void verificarTelefonoLibre(int telefono, int id) {
+        if (!indicesBomberos.isListo()) {
+            return;
+        }
+        int dueno = indicesBomberos.buscarPorTelefono(telefono);
+        if (dueno != IndiceEntero.AUSENTE && dueno != id && bomberoRepository.existsByTelefono(telefono)) {
+            throw TELEFONO_EXISTE;
+        }
+    }
+
+    /**
+     * Reserva un valor único en este nodo hasta que termine la transacción.
+     * @param campo Campo al que pertenece el valor
+     * @param valor Valor a reservar
+     * @param conflicto Error que se lanza si otra solicitud en curso ya reservó el valor
+     */
+    private void reservar(String campo, int valor, ConflictoException conflicto) {
+        if (!reservasUnicas.reservar(campo, valor)) {
+            throw conflicto;
+        }
+    }
+
+    /**
+     * Inserta o actualiza el bombero de inmediato para que las restricciones de RUN y teléfono
+     * únicos se verifiquen aquí, sin consultar antes si los valores existen.
+     * @param bombero Bombero a guardar
+     * @return Bombero guardado
+     * @throws ConflictoException Si el RUN o el teléfono ya están registrados
+     */
+    private Bombero guardar(Bombero bombero) {
+        try {
+            return bomberoRepository.saveAndFlush(bombero);
+        } catch (DataIntegrityViolationException e) {
+            String restriccion = RestriccionesUnicas.restriccionDe(e);
+            if (RestriccionesUnicas.violaLa(restriccion, RestriccionesUnicas.BOMBERO_RUN)) {
+                throw RUN_EXISTE;
+            }
+            if (RestriccionesUnicas.violaLa(restriccion, RestriccionesUnicas.BOMBERO_TELEFONO)) {
+                throw TELEFONO_EXISTE;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Valida el bombero
+     * La unicidad del RUN y del teléfono se revisa en los índices en memoria, sin consultar la base de
+     * datos salvo para confirmar una coincidencia; la reserva en memoria y la restricción de la base de
+     * datos la verifican al guardar.
      * @param bombero bombero
-     * @throws IllegalArgumentException Si el bombero no cumple con las reglas de validación
+     * @throws ValidacionException Si el bombero no cumple con las reglas de validación
+     * @throws ConflictoException Si otro bombero ya tiene el RUN o el teléfono
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void validarBombero(@NotNull Bombero bombero) {
 
         if (bombero.getRun() < 0) {
-            throw new IllegalArgumentException("La Cantidad debe ser un número positivo");
-        } else {
-            if (String.valueOf(bombero.getRun()).length() > 8) {
-                throw new RuntimeException("El valor RUN excede máximo de caracteres (8)");
-            }else{
-                if (bomberoRepository.existsByRun(bombero.getRun())) {
-                    throw new RuntimeException("El RUN ya existe");
-                }
-            }
+            throw RUN_NEGATIVO;
+        }
+        if (String.valueOf(bombero.getRun()).length() > 8) {
+            throw RUN_EXCEDE;
         }
 
-        if (bombero.getDv() != null) {
-            if (bombero.getDv().length() > 1) {
-                throw new RuntimeException("El valor DV excede máximo de caracteres (1)");
-            }
-        } else {
-            throw new IllegalArgumentException("El DV del bombero es requerido");
+        if (bombero.getDv() == null) {
+            throw DV_REQUERIDO;
+        }
+        if (bombero.getDv().length() > 1) {
+            throw DV_EXCEDE;
         }
 
-        if (bombero.getNombre() != null) {
-            if (bombero.getNombre().length() > 50) {
-                throw new RuntimeException("El valor nombre del bombero excede máximo de caracteres (50)");
-            }
-        } else {
-            throw new IllegalArgumentException("El nombre del bombero es requerido");
+        if (bombero.getNombre() == null) {
+            throw NOMBRE_REQUERIDO;
+        }
+        if (bombero.getNombre().length() > 50) {
+            throw NOMBRE_EXCEDE;
         }
 
-        if (bombero.getAPaterno() != null) {
-            if (bombero.getAPaterno().length() > 50) {
-                throw new RuntimeException("El valor apellido paterno del bombero excede máximo de caracteres (50)");
-            }
-        } else {
-            throw new IllegalArgumentException("El apellido paterno  del bombero es requerido");
+        if (bombero.getAPaterno() == null) {
+            throw APATERNO_REQUERIDO;
+        }
+        if (bombero.getAPaterno().length() > 50) {
+            throw APATERNO_EXCEDE;
         }
 
-        if (bombero.getAMaterno() != null) {
-            if (bombero.getAMaterno().length() > 50) {
-                throw new RuntimeException("El valor apellido materno excede máximo de caracteres (50)");
-            }
-        } else {
-            throw new IllegalArgumentException("El apellido materno  del ciudadano es requerido");
+        if (bombero.getAMaterno() == null) {
+            throw AMATERNO_REQUERIDO;
+        }
+        if (bombero.getAMaterno().length() > 50) {
+            throw AMATERNO_EXCEDE;
         }
 
         if (bombero.getTelefono() < 0) {
-            throw new IllegalArgumentException("La Cantidad debe ser un número positivo");
-        } else {
-            if (String.valueOf(bombero.getTelefono()).length()> 9) {
-                throw new RuntimeException("El valor telefono excede máximo de caracteres (9)");
-            }else{
-                if (bomberoRepository.existsByTelefono(bombero.getTelefono())) {
-                    throw new RuntimeException("El Telefono ya existe");
-                }
-            }
+            throw TELEFONO_NEGATIVO;
+        }
+        if (String.valueOf(bombero.getTelefono()).length() > 9) {
+            throw TELEFONO_EXCEDE;
         }
 
+        verificarRunLibre(bombero.getRun(), bombero.getId());
+        verificarTelefonoLibre(bombero.getTelefono(), bombero.getId());
     }
 
     // MÉTODOS DE ASIGNACIÓN DE RELACIONES
@@ -254,16 +501,18 @@ public class BomberoService {
      * Asigna un Credencial a un bombero
      * @param bomberoId ID del bombero
      * @param credencialId ID del credencial
+     * @throws RecursoNoEncontradoException Si no se encuentra el bombero o la credencial
      */
     public void asignarCredencial(Integer bomberoId, Integer credencialId) {
-        Bombero bombero = bomberoRepository.findById(bomberoId)
-                .orElseThrow(() -> new RuntimeException("Bombero no encontrado"));
+        Bombero bombero = bomberoRepository.findById(bomberoId).orElseThrow(() -> BOMBERO_NO_ENCONTRADO);
 
         Credencial credencial = credencialRepository.findById(credencialId)
-                .orElseThrow(() -> new RuntimeException("Credencial no encontrada"));
+                .orElseThrow(() -> CREDENCIAL_NO_ENCONTRADA);
 
         bombero.setCredencial(credencial);
         bomberoRepository.save(bombero);
+        eventos.publishEvent(new BomberoModificado(bomberoId, false));
+        auditoria.registrar(EventoAuditoria.Accion.ASIGNAR, EventoAuditoria.Entidad.BOMBERO, bomberoId);
     }
 
 }
\ No newline at end of file
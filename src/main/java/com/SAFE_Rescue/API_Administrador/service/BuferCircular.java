@@ -0,0 +1,121 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Búfer circular acotado sin bloqueos, para varios productores y un solo consumidor.
+ * <p>
+ * Cada casilla tiene un número de secuencia que indica de qué vuelta es y si está libre u ocupada.
+ * Un productor reserva una posición con una sola operación compareAndSet sobre la cola, escribe el
+ * elemento y publica la secuencia; si la casilla de su posición aún no se consumió, el búfer está
+ * lleno y ofrecer devuelve false sin esperar. El consumidor lee las casillas en orden sin operaciones
+ * atómicas de lectura-escritura. La capacidad se redondea a una potencia de dos.
+ * </p>
+ * @param <T> Tipo de los elementos
+ */
+public class BuferCircular<T> {
+
+    private final int mascara;
+    private final AtomicLongArray secuencias;
+    private final AtomicReferenceArray<T> elementos;
+    private final AtomicLong cola = new AtomicLong();
+    private volatile long cabeza;
+
+    /**
+     * Crea el búfer.
+     * @param capacidadMinima Cantidad mínima de elementos que puede contener
+     * @throws IllegalArgumentException Si la capacidad no es positiva o supera 2^30
+     */
+    public BuferCircular(int capacidadMinima) {
+        if (capacidadMinima < 1 || capacidadMinima > (1 << 30)) {
+            throw new IllegalArgumentException("La capacidad del búfer debe estar entre 1 y 2^30");
+        }
+        int capacidad = Integer.highestOneBit(capacidadMinima);
+        if (capacidad < capacidadMinima) {
+            capacidad <<= 1;
+        }
+        this.mascara = capacidad - 1;
+        this.secuencias = new AtomicLongArray(capacidad);
+        this.elementos = new AtomicReferenceArray<>(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            secuencias.set(i, i);
+        }
+    }
+
+    /**
+     * Agrega un elemento si hay lugar. Puede llamarse desde cualquier hilo.
+     * @param elemento Elemento a agregar, no nulo
+     * @return true si se agregó, false si el búfer está lleno
+     */
+    public boolean ofrecer(T elemento) {
+        long posicion = cola.get();
+        while (true) {
+            int indice = (int) (posicion & mascara);
+            long diferencia = secuencias.getAcquire(indice) - posicion;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(posicion, posicion + 1)) {
+                    elementos.setPlain(indice, elemento);
+                    secuencias.setRelease(indice, posicion + 1);
+                    return true;
+                }
+                posicion = cola.get();
+            } else if (diferencia < 0) {
+                return false;
+            } else {
+                posicion = cola.get();
+            }
+        }
+    }
+
+    /**
+     * Quita el elemento más antiguo. Solo puede llamarse desde el hilo consumidor.
+     * @return Elemento quitado, o null si no hay elementos publicados
+     */
+    public T tomar() {
+        long posicion = cabeza;
+        int indice = (int) (posicion & mascara);
+        if (secuencias.getAcquire(indice) != posicion + 1) {
+            return null;
+        }
+        T elemento = elementos.getPlain(indice);
+        elementos.setPlain(indice, null);
+        secuencias.setRelease(indice, posicion + mascara + 1);
+        cabeza = posicion + 1;
+        return elemento;
+    }
+
+    /**
+     * Quita elementos en orden hasta vaciar el búfer o alcanzar el máximo. Solo puede llamarse desde el hilo consumidor.
+     * @param destino Lista a la que se agregan los elementos
+     * @param maximo Cantidad máxima de elementos a quitar
+     * @return Cantidad de elementos quitados
+     */
+    public int drenar(List<T> destino, int maximo) {
+        int cantidad = 0;
+        T elemento;
+        while (cantidad < maximo && (elemento = tomar()) != null) {
+            destino.add(elemento);
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Obtiene la cantidad de elementos reservados y aún no consumidos.
+     * @return Elementos pendientes
+     */
+    public long getPendientes() {
+        return Math.max(0, cola.get() - cabeza);
+    }
+
+    /**
+     * Obtiene la capacidad del búfer.
+     * @return Cantidad máxima de elementos
+     */
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+}
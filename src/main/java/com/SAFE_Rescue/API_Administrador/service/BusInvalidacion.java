@@ -0,0 +1,385 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.BomberoModificado;
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.evento.RolModificado;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaInvalidacion;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Bus de invalidación de las cachés en memoria entre los nodos que comparten la base de datos,
+ * sin servicios adicionales.
+ * <p>
+ * Cada cambio de credencial, bombero o rol se anota en la tabla invalidacion con el nodo que lo hizo,
+ * en la misma transacción que el cambio. Cada nodo consulta periódicamente las filas con ID mayor al
+ * último procesado (un rango sobre la clave primaria) y, por cada cambio de otro nodo, expulsa solo esa
+ * entidad de la caché de segundo nivel, marca su tabla como modificada para la caché de consultas y vuelve
+ * a publicar el evento localmente para CacheBomberos, CacheCorreosDesconocidos y EstadoCredenciales.
+ * </p>
+ * <p>
+ * Los IDs se asignan al insertar y no al confirmar, por lo que una transacción lenta puede confirmar un
+ * ID menor después de que se leyó uno mayor. El cursor de lectura avanza siempre hasta el mayor ID leído;
+ * los IDs que faltaban por debajo se anotan como huecos pendientes y se vuelven a consultar por clave
+ * hasta espera-huecos-ms, y luego se descartan (transacción revertida). Así un hueco no detiene la
+ * lectura de los cambios posteriores, y el retraso de una invalidación está acotado por intervalo-ms más
+ * la duración de la transacción que la generó.
+ * </p>
+ * <p>
+ * La tabla la crea Hibernate a partir de la entidad Invalidacion.
+ * </p>
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class BusInvalidacion {
+
+    /**
+     * Tipo de entidad de una invalidación.
+     */
+    public enum Entidad {
+        CREDENCIAL, BOMBERO, ROL
+    }
+
+    private static final String INSERTAR = "INSERT INTO invalidacion (entidad, entidad_id, correo, activa, eliminada, nodo, fecha) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COLUMNAS = "SELECT id, entidad, entidad_id, correo, activa, eliminada, nodo, fecha FROM invalidacion ";
+
+    private static final String SONDEAR = COLUMNAS + "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final RowMapper<Fila> MAPEO = (fila, numero) -> new Fila(fila.getLong("id"),
+            Entidad.valueOf(fila.getString("entidad")), fila.getInt("entidad_id"), fila.getString("correo"),
+            fila.getBoolean("activa"), fila.getBoolean("eliminada"), fila.getString("nodo"),
+            fila.getTimestamp("fecha").getTime());
+
+    /**
+     * Huecos pendientes como máximo; un salto mayor de la secuencia no corresponde a transacciones en curso.
+     */
+    private static final int MAXIMO_HUECOS = 10_000;
+
+    /**
+     * Marca el hilo que vuelve a publicar eventos de otros nodos, para no anotarlos otra vez.
+     */
+    private static final ThreadLocal<Boolean> REPRODUCIENDO = ThreadLocal.withInitial(() -> false);
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher eventos;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final boolean habilitado;
+    private final int tamanoLote;
+    private final long esperaHuecosMs;
+    private final long retencionMs;
+    private final String nodo;
+
+    // ESTADO DEL SONDEO (solo lo modifica sondear, que es sincronizado)
+    private final TreeMap<Long, Long> huecos = new TreeMap<>();
+    private long cursor;
+    private volatile long ultimoId;
+
+    // CONTADORES
+    private volatile long sondeos;
+    private volatile long nanosSondeo;
+    private volatile long filasLeidas;
+    private volatile long aplicadas;
+    private volatile long huecosDescartados;
+    private volatile long sumaRetrasoMs;
+    private volatile long maximoRetrasoMs;
+
+    /**
+     * Crea el bus.
+     * @param jdbc Acceso a la base de datos
+     * @param eventos Publicador de los eventos de otros nodos
+     * @param entityManagerFactory Fábrica de JPA cuya caché de segundo nivel se invalida, si existe
+     * @param habilitado Indica si este nodo sondea la tabla
+     * @param tamanoLote Filas leídas como máximo por sondeo
+     * @param esperaHuecosMs Tiempo que se espera un ID faltante antes de descartarlo
+     * @param retencionMs Antigüedad a partir de la cual se borran las filas
+     * @param nodo Identificador de este nodo; si está vacío se genera uno aleatorio
+     */
+    public BusInvalidacion(JdbcTemplate jdbc, ApplicationEventPublisher eventos,
+                           ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                           @Value("${app.invalidacion.habilitado:true}") boolean habilitado,
+                           @Value("${app.invalidacion.tamano-lote:1000}") int tamanoLote,
+                           @Value("${app.invalidacion.espera-huecos-ms:60000}") long esperaHuecosMs,
+                           @Value("${app.invalidacion.retencion-ms:3600000}") long retencionMs,
+                           @Value("${app.invalidacion.nodo:}") String nodo) {
+        this.jdbc = jdbc;
+        this.eventos = eventos;
+        this.entityManagerFactory = entityManagerFactory;
+        this.habilitado = habilitado;
+        this.tamanoLote = tamanoLote;
+        this.esperaHuecosMs = esperaHuecosMs;
+        this.retencionMs = retencionMs;
+        this.nodo = nodo.isBlank() ? UUID.randomUUID().toString() : nodo;
+    }
+
+    /**
+     * Comienza a sondear desde el último cambio registrado: las cachés de un nodo que recién inicia están vacías.
+     */
+    @PostConstruct
+    public void inicializar() {
+        Long maximo = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM invalidacion", Long.class);
+        cursor = maximo != null ? maximo : 0;
+        ultimoId = cursor;
+    }
+
+    // ANOTACIÓN DE CAMBIOS LOCALES
+
+    /**
+     * Anota el cambio de una credencial en la transacción en curso.
+     * @param evento Cambio de la credencial
+     */
+    @EventListener
+    public void alModificarCredencial(CredencialModificada evento) {
+        anotar(Entidad.CREDENCIAL, evento.getCredencialId(), evento.getCorreo(), evento.isActiva(), evento.isEliminada());
+    }
+
+    /**
+     * Anota el cambio de un bombero en la transacción en curso.
+     * @param evento Cambio del bombero
+     */
+    @EventListener
+    public void alModificarBombero(BomberoModificado evento) {
+        anotar(Entidad.BOMBERO, evento.getBomberoId(), null, false, evento.isEliminado());
+    }
+
+    /**
+     * Anota el cambio de un rol en la transacción en curso.
+     * @param evento Cambio del rol
+     */
+    @EventListener
+    public void alModificarRol(RolModificado evento) {
+        anotar(Entidad.ROL, evento.getRolId(), null, false, evento.isEliminado());
+    }
+
+    // SONDEO
+
+    /**
+     * Lee los cambios nuevos y aplica los de otros nodos.
+     */
+    @Scheduled(fixedDelayString = "${app.invalidacion.intervalo-ms:500}")
+    public void sondearProgramado() {
+        if (habilitado) {
+            sondear();
+        }
+    }
+
+    /**
+     * Vuelve a consultar los huecos pendientes, lee las filas con ID mayor al cursor, aplica las de otros
+     * nodos y descarta los huecos que superaron la espera.
+     * @return Cantidad de invalidaciones de otros nodos aplicadas
+     */
+    public synchronized int sondear() {
+        long inicio = System.nanoTime();
+        long ahora = System.currentTimeMillis();
+        List<Fila> filas = new ArrayList<>(consultarHuecos());
+        for (Fila fila : filas) {
+            huecos.remove(fila.id);
+        }
+        for (Fila fila : jdbc.query(SONDEAR, MAPEO, cursor, tamanoLote)) {
+            long faltantes = fila.id - cursor - 1;
+            long anotados = Math.min(faltantes, Math.max(0, MAXIMO_HUECOS - huecos.size()));
+            for (long i = 1; i <= anotados; i++) {
+                huecos.put(cursor + i, ahora);
+            }
+            huecosDescartados += faltantes - anotados;
+            cursor = fila.id;
+            filas.add(fila);
+        }
+        List<Fila> remotas = new ArrayList<>();
+        for (Fila fila : filas) {
+            if (!nodo.equals(fila.nodo)) {
+                remotas.add(fila);
+            }
+        }
+        aplicar(remotas);
+        descartarHuecos(ahora);
+
+        filasLeidas += filas.size();
+        aplicadas += remotas.size();
+        sondeos++;
+        nanosSondeo += System.nanoTime() - inicio;
+        return remotas.size();
+    }
+
+    /**
+     * Borra las filas más antiguas que la retención; todos los nodos las leyeron hace tiempo.
+     */
+    @Scheduled(fixedDelayString = "${app.invalidacion.limpieza-ms:300000}", initialDelayString = "${app.invalidacion.limpieza-ms:300000}")
+    public void limpiar() {
+        if (habilitado) {
+            jdbc.update("DELETE FROM invalidacion WHERE fecha < ?", new Timestamp(System.currentTimeMillis() - retencionMs));
+        }
+    }
+
+    /**
+     * Obtiene el estado del bus en este nodo.
+     * @return Estadística de la invalidación
+     */
+    public EstadisticaInvalidacion getEstadistica() {
+        long totalSondeos = sondeos;
+        long totalAplicadas = aplicadas;
+        return new EstadisticaInvalidacion(nodo, ultimoId, totalSondeos,
+                totalSondeos == 0 ? 0 : nanosSondeo / 1_000_000.0 / totalSondeos,
+                filasLeidas, totalAplicadas, huecosDescartados,
+                totalAplicadas == 0 ? 0 : (double) sumaRetrasoMs / totalAplicadas, maximoRetrasoMs);
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Guarda la fila al confirmar la transacción en curso, junto con las demás de la misma transacción,
+     * o de inmediato si no hay transacción. Los eventos que el propio bus vuelve a publicar no se anotan.
+     */
+    @SuppressWarnings("unchecked")
+    private void anotar(Entidad entidad, int id, String correo, boolean activa, boolean eliminada) {
+        if (REPRODUCIENDO.get()) {
+            return;
+        }
+        Object[] fila = {entidad.name(), id, correo, activa, eliminada, nodo, null};
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            insertar(List.<Object[]>of(fila));
+            return;
+        }
+        List<Object[]> pendientes = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            List<Object[]> nuevas = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, nuevas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insertar(nuevas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BusInvalidacion.this);
+                }
+            });
+            pendientes = nuevas;
+        }
+        pendientes.add(fila);
+    }
+
+    private void insertar(List<Object[]> filas) {
+        Timestamp fecha = new Timestamp(System.currentTimeMillis());
+        for (Object[] fila : filas) {
+            fila[6] = fecha;
+        }
+        jdbc.batchUpdate(INSERTAR, filas);
+    }
+
+    /**
+     * Expulsa de la caché de segundo nivel las entidades cambiadas en otros nodos, invalida las
+     * consultas cacheadas de sus tablas y vuelve a publicar los eventos en este nodo.
+     */
+    private void aplicar(List<Fila> remotas) {
+        if (remotas.isEmpty()) {
+            return;
+        }
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        Set<String> tablas = new LinkedHashSet<>();
+        REPRODUCIENDO.set(true);
+        try {
+            for (Fila fila : remotas) {
+                switch (fila.entidad) {
+                    case CREDENCIAL -> {
+                        if (emf != null) {
+                            emf.getCache().evict(Credencial.class, fila.entidadId);
+                            tablas.addAll(tablasDe(emf, Credencial.class));
+                        }
+                        eventos.publishEvent(new CredencialModificada(fila.entidadId, fila.correo, fila.activa, fila.eliminada));
+                    }
+                    case BOMBERO -> eventos.publishEvent(new BomberoModificado(fila.entidadId, fila.eliminada));
+                    case ROL -> {
+                        if (emf != null) {
+                            emf.getCache().evict(Rol.class, fila.entidadId);
+                            tablas.addAll(tablasDe(emf, Rol.class));
+                        }
+                        eventos.publishEvent(new RolModificado(fila.entidadId, fila.eliminada));
+                    }
+                }
+                long retraso = System.currentTimeMillis() - fila.fecha;
+                sumaRetrasoMs += retraso;
+                if (retraso > maximoRetrasoMs) {
+                    maximoRetrasoMs = retraso;
+                }
+            }
+        } finally {
+            REPRODUCIENDO.remove();
+        }
+        if (emf != null && !tablas.isEmpty()) {
+            SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+            try (Session sesion = sessionFactory.openSession()) {
+                sessionFactory.getCache().getTimestampsCache()
+                        .invalidate(tablas.toArray(String[]::new), sesion.unwrap(SharedSessionContractImplementor.class));
+            }
+        }
+    }
+
+    private static List<String> tablasDe(EntityManagerFactory emf, Class<?> entidad) {
+        return Arrays.stream(emf.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(entidad).getQuerySpaces()).map(Object::toString).toList();
+    }
+
+    /**
+     * Consulta por clave los huecos pendientes más antiguos, hasta tamano-lote por sondeo.
+     */
+    private List<Fila> consultarHuecos() {
+        if (huecos.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = huecos.keySet().stream().limit(tamanoLote).toList();
+        String marcadores = String.join(",", Collections.nCopies(ids.size(), "?"));
+        return jdbc.query(COLUMNAS + "WHERE id IN (" + marcadores + ") ORDER BY id", MAPEO, ids.toArray());
+    }
+
+    /**
+     * Descarta los huecos que esperaron más de espera-huecos-ms y deja en ultimoId el mayor ID sin
+     * huecos pendientes por debajo.
+     */
+    private void descartarHuecos(long ahora) {
+        Iterator<Long> desde = huecos.values().iterator();
+        while (desde.hasNext()) {
+            if (ahora - desde.next() >= esperaHuecosMs) {
+                desde.remove();
+                huecosDescartados++;
+            }
+        }
+        ultimoId = huecos.isEmpty() ? cursor : huecos.firstKey() - 1;
+    }
+
+    /**
+     * Fila de la tabla de invalidaciones.
+     */
+    private record Fila(long id, Entidad entidad, int entidadId, String correo, boolean activa, boolean eliminada,
+                        String nodo, long fecha) {
+    }
+}
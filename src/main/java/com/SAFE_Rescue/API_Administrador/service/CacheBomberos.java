@@ -0,0 +1,208 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.BomberoModificado;
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.modelo.BomberoInstantanea;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada de bomberos por ID y por RUN.
+ * <p>
+ * Usa Caffeine (política W-TinyLFU, que admite según la frecuencia de acceso) con un límite
+ * en bytes estimados. Guarda copias inmutables (BomberoInstantanea), nunca entidades administradas.
+ * El índice por RUN solo guarda el ID, y una entrada cuyo RUN ya no coincide se trata como fallo,
+ * por lo que un cambio de RUN no deja lecturas obsoletas.
+ * </p>
+ * <p>
+ * Las entradas se invalidan después del commit de los cambios de bomberos y de credenciales.
+ * Un contador de generación evita guardar una copia leída antes de una invalidación concurrente.
+ * Con réplica de lectura configurada, una copia leída en una transacción de solo lectura (que va a la
+ * réplica) no se guarda durante el retraso tolerado de la réplica después de invalidar ese bombero,
+ * porque la réplica todavía puede devolver la versión anterior.
+ * </p>
+ */
+@Component
+public class CacheBomberos {
+
+    private final Cache<Integer, BomberoInstantanea> porId;
+    private final Cache<Integer, Integer> porRun;
+    private final ConcurrentHashMap<Integer, Integer> bomberoPorCredencial = new ConcurrentHashMap<>();
+    private final AtomicLong generacion = new AtomicLong();
+    private final LongAdder inserciones = new LongAdder();
+    private final Cache<Integer, Boolean> invalidadosRecientes;
+    private final long esperaReplicaNanos;
+    private volatile long esperaTodosHasta = System.nanoTime();
+
+    /**
+     * Crea la caché.
+     * @param maximoBytes Memoria máxima estimada para las copias de bomberos
+     * @param ttlSegundos Segundos que se conserva cada copia, para acotar cambios hechos desde otros nodos
+     * @param urlReplica URL de la réplica de lectura, vacía si no hay réplica
+     * @param esperaReplicaSegundos Segundos tras una invalidación en que no se guardan lecturas de la réplica
+     */
+    public CacheBomberos(@Value("${app.cache.bomberos.maximo-bytes:16777216}") long maximoBytes,
+                         @Value("${app.cache.bomberos.ttl-segundos:600}") long ttlSegundos,
+                         @Value("${app.datasource.replica.url:}") String urlReplica,
+                         @Value("${app.cache.bomberos.espera-replica-segundos:${app.datasource.replica.max-lag-seconds:5}}") long esperaReplicaSegundos) {
+        this.porId = Caffeine.newBuilder()
+                .maximumWeight(maximoBytes)
+                .weigher((Integer id, BomberoInstantanea bombero) -> bombero.getTamanoEstimado())
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .removalListener((Integer id, BomberoInstantanea bombero, RemovalCause causa) -> {
+                    if (bombero != null && bombero.getCredencialId() != null) {
+                        bomberoPorCredencial.remove(bombero.getCredencialId(), id);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.porRun = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maximoBytes / 256))
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        this.esperaReplicaNanos = urlReplica.isBlank() ? 0 : Duration.ofSeconds(esperaReplicaSegundos).toNanos();
+        this.invalidadosRecientes = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maximoBytes / 256))
+                .expireAfterWrite(Duration.ofNanos(Math.max(1, esperaReplicaNanos)))
+                .build();
+    }
+
+    /**
+     * Busca un bombero por ID.
+     * @param id Identificador del bombero
+     * @return Copia del bombero, o null si no está en la caché
+     */
+    public BomberoInstantanea buscarPorId(int id) {
+        return porId.getIfPresent(id);
+    }
+
+    /**
+     * Busca un bombero por RUN.
+     * @param run RUN del bombero
+     * @return Copia del bombero, o null si no está en la caché o su RUN cambió
+     */
+    public BomberoInstantanea buscarPorRun(int run) {
+        Integer id = porRun.getIfPresent(run);
+        if (id == null) {
+            return null;
+        }
+        BomberoInstantanea bombero = porId.getIfPresent(id);
+        return bombero != null && bombero.getRun() == run ? bombero : null;
+    }
+
+    /**
+     * Obtiene la generación actual, que debe leerse antes de consultar la base de datos.
+     * @return Generación de invalidaciones
+     */
+    public long getGeneracion() {
+        return generacion.get();
+    }
+
+    /**
+     * Guarda la copia de un bombero leída en la generación indicada.
+     * Si hubo una invalidación desde esa lectura, o si la copia viene de la réplica y el bombero se
+     * invalidó hace menos que el retraso tolerado de la réplica, la copia se descarta.
+     * @param bombero Copia del bombero
+     * @param generacionLectura Generación obtenida antes de leer el bombero
+     */
+    public void guardar(BomberoInstantanea bombero, long generacionLectura) {
+        if (generacion.get() != generacionLectura || leidoDeReplicaReciente(bombero.getId())) {
+            return;
+        }
+        porId.put(bombero.getId(), bombero);
+        inserciones.increment();
+        porRun.put(bombero.getRun(), bombero.getId());
+        if (bombero.getCredencialId() != null) {
+            bomberoPorCredencial.put(bombero.getCredencialId(), bombero.getId());
+        }
+        if (generacion.get() != generacionLectura) {
+            porId.invalidate(bombero.getId());
+        }
+    }
+
+    /**
+     * Invalida la copia de un bombero.
+     * @param id Identificador del bombero
+     */
+    public void invalidar(int id) {
+        generacion.incrementAndGet();
+        if (esperaReplicaNanos > 0) {
+            invalidadosRecientes.put(id, Boolean.TRUE);
+        }
+        porId.invalidate(id);
+    }
+
+    /**
+     * Invalida todas las copias.
+     */
+    public void invalidarTodo() {
+        generacion.incrementAndGet();
+        esperaTodosHasta = System.nanoTime() + esperaReplicaNanos;
+        porId.invalidateAll();
+        porRun.invalidateAll();
+    }
+
+    /**
+     * Invalida un bombero modificado o eliminado, después del commit.
+     * @param evento Evento con el bombero modificado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarBombero(BomberoModificado evento) {
+        invalidar(evento.getBomberoId());
+    }
+
+    /**
+     * Invalida el bombero de una credencial modificada, ya que su copia incluye la credencial.
+     * @param evento Evento con la credencial modificada
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCredencial(CredencialModificada evento) {
+        Integer bomberoId = bomberoPorCredencial.get(evento.getCredencialId());
+        if (bomberoId != null) {
+            invalidar(bomberoId);
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas de la caché por ID y del índice por RUN.
+     * @return Estadísticas de cada caché
+     */
+    public List<EstadisticaCache> getEstadisticas() {
+        List<EstadisticaCache> estadisticas = new ArrayList<>();
+        long bytes = porId.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(-1))
+                .orElse(-1L);
+        estadisticas.add(convertir("bombero-id", porId.stats(), porId.estimatedSize(), bytes));
+        estadisticas.add(convertir("bombero-run", porRun.stats(), porRun.estimatedSize(), -1));
+        return estadisticas;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private boolean leidoDeReplicaReciente(int id) {
+        if (esperaReplicaNanos == 0 || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        return System.nanoTime() - esperaTodosHasta < 0 || invalidadosRecientes.getIfPresent(id) != null;
+    }
+
+    private EstadisticaCache convertir(String region, CacheStats stats, long elementos, long bytes) {
+        return new EstadisticaCache(region, stats.hitCount(), stats.missCount(), inserciones.sum(),
+                elementos, stats.hitRate(), bytes);
+    }
+}
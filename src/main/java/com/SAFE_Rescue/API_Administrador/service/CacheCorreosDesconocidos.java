@@ -0,0 +1,103 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché negativa de correos que no corresponden a ninguna credencial.
+ * Permite rechazar sin consultar la base de datos los inicios de sesión repetidos con
+ * correos inexistentes, que son la mayor parte del tráfico de relleno de credenciales.
+ * Los correos se guardan en minúsculas, tienen un tamaño máximo y expiran tras un TTL corto,
+ * que acota el tiempo en que este nodo ignora un correo creado desde otro nodo.
+ */
+@Component
+public class CacheCorreosDesconocidos {
+
+    private final Cache<String, Boolean> correos;
+    private final AtomicLong aciertos = new AtomicLong();
+
+    /**
+     * Crea la caché.
+     * @param maximo Cantidad máxima de correos guardados
+     * @param ttlSegundos Segundos que se recuerda un correo desconocido
+     */
+    public CacheCorreosDesconocidos(@Value("${app.login.correos-desconocidos.maximo:100000}") long maximo,
+                                    @Value("${app.login.correos-desconocidos.ttl-segundos:30}") long ttlSegundos) {
+        this.correos = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .build();
+    }
+
+    /**
+     * Indica si el correo se buscó recientemente y no existía.
+     * @param correo Correo a consultar
+     * @return true si el correo es desconocido
+     */
+    public boolean esDesconocido(String correo) {
+        if (correo == null || correos.getIfPresent(normalizar(correo)) == null) {
+            return false;
+        }
+        aciertos.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Registra un correo que no corresponde a ninguna credencial.
+     * @param correo Correo desconocido
+     */
+    public void registrarDesconocido(String correo) {
+        if (correo != null) {
+            correos.put(normalizar(correo), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Olvida el correo de una credencial creada o modificada, después del commit para que
+     * una búsqueda concurrente a la transacción no vuelva a registrarlo como desconocido.
+     * @param evento Evento con el correo de la credencial
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCredencial(CredencialModificada evento) {
+        if (evento.getCorreo() != null) {
+            correos.invalidate(normalizar(evento.getCorreo()));
+        }
+    }
+
+    /**
+     * Olvida todos los correos registrados.
+     */
+    public void invalidarTodo() {
+        correos.invalidateAll();
+    }
+
+    /**
+     * Obtiene la cantidad aproximada de correos desconocidos en memoria.
+     * @return Número de correos guardados
+     */
+    public long getTamano() {
+        return correos.estimatedSize();
+    }
+
+    /**
+     * Obtiene la cantidad de inicios de sesión rechazados sin consultar la base de datos.
+     * @return Número de aciertos de la caché
+     */
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private static String normalizar(String correo) {
+        return correo.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCoalescencia;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa consultas idénticas concurrentes en una sola carga ("single-flight").
+ * El primer hilo que pide una clave ejecuta la carga; los que llegan mientras está en curso
+ * esperan y reciben el mismo resultado o la misma excepción. Al terminar la carga la clave
+ * se libera, por lo que no se guarda ningún resultado: no es una caché.
+ * El valor compartido lo reciben varios hilos y debe tratarse como de solo lectura.
+ * @param <K> Tipo de la clave de la consulta
+ * @param <V> Tipo del resultado
+ */
+public class CoalescedorConsultas<K, V> {
+
+    private final String nombre;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder compartidas = new LongAdder();
+
+    /**
+     * Crea el coalescedor.
+     * @param nombre Nombre con el que se informan sus estadísticas
+     */
+    public CoalescedorConsultas(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Obtiene el resultado de la consulta, compartiendo la carga en curso si existe.
+     * @param clave Clave de la consulta
+     * @param carga Carga que se ejecuta si no hay otra en curso para la clave
+     * @return Resultado de la carga
+     */
+    public V obtener(K clave, Supplier<V> carga) {
+        consultas.increment();
+        CompletableFuture<V> propia = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            compartidas.increment();
+            return esperar(existente);
+        }
+        try {
+            V valor = carga.get();
+            propia.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas de coalescencia desde el inicio.
+     * @return Consultas recibidas, consultas que compartieron una carga y su proporción
+     */
+    public EstadisticaCoalescencia getEstadistica() {
+        long total = consultas.sum();
+        long agrupadas = compartidas.sum();
+        return new EstadisticaCoalescencia(nombre, total, agrupadas, total == 0 ? 0 : (double) agrupadas / total);
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private V esperar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
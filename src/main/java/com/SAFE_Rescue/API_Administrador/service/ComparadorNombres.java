@@ -0,0 +1,202 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import java.text.Normalizer;
+
+/**
+ * Comparaciones aproximadas de nombres y RUN para detectar personas registradas dos veces.
+ * <p>
+ * Los nombres se normalizan (minúsculas, sin tildes ni signos) y se reducen a una clave fonética
+ * del español: se unifican las letras que suenan igual (b/v, s/z/c suave, k/q/c fuerte, j/g suave,
+ * y/ll), se omite la h muda y se colapsan las letras repetidas. Dos grafías de un mismo apellido,
+ * como "Gonzalez" y "Gonsales", tienen la misma clave.
+ * </p>
+ */
+public final class ComparadorNombres {
+
+    private ComparadorNombres() {
+    }
+
+    /**
+     * Normaliza un nombre: minúsculas, sin tildes y solo letras separadas por un espacio.
+     * @param texto Nombre tal como se registró (puede ser nulo)
+     * @return Nombre normalizado, vacío si no tiene letras
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String base = texto;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > 127) {
+                base = Normalizer.normalize(texto, Normalizer.Form.NFD);
+                break;
+            }
+        }
+        StringBuilder normalizado = new StringBuilder(base.length());
+        boolean espacio = false;
+        for (int i = 0; i < base.length(); i++) {
+            char c = Character.toLowerCase(base.charAt(i));
+            if (c >= 'a' && c <= 'z') {
+                if (espacio && normalizado.length() > 0) {
+                    normalizado.append(' ');
+                }
+                normalizado.append(c);
+                espacio = false;
+            } else if (Character.isWhitespace(c) || c == '-') {
+                espacio = true;
+            }
+        }
+        return normalizado.toString();
+    }
+
+    /**
+     * Calcula la clave fonética de un nombre ya normalizado.
+     * @param normalizado Nombre devuelto por normalizar
+     * @return Clave fonética
+     */
+    public static String fonetico(String normalizado) {
+        StringBuilder clave = new StringBuilder(normalizado.length());
+        int largo = normalizado.length();
+        for (int i = 0; i < largo; i++) {
+            char c = normalizado.charAt(i);
+            char siguiente = i + 1 < largo ? normalizado.charAt(i + 1) : ' ';
+            boolean inicio = i == 0 || normalizado.charAt(i - 1) == ' ';
+            char emitido;
+            switch (c) {
+                case 'v', 'w' -> emitido = 'b';
+                case 'z' -> emitido = 's';
+                case 'h' -> emitido = 0;
+                case 'q' -> {
+                    emitido = 'k';
+                    if (siguiente == 'u') {
+                        i++;
+                    }
+                }
+                case 'c' -> {
+                    if (siguiente == 'h') {
+                        emitido = 'x';
+                        i++;
+                    } else {
+                        emitido = siguiente == 'e' || siguiente == 'i' ? 's' : 'k';
+                    }
+                }
+                case 'g' -> {
+                    if (siguiente == 'e' || siguiente == 'i') {
+                        emitido = 'j';
+                    } else {
+                        emitido = 'g';
+                        char despues = i + 2 < largo ? normalizado.charAt(i + 2) : ' ';
+                        if (siguiente == 'u' && (despues == 'e' || despues == 'i')) {
+                            i++;
+                        }
+                    }
+                }
+                case 'l' -> {
+                    if (siguiente == 'l') {
+                        emitido = 'y';
+                        i++;
+                    } else {
+                        emitido = 'l';
+                    }
+                }
+                case 'y' -> emitido = esVocal(siguiente) ? 'y' : 'i';
+                case 'x' -> emitido = inicio ? 'j' : 's';
+                default -> emitido = c;
+            }
+            if (emitido != 0 && (clave.length() == 0 || clave.charAt(clave.length() - 1) != emitido)) {
+                clave.append(emitido);
+            }
+        }
+        return clave.toString();
+    }
+
+    /**
+     * Calcula la distancia de edición (inserciones, eliminaciones y reemplazos) entre dos tramos de texto,
+     * solo hasta el máximo indicado: recorre una franja de 2 * maximo + 1 columnas y se detiene en cuanto
+     * toda la fila lo supera.
+     * @param a Primer texto
+     * @param desdeA Inicio del tramo en a
+     * @param hastaA Fin (exclusivo) del tramo en a
+     * @param b Segundo texto
+     * @param desdeB Inicio del tramo en b
+     * @param hastaB Fin (exclusivo) del tramo en b
+     * @param maximo Distancia máxima de interés
+     * @return Distancia, o maximo + 1 si es mayor que el máximo
+     */
+    public static int distancia(String a, int desdeA, int hastaA, String b, int desdeB, int hastaB, int maximo) {
+        int n = hastaA - desdeA;
+        int m = hastaB - desdeB;
+        int fuera = maximo + 1;
+        if (Math.abs(n - m) > maximo) {
+            return fuera;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
+        }
+        int[] previa = new int[m + 1];
+        int[] actual = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previa[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            int desde = Math.max(1, i - maximo);
+            int hasta = Math.min(m, i + maximo);
+            actual[desde - 1] = desde == 1 ? i : fuera;
+            int minimo = actual[desde - 1];
+            char caracter = a.charAt(desdeA + i - 1);
+            for (int j = desde; j <= hasta; j++) {
+                int reemplazo = previa[j - 1] + (caracter == b.charAt(desdeB + j - 1) ? 0 : 1);
+                int valor = Math.min(reemplazo, Math.min(actual[j - 1], previa[j]) + 1);
+                actual[j] = valor;
+                minimo = Math.min(minimo, valor);
+            }
+            if (hasta < m) {
+                actual[hasta + 1] = fuera;
+            }
+            if (minimo > maximo) {
+                return fuera;
+            }
+            int[] temporal = previa;
+            previa = actual;
+            actual = temporal;
+        }
+        return Math.min(previa[m], fuera);
+    }
+
+    /**
+     * Indica si dos RUN pueden ser el mismo con un error de digitación: iguales, con un dígito distinto,
+     * con un dígito de más o de menos, o con dos dígitos contiguos intercambiados.
+     * @param a Primer RUN
+     * @param b Segundo RUN
+     * @return true si los RUN son cercanos
+     */
+    public static boolean runCercano(int a, int b) {
+        if (a == b) {
+            return true;
+        }
+        String x = Integer.toString(a);
+        String y = Integer.toString(b);
+        if (x.length() == y.length()) {
+            int primera = -1;
+            int diferencias = 0;
+            for (int i = 0; i < x.length(); i++) {
+                if (x.charAt(i) != y.charAt(i)) {
+                    if (primera < 0) {
+                        primera = i;
+                    }
+                    diferencias++;
+                }
+            }
+            return diferencias == 1
+                    || (diferencias == 2 && primera + 1 < x.length()
+                    && x.charAt(primera) == y.charAt(primera + 1) && x.charAt(primera + 1) == y.charAt(primera));
+        }
+        return distancia(x, 0, x.length(), y, 0, y.length(), 1) <= 1;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private static boolean esVocal(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -0,0 +1,175 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCompartimento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compartimentos estancos ("bulkheads") que separan el tráfico de login, de lecturas y de escrituras.
+ * <p>
+ * Cada clase de solicitud tiene su propio límite de solicitudes simultáneas y su propia cola acotada.
+ * Una solicitud que no encuentra lugar espera en la cola como máximo el tiempo configurado y luego
+ * se rechaza; si la cola está llena se rechaza de inmediato. Así una avalancha de logins solo ocupa
+ * los lugares del login y no bloquea la administración, ni al revés.
+ * </p>
+ * <p>
+ * Los compartimentos no reparten el pool de conexiones por sí solos: del mismo pool toman conexiones
+ * los trabajos asíncronos, el consumidor de la auditoría y las tareas programadas (bandeja de salida,
+ * bus de invalidación, reconstrucciones de la nómina y del padrón, limpieza de idempotencia). Por eso
+ * la suma de las concurrencias se dimensiona contra el pool menos las conexiones reservadas para esos
+ * usuarios de segundo plano; si no cabe, se advierte al iniciar, porque entonces una clase saturada
+ * o un trabajo largo pueden dejar sin conexión a las demás.
+ * </p>
+ */
+@Component
+public class Compartimentos {
+
+    private static final Logger log = LoggerFactory.getLogger(Compartimentos.class);
+
+    /**
+     * Clases de solicitudes con compartimento propio.
+     */
+    public enum Clase {
+        LOGIN, LECTURA, ESCRITURA
+    }
+
+    private final Map<Clase, Compartimento> compartimentos = new EnumMap<>(Clase.class);
+    private final boolean habilitado;
+    private final long esperaNanos;
+
+    /**
+     * Crea los compartimentos.
+     * @param habilitado Indica si los compartimentos están activos
+     * @param esperaMs Milisegundos máximos que una solicitud espera en cola
+     * @param concurrenciaLogin Solicitudes de login simultáneas
+     * @param colaLogin Solicitudes de login en cola
+     * @param concurrenciaLectura Lecturas simultáneas
+     * @param colaLectura Lecturas en cola
+     * @param concurrenciaEscritura Escrituras simultáneas
+     * @param colaEscritura Escrituras en cola
+     * @param reservaSegundoPlano Conexiones del pool reservadas para los usuarios de segundo plano
+     * @param tamanoPool Tamaño del pool de conexiones
+     */
+    public Compartimentos(@Value("${app.compartimentos.habilitado:true}") boolean habilitado,
+                          @Value("${app.compartimentos.espera-ms:200}") long esperaMs,
+                          @Value("${app.compartimentos.login.concurrencia:4}") int concurrenciaLogin,
+                          @Value("${app.compartimentos.login.cola:50}") int colaLogin,
+                          @Value("${app.compartimentos.lectura.concurrencia:4}") int concurrenciaLectura,
+                          @Value("${app.compartimentos.lectura.cola:100}") int colaLectura,
+                          @Value("${app.compartimentos.escritura.concurrencia:2}") int concurrenciaEscritura,
+                          @Value("${app.compartimentos.escritura.cola:20}") int colaEscritura,
+                          @Value("${app.compartimentos.reserva-segundo-plano:6}") int reservaSegundoPlano,
+                          @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanoPool) {
+        this.habilitado = habilitado;
+        this.esperaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        compartimentos.put(Clase.LOGIN, new Compartimento(concurrenciaLogin, colaLogin));
+        compartimentos.put(Clase.LECTURA, new Compartimento(concurrenciaLectura, colaLectura));
+        compartimentos.put(Clase.ESCRITURA, new Compartimento(concurrenciaEscritura, colaEscritura));
+        int total = concurrenciaLogin + concurrenciaLectura + concurrenciaEscritura;
+        if (habilitado && total + reservaSegundoPlano > tamanoPool) {
+            log.warn("La concurrencia de los compartimentos ({}) más la reserva de segundo plano ({}) supera el pool "
+                    + "de conexiones ({}); una clase saturada puede dejar sin conexiones a las demás",
+                    total, reservaSegundoPlano, tamanoPool);
+        }
+    }
+
+    /**
+     * Intenta obtener un lugar en el compartimento, esperando en su cola si es necesario.
+     * @param clase Clase de la solicitud
+     * @return true si se obtuvo el lugar; en ese caso debe liberarse con salir
+     */
+    public boolean entrar(Clase clase) {
+        if (!habilitado) {
+            return true;
+        }
+        Compartimento compartimento = compartimentos.get(clase);
+        if (compartimento.lugares.tryAcquire()) {
+            return true;
+        }
+        if (compartimento.enCola.incrementAndGet() > compartimento.colaMaxima) {
+            compartimento.enCola.decrementAndGet();
+            compartimento.rechazadas.increment();
+            return false;
+        }
+        try {
+            if (compartimento.lugares.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            compartimento.rechazadas.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            compartimento.rechazadas.increment();
+            return false;
+        } finally {
+            compartimento.enCola.decrementAndGet();
+        }
+    }
+
+    /**
+     * Libera el lugar obtenido con entrar y registra la latencia de la solicitud.
+     * @param clase Clase de la solicitud
+     * @param duracionNanos Duración de la solicitud, incluida la espera en cola
+     */
+    public void salir(Clase clase, long duracionNanos) {
+        if (!habilitado) {
+            return;
+        }
+        Compartimento compartimento = compartimentos.get(clase);
+        compartimento.lugares.release();
+        compartimento.atendidas.increment();
+        compartimento.latenciaTotalNanos.add(duracionNanos);
+        compartimento.latenciaMaximaNanos.accumulateAndGet(duracionNanos, Math::max);
+    }
+
+    /**
+     * Obtiene el estado de cada compartimento.
+     * @return Lista de estadísticas por clase de solicitud
+     */
+    public List<EstadisticaCompartimento> getEstadisticas() {
+        List<EstadisticaCompartimento> estadisticas = new ArrayList<>();
+        for (Map.Entry<Clase, Compartimento> entrada : compartimentos.entrySet()) {
+            Compartimento c = entrada.getValue();
+            long atendidas = c.atendidas.sum();
+            double promedio = atendidas == 0 ? 0 : c.latenciaTotalNanos.sum() / (double) atendidas / 1_000_000;
+            estadisticas.add(new EstadisticaCompartimento(entrada.getKey().name(), c.concurrencia,
+                    c.concurrencia - c.lugares.availablePermits(), Math.max(0, c.enCola.get()), c.colaMaxima,
+                    atendidas, c.rechazadas.sum(), promedio, c.latenciaMaximaNanos.get() / 1_000_000.0));
+        }
+        return estadisticas;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private static final class Compartimento {
+        private final int concurrencia;
+        private final int colaMaxima;
+        private final Semaphore lugares;
+        private final AtomicInteger enCola = new AtomicInteger();
+        private final LongAdder atendidas = new LongAdder();
+        private final LongAdder rechazadas = new LongAdder();
+        private final LongAdder latenciaTotalNanos = new LongAdder();
+        private final AtomicLong latenciaMaximaNanos = new AtomicLong();
+
+        private Compartimento(int concurrencia, int colaMaxima) {
+            if (concurrencia < 1 || colaMaxima < 0) {
+                throw new IllegalArgumentException("La concurrencia de un compartimento debe ser positiva y su cola no negativa");
+            }
+            this.concurrencia = concurrencia;
+            this.colaMaxima = colaMaxima;
+            this.lugares = new Semaphore(concurrencia);
+        }
+    }
+}
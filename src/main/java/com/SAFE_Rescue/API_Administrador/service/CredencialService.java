@@ -1,18 +1,33 @@
 package com.SAFE_Rescue.API_Administrador.service;
 
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.evento.EventoAuditoria;
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
 import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
 import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.CredencialInstantanea;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCoalescencia;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
 import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
-import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-
+import java.util.HashMap;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Servicio para la gestión integral de credencial
@@ -23,12 +38,35 @@ import java.util.NoSuchElementException;
 @Transactional
 public class CredencialService {
 
+    // ERRORES PREDEFINIDOS
+    private static final RecursoNoEncontradoException CREDENCIAL_NO_ENCONTRADA = new RecursoNoEncontradoException("Credencial no encontrada");
+    private static final RecursoNoEncontradoException ROL_NO_ENCONTRADO = new RecursoNoEncontradoException("Rol no encontrado");
+    private static final ConflictoException CORREO_EN_USO = new ConflictoException("correo", "El correo ya está en uso. Por favor, use otro.");
+    private static final ValidacionException CREDENCIAL_NULA = new ValidacionException("credencial", "La credencial no puede ser nula");
+    private static final ValidacionException CONTRASENIA_REQUERIDA = new ValidacionException("contrasenia", "La Contrasenia del ciudadano es requerido");
+    private static final ValidacionException CONTRASENIA_EXCEDE = new ValidacionException("contrasenia", "El valor Contrasenia excede máximo de caracteres (16)");
+    private static final ValidacionException CORREO_REQUERIDO = new ValidacionException("correo", "El Correo es requerido");
+    private static final ValidacionException CORREO_EXCEDE = new ValidacionException("correo", "El valor de Correo excede máximo de caracteres (80)");
+    private static final ValidacionException INTENTOS_NEGATIVOS = new ValidacionException("intentosFallidos", "La Cantidad debe ser un número positivo");
+
     // REPOSITORIOS INYECTADOS
     @Autowired private CredencialRepository credencialRepository;
     @Autowired private RolRepository rolRepository;
 
+    @PersistenceContext private EntityManager entityManager;
+
     // SERVICIOS INYECTADOS
     @Autowired private RolService rolService;
+    @Autowired private CacheCorreosDesconocidos correosDesconocidos;
+    @Autowired private ReservasUnicas reservasUnicas;
+
+    // EVENTOS
+    @Autowired private ApplicationEventPublisher eventos;
+    @Autowired private Auditoria auditoria;
+    @Autowired private BandejaSalida bandejaSalida;
+
+    // CONSULTAS CONCURRENTES AGRUPADAS
+    private final CoalescedorConsultas<Integer, CredencialInstantanea> coalescedorPorId = new CoalescedorConsultas<>("credencial");
 
     // MÉTODOS CRUD PRINCIPALES
 
@@ -36,19 +74,49 @@ public class CredencialService {
      * Obtiene todas las credenciales registradas en el sistema.
      * @return Lista completa de credenciales
      */
+    @Transactional(readOnly = true)
     public List<Credencial> findAll(){
         return credencialRepository.findAll();
     }
 
     /**
      * Busca una credencial por su ID único.
+     * Las búsquedas concurrentes del mismo ID comparten una sola consulta a la base de datos. Lo que
+     * comparten es una copia inmutable: cada llamador recibe una entidad nueva, no administrada, y la
+     * entidad leída no sale de la sesión de quien hizo la consulta. No abre una transacción propia
+     * para que las búsquedas en espera no retengan una conexión.
      * @param id Identificador del credencial
      * @return credencial encontrado
-     * @throws NoSuchElementException Si no se encuentra el credencial
+     * @throws RecursoNoEncontradoException Si no se encuentra el credencial
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Credencial findByID(Integer id){
-        return credencialRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("No se encontró Credencial con ID: " + id));
+        return coalescedorPorId.obtener(id, () -> CredencialInstantanea.de(credencialRepository.findById(id)
+                .orElseThrow(() -> CREDENCIAL_NO_ENCONTRADA))).toCredencial();
+    }
+
+    /**
+     * Busca varias credenciales por sus IDs con una sola consulta IN que trae también su rol.
+     * @param ids IDs solicitados
+     * @return Credenciales en el orden solicitado e IDs que no existen
+     * @throws ValidacionException Si no se indica ningún ID o se supera el máximo permitido
+     */
+    @Transactional(readOnly = true)
+    public ResultadoLote<Credencial> findByIds(List<Integer> ids){
+        Set<Integer> unicos = IdsLote.normalizar(ids);
+        Map<Integer, Credencial> encontradas = new HashMap<>();
+        for (Credencial credencial : credencialRepository.findAllByIdConRol(unicos)) {
+            encontradas.put(credencial.getId(), credencial);
+        }
+        return ResultadoLote.ordenar(unicos, encontradas);
+    }
+
+    /**
+     * Obtiene las estadísticas de agrupación de las búsquedas por ID.
+     * @return Estadísticas de coalescencia
+     */
+    public EstadisticaCoalescencia getEstadisticaCoalescencia() {
+        return coalescedorPorId.getEstadistica();
     }
 
 
@@ -57,24 +125,23 @@ public class CredencialService {
      * Realiza validaciones y guarda relaciones con otros componentes.
      * @param credencial Datos del credencial a guardar
      * @return credencial guardado con ID generado
-     * @throws RuntimeException Si ocurre algún error durante el proceso
-     * @throws DataIntegrityViolationException Si ocurre algún error durante el proceso
+     * @throws ValidacionException Si la credencial no cumple con las reglas de validación
+     * @throws ConflictoException Si el correo ya está en uso
      */
     public Credencial save(Credencial credencial) {
-        try {
-            Rol rol = rolService.save(credencial.getRol());
+        if (credencial == null) {
+            throw CREDENCIAL_NULA;
+        }
+        Rol rol = rolService.save(credencial.getRol());
 
-            credencial.setRol(rol);
+        credencial.setRol(rol);
 
-            validarCredencial(credencial);
-            return credencialRepository.save(credencial);
-        } catch (DataIntegrityViolationException e) {
-            throw new RuntimeException("El correo ya está en uso. Por favor, use otro.");
-        } catch (EntityNotFoundException f) {
-            throw new RuntimeException("Error al guardar la credencial: " + f.getMessage());
-        } catch (Exception g) {
-            throw new RuntimeException("Error inesperado: " + g.getMessage());
-        }
+        validarCredencial(credencial);
+        reservarCorreo(credencial.getCorreo());
+        Credencial guardada = guardar(credencial);
+        publicarModificacion(guardada, false);
+        auditoria.registrar(EventoAuditoria.Accion.CREAR, EventoAuditoria.Entidad.CREDENCIAL, guardada.getId());
+        return guardada;
     }
 
     /**
@@ -82,91 +149,171 @@ public class CredencialService {
      * @param credencial Datos actualizados del credencial
      * @param id Identificador del credencial a actualizar
      * @return credencial actualizado
-     * @throws IllegalArgumentException Si el credencial proporcionado es nulo
-     * @throws NoSuchElementException Si no se encuentra el credencial a actualizar
-     * @throws RuntimeException Si ocurre algún error durante la actualización
+     * @throws ValidacionException Si el credencial proporcionado es nulo o sus datos no son válidos
+     * @throws RecursoNoEncontradoException Si no se encuentra el credencial a actualizar
+     * @throws ConflictoException Si el nuevo correo ya está en uso
      */
     public Credencial update(Credencial credencial ,Integer id) {
-        try {
-            if (credencial == null) {
-                throw new IllegalArgumentException("El Credencial no puede ser nulo");
-            }
+        if (credencial == null) {
+            throw CREDENCIAL_NULA;
+        }
 
-            Credencial antiguaCredencial = credencialRepository.findById(id)
-                    .orElseThrow(() -> new NoSuchElementException("Credencial no encontrada"));
+        Credencial antiguaCredencial = credencialRepository.findById(id)
+                .orElseThrow(() -> CREDENCIAL_NO_ENCONTRADA);
 
-            //Control de errores
-            if (credencial.getContrasenia() != null) {
-                if (credencial.getContrasenia().length() > 16) {
-                    throw new RuntimeException("El valor contrasenia excede máximo de caracteres (16)");
-                }else {
-                    antiguaCredencial.setContrasenia(credencial.getContrasenia());
-                }
+        //Control de errores
+        if (credencial.getContrasenia() != null) {
+            if (credencial.getContrasenia().length() > 16) {
+                throw CONTRASENIA_EXCEDE;
             }
+            antiguaCredencial.setContrasenia(credencial.getContrasenia());
+        }
 
-            if (credencial.getCorreo() != null) {
-                if (credencialRepository.existsByCorreo(credencial.getCorreo())) {
-                    throw new RuntimeException("El Correo ya existe");
-                }else{
-                    if (credencial.getCorreo().length() > 80) {
-                        throw new RuntimeException("El valor correo excede máximo de caracteres (80)");
-                    }else {
-                        antiguaCredencial.setCorreo(credencial.getCorreo());
-                    }
-                }
+        if (credencial.getCorreo() != null) {
+            if (credencial.getCorreo().length() > 80) {
+                throw CORREO_EXCEDE;
+            }
+            if (!credencial.getCorreo().equalsIgnoreCase(antiguaCredencial.getCorreo())) {
+                reservarCorreo(credencial.getCorreo());
             }
+            antiguaCredencial.setCorreo(credencial.getCorreo());
+        }
 
-            antiguaCredencial.setActivo(credencial.isActivo());
-            return credencialRepository.save(antiguaCredencial);
-        }catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Error al actualizar la credencial: " + e.getMessage());
-        } catch (NoSuchElementException  f) {
-            throw new NoSuchElementException("Error al actualizar la credencial: " + f.getMessage());
-        } catch (Exception g) {
-            throw new RuntimeException("Error al actualizar la credencial: " + g.getMessage());
+        boolean estabaActiva = antiguaCredencial.isActivo();
+        antiguaCredencial.setActivo(credencial.isActivo());
+        Credencial actualizada = guardar(antiguaCredencial);
+        if (estabaActiva && !actualizada.isActivo()) {
+            bandejaSalida.agregar(MensajeSalida.Tipo.CREDENCIAL_DESACTIVADA, id, datosSalida(actualizada));
         }
+        publicarModificacion(actualizada, false);
+        auditoria.registrar(EventoAuditoria.Accion.ACTUALIZAR, EventoAuditoria.Entidad.CREDENCIAL, id);
+        return actualizada;
     }
 
     /**
      * Elimina un credencial del sistema.
      * @param id Identificador del credencial a eliminar
-     * @throws NoSuchElementException Si no se encuentra el credencial
+     * @throws RecursoNoEncontradoException Si no se encuentra el credencial
      */
     public void delete(Integer id){
 
         if (!credencialRepository.existsById(id)) {
-            throw new NoSuchElementException("Credencial no encontrada");
+            throw CREDENCIAL_NO_ENCONTRADA;
         }
         credencialRepository.deleteById(id);
+        eventos.publishEvent(new CredencialModificada(id, null, false, true));
+        bandejaSalida.agregar(MensajeSalida.Tipo.CREDENCIAL_ELIMINADA, id, Map.of());
+        auditoria.registrar(EventoAuditoria.Accion.ELIMINAR, EventoAuditoria.Entidad.CREDENCIAL, id);
     }
 
     // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
 
+    /**
+     * Reserva el correo en este nodo hasta que termine la transacción.
+     * @param correo Correo a reservar
+     * @throws ConflictoException Si otra solicitud en curso está registrando el mismo correo
+     */
+    private void reservarCorreo(String correo) {
+        if (!reservasUnicas.reservar("correo", correo.toLowerCase(Locale.ROOT))) {
+            throw CORREO_EN_USO;
+        }
+    }
+
+    /**
+     * Inserta o actualiza la credencial de inmediato para que la restricción de correo único
+     * se verifique aquí, sin consultar antes si el correo existe.
+     * @param credencial Credencial a guardar
+     * @return Credencial guardada
+     * @throws ConflictoException Si el correo ya está registrado
+     */
+    private Credencial guardar(Credencial credencial) {
+        try {
+            return credencialRepository.saveAndFlush(credencial);
+        } catch (DataIntegrityViolationException e) {
+            if (RestriccionesUnicas.violaLa(RestriccionesUnicas.restriccionDe(e), RestriccionesUnicas.CREDENCIAL_CORREO)) {
+                throw CORREO_EN_USO;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Publica el cambio de una credencial para los componentes que guardan su estado en memoria.
+     * @param credencial Credencial modificada
+     * @param eliminada Indica si la credencial fue eliminada
+     */
+    private void publicarModificacion(Credencial credencial, boolean eliminada) {
+        if (credencial != null) {
+            eventos.publishEvent(new CredencialModificada(credencial.getId(), credencial.getCorreo(), credencial.isActivo() && !eliminada, eliminada));
+        }
+    }
+
+    /**
+     * Arma los datos que los otros módulos reciben de una credencial, sin la contraseña.
+     * @param credencial Credencial modificada
+     * @return Correo, ID del rol y estado
+     */
+    private Map<String, Object> datosSalida(Credencial credencial) {
+        return Map.of("correo", credencial.getCorreo(),
+                "rolId", credencial.getRol() != null ? credencial.getRol().getId() : 0,
+                "activo", credencial.isActivo());
+    }
+
+    /**
+     * Desactiva con un UPDATE condicional las credenciales indicadas, que la consulta que las obtuvo
+     * dejó bloqueadas y activas, y publica el cambio solo de las que desactivó. Las entidades se separan
+     * del contexto antes de reflejar el cambio para que Hibernate no vuelva a escribirlas completas.
+     * @param credenciales Credenciales activas bloqueadas por la transacción en curso
+     * @return Credenciales desactivadas
+     */
+    private List<Credencial> desactivar(List<Credencial> credenciales) {
+        if (credenciales.isEmpty()) {
+            return credenciales;
+        }
+        int desactivadas = credencialRepository.desactivar(ids(credenciales));
+        if (desactivadas != credenciales.size()) {
+            throw new IllegalStateException("Se desactivaron " + desactivadas + " de " + credenciales.size() + " credenciales bloqueadas");
+        }
+        for (Credencial credencial : credenciales) {
+            entityManager.detach(credencial);
+            credencial.setActivo(false);
+            publicarModificacion(credencial, false);
+            auditoria.registrar(EventoAuditoria.Accion.DESACTIVAR, EventoAuditoria.Entidad.CREDENCIAL, credencial.getId());
+            bandejaSalida.agregar(MensajeSalida.Tipo.CREDENCIAL_DESACTIVADA, credencial.getId(), datosSalida(credencial));
+        }
+        return credenciales;
+    }
+
+    private static List<Integer> ids(List<Credencial> credenciales) {
+        return credenciales.stream().map(Credencial::getId).toList();
+    }
+
     /**
      * Valida la credencial
      * @param credencial credencial
-     * @throws IllegalArgumentException Si la credencial no cumple con las reglas de validación
+     * @throws ValidacionException Si la credencial no cumple con las reglas de validación
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void validarCredencial(Credencial credencial) {
 
         if (credencial.getContrasenia() == null) {
-            throw new IllegalArgumentException("La Contrasenia del ciudadano es requerido");
+            throw CONTRASENIA_REQUERIDA;
         }
 
         if (credencial.getContrasenia().length() > 16) {
-            throw new IllegalArgumentException("El valor Contrasenia excede máximo de caracteres (16)");
+            throw CONTRASENIA_EXCEDE;
         }
 
         if (credencial.getCorreo() == null) {
-            throw new IllegalArgumentException("El Correo es requerido");
+            throw CORREO_REQUERIDO;
         }
 
         if (credencial.getCorreo().length() >80) {
-            throw new IllegalArgumentException("El valor de Correo excede máximo de caracteres (80)");
+            throw CORREO_EXCEDE;
         }
 
         if (credencial.getIntentosFallidos() < 0) {
-            throw new IllegalArgumentException("La Cantidad debe ser un número positivo");
+            throw INTENTOS_NEGATIVOS;
         }
 
         rolService.validarRol(credencial.getRol());
@@ -180,16 +327,41 @@ public class CredencialService {
      * @param contrasenia contrasenia del ciudadano
      */
     public boolean verificarCredenciales(String correo, String contrasenia) {
+        return autenticar(correo, contrasenia) != null;
+    }
+
+    /**
+     * Autentica una credencial por correo y contraseña.
+     * Si la contraseña es incorrecta aumenta la cantidad de intentos fallidos con un UPDATE atómico, sin
+     * reescribir la credencial leída, para no perder intentos concurrentes ni reactivar una credencial
+     * que el barrido de bloqueo desactivó mientras tanto. El intento solo saca de la caché de segundo nivel
+     * esa credencial y no se publica como modificación: la nómina, la caché de bomberos y los demás nodos
+     * muestran el contador anterior hasta el siguiente cambio de la credencial, y un ataque de intentos
+     * fallidos no vacía las cachés ni genera invalidaciones en el clúster.
+     * Las credenciales desactivadas se rechazan sin verificar la contraseña ni contar el intento.
+     * Los correos inexistentes se recuerdan por un tiempo corto para rechazarlos sin consultar la base de datos.
+     * @param correo correo del ciudadano
+     * @param contrasenia contrasenia del ciudadano
+     * @return Credencial autenticada, o null si el correo no existe, la credencial está desactivada o la contraseña es incorrecta
+     */
+    public Credencial autenticar(String correo, String contrasenia) {
+        if (correosDesconocidos.esDesconocido(correo)) {
+            return null;
+        }
         Credencial credencial = credencialRepository.findByCorreo(correo);
-        if (credencial != null) {
+        if (credencial == null) {
+            correosDesconocidos.registrarDesconocido(correo);
+        } else if (credencial.isActivo()) {
             boolean sonCorrectas = contrasenia.equals(credencial.getContrasenia());
             if (!sonCorrectas) {
+                credencialRepository.incrementarIntentos(credencial.getId());
+                entityManager.detach(credencial);
                 credencial.setIntentosFallidos(credencial.getIntentosFallidos() + 1);
-                credencialRepository.save(credencial);
+                return null;
             }
-            return sonCorrectas;
+            return credencial;
         }
-        return false;
+        return null;
     }
 
     // MÉTODOS DE ASIGNACIÓN DE RELACIONES
@@ -198,16 +370,78 @@ public class CredencialService {
      * Asigna un rol  a una Credencial
      * @param credencialId ID del credencial
      * @param  rolId del rol
+     * @throws RecursoNoEncontradoException Si no se encuentra el rol o la credencial
      */
     public void asignarRol(Integer credencialId,Integer rolId) {
-        Rol rol = rolRepository.findById(rolId)
-                .orElseThrow(() -> new RuntimeException("Rol no encontrado"));
+        Rol rol = rolRepository.findById(rolId).orElseThrow(() -> ROL_NO_ENCONTRADO);
 
         Credencial credencial = credencialRepository.findById(credencialId)
-                .orElseThrow(() -> new RuntimeException("Credencial no encontrada"));
+                .orElseThrow(() -> CREDENCIAL_NO_ENCONTRADA);
 
         credencial.setRol(rol);
         credencialRepository.save(credencial);
+        publicarModificacion(credencial, false);
+        auditoria.registrar(EventoAuditoria.Accion.ASIGNAR, EventoAuditoria.Entidad.CREDENCIAL, credencialId);
+        bandejaSalida.agregar(MensajeSalida.Tipo.CREDENCIAL_ROL_ASIGNADO, credencialId, datosSalida(credencial));
+    }
+
+    // OPERACIONES MASIVAS
+
+    /**
+     * Cuenta las credenciales activas de un rol.
+     * @param rolId ID del rol
+     * @return Cantidad de credenciales activas
+     */
+    @Transactional(readOnly = true)
+    public long contarActivasPorRol(int rolId) {
+        return credencialRepository.countByRol_IdAndActivoTrue(rolId);
+    }
+
+    /**
+     * Desactiva el siguiente lote de credenciales activas de un rol, en orden de ID.
+     * Los cambios se publican al confirmar la transacción en curso.
+     * @param rolId ID del rol
+     * @param desdeId Último ID ya procesado (se procesan los mayores)
+     * @param cantidad Cantidad máxima de credenciales a desactivar
+     * @return Credenciales desactivadas, ordenadas por ID
+     */
+    public List<Credencial> desactivarActivasPorRol(int rolId, int desdeId, int cantidad) {
+        return desactivar(credencialRepository.findActivasPorRol(rolId, desdeId, PageRequest.of(0, cantidad)));
+    }
+
+    /**
+     * Desactiva el siguiente lote de credenciales activas con al menos la cantidad indicada de
+     * intentos fallidos, en orden de ID. Las filas que otro nodo tiene bloqueadas se saltan, de modo
+     * que dos nodos que barren a la vez no desactivan ni informan dos veces la misma credencial.
+     * Los cambios se publican al confirmar la transacción.
+     * @param umbral Intentos fallidos a partir de los cuales se desactiva la credencial
+     * @param desdeId Último ID ya procesado (se procesan los mayores)
+     * @param cantidad Cantidad máxima de credenciales a desactivar
+     * @return Credenciales desactivadas, ordenadas por ID
+     */
+    public List<Credencial> desactivarSobreUmbral(int umbral, int desdeId, int cantidad) {
+        return desactivar(credencialRepository.findActivasConIntentos(umbral, desdeId, PageRequest.of(0, cantidad)));
     }
 
+    /**
+     * Reinicia a cero los intentos fallidos del siguiente lote de credenciales activas que tengan alguno,
+     * en orden de ID. Las desactivadas conservan su contador.
+     * @param desdeId Último ID ya procesado (se procesan los mayores)
+     * @param cantidad Cantidad máxima de credenciales a reiniciar
+     * @return Credenciales reiniciadas, ordenadas por ID
+     */
+    public List<Credencial> reiniciarIntentos(int desdeId, int cantidad) {
+        List<Credencial> credenciales = credencialRepository.findActivasConIntentos(1, desdeId, PageRequest.of(0, cantidad));
+        if (credenciales.isEmpty()) {
+            return credenciales;
+        }
+        credencialRepository.reiniciarIntentos(ids(credenciales));
+        for (Credencial credencial : credenciales) {
+            entityManager.detach(credencial);
+            credencial.setIntentosFallidos(0);
+            publicarModificacion(credencial, false);
+            auditoria.registrar(EventoAuditoria.Accion.REINICIAR_INTENTOS, EventoAuditoria.Entidad.CREDENCIAL, credencial.getId());
+        }
+        return credenciales;
+    }
 }
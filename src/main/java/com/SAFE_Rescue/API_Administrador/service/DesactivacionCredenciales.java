@@ -0,0 +1,66 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.AvanceTrabajo;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trabajo asíncrono que desactiva todas las credenciales activas de un rol.
+ * Parámetros: rolId. El punto de control es el ID de la última credencial desactivada.
+ */
+@Component
+public class DesactivacionCredenciales implements ProcesadorTrabajo {
+
+    /**
+     * Tipo de trabajo con el que se envía.
+     */
+    public static final String TIPO = "DESACTIVAR_CREDENCIALES";
+
+    // ERRORES PREDEFINIDOS
+    private static final ValidacionException ROL_REQUERIDO = new ValidacionException("rolId", "El parámetro rolId es requerido y debe ser un número");
+
+    // SERVICIOS INYECTADOS
+    @Autowired private CredencialService credencialService;
+    @Autowired private RolService rolService;
+
+    @Override
+    public String getTipo() {
+        return TIPO;
+    }
+
+    @Override
+    public void validar(Map<String, String> parametros) {
+        rolService.findById(rolId(parametros));
+    }
+
+    @Override
+    public long contar(Map<String, String> parametros) {
+        return credencialService.contarActivasPorRol(rolId(parametros));
+    }
+
+    @Override
+    public AvanceTrabajo procesarLote(Map<String, String> parametros, long puntoControl, int tamanoLote) {
+        List<Credencial> desactivadas = credencialService.desactivarActivasPorRol(rolId(parametros), (int) puntoControl, tamanoLote);
+        long ultimo = desactivadas.isEmpty() ? puntoControl : desactivadas.get(desactivadas.size() - 1).getId();
+        return new AvanceTrabajo(ultimo, desactivadas.size(), 0, desactivadas.size() < tamanoLote);
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private static int rolId(Map<String, String> parametros) {
+        String valor = parametros.get("rolId");
+        if (valor == null) {
+            throw ROL_REQUERIDO;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw ROL_REQUERIDO;
+        }
+    }
+}
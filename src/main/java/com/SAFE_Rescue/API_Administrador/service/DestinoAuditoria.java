@@ -0,0 +1,27 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.RegistroAuditoria;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Almacenamiento de solo agregado donde el consumidor de la auditoría escribe los registros por lote.
+ * Lo usa un único hilo, por lo que las implementaciones no necesitan ser seguras entre hilos.
+ */
+public interface DestinoAuditoria {
+
+    /**
+     * Obtiene el nombre del destino para las métricas.
+     * @return Nombre del destino
+     */
+    String getNombre();
+
+    /**
+     * Agrega un lote de registros.
+     * @param registros Registros en el orden en que ocurrieron
+     * @throws IOException Si no se pudo escribir en un archivo
+     * @throws org.springframework.dao.DataAccessException Si no se pudo escribir en la base de datos
+     */
+    void escribir(List<RegistroAuditoria> registros) throws IOException;
+}
@@ -0,0 +1,99 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.RegistroAuditoria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino de auditoría en un archivo local con un registro JSON por línea.
+ * Cuando el archivo supera el tamaño máximo se renombra a .1 (el .1 pasa a .2, y así sucesivamente)
+ * y se comienza uno nuevo; se conservan como máximo {@code archivos} archivos en total.
+ */
+public class DestinoAuditoriaArchivo implements DestinoAuditoria {
+
+    private final Path ruta;
+    private final long tamanoMaximo;
+    private final int archivos;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter escritor;
+
+    /**
+     * Crea el destino.
+     * @param ruta Ruta del archivo actual
+     * @param tamanoMaximo Bytes a partir de los cuales se rota el archivo
+     * @param archivos Cantidad de archivos conservados, incluido el actual
+     * @param objectMapper Serializador de los registros
+     */
+    public DestinoAuditoriaArchivo(Path ruta, long tamanoMaximo, int archivos, ObjectMapper objectMapper) {
+        this.ruta = ruta;
+        this.tamanoMaximo = tamanoMaximo;
+        this.archivos = Math.max(1, archivos);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getNombre() {
+        return "archivo";
+    }
+
+    @Override
+    public void escribir(List<RegistroAuditoria> registros) throws IOException {
+        if (escritor == null) {
+            Path carpeta = ruta.toAbsolutePath().getParent();
+            if (carpeta != null) {
+                Files.createDirectories(carpeta);
+            }
+            escritor = Files.newBufferedWriter(ruta, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        for (RegistroAuditoria registro : registros) {
+            escritor.write(objectMapper.writeValueAsString(registro));
+            escritor.newLine();
+        }
+        escritor.flush();
+        if (Files.size(ruta) >= tamanoMaximo) {
+            rotar();
+        }
+    }
+
+    /**
+     * Cierra el archivo actual.
+     * @throws IOException Si no se pudo cerrar
+     */
+    @PreDestroy
+    public void cerrar() throws IOException {
+        if (escritor != null) {
+            escritor.close();
+            escritor = null;
+        }
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private void rotar() throws IOException {
+        cerrar();
+        if (archivos == 1) {
+            Files.delete(ruta);
+            return;
+        }
+        Files.deleteIfExists(rotado(archivos - 1));
+        for (int i = archivos - 2; i >= 1; i--) {
+            if (Files.exists(rotado(i))) {
+                Files.move(rotado(i), rotado(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(ruta, rotado(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotado(int numero) {
+        return ruta.resolveSibling(ruta.getFileName() + "." + numero);
+    }
+}
@@ -0,0 +1,44 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.RegistroAuditoria;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destino de auditoría en la tabla auditoria, con una inserción JDBC por lote.
+ * La tabla la crea Hibernate a partir de la entidad RegistroAuditoria.
+ * La aplicación solo inserta en la tabla; nunca actualiza ni elimina filas.
+ */
+public class DestinoAuditoriaTabla implements DestinoAuditoria {
+
+    private static final String INSERTAR =
+            "INSERT INTO auditoria (fecha, accion, entidad, entidad_id, actor, origen) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Crea el destino.
+     * @param jdbc Acceso a la base de datos
+     */
+    public DestinoAuditoriaTabla(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public String getNombre() {
+        return "tabla";
+    }
+
+    @Override
+    public void escribir(List<RegistroAuditoria> registros) {
+        List<Object[]> filas = new ArrayList<>(registros.size());
+        for (RegistroAuditoria registro : registros) {
+            filas.add(new Object[]{new Timestamp(registro.getFecha().getTime()), registro.getAccion(), registro.getEntidad(),
+                    registro.getEntidadId(), registro.getActor(), registro.getOrigen()});
+        }
+        jdbc.batchUpdate(INSERTAR, filas);
+    }
+}
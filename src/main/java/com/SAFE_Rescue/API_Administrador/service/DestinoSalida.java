@@ -0,0 +1,26 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
+
+import java.util.List;
+
+/**
+ * Sistema externo al que la bandeja de salida entrega los eventos.
+ * Los lotes llegan ordenados por id; como varios nodos retransmiten en paralelo, las implementaciones
+ * deben ser seguras entre hilos y los consumidores deben usar el id para ordenar y descartar repetidos.
+ */
+public interface DestinoSalida {
+
+    /**
+     * Obtiene el nombre del destino para las métricas.
+     * @return Nombre del destino
+     */
+    String getNombre();
+
+    /**
+     * Entrega un lote de eventos. Si lanza una excepción, el lote completo se vuelve a entregar más tarde.
+     * @param mensajes Eventos ordenados por id
+     * @throws Exception Si el destino no aceptó el lote
+     */
+    void enviar(List<MensajeSalida> mensajes) throws Exception;
+}
@@ -0,0 +1,67 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino de la bandeja de salida en un archivo local con un evento JSON por línea.
+ * Reemplaza al intermediario de mensajes en desarrollo y en instalaciones de un solo servidor.
+ */
+public class DestinoSalidaArchivo implements DestinoSalida {
+
+    private final Path ruta;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter escritor;
+
+    /**
+     * Crea el destino.
+     * @param ruta Ruta del archivo
+     * @param objectMapper Serializador de los eventos
+     */
+    public DestinoSalidaArchivo(Path ruta, ObjectMapper objectMapper) {
+        this.ruta = ruta;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getNombre() {
+        return "archivo";
+    }
+
+    @Override
+    public synchronized void enviar(List<MensajeSalida> mensajes) throws IOException {
+        if (escritor == null) {
+            Path carpeta = ruta.toAbsolutePath().getParent();
+            if (carpeta != null) {
+                Files.createDirectories(carpeta);
+            }
+            escritor = Files.newBufferedWriter(ruta, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        for (MensajeSalida mensaje : mensajes) {
+            escritor.write(objectMapper.writeValueAsString(mensaje));
+            escritor.newLine();
+        }
+        escritor.flush();
+    }
+
+    /**
+     * Cierra el archivo.
+     * @throws IOException Si no se pudo cerrar
+     */
+    @PreDestroy
+    public synchronized void cerrar() throws IOException {
+        if (escritor != null) {
+            escritor.close();
+            escritor = null;
+        }
+    }
+}
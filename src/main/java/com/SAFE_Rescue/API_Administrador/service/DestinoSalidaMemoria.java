@@ -0,0 +1,68 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destino de la bandeja de salida que guarda los lotes en memoria. Es el destino por omisión y el de
+ * las pruebas; conserva solo los últimos MAXIMO_LOTES lotes para no crecer sin límite en un nodo que
+ * corre mucho tiempo.
+ */
+public class DestinoSalidaMemoria implements DestinoSalida {
+
+    static final int MAXIMO_LOTES = 1_000;
+
+    private final List<List<MensajeSalida>> lotes = new ArrayList<>();
+    private volatile boolean fallar;
+
+    @Override
+    public String getNombre() {
+        return "memoria";
+    }
+
+    @Override
+    public synchronized void enviar(List<MensajeSalida> mensajes) {
+        if (fallar) {
+            throw new IllegalStateException("Destino en memoria configurado para fallar");
+        }
+        lotes.add(List.copyOf(mensajes));
+        if (lotes.size() > MAXIMO_LOTES) {
+            lotes.remove(0);
+        }
+    }
+
+    /**
+     * Obtiene los últimos lotes recibidos, en el orden de llegada.
+     * @return Copia de los lotes
+     */
+    public synchronized List<List<MensajeSalida>> getLotes() {
+        return new ArrayList<>(lotes);
+    }
+
+    /**
+     * Obtiene todos los eventos recibidos, en el orden de llegada.
+     * @return Eventos recibidos
+     */
+    public synchronized List<MensajeSalida> getMensajes() {
+        List<MensajeSalida> mensajes = new ArrayList<>();
+        lotes.forEach(mensajes::addAll);
+        return mensajes;
+    }
+
+    /**
+     * Descarta los lotes recibidos.
+     */
+    public synchronized void limpiar() {
+        lotes.clear();
+    }
+
+    /**
+     * Hace que las entregas siguientes fallen, para simular un destino caído.
+     * @param fallar Indica si las entregas deben fallar
+     */
+    public void setFallar(boolean fallar) {
+        this.fallar = fallar;
+    }
+}
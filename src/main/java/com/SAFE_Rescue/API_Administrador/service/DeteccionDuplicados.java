@@ -0,0 +1,400 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.BomberoModificado;
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.PosibleDuplicado;
+import com.SAFE_Rescue.API_Administrador.modelo.ReporteDuplicados;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Detección de bomberos registrados dos veces con pequeñas diferencias en el nombre, los apellidos o el RUN.
+ * <p>
+ * Se conserva un PadronDuplicados con id, RUN y nombres de todos los bomberos, leído con una consulta por
+ * cursor fuera de las solicitudes (en la revisión programada, cada reconstruccion-ms). El análisis completo
+ * recorre ese padrón sin consultar la tabla y compara solo a los bomberos que comparten un bloque fonético,
+ * por lo que su costo crece con n * ventana y no con n al cuadrado; de los pares encontrados conserva solo
+ * los limite de mayor puntaje. Solo se ejecuta un análisis a la vez.
+ * </p>
+ * <p>
+ * Para el aviso al crear un bombero, junto al padrón se guarda uno pequeño de los bomberos creados o
+ * modificados después, que se agregan tras el commit. Un bombero nuevo se compara solo con los de sus
+ * bloques más cercanos por RUN y con esos recientes.
+ * </p>
+ */
+@Component
+public class DeteccionDuplicados {
+
+    /**
+     * Encabezado de respuesta con los IDs de los bomberos parecidos al recién creado.
+     */
+    public static final String ENCABEZADO = "X-Posibles-Duplicados";
+
+    /**
+     * Cantidad máxima de pares que devuelve un análisis.
+     */
+    public static final int MAXIMO_LIMITE = 1000;
+
+    // ERRORES PREDEFINIDOS
+    private static final ValidacionException UMBRAL_INVALIDO = new ValidacionException("umbral", "El umbral debe ser mayor que 0 y menor o igual a 1");
+    private static final ValidacionException LIMITE_INVALIDO = new ValidacionException("limite", "El límite debe estar entre 1 y " + MAXIMO_LIMITE);
+    private static final SobrecargaException ANALISIS_EN_CURSO = new SobrecargaException("Ya hay un análisis de duplicados en curso, intente más tarde");
+    private static final SobrecargaException PADRON_NO_DISPONIBLE = new SobrecargaException("El padrón de duplicados todavía no está construido, intente más tarde");
+
+    private static final int MAXIMO_IDS_CONSULTA = 1000;
+    private static final String RECORRER = "SELECT id, run, nombre, a_paterno, a_materno FROM bombero";
+    private static final String CONTAR = "SELECT COUNT(*) FROM bombero";
+
+    private static final Logger log = LoggerFactory.getLogger(DeteccionDuplicados.class);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaccion;
+    private final boolean avisoHabilitado;
+    private final double umbral;
+    private final int ventana;
+    private final int maximoRecientes;
+    private final long reconstruccionMs;
+
+    // ESTADO (un análisis a la vez con analisis; las reconstrucciones se sincronizan en this; recientes y durante, con el cerrojo)
+    private final ReentrantLock analisis = new ReentrantLock();
+    private final Object cerrojo = new Object();
+    private volatile PadronDuplicados padron;
+    private PadronDuplicados recientes = new PadronDuplicados(0);
+    private Set<Integer> durante;
+    private volatile long construido;
+
+    /**
+     * Crea la detección; el padrón se construye en la primera revisión programada.
+     * @param dataSource Base de datos; la lectura completa usa su propia plantilla con tamaño de lectura
+     * @param transactionManager Administrador de transacciones para leer fuera de la transacción que confirmó
+     * @param avisoHabilitado Indica si se avisa al crear bomberos
+     * @param umbral Puntaje mínimo de un par para considerarlo posible duplicado
+     * @param ventana Bomberos cercanos por RUN con que se compara cada uno dentro de su bloque
+     * @param tamanoLectura Filas por viaje del cursor al leer todos los bomberos
+     * @param maximoRecientes Bomberos recientes a partir de los cuales el padrón se reconstruye
+     * @param reconstruccionMs Antigüedad a partir de la cual el padrón se reconstruye
+     */
+    public DeteccionDuplicados(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               @Value("${app.duplicados.aviso-habilitado:true}") boolean avisoHabilitado,
+                               @Value("${app.duplicados.umbral:0.8}") double umbral,
+                               @Value("${app.duplicados.ventana:20}") int ventana,
+                               @Value("${app.duplicados.tamano-lectura:10000}") int tamanoLectura,
+                               @Value("${app.duplicados.maximo-recientes:10000}") int maximoRecientes,
+                               @Value("${app.duplicados.reconstruccion-ms:3600000}") long reconstruccionMs) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(tamanoLectura);
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.avisoHabilitado = avisoHabilitado;
+        this.umbral = umbral;
+        this.ventana = ventana;
+        this.maximoRecientes = maximoRecientes;
+        this.reconstruccionMs = reconstruccionMs;
+    }
+
+    /**
+     * Busca en el último padrón los pares que podrían ser la misma persona. Los bomberos creados después
+     * del padrón entran en la siguiente reconstrucción; los pares de bomberos eliminados desde entonces se omiten.
+     * @param umbral Puntaje mínimo (opcional; por defecto app.duplicados.umbral)
+     * @param limite Cantidad máxima de pares devueltos, de mayor a menor puntaje
+     * @return Reporte con los pares encontrados, el costo del análisis y la antigüedad del padrón
+     * @throws ValidacionException Si el umbral o el límite están fuera de rango
+     * @throws SobrecargaException Si ya hay un análisis en curso o el padrón todavía no se construye
+     */
+    public ReporteDuplicados analizar(Double umbral, int limite) {
+        double minimo = umbral != null ? umbral : this.umbral;
+        if (!(minimo > 0 && minimo <= 1)) {
+            throw UMBRAL_INVALIDO;
+        }
+        if (limite < 1 || limite > MAXIMO_LIMITE) {
+            throw LIMITE_INVALIDO;
+        }
+        PadronDuplicados completo = padron;
+        long antiguedadMs = System.currentTimeMillis() - construido;
+        if (completo == null) {
+            throw PADRON_NO_DISPONIBLE;
+        }
+        if (!analisis.tryLock()) {
+            throw ANALISIS_EN_CURSO;
+        }
+        try {
+            long inicio = System.nanoTime();
+            // Montículo de mínimos con los limite pares de mayor puntaje: la memoria no depende del umbral
+            PriorityQueue<Par> mejores = new PriorityQueue<>(limite, Comparator.comparingDouble(Par::puntaje));
+            int[] encontrados = {0};
+            long comparaciones = completo.buscarPares(minimo, ventana, (i, j, similitud, puntaje) -> {
+                encontrados[0]++;
+                if (mejores.size() < limite) {
+                    mejores.add(new Par(i, j, similitud, puntaje));
+                } else if (puntaje > mejores.peek().puntaje()) {
+                    mejores.poll();
+                    mejores.add(new Par(i, j, similitud, puntaje));
+                }
+            });
+            List<Par> devueltos = new ArrayList<>(mejores);
+            devueltos.sort(Comparator.comparingDouble(Par::puntaje).reversed());
+            Set<Integer> ids = new HashSet<>();
+            for (Par par : devueltos) {
+                ids.add(completo.getId(par.posicion()));
+                ids.add(completo.getId(par.otraPosicion()));
+            }
+            Map<Integer, String> nombres = nombres(ids);
+            List<PosibleDuplicado> duplicados = new ArrayList<>(devueltos.size());
+            for (Par par : devueltos) {
+                PosibleDuplicado duplicado = duplicado(completo, par, nombres);
+                if (duplicado.getNombre() != null && duplicado.getNombreDuplicado() != null) {
+                    duplicados.add(duplicado);
+                }
+            }
+            return new ReporteDuplicados(completo.getTamano(), comparaciones, encontrados[0],
+                    (System.nanoTime() - inicio) / 1_000_000, antiguedadMs, duplicados);
+        } finally {
+            analisis.unlock();
+        }
+    }
+
+    /**
+     * Busca los bomberos parecidos a uno recién creado en el último padrón y en los recientes, sin leer
+     * todos los bomberos.
+     * @param bombero Bombero guardado
+     * @return Posibles duplicados de mayor a menor puntaje; vacío si el aviso está deshabilitado o el
+     *         padrón todavía no se construye
+     */
+    public List<PosibleDuplicado> buscarSimilares(Bombero bombero) {
+        PadronDuplicados actual = padron;
+        if (!avisoHabilitado || actual == null) {
+            return List.of();
+        }
+        PadronDuplicados sonda = new PadronDuplicados(1);
+        sonda.agregar(bombero.getId(), bombero.getRun(), bombero.getNombre(), bombero.getAPaterno(), bombero.getAMaterno());
+        Map<Integer, Similar> porId = new LinkedHashMap<>();
+        actual.buscarParecidos(sonda, 0, umbral, ventana,
+                (i, j, similitud, puntaje) -> anotar(porId, actual, i, similitud, puntaje, bombero.getId()));
+        synchronized (cerrojo) {
+            PadronDuplicados nuevos = recientes;
+            nuevos.compararConTodos(sonda, 0, umbral,
+                    (i, j, similitud, puntaje) -> anotar(porId, nuevos, i, similitud, puntaje, bombero.getId()));
+        }
+        if (porId.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, String> nombres = nombres(porId.keySet());
+        String nombreBombero = nombreCompleto(bombero.getNombre(), bombero.getAPaterno(), bombero.getAMaterno());
+        List<PosibleDuplicado> similares = new ArrayList<>();
+        for (Similar similar : porId.values()) {
+            String nombre = nombres.get(similar.id());
+            if (nombre != null) {
+                similares.add(new PosibleDuplicado(bombero.getId(), bombero.getRun(), nombreBombero,
+                        similar.id(), similar.run(), nombre, similar.similitud(),
+                        ComparadorNombres.runCercano(bombero.getRun(), similar.run()), similar.puntaje()));
+            }
+        }
+        similares.sort(Comparator.comparingDouble(PosibleDuplicado::getPuntaje).reversed());
+        return similares;
+    }
+
+    /**
+     * Lee todos los bomberos en un padrón nuevo y lo publica. Los bomberos modificados durante la lectura
+     * pasan a los recientes del padrón nuevo, porque su fila pudo leerse antes del commit.
+     */
+    public synchronized void reconstruir() {
+        synchronized (cerrojo) {
+            durante = new HashSet<>();
+        }
+        PadronDuplicados nuevo = null;
+        try {
+            nuevo = cargar();
+        } finally {
+            Set<Integer> pendientes;
+            synchronized (cerrojo) {
+                pendientes = durante;
+                durante = null;
+                if (nuevo != null) {
+                    padron = nuevo;
+                    recientes = new PadronDuplicados(pendientes.size());
+                    construido = System.currentTimeMillis();
+                }
+            }
+            if (nuevo != null) {
+                agregarRecientes(pendientes);
+            }
+        }
+    }
+
+    /**
+     * Construye el padrón si no existe, si es más antiguo que reconstruccion-ms o si acumuló demasiados recientes.
+     */
+    @Scheduled(fixedDelayString = "${app.duplicados.revision-ms:60000}")
+    public void revisar() {
+        if (padron != null && System.currentTimeMillis() - construido < reconstruccionMs) {
+            return;
+        }
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo construir el padrón de duplicados; no se analizará ni se avisará al crear bomberos", e);
+        }
+    }
+
+    /**
+     * Anota el bombero creado o modificado para agregarlo a los recientes después del commit.
+     * @param evento Cambio del bombero
+     */
+    @EventListener
+    public void alModificarBombero(BomberoModificado evento) {
+        if (evento.isEliminado()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            agregarRecientes(Set.of(evento.getBomberoId()));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Integer> pendientes = (Set<Integer>) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            Set<Integer> nuevos = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, nuevos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    agregarRecientes(nuevos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DeteccionDuplicados.this);
+                }
+            });
+            pendientes = nuevos;
+        }
+        pendientes.add(evento.getBomberoId());
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private PadronDuplicados cargar() {
+        return transaccion.execute(estado -> {
+            Integer cantidad = jdbc.queryForObject(CONTAR, Integer.class);
+            PadronDuplicados nuevo = new PadronDuplicados(cantidad != null ? cantidad : 0);
+            jdbc.query(RECORRER, fila -> {
+                nuevo.agregar(fila.getInt(1), fila.getInt(2), fila.getString(3), fila.getString(4), fila.getString(5));
+            });
+            return nuevo.cerrar();
+        });
+    }
+
+    /**
+     * Lee los bomberos indicados y los agrega a los recientes. Si se acumulan más de maximoRecientes,
+     * el padrón se marca para reconstruirse en la próxima revisión.
+     */
+    private void agregarRecientes(Set<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            List<Object[]> filas = new ArrayList<>();
+            consultarPorIds(RECORRER, ids, fila -> filas.add(new Object[]{
+                    fila.getInt(1), fila.getInt(2), fila.getString(3), fila.getString(4), fila.getString(5)}));
+            synchronized (cerrojo) {
+                if (durante != null) {
+                    durante.addAll(ids);
+                }
+                PadronDuplicados ampliado = recientes;
+                for (Object[] fila : filas) {
+                    ampliado.agregar((int) fila[0], (int) fila[1], (String) fila[2], (String) fila[3], (String) fila[4]);
+                }
+                if (ampliado.getTamano() > maximoRecientes) {
+                    construido = 0;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron agregar bomberos recientes al padrón de duplicados; se reconstruirá", e);
+            construido = 0;
+        }
+    }
+
+    /**
+     * Lee el nombre completo, tal como se registró, de los bomberos indicados.
+     */
+    private Map<Integer, String> nombres(Collection<Integer> ids) {
+        Map<Integer, String> nombres = new HashMap<>();
+        consultarPorIds("SELECT id, nombre, a_paterno, a_materno FROM bombero", ids,
+                fila -> nombres.put(fila.getInt(1), nombreCompleto(fila.getString(2), fila.getString(3), fila.getString(4))));
+        return nombres;
+    }
+
+    private void consultarPorIds(String consulta, Collection<Integer> ids, RowCallbackHandler manejador) {
+        List<Integer> lista = new ArrayList<>(ids);
+        for (int desde = 0; desde < lista.size(); desde += MAXIMO_IDS_CONSULTA) {
+            List<Integer> parte = lista.subList(desde, Math.min(lista.size(), desde + MAXIMO_IDS_CONSULTA));
+            String sql = consulta + " WHERE id IN (" + String.join(",", Collections.nCopies(parte.size(), "?")) + ")";
+            transaccion.executeWithoutResult(estado -> jdbc.query(sql, manejador, parte.toArray()));
+        }
+    }
+
+    /**
+     * Conserva el mayor puntaje por bombero y omite al propio bombero buscado.
+     */
+    private static void anotar(Map<Integer, Similar> porId, PadronDuplicados padron, int posicion,
+                               double similitud, double puntaje, int excluido) {
+        int id = padron.getId(posicion);
+        if (id == excluido) {
+            return;
+        }
+        Similar anterior = porId.get(id);
+        if (anterior == null || anterior.puntaje() < puntaje) {
+            porId.put(id, new Similar(id, padron.getRun(posicion), similitud, puntaje));
+        }
+    }
+
+    private static PosibleDuplicado duplicado(PadronDuplicados padron, Par par, Map<Integer, String> nombres) {
+        int id = padron.getId(par.posicion());
+        int otroId = padron.getId(par.otraPosicion());
+        return new PosibleDuplicado(id, padron.getRun(par.posicion()), nombres.get(id),
+                otroId, padron.getRun(par.otraPosicion()), nombres.get(otroId),
+                par.similitud(), padron.isRunCercano(par.posicion(), padron, par.otraPosicion()), par.puntaje());
+    }
+
+    private static String nombreCompleto(String nombre, String paterno, String materno) {
+        return String.join(" ", nombre != null ? nombre : "", paterno != null ? paterno : "", materno != null ? materno : "").trim();
+    }
+
+    /**
+     * Par encontrado en un análisis completo (posiciones en el padrón).
+     */
+    private record Par(int posicion, int otraPosicion, double similitud, double puntaje) {
+    }
+
+    /**
+     * Bombero parecido al buscado.
+     */
+    private record Similar(int id, int run, double similitud, double puntaje) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio que expone las estadísticas de la caché de segundo nivel de Hibernate
+ * por región, para ajustar los tamaños definidos en application.conf,
+ * junto con las de las cachés locales de la aplicación.
+ */
+@Service
+public class EstadisticasCacheService {
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private CacheBomberos cacheBomberos;
+
+    /**
+     * Obtiene las estadísticas de todas las regiones de caché activas y de las cachés locales.
+     * @return Lista de estadísticas por región
+     */
+    public List<EstadisticaCache> findAll() {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<EstadisticaCache> regiones = new ArrayList<>();
+        for (String nombre : estadisticas.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = estadisticas.getCacheRegionStatistics(nombre);
+            if (region != null) {
+                regiones.add(convertir(nombre, region));
+            }
+        }
+        regiones.addAll(cacheBomberos.getEstadisticas());
+        return regiones;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private EstadisticaCache convertir(String nombre, CacheRegionStatistics region) {
+        long aciertos = region.getHitCount();
+        long fallos = region.getMissCount();
+        long lecturas = aciertos + fallos;
+        double tasa = lecturas == 0 ? 0 : (double) aciertos / lecturas;
+        return new EstadisticaCache(nombre, aciertos, fallos, region.getPutCount(),
+                region.getElementCountInMemory(), tasa, -1);
+    }
+}
@@ -0,0 +1,136 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conjunto en memoria de los identificadores de credenciales activas, guardado como mapa de bits.
+ * Consultar si una credencial está activa es una lectura de un long, sin asignar memoria
+ * ni consultar el repositorio. Se mantiene con los eventos de CredencialService y se
+ * reconcilia periódicamente con la base de datos.
+ * Se guardan las activas y no las revocadas para que una credencial eliminada o
+ * desconocida se considere inactiva.
+ * Los cambios que llegan mientras se lee la base de datos en una reconciliación se anotan y se
+ * vuelven a aplicar sobre el conjunto nuevo, porque la lectura pudo hacerse antes de su commit.
+ */
+@Component
+public class EstadoCredenciales {
+
+    @Autowired private CredencialRepository credencialRepository;
+
+    private final Object reconciliacion = new Object();
+    private volatile AtomicLongArray bits = new AtomicLongArray(0);
+    private Map<Integer, Boolean> durante;
+
+    /**
+     * Indica si una credencial está activa.
+     * @param credencialId Identificador de la credencial
+     * @return true si la credencial existe y está activa
+     */
+    public boolean estaActiva(int credencialId) {
+        if (credencialId < 0) {
+            return false;
+        }
+        AtomicLongArray actual = bits;
+        int palabra = credencialId >>> 6;
+        return palabra < actual.length() && (actual.get(palabra) & (1L << credencialId)) != 0;
+    }
+
+    /**
+     * Actualiza el estado de una credencial tras el commit de la transacción que la modificó.
+     * @param evento Evento con el nuevo estado de la credencial
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCredencial(CredencialModificada evento) {
+        marcar(evento.getCredencialId(), evento.isActiva());
+    }
+
+    /**
+     * Reconstruye el conjunto desde la base de datos.
+     * Corrige cambios hechos por otros nodos o directamente en la base de datos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.credenciales.reconciliacion-ms:60000}", initialDelayString = "${app.credenciales.reconciliacion-ms:60000}")
+    public void reconciliar() {
+        synchronized (reconciliacion) {
+            synchronized (this) {
+                durante = new HashMap<>();
+            }
+            AtomicLongArray nuevos = null;
+            try {
+                List<Integer> activas = credencialRepository.findIdsActivos();
+                int maximo = 0;
+                for (Integer id : activas) {
+                    maximo = Math.max(maximo, id);
+                }
+                nuevos = new AtomicLongArray((maximo >>> 6) + 1);
+                for (Integer id : activas) {
+                    nuevos.getAndAccumulate(id >>> 6, 1L << id, (a, b) -> a | b);
+                }
+            } finally {
+                synchronized (this) {
+                    Map<Integer, Boolean> pendientes = durante;
+                    durante = null;
+                    if (nuevos != null) {
+                        bits = nuevos;
+                        pendientes.forEach(this::marcar);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de credenciales activas en memoria.
+     * @return Número de credenciales activas
+     */
+    public int getActivas() {
+        AtomicLongArray actual = bits;
+        int total = 0;
+        for (int i = 0; i < actual.length(); i++) {
+            total += Long.bitCount(actual.get(i));
+        }
+        return total;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private synchronized void marcar(int credencialId, boolean activa) {
+        if (credencialId < 0) {
+            return;
+        }
+        if (durante != null) {
+            durante.put(credencialId, activa);
+        }
+        int palabra = credencialId >>> 6;
+        AtomicLongArray actual = bits;
+        if (palabra >= actual.length()) {
+            if (!activa) {
+                return;
+            }
+            AtomicLongArray mayor = new AtomicLongArray(Math.max(palabra + 1, actual.length() * 2));
+            for (int i = 0; i < actual.length(); i++) {
+                mayor.set(i, actual.get(i));
+            }
+            bits = mayor;
+            actual = mayor;
+        }
+        long mascara = 1L << credencialId;
+        if (activa) {
+            actual.getAndAccumulate(palabra, mascara, (a, b) -> a | b);
+        } else {
+            actual.getAndAccumulate(palabra, ~mascara, (a, b) -> a & b);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validación común de los IDs recibidos en las búsquedas por lote.
+ */
+final class IdsLote {
+
+    // ERRORES PREDEFINIDOS
+    private static final ValidacionException SIN_IDS = new ValidacionException("ids", "Debe indicar al menos un ID");
+    private static final ValidacionException EXCEDE_IDS = new ValidacionException("ids", "Se admiten como máximo " + ResultadoLote.MAXIMO_IDS + " IDs por solicitud");
+
+    private IdsLote() {
+    }
+
+    /**
+     * Elimina los IDs nulos y repetidos conservando el orden de la solicitud.
+     * @param ids IDs solicitados
+     * @return IDs únicos en el orden de la solicitud
+     * @throws ValidacionException Si no se indica ningún ID o se supera el máximo permitido
+     */
+    static Set<Integer> normalizar(List<Integer> ids) {
+        if (ids == null) {
+            throw SIN_IDS;
+        }
+        Set<Integer> unicos = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id != null) {
+                unicos.add(id);
+            }
+        }
+        if (unicos.isEmpty()) {
+            throw SIN_IDS;
+        }
+        if (unicos.size() > ResultadoLote.MAXIMO_IDS) {
+            throw EXCEDE_IDS;
+        }
+        return unicos;
+    }
+}
@@ -0,0 +1,759 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.BomberoModificado;
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.evento.EventoAuditoria;
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.AvanceTrabajo;
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
+import com.SAFE_Rescue.API_Administrador.repository.BomberoRepository;
+import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
+import com.SAFE_Rescue.API_Administrador.repository.TrabajoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Trabajo asíncrono de importación masiva de bomberos desde un archivo CSV.
+ * <p>
+ * La solicitud solo verifica el encabezado y guarda el archivo en {@code app.importacion.directorio};
+ * luego TrabajoService lo procesa en rondas. Cada ronda lee hasta {@code lotes-en-vuelo} lotes desde el
+ * último registro confirmado, los valida en un pool de hilos con las mismas reglas de BomberoService y
+ * CredencialService, más la unicidad de RUN, teléfono y correo dentro del lote y contra la base de datos
+ * (una consulta IN por campo), y los guarda en el orden del archivo, cada lote en su propia transacción
+ * con inserciones JDBC por lote. Si la base de datos rechaza el lote (por ejemplo, un RUN repetido en
+ * otro lote del archivo) sus inserciones se deshacen y sus filas se insertan una a una en la misma
+ * transacción para informar el error exacto de cada fila.
+ * </p>
+ * <p>
+ * El resultado de cada fila se guarda en la tabla resultado_importacion en la transacción de su lote,
+ * junto con la posición en bytes del final de la fila, y se descarga como CSV con escribirReporte. La
+ * última fila guardada es el punto de control de la importación: cada ronda abre el archivo directamente
+ * en su posición, sin volver a leer las filas anteriores, y como las filas creadas y sus resultados se
+ * confirman juntos, un nodo que se detiene a mitad de una ronda no deja filas creadas sin informar. El
+ * punto de control del trabajo es el número de la última fila y sus contadores se calculan con los
+ * resultados guardados. Con varios nodos el directorio debe ser compartido, ya que cualquier nodo puede
+ * reanudar el trabajo.
+ * </p>
+ */
+@Service
+public class ImportacionBomberos implements ProcesadorTrabajo {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionBomberos.class);
+
+    /**
+     * Tipo de trabajo con el que se envía.
+     */
+    public static final String TIPO = "IMPORTAR_BOMBEROS";
+
+    /**
+     * Columnas requeridas del archivo, en el orden del arreglo de posiciones.
+     */
+    public static final List<String> COLUMNAS = List.of("run", "dv", "nombre", "aPaterno", "aMaterno",
+            "telefono", "correo", "contrasenia", "rolId");
+
+    /**
+     * Encabezado del reporte de resultados.
+     */
+    public static final String ENCABEZADO_REPORTE = "fila,resultado,id,campo,mensaje";
+
+    private static final int RUN = 0;
+    private static final int DV = 1;
+    private static final int NOMBRE = 2;
+    private static final int A_PATERNO = 3;
+    private static final int A_MATERNO = 4;
+    private static final int TELEFONO = 5;
+    private static final int CORREO = 6;
+    private static final int CONTRASENIA = 7;
+    private static final int ROL_ID = 8;
+
+    private static final Pattern NOMBRE_IMPORTACION = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    // ERRORES PREDEFINIDOS
+    private static final ValidacionException IMPORTACION_INVALIDA = new ValidacionException("archivo", "El parámetro archivo debe identificar un archivo subido con POST /bomberos/importar");
+    private static final RecursoNoEncontradoException IMPORTACION_NO_ENCONTRADA = new RecursoNoEncontradoException("Importación no encontrada");
+    private static final ValidacionException NO_ES_UTF8 = new ValidacionException("archivo", "El archivo debe estar codificado en UTF-8");
+
+    // REPOSITORIOS INYECTADOS
+    @Autowired private BomberoRepository bomberoRepository;
+    @Autowired private CredencialRepository credencialRepository;
+    @Autowired private TrabajoRepository trabajoRepository;
+    @Autowired private JdbcTemplate jdbc;
+
+    // SERVICIOS INYECTADOS
+    @Autowired private BomberoService bomberoService;
+    @Autowired private CredencialService credencialService;
+    @Autowired private RolService rolService;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ObjectMapper objectMapper;
+
+    // EVENTOS
+    @Autowired private ApplicationEventPublisher eventos;
+    @Autowired private Auditoria auditoria;
+
+    @Value("${app.importacion.hilos:4}")
+    private int hilos;
+
+    @Value("${app.importacion.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${app.importacion.lotes-en-vuelo:4}")
+    private int lotesEnVuelo;
+
+    @Value("${app.importacion.directorio:importaciones}")
+    private Path directorio;
+
+    @Value("${app.importacion.retencion-horas:168}")
+    private long retencionHoras;
+
+    private ThreadPoolExecutor validadores;
+    private TransactionTemplate transaccionLote;
+
+    /**
+     * Crea el pool de validación. Si todas las importaciones en curso llenan el pool, el hilo del
+     * trabajo valida su propio lote, lo que también frena su lectura. El directorio de archivos se
+     * crea con el primer archivo recibido.
+     */
+    @PostConstruct
+    public void inicializar() {
+        AtomicInteger contador = new AtomicInteger();
+        validadores = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(hilos * 2), tarea -> {
+            Thread hilo = new Thread(tarea, "importacion-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        // Cada lote se confirma con sus resultados aparte de la transacción del trabajo, que solo guarda sus contadores
+        transaccionLote = new TransactionTemplate(transactionManager);
+        transaccionLote.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Detiene el pool de validación.
+     */
+    @PreDestroy
+    public void detener() {
+        validadores.shutdownNow();
+    }
+
+    // MÉTODOS PRINCIPALES
+
+    /**
+     * Verifica el encabezado del archivo y lo guarda para importarlo con un trabajo.
+     * @param archivo Contenido del archivo CSV en UTF-8
+     * @return Parámetros del trabajo de importación
+     * @throws IOException Si no se puede crear el directorio o leer o guardar el archivo
+     * @throws ValidacionException Si el archivo está vacío, le faltan columnas requeridas o no está en UTF-8
+     */
+    public Map<String, String> preparar(InputStream archivo) throws IOException {
+        String importacion = UUID.randomUUID().toString();
+        Path ruta = ruta(importacion);
+        Files.createDirectories(directorio);
+        Files.copy(archivo, ruta);
+        try (InputStream entrada = Files.newInputStream(ruta)) {
+            LectorCsv lector = abrir(entrada);
+            while (lector.siguiente() != null) {
+                // Se recorre el archivo para rechazar al recibirlo el contenido que no es UTF-8
+            }
+        } catch (CharacterCodingException e) {
+            Files.deleteIfExists(ruta);
+            throw NO_ES_UTF8;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(ruta);
+            throw e;
+        }
+        return Map.of("archivo", importacion);
+    }
+
+    /**
+     * Elimina el archivo de una importación que no se llegó a enviar.
+     * @param parametros Parámetros obtenidos con preparar
+     */
+    public void descartar(Map<String, String> parametros) {
+        try {
+            Files.deleteIfExists(ruta(importacion(parametros)));
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el archivo de la importación {}", parametros, e);
+        }
+    }
+
+    /**
+     * Abre el archivo y verifica su encabezado.
+     * @param archivo Contenido del archivo CSV en UTF-8
+     * @return Lector posicionado en la primera fila de datos
+     * @throws IOException Si no se puede leer el archivo o no está en UTF-8
+     * @throws ValidacionException Si el archivo está vacío o le faltan columnas requeridas
+     */
+    public LectorCsv abrir(InputStream archivo) throws IOException {
+        LectorCsv lector = new LectorCsv(lectorUtf8(archivo));
+        List<String> faltantes = new ArrayList<>();
+        for (String columna : COLUMNAS) {
+            if (lector.indice(columna) < 0) {
+                faltantes.add(columna);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            throw new ValidacionException("archivo", "Faltan columnas en el encabezado: " + String.join(", ", faltantes));
+        }
+        return lector;
+    }
+
+    /**
+     * Busca la importación de un trabajo.
+     * @param trabajoId ID del trabajo de importación
+     * @return Identificador de la importación, para escribir su reporte
+     * @throws RecursoNoEncontradoException Si el trabajo no existe o no es una importación
+     */
+    public String buscarImportacion(int trabajoId) {
+        Trabajo trabajo = trabajoRepository.findById(trabajoId)
+                .filter(encontrado -> TIPO.equals(encontrado.getTipo()))
+                .orElseThrow(() -> IMPORTACION_NO_ENCONTRADA);
+        try {
+            return importacion(objectMapper.readValue(trabajo.getParametros(), new TypeReference<Map<String, String>>() {}));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Parámetros del trabajo dañados", e);
+        }
+    }
+
+    /**
+     * Escribe el reporte CSV con el resultado de cada fila ya procesada de una importación.
+     * Mientras el trabajo está en curso el reporte contiene las rondas confirmadas.
+     * @param importacion Identificador obtenido con buscarImportacion
+     * @param reporte Destino del reporte
+     * @throws IOException Si no se puede escribir el reporte
+     */
+    public void escribirReporte(String importacion, Writer reporte) throws IOException {
+        reporte.write(ENCABEZADO_REPORTE);
+        reporte.write('\n');
+        try {
+            jdbc.query("SELECT fila, bombero_id, campo, mensaje FROM resultado_importacion WHERE importacion = ? ORDER BY fila",
+                    (RowCallbackHandler) rs -> {
+                        try {
+                            Integer bomberoId = rs.getInt(2);
+                            if (rs.wasNull()) {
+                                bomberoId = null;
+                            }
+                            escribir(reporte, rs.getLong(1), bomberoId, rs.getString(3), rs.getString(4));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, importacion);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Elimina los archivos y los resultados de las importaciones más antiguas que la retención.
+     */
+    @Scheduled(fixedDelayString = "${app.importacion.limpieza-ms:3600000}")
+    public void eliminarAntiguas() {
+        Instant limite = Instant.now().minus(Duration.ofHours(retencionHoras));
+        jdbc.update("DELETE FROM resultado_importacion WHERE fecha < ?", Date.from(limite));
+        if (!Files.isDirectory(directorio)) {
+            return;
+        }
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "*.csv")) {
+            for (Path archivo : archivos) {
+                if (Files.getLastModifiedTime(archivo).toInstant().isBefore(limite)) {
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("No se pudieron eliminar los archivos de importación antiguos", e);
+        }
+    }
+
+    @Override
+    public String getTipo() {
+        return TIPO;
+    }
+
+    @Override
+    public void validar(Map<String, String> parametros) {
+        if (!Files.isRegularFile(ruta(importacion(parametros)))) {
+            throw IMPORTACION_INVALIDA;
+        }
+    }
+
+    @Override
+    public long contar(Map<String, String> parametros) {
+        return -1;
+    }
+
+    /**
+     * Procesa la ronda de lotes que sigue a la última fila con resultado guardado. El tamaño de la ronda
+     * lo definen app.importacion.tamano-lote y lotes-en-vuelo, no el tamaño de lote de los trabajos.
+     * El avance incluye las filas confirmadas después del punto de control del trabajo, también las de
+     * una ronda anterior cuyo trabajo no alcanzó a registrarlas.
+     */
+    @Override
+    public AvanceTrabajo procesarLote(Map<String, String> parametros, long puntoControl, int tamanoLoteTrabajo) {
+        String importacion = importacion(parametros);
+        Path ruta = ruta(importacion);
+        try (SeekableByteChannel canal = Files.newByteChannel(ruta)) {
+            LectorCsv lector = abrir(Channels.newInputStream(canal));
+            Reanudacion reanudacion = reanudacion(importacion);
+            if (reanudacion != null) {
+                canal.position(reanudacion.posicion());
+                lector = lector.continuar(lectorUtf8(Channels.newInputStream(canal)), reanudacion.posicion(), reanudacion.fila());
+            }
+            importarRonda(importacion, lector);
+            boolean terminado = lector.siguiente() == null;
+            if (terminado) {
+                eliminarAlConfirmar(ruta);
+            }
+            return avance(importacion, puntoControl, terminado);
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("El archivo de la importación ya no está disponible");
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el archivo de la importación", e);
+        }
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Lee hasta lotes-en-vuelo lotes y los valida en el pool; cada lote se guarda con sus resultados
+     * apenas está validado, mientras los siguientes se siguen validando.
+     */
+    private void importarRonda(String importacion, LectorCsv lector) throws IOException {
+        int[] posiciones = new int[COLUMNAS.size()];
+        for (int i = 0; i < posiciones.length; i++) {
+            posiciones[i] = lector.indice(COLUMNAS.get(i));
+        }
+        Map<Integer, Rol> roles = new HashMap<>();
+        for (Rol rol : rolService.findAll()) {
+            roles.put(rol.getId(), rol);
+        }
+
+        Deque<Future<List<Fila>>> enVuelo = new ArrayDeque<>();
+        try {
+            List<Fila> lote = leerLote(lector);
+            while (!lote.isEmpty()) {
+                List<Fila> porValidar = lote;
+                enVuelo.add(validadores.submit(() -> validar(porValidar, posiciones, roles)));
+                if (enVuelo.size() == lotesEnVuelo || lote.size() < tamanoLote) {
+                    break;
+                }
+                lote = leerLote(lector);
+            }
+            while (!enVuelo.isEmpty()) {
+                guardar(importacion, esperar(enVuelo.poll()));
+            }
+        } finally {
+            for (Future<List<Fila>> pendiente : enVuelo) {
+                pendiente.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Busca la última fila con resultado guardado, desde cuya posición continúa la importación.
+     * @return Fila y posición de reanudación, o null si la importación no ha guardado ninguna fila
+     */
+    private Reanudacion reanudacion(String importacion) {
+        List<Reanudacion> ultima = jdbc.query("SELECT fila, posicion FROM resultado_importacion WHERE importacion = ? ORDER BY fila DESC LIMIT 1",
+                (rs, numero) -> new Reanudacion(rs.getLong(1), rs.getLong(2)), importacion);
+        return ultima.isEmpty() ? null : ultima.get(0);
+    }
+
+    /**
+     * Calcula el avance con los resultados guardados después del punto de control del trabajo.
+     */
+    private AvanceTrabajo avance(String importacion, long puntoControl, boolean terminado) {
+        return jdbc.queryForObject("SELECT MAX(fila), COUNT(*), COUNT(bombero_id) FROM resultado_importacion WHERE importacion = ? AND fila > ?",
+                (rs, numero) -> {
+                    long ultima = rs.getLong(1);
+                    int filas = rs.getInt(2);
+                    int creados = rs.getInt(3);
+                    return new AvanceTrabajo(filas == 0 ? puntoControl : ultima, creados, filas - creados, terminado);
+                }, importacion, puntoControl);
+    }
+
+    /**
+     * Guarda el resultado de las filas del lote, con la posición desde la que se reanuda la importación.
+     * Debe ejecutarse en la transacción del lote.
+     */
+    private void guardarResultados(String importacion, List<Fila> filas) {
+        Date fecha = new Date();
+        jdbc.batchUpdate("INSERT INTO resultado_importacion (importacion, fila, posicion, bombero_id, campo, mensaje, fecha) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                filas, filas.size(), (sentencia, fila) -> {
+                    sentencia.setString(1, importacion);
+                    sentencia.setLong(2, fila.numero);
+                    sentencia.setLong(3, fila.posicion);
+                    sentencia.setObject(4, fila.mensaje == null ? fila.bombero.getId() : null, Types.INTEGER);
+                    sentencia.setString(5, recortar(fila.campo, 100));
+                    sentencia.setString(6, recortar(fila.mensaje, 255));
+                    sentencia.setTimestamp(7, new Timestamp(fecha.getTime()));
+                });
+    }
+
+    /**
+     * Elimina el archivo cuando se confirma la última ronda; si la confirmación falla, la ronda se repite.
+     */
+    private static void eliminarAlConfirmar(Path ruta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eliminar(ruta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eliminar(ruta);
+            }
+        });
+    }
+
+    private static void eliminar(Path ruta) {
+        try {
+            Files.deleteIfExists(ruta);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el archivo importado {}; se eliminará al vencer la retención", ruta, e);
+        }
+    }
+
+    private static String importacion(Map<String, String> parametros) {
+        String importacion = parametros.get("archivo");
+        if (importacion == null || !NOMBRE_IMPORTACION.matcher(importacion).matches()) {
+            throw IMPORTACION_INVALIDA;
+        }
+        return importacion;
+    }
+
+    private Path ruta(String importacion) {
+        return directorio.resolve(importacion + ".csv");
+    }
+
+    /**
+     * Lector UTF-8 que rechaza las secuencias mal formadas en lugar de reemplazarlas, para que la
+     * posición en bytes de LectorCsv corresponda al archivo.
+     */
+    private static InputStreamReader lectorUtf8(InputStream archivo) {
+        return new InputStreamReader(archivo, StandardCharsets.UTF_8.newDecoder());
+    }
+
+    private static String recortar(String valor, int largo) {
+        return valor != null && valor.length() > largo ? valor.substring(0, largo) : valor;
+    }
+
+    private List<Fila> leerLote(LectorCsv lector) throws IOException {
+        List<Fila> lote = new ArrayList<>(tamanoLote);
+        List<String> campos;
+        while (lote.size() < tamanoLote && (campos = lector.siguiente()) != null) {
+            lote.add(new Fila(lector.getRegistro(), lector.getPosicion(), campos));
+        }
+        return lote;
+    }
+
+    private List<Fila> esperar(Future<List<Fila>> lote) throws IOException {
+        try {
+            return lote.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importación interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Valida un lote: reglas de cada fila, repetidos dentro del lote y valores ya registrados.
+     * @param lote Filas leídas
+     * @param posiciones Posición de cada columna requerida
+     * @param roles Roles existentes por ID
+     * @return El mismo lote, con el bombero armado o el error de cada fila
+     */
+    private List<Fila> validar(List<Fila> lote, int[] posiciones, Map<Integer, Rol> roles) {
+        Set<Integer> runs = new HashSet<>();
+        Set<Integer> telefonos = new HashSet<>();
+        Set<String> correos = new HashSet<>();
+        for (Fila fila : lote) {
+            armar(fila, posiciones, roles);
+            if (fila.mensaje != null) {
+                continue;
+            }
+            Bombero bombero = fila.bombero;
+            if (!runs.add(bombero.getRun())) {
+                fila.rechazar("run", "El RUN está repetido en el archivo");
+            } else if (!telefonos.add(bombero.getTelefono())) {
+                fila.rechazar("telefono", "El Telefono está repetido en el archivo");
+            } else if (!correos.add(bombero.getCredencial().getCorreo().toLowerCase(Locale.ROOT))) {
+                fila.rechazar("correo", "El correo está repetido en el archivo");
+            }
+        }
+
+        List<Fila> validas = validas(lote);
+        if (validas.isEmpty()) {
+            return lote;
+        }
+        Set<Integer> runsExistentes = new HashSet<>(bomberoRepository.findRunsExistentes(runs));
+        Set<Integer> telefonosExistentes = new HashSet<>(bomberoRepository.findTelefonosExistentes(telefonos));
+        Set<String> correosExistentes = new HashSet<>();
+        for (String correo : credencialRepository.findCorreosExistentes(correosDe(validas))) {
+            correosExistentes.add(correo.toLowerCase(Locale.ROOT));
+        }
+        for (Fila fila : validas) {
+            rechazarExistente(fila, runsExistentes, telefonosExistentes, correosExistentes);
+        }
+        return lote;
+    }
+
+    /**
+     * Convierte los campos de la fila en un bombero con su credencial y aplica las reglas de validación.
+     */
+    private void armar(Fila fila, int[] posiciones, Map<Integer, Rol> roles) {
+        Integer run = entero(fila, posiciones[RUN], "run", "El RUN debe ser un número");
+        Integer telefono = entero(fila, posiciones[TELEFONO], "telefono", "El teléfono debe ser un número");
+        Integer rolId = entero(fila, posiciones[ROL_ID], "rolId", "El rolId debe ser un número");
+        if (run == null || telefono == null || rolId == null) {
+            return;
+        }
+        Rol rol = roles.get(rolId);
+        if (rol == null) {
+            fila.rechazar("rolId", "El rol no existe");
+            return;
+        }
+        Credencial credencial = new Credencial(0, texto(fila, posiciones[CORREO]), texto(fila, posiciones[CONTRASENIA]), 0, true, rol);
+        Bombero bombero = new Bombero(0, run, texto(fila, posiciones[DV]), texto(fila, posiciones[NOMBRE]),
+                texto(fila, posiciones[A_PATERNO]), texto(fila, posiciones[A_MATERNO]), new Date(), telefono, credencial);
+        try {
+            bomberoService.validarBombero(bombero);
+            credencialService.validarCredencial(credencial);
+        } catch (ValidacionException | ConflictoException e) {
+            fila.rechazar(e.getCampo(), e.getMessage());
+            return;
+        }
+        fila.bombero = bombero;
+    }
+
+    /**
+     * Guarda en una transacción las filas válidas del lote y el resultado de todas sus filas. Si la base
+     * de datos rechaza las inserciones por lote, inserta cada fila por separado para identificar las que fallan.
+     */
+    private void guardar(String importacion, List<Fila> lote) {
+        List<Fila> validas = validas(lote);
+        transaccionLote.executeWithoutResult(estado -> {
+            if (!validas.isEmpty()) {
+                try {
+                    bomberoRepository.insertarLote(bomberosDe(validas));
+                } catch (DataIntegrityViolationException e) {
+                    insertarUnoAUno(validas);
+                }
+                for (Fila fila : validas(validas)) {
+                    Credencial credencial = fila.bombero.getCredencial();
+                    eventos.publishEvent(new CredencialModificada(credencial.getId(), credencial.getCorreo(), true, false));
+                    eventos.publishEvent(new BomberoModificado(fila.bombero.getId(), false));
+                    auditoria.registrar(EventoAuditoria.Accion.CREAR, EventoAuditoria.Entidad.CREDENCIAL, credencial.getId());
+                    auditoria.registrar(EventoAuditoria.Accion.CREAR, EventoAuditoria.Entidad.BOMBERO, fila.bombero.getId());
+                }
+            }
+            guardarResultados(importacion, lote);
+        });
+        if (!validas.isEmpty()) {
+            // Las inserciones JDBC no pasan por Hibernate, por lo que no invalidan la caché de consultas por correo
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+        }
+    }
+
+    /**
+     * Inserta las filas una a una en la transacción del lote. Una inserción rechazada se deshace sola
+     * y la fila se informa con el valor que ya existe.
+     */
+    private void insertarUnoAUno(List<Fila> validas) {
+        for (Fila fila : validas) {
+            Bombero bombero = fila.bombero;
+            bombero.setId(0);
+            bombero.getCredencial().setId(0);
+            try {
+                bomberoRepository.insertarLote(List.of(bombero));
+            } catch (DataIntegrityViolationException e) {
+                String correo = bombero.getCredencial().getCorreo().toLowerCase(Locale.ROOT);
+                rechazarExistente(fila, new HashSet<>(bomberoRepository.findRunsExistentes(List.of(bombero.getRun()))),
+                        new HashSet<>(bomberoRepository.findTelefonosExistentes(List.of(bombero.getTelefono()))),
+                        credencialRepository.findCorreosExistentes(List.of(correo)).isEmpty() ? Set.of() : Set.of(correo));
+                if (fila.mensaje == null) {
+                    fila.rechazar(null, "Los datos de la fila están en conflicto con un registro existente");
+                }
+            }
+        }
+    }
+
+    private static void rechazarExistente(Fila fila, Set<Integer> runs, Set<Integer> telefonos, Set<String> correos) {
+        Bombero bombero = fila.bombero;
+        if (runs.contains(bombero.getRun())) {
+            fila.rechazar("run", "El RUN ya existe");
+        } else if (telefonos.contains(bombero.getTelefono())) {
+            fila.rechazar("telefono", "El Telefono ya existe");
+        } else if (correos.contains(bombero.getCredencial().getCorreo().toLowerCase(Locale.ROOT))) {
+            fila.rechazar("correo", "El correo ya está en uso");
+        }
+    }
+
+    private static List<Bombero> bomberosDe(List<Fila> filas) {
+        List<Bombero> bomberos = new ArrayList<>(filas.size());
+        for (Fila fila : filas) {
+            bomberos.add(fila.bombero);
+        }
+        return bomberos;
+    }
+
+    private static List<Fila> validas(List<Fila> lote) {
+        List<Fila> validas = new ArrayList<>(lote.size());
+        for (Fila fila : lote) {
+            if (fila.mensaje == null) {
+                validas.add(fila);
+            }
+        }
+        return validas;
+    }
+
+    private static List<String> correosDe(List<Fila> filas) {
+        List<String> correos = new ArrayList<>(filas.size());
+        for (Fila fila : filas) {
+            correos.add(fila.bombero.getCredencial().getCorreo());
+        }
+        return correos;
+    }
+
+    /**
+     * Obtiene el campo sin espacios al inicio ni al final; un campo vacío se considera ausente.
+     */
+    private static String texto(Fila fila, int posicion) {
+        if (posicion >= fila.campos.size()) {
+            return null;
+        }
+        String valor = fila.campos.get(posicion).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static Integer entero(Fila fila, int posicion, String campo, String mensaje) {
+        if (fila.mensaje != null) {
+            return null;
+        }
+        String valor = texto(fila, posicion);
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            fila.rechazar(campo, valor == null ? "El " + campo + " es requerido" : mensaje);
+            return null;
+        }
+    }
+
+    private static void escribir(Writer reporte, long fila, Integer bomberoId, String campo, String mensaje) throws IOException {
+        reporte.write(Long.toString(fila));
+        if (bomberoId != null) {
+            reporte.write(",CREADO,");
+            reporte.write(Integer.toString(bomberoId));
+            reporte.write(",,\n");
+            return;
+        }
+        reporte.write(",ERROR,,");
+        reporte.write(campo != null ? campo : "");
+        reporte.write(',');
+        reporte.write(celda(mensaje != null ? mensaje : ""));
+        reporte.write('\n');
+    }
+
+    private static String celda(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Punto de reanudación: número y posición en bytes del final de la última fila con resultado guardado.
+     */
+    private record Reanudacion(long fila, long posicion) {
+    }
+
+    /**
+     * Fila del archivo con su resultado. La arma y valida un hilo del pool y luego la lee el hilo
+     * del trabajo; el Future entre ambos asegura la visibilidad de los cambios.
+     */
+    private static final class Fila {
+
+        private final long numero;
+        private final long posicion;
+        private final List<String> campos;
+        private Bombero bombero;
+        private String campo;
+        private String mensaje;
+
+        private Fila(long numero, long posicion, List<String> campos) {
+            this.numero = numero;
+            this.posicion = posicion;
+            this.campos = campos;
+        }
+
+        private void rechazar(String campo, String mensaje) {
+            this.campo = campo;
+            this.mensaje = mensaje;
+            this.bombero = null;
+        }
+    }
+}
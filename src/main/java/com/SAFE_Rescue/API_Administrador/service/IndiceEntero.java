@@ -0,0 +1,251 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Tabla hash de int a int con direccionamiento abierto, sin objetos por entrada.
+ * <p>
+ * Claves y valores se guardan intercalados en un solo arreglo de enteros (clave, valor, clave, valor...),
+ * por lo que una búsqueda lee casillas contiguas sin desreferenciar objetos ni convertir a Integer.
+ * Las colisiones se resuelven con sondeo lineal y las eliminaciones desplazan hacia atrás las entradas
+ * siguientes, sin marcas de borrado. La capacidad es una potencia de dos y se duplica al superar la
+ * carga máxima.
+ * </p>
+ * <p>
+ * Las búsquedas usan la lectura optimista de StampedLock: no bloquean ni escriben memoria compartida, y
+ * solo si una escritura concurrente invalidó el sello repiten la búsqueda con el cerrojo de lectura.
+ * Las escrituras toman el cerrojo exclusivo.
+ * </p>
+ */
+public class IndiceEntero {
+
+    /**
+     * Valor devuelto cuando la clave no está; los valores guardados deben ser mayores o iguales a 0.
+     */
+    public static final int AUSENTE = -1;
+
+    private static final int VACIA = Integer.MIN_VALUE;
+    private static final double CARGA_MAXIMA = 0.6;
+
+    private final StampedLock cerrojo = new StampedLock();
+    private final LongAdder reintentos = new LongAdder();
+    private int[] tabla;
+    private int mascara;
+    private int umbral;
+    private int tamano;
+
+    /**
+     * Crea el índice con lugar para la cantidad indicada de entradas sin redimensionar.
+     * @param entradasEsperadas Cantidad de entradas esperada
+     */
+    public IndiceEntero(int entradasEsperadas) {
+        int capacidad = Integer.highestOneBit((int) Math.max(8, Math.ceil(entradasEsperadas / CARGA_MAXIMA)));
+        if (capacidad < entradasEsperadas / CARGA_MAXIMA) {
+            capacidad <<= 1;
+        }
+        asignar(nuevaTabla(capacidad));
+    }
+
+    /**
+     * Busca el valor de una clave.
+     * @param clave Clave buscada
+     * @return Valor asociado, o AUSENTE si la clave no está
+     */
+    public int buscar(int clave) {
+        long sello = cerrojo.tryOptimisticRead();
+        int valor = buscarEn(tabla, clave);
+        if (!cerrojo.validate(sello)) {
+            reintentos.increment();
+            sello = cerrojo.readLock();
+            try {
+                valor = buscarEn(tabla, clave);
+            } finally {
+                cerrojo.unlockRead(sello);
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Asocia el valor a la clave, reemplazando el anterior si existía.
+     * @param clave Clave, distinta de Integer.MIN_VALUE
+     * @param valor Valor mayor o igual a 0
+     * @throws IllegalArgumentException Si la clave o el valor están fuera de rango
+     */
+    public void poner(int clave, int valor) {
+        if (clave == VACIA || valor < 0) {
+            throw new IllegalArgumentException("Clave o valor fuera de rango: " + clave + " -> " + valor);
+        }
+        long sello = cerrojo.writeLock();
+        try {
+            int casilla = casilla(tabla, clave);
+            if (tabla[casilla] == clave) {
+                tabla[casilla + 1] = valor;
+                return;
+            }
+            if (tamano + 1 > umbral) {
+                asignar(redimensionar(tabla, tabla.length));
+                casilla = casilla(tabla, clave);
+            }
+            tabla[casilla] = clave;
+            tabla[casilla + 1] = valor;
+            tamano++;
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Quita la clave solo si sigue asociada al valor indicado, para no borrar una asociación más nueva.
+     * @param clave Clave a quitar
+     * @param valor Valor que debe tener la clave
+     * @return true si se quitó
+     */
+    public boolean quitar(int clave, int valor) {
+        long sello = cerrojo.writeLock();
+        try {
+            int casilla = casilla(tabla, clave);
+            if (tabla[casilla] != clave || tabla[casilla + 1] != valor) {
+                return false;
+            }
+            desplazarDesde(casilla);
+            tamano--;
+            return true;
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * @return Cantidad de entradas
+     */
+    public int getTamano() {
+        long sello = cerrojo.readLock();
+        try {
+            return tamano;
+        } finally {
+            cerrojo.unlockRead(sello);
+        }
+    }
+
+    /**
+     * @return Casillas de la tabla
+     */
+    public int getCapacidad() {
+        long sello = cerrojo.readLock();
+        try {
+            return tabla.length / 2;
+        } finally {
+            cerrojo.unlockRead(sello);
+        }
+    }
+
+    /**
+     * @return Búsquedas que se repitieron con el cerrojo de lectura por una escritura concurrente
+     */
+    public long getReintentos() {
+        return reintentos.sum();
+    }
+
+    /**
+     * Memoria del índice: el arreglo de la tabla con su encabezado, el objeto y el cerrojo.
+     * @return Bytes estimados
+     */
+    public long getBytesEstimados() {
+        return 16 + 4L * getCapacidad() * 2 + 40 + 32;
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Recorre a lo más una vez la tabla, para terminar aunque una escritura concurrente la deje
+     * inconsistente durante una lectura optimista (el resultado se descarta en ese caso).
+     */
+    private static int buscarEn(int[] tabla, int clave) {
+        int mascara = (tabla.length >>> 1) - 1;
+        int indice = mezclar(clave) & mascara;
+        for (int paso = 0; paso <= mascara; paso++) {
+            int posicion = indice << 1;
+            int actual = tabla[posicion];
+            if (actual == clave) {
+                return tabla[posicion + 1];
+            }
+            if (actual == VACIA) {
+                return AUSENTE;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        return AUSENTE;
+    }
+
+    /**
+     * Posición en el arreglo de la clave, o de la primera casilla libre donde iría.
+     */
+    private int casilla(int[] tabla, int clave) {
+        int indice = mezclar(clave) & mascara;
+        while (tabla[indice << 1] != clave && tabla[indice << 1] != VACIA) {
+            indice = (indice + 1) & mascara;
+        }
+        return indice << 1;
+    }
+
+    /**
+     * Libera la casilla y mueve hacia atrás las entradas siguientes cuya posición ideal no está entre
+     * la casilla liberada y la suya, para que ninguna quede detrás de un hueco.
+     */
+    private void desplazarDesde(int posicion) {
+        int libre = posicion >>> 1;
+        int siguiente = (libre + 1) & mascara;
+        while (tabla[siguiente << 1] != VACIA) {
+            int ideal = mezclar(tabla[siguiente << 1]) & mascara;
+            if (((siguiente - ideal) & mascara) >= ((siguiente - libre) & mascara)) {
+                tabla[libre << 1] = tabla[siguiente << 1];
+                tabla[(libre << 1) + 1] = tabla[(siguiente << 1) + 1];
+                libre = siguiente;
+            }
+            siguiente = (siguiente + 1) & mascara;
+        }
+        tabla[libre << 1] = VACIA;
+        tabla[(libre << 1) + 1] = 0;
+    }
+
+    private int[] redimensionar(int[] anterior, int largoAnterior) {
+        int[] nueva = nuevaTabla(largoAnterior);
+        int nuevaMascara = (nueva.length >>> 1) - 1;
+        for (int i = 0; i < largoAnterior; i += 2) {
+            int clave = anterior[i];
+            if (clave != VACIA) {
+                int indice = mezclar(clave) & nuevaMascara;
+                while (nueva[indice << 1] != VACIA) {
+                    indice = (indice + 1) & nuevaMascara;
+                }
+                nueva[indice << 1] = clave;
+                nueva[(indice << 1) + 1] = anterior[i + 1];
+            }
+        }
+        return nueva;
+    }
+
+    private void asignar(int[] nueva) {
+        tabla = nueva;
+        mascara = (nueva.length >>> 1) - 1;
+        umbral = (int) ((nueva.length >>> 1) * CARGA_MAXIMA);
+    }
+
+    private static int[] nuevaTabla(int capacidad) {
+        int[] tabla = new int[capacidad * 2];
+        for (int i = 0; i < tabla.length; i += 2) {
+            tabla[i] = VACIA;
+        }
+        return tabla;
+    }
+
+    /**
+     * Dispersa las claves consecutivas (RUN, teléfonos, IDs) por toda la tabla.
+     */
+    private static int mezclar(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,341 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.BomberoModificado;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaIndices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índices en memoria de RUN y teléfono hacia el ID del bombero, para las búsquedas por esos campos y
+ * para detectar un valor repetido sin consultar la base de datos.
+ * <p>
+ * Cada índice es un IndiceEntero (arreglo de enteros con direccionamiento abierto), sin un Integer ni una
+ * entrada de HashMap por bombero. Junto a ellos se guardan el RUN y el teléfono por ID, para quitar los
+ * valores anteriores cuando un bombero cambia o se elimina.
+ * </p>
+ * <p>
+ * Los índices se construyen al iniciar con una sola consulta de id, run y telefono leída por cursor
+ * (tamano-lectura filas por viaje) y se reconstruyen cada reconstruccion-ms, lo que acota los cambios
+ * hechos sin eventos (SQL directo). Después del commit de un cambio de bombero se vuelven a leer solo los
+ * bomberos cambiados, dentro del cerrojo, y se actualizan sus entradas. Un ID encontrado en el índice
+ * puede estar desactualizado por ese intervalo, por lo que los llamadores lo confirman con la base de datos;
+ * por la misma razón, en las búsquedas un valor ausente también se consulta antes de informar que no existe.
+ * </p>
+ */
+@Component
+public class IndicesBomberos {
+
+    private static final int MAXIMO_IDS_CONSULTA = 1000;
+    private static final String RECORRER = "SELECT id, run, telefono FROM bombero";
+    private static final String CONTAR = "SELECT COUNT(*) FROM bombero";
+
+    private static final Logger log = LoggerFactory.getLogger(IndicesBomberos.class);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaccion;
+    private final boolean habilitado;
+    private final long reconstruccionMs;
+
+    // ESTADO (los escritores se coordinan con el cerrojo; los lectores solo leen la referencia)
+    private final Object cerrojo = new Object();
+    private volatile Indices indices;
+    private Set<Integer> durante;
+    private volatile long construidos;
+
+    // CONTADORES
+    private final LongAdder busquedas = new LongAdder();
+    private volatile long reconstrucciones;
+    private volatile long ultimaReconstruccionMs;
+    private volatile long parches;
+
+    /**
+     * Crea los índices; se construyen en la primera revisión programada.
+     * @param dataSource Base de datos; la consulta de construcción usa su propia plantilla con tamaño de lectura
+     * @param transactionManager Administrador de transacciones para leer fuera de la transacción que confirmó
+     * @param habilitado Indica si las búsquedas y validaciones usan los índices
+     * @param tamanoLectura Filas por viaje del cursor al construir
+     * @param reconstruccionMs Antigüedad a partir de la cual los índices se reconstruyen completos
+     */
+    public IndicesBomberos(DataSource dataSource, PlatformTransactionManager transactionManager,
+                           @Value("${app.indices.habilitado:true}") boolean habilitado,
+                           @Value("${app.indices.tamano-lectura:10000}") int tamanoLectura,
+                           @Value("${app.indices.reconstruccion-ms:600000}") long reconstruccionMs) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(tamanoLectura);
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.habilitado = habilitado;
+        this.reconstruccionMs = reconstruccionMs;
+    }
+
+    /**
+     * @return true si los índices están construidos y se pueden consultar
+     */
+    public boolean isListo() {
+        return habilitado && indices != null;
+    }
+
+    /**
+     * Busca el ID del bombero que tiene el RUN indicado.
+     * @param run RUN sin dígito verificador
+     * @return ID del bombero, o IndiceEntero.AUSENTE si no hay ninguno o los índices no están listos
+     */
+    public int buscarPorRun(int run) {
+        Indices actuales = indices;
+        if (!habilitado || actuales == null) {
+            return IndiceEntero.AUSENTE;
+        }
+        busquedas.increment();
+        return actuales.porRun.buscar(run);
+    }
+
+    /**
+     * Busca el ID del bombero que tiene el teléfono indicado.
+     * @param telefono Teléfono
+     * @return ID del bombero, o IndiceEntero.AUSENTE si no hay ninguno o los índices no están listos
+     */
+    public int buscarPorTelefono(int telefono) {
+        Indices actuales = indices;
+        if (!habilitado || actuales == null) {
+            return IndiceEntero.AUSENTE;
+        }
+        busquedas.increment();
+        return actuales.porTelefono.buscar(telefono);
+    }
+
+    /**
+     * Recorre la tabla de bomberos y publica índices nuevos. Los cambios confirmados mientras tanto se
+     * vuelven a aplicar sobre ellos, porque su fila pudo leerse antes del commit.
+     */
+    public synchronized void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        synchronized (cerrojo) {
+            durante = new HashSet<>();
+        }
+        Indices nuevos = null;
+        try {
+            nuevos = cargar();
+        } finally {
+            synchronized (cerrojo) {
+                Set<Integer> pendientes = durante;
+                durante = null;
+                if (nuevos != null) {
+                    indices = nuevos;
+                    construidos = System.currentTimeMillis();
+                    aplicar(pendientes);
+                }
+            }
+        }
+        ultimaReconstruccionMs = (System.nanoTime() - inicio) / 1_000_000;
+        reconstrucciones++;
+    }
+
+    /**
+     * Construye los índices si no existen o si son más antiguos que reconstruccion-ms.
+     */
+    @Scheduled(fixedDelayString = "${app.indices.revision-ms:10000}")
+    public void revisar() {
+        if (!habilitado || (indices != null && System.currentTimeMillis() - construidos < reconstruccionMs)) {
+            return;
+        }
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron construir los índices de RUN y teléfono; se usará la base de datos", e);
+        }
+    }
+
+    /**
+     * Anota el cambio de un bombero para actualizar sus entradas después del commit.
+     * @param evento Cambio del bombero
+     */
+    @EventListener
+    public void alModificarBombero(BomberoModificado evento) {
+        if (!habilitado) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            aplicar(Set.of(evento.getBomberoId()));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Integer> pendientes = (Set<Integer>) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            Set<Integer> nuevos = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, nuevos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(nuevos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(IndicesBomberos.this);
+                }
+            });
+            pendientes = nuevos;
+        }
+        pendientes.add(evento.getBomberoId());
+    }
+
+    /**
+     * Obtiene el tamaño de los índices y su memoria estimada.
+     * @return Estadística de los índices
+     */
+    public EstadisticaIndices getEstadistica() {
+        Indices actuales = indices;
+        int bomberos = actuales != null ? actuales.runPorId.getTamano() : 0;
+        long bytes = actuales != null ? actuales.bytesEstimados() : 0;
+        return new EstadisticaIndices(isListo(), bomberos, bytes,
+                bomberos == 0 ? 0 : (double) bytes / bomberos,
+                reconstrucciones, ultimaReconstruccionMs, parches, busquedas.sum(),
+                actuales != null ? actuales.reintentos() : 0);
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Vuelve a leer los bomberos cambiados y reemplaza sus entradas: primero quita los valores anteriores
+     * de todos y luego agrega los nuevos, para que dos bomberos puedan intercambiar un valor en la misma
+     * transacción. Si falla, deja de usar los índices hasta la próxima reconstrucción.
+     */
+    private void aplicar(Set<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        synchronized (cerrojo) {
+            if (durante != null) {
+                durante.addAll(ids);
+            }
+            Indices actuales = indices;
+            if (actuales == null) {
+                return;
+            }
+            try {
+                List<int[]> filas = leer(ids);
+                for (Integer id : ids) {
+                    actuales.quitar(id);
+                }
+                for (int[] fila : filas) {
+                    actuales.poner(fila[0], fila[1], fila[2]);
+                }
+                parches++;
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron actualizar los índices de RUN y teléfono; se reconstruirán", e);
+                indices = null;
+            }
+        }
+    }
+
+    /**
+     * Lee id, run y telefono de los bomberos indicados en una transacción nueva sobre la base primaria.
+     */
+    private List<int[]> leer(Set<Integer> ids) {
+        List<int[]> filas = new ArrayList<>();
+        List<Integer> lista = new ArrayList<>(ids);
+        for (int desde = 0; desde < lista.size(); desde += MAXIMO_IDS_CONSULTA) {
+            List<Integer> parte = lista.subList(desde, Math.min(lista.size(), desde + MAXIMO_IDS_CONSULTA));
+            String consulta = RECORRER + " WHERE id IN (" + String.join(",", Collections.nCopies(parte.size(), "?")) + ")";
+            transaccion.executeWithoutResult(estado -> jdbc.query(consulta,
+                    fila -> {
+                        filas.add(new int[]{fila.getInt(1), fila.getInt(2), fila.getInt(3)});
+                    }, parte.toArray()));
+        }
+        return filas;
+    }
+
+    /**
+     * Recorre la tabla con un cursor, sin materializar las filas, e inserta cada una en índices
+     * dimensionados según la cantidad de bomberos para no redimensionarlos durante la carga.
+     */
+    private Indices cargar() {
+        return transaccion.execute(estado -> {
+            Integer cantidad = jdbc.queryForObject(CONTAR, Integer.class);
+            Indices nuevos = new Indices(cantidad != null ? cantidad : 0);
+            jdbc.query(RECORRER, fila -> {
+                nuevos.poner(fila.getInt(1), fila.getInt(2), fila.getInt(3));
+            });
+            return nuevos;
+        });
+    }
+
+    /**
+     * RUN y teléfono hacia ID, y sus inversos. Se modifican solo dentro del cerrojo; las búsquedas son
+     * seguras en paralelo porque cada IndiceEntero lo es.
+     */
+    private static final class Indices {
+
+        private final IndiceEntero porRun;
+        private final IndiceEntero porTelefono;
+        private final IndiceEntero runPorId;
+        private final IndiceEntero telefonoPorId;
+
+        private Indices(int bomberos) {
+            porRun = new IndiceEntero(bomberos);
+            porTelefono = new IndiceEntero(bomberos);
+            runPorId = new IndiceEntero(bomberos);
+            telefonoPorId = new IndiceEntero(bomberos);
+        }
+
+        /**
+         * Agrega el bombero. Los valores negativos (solo posibles con SQL directo) no se indexan.
+         */
+        private void poner(int id, int run, int telefono) {
+            if (run >= 0) {
+                porRun.poner(run, id);
+                runPorId.poner(id, run);
+            }
+            if (telefono >= 0) {
+                porTelefono.poner(telefono, id);
+                telefonoPorId.poner(id, telefono);
+            }
+        }
+
+        /**
+         * Quita las entradas del bombero. Un valor que ya pertenece a otro bombero no se quita.
+         */
+        private void quitar(int id) {
+            int run = runPorId.buscar(id);
+            if (run != IndiceEntero.AUSENTE) {
+                porRun.quitar(run, id);
+                runPorId.quitar(id, run);
+            }
+            int telefono = telefonoPorId.buscar(id);
+            if (telefono != IndiceEntero.AUSENTE) {
+                porTelefono.quitar(telefono, id);
+                telefonoPorId.quitar(id, telefono);
+            }
+        }
+
+        private long bytesEstimados() {
+            return porRun.getBytesEstimados() + porTelefono.getBytesEstimados()
+                    + runPorId.getBytesEstimados() + telefonoPorId.getBytesEstimados();
+        }
+
+        private long reintentos() {
+            return porRun.getReintentos() + porTelefono.getReintentos();
+        }
+    }
+}
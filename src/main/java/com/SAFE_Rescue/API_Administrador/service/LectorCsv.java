@@ -0,0 +1,244 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector de archivos CSV registro a registro, sin cargar el archivo en memoria.
+ * <p>
+ * Admite campos entre comillas dobles (con comas, saltos de línea y comillas duplicadas en su
+ * interior), fin de línea CRLF o LF y la marca BOM de UTF-8. El separador se deduce del encabezado:
+ * punto y coma si el encabezado lo contiene y no tiene comas (como exportan las planillas en
+ * configuración regional española), coma en otro caso.
+ * </p>
+ * <p>
+ * El lector lleva la posición en bytes UTF-8 del final del último registro leído, para que un archivo
+ * procesado por partes se reanude abriéndolo directamente en esa posición con continuar, sin volver a
+ * leer lo anterior. La posición solo es exacta si el contenido es UTF-8 válido, por lo que el lector
+ * debe construirse con un decodificador que rechace las secuencias mal formadas.
+ * </p>
+ */
+public class LectorCsv {
+
+    private static final int LARGO_MAXIMO_ENCABEZADO = 8192;
+
+    private final BufferedReader entrada;
+    private final List<String> encabezado;
+    private final Map<String, Integer> columnas = new HashMap<>();
+    private final char separador;
+    private int siguienteCaracter = -2;
+    private long registro;
+    private long posicion;
+
+    /**
+     * Crea el lector y lee el encabezado.
+     * @param entrada Contenido del archivo
+     * @throws IOException Si no se puede leer el archivo
+     */
+    public LectorCsv(Reader entrada) throws IOException {
+        this.entrada = entrada instanceof BufferedReader conBufer ? conBufer : new BufferedReader(entrada);
+        this.separador = detectarSeparador();
+        List<String> campos = leerRegistro();
+        this.encabezado = campos != null ? campos : List.of();
+        for (int i = 0; i < encabezado.size(); i++) {
+            columnas.putIfAbsent(encabezado.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    private LectorCsv(LectorCsv original, Reader resto, long posicion, long registro) {
+        this.entrada = resto instanceof BufferedReader conBufer ? conBufer : new BufferedReader(resto);
+        this.encabezado = original.encabezado;
+        this.columnas.putAll(original.columnas);
+        this.separador = original.separador;
+        this.posicion = posicion;
+        this.registro = registro;
+    }
+
+    /**
+     * Crea un lector que continúa el mismo archivo desde una posición obtenida con getPosicion,
+     * con el encabezado y el separador de este lector.
+     * @param resto Contenido del archivo desde esa posición
+     * @param posicion Posición en bytes en que comienza resto
+     * @param registro Número del último registro antes de esa posición
+     * @return Lector posicionado en el registro siguiente
+     */
+    public LectorCsv continuar(Reader resto, long posicion, long registro) {
+        return new LectorCsv(this, resto, posicion, registro);
+    }
+
+    /**
+     * Obtiene los nombres de las columnas del encabezado.
+     * @return Nombres de las columnas, vacío si el archivo está vacío
+     */
+    public List<String> getEncabezado() {
+        return encabezado;
+    }
+
+    /**
+     * Busca la posición de una columna por su nombre, sin distinguir mayúsculas.
+     * @param nombre Nombre de la columna
+     * @return Posición de la columna, o -1 si no existe
+     */
+    public int indice(String nombre) {
+        return columnas.getOrDefault(nombre.toLowerCase(Locale.ROOT), -1);
+    }
+
+    /**
+     * Obtiene el número de registro del último leído; el encabezado es el registro 1.
+     * @return Número de registro
+     */
+    public long getRegistro() {
+        return registro;
+    }
+
+    /**
+     * Obtiene la posición en bytes UTF-8 del final del último registro leído (o del encabezado),
+     * incluido su fin de línea.
+     * @return Posición en bytes desde el inicio del archivo
+     */
+    public long getPosicion() {
+        return siguienteCaracter >= 0 ? posicion - bytes(siguienteCaracter) : posicion;
+    }
+
+    /**
+     * Lee el siguiente registro, omitiendo las líneas vacías.
+     * @return Campos del registro, o null al llegar al final del archivo
+     * @throws IOException Si no se puede leer el archivo
+     */
+    public List<String> siguiente() throws IOException {
+        return leerRegistro();
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Lee la primera línea sin consumirla para deducir el separador y descarta la marca BOM.
+     */
+    private char detectarSeparador() throws IOException {
+        entrada.mark(LARGO_MAXIMO_ENCABEZADO);
+        boolean comas = false;
+        boolean puntosYComa = false;
+        for (int i = 0; i < LARGO_MAXIMO_ENCABEZADO; i++) {
+            int c = entrada.read();
+            if (c == -1 || c == '\n' || c == '\r') {
+                break;
+            }
+            comas |= c == ',';
+            puntosYComa |= c == ';';
+        }
+        entrada.reset();
+        entrada.mark(1);
+        if (entrada.read() == '\uFEFF') {
+            posicion += bytes('\uFEFF');
+        } else {
+            entrada.reset();
+        }
+        return puntosYComa && !comas ? ';' : ',';
+    }
+
+    private List<String> leerRegistro() throws IOException {
+        while (true) {
+            int c = leer();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    saltarLf();
+                }
+                registro++;
+                continue;
+            }
+            siguienteCaracter = c;
+            registro++;
+            return leerCampos();
+        }
+    }
+
+    private List<String> leerCampos() throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        boolean inicioCampo = true;
+        while (true) {
+            int c = leer();
+            if (entreComillas) {
+                if (c == -1) {
+                    campos.add(campo.toString());
+                    return campos;
+                }
+                if (c == '"') {
+                    int despues = leer();
+                    if (despues == '"') {
+                        campo.append('"');
+                        continue;
+                    }
+                    entreComillas = false;
+                    siguienteCaracter = despues;
+                    continue;
+                }
+                campo.append((char) c);
+                continue;
+            }
+            if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    saltarLf();
+                }
+                campos.add(campo.toString());
+                return campos;
+            }
+            if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+                inicioCampo = true;
+                continue;
+            }
+            if (c == '"' && inicioCampo) {
+                entreComillas = true;
+                inicioCampo = false;
+                continue;
+            }
+            inicioCampo = false;
+            campo.append((char) c);
+        }
+    }
+
+    private void saltarLf() throws IOException {
+        int c = leer();
+        if (c != '\n') {
+            siguienteCaracter = c;
+        }
+    }
+
+    private int leer() throws IOException {
+        if (siguienteCaracter != -2) {
+            int c = siguienteCaracter;
+            siguienteCaracter = -2;
+            return c;
+        }
+        int c = entrada.read();
+        if (c >= 0) {
+            posicion += bytes(c);
+        }
+        return c;
+    }
+
+    /**
+     * Bytes que ocupa el carácter en UTF-8; cada mitad de un par sustituto cuenta la mitad de los cuatro bytes del par.
+     */
+    private static int bytes(int c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800 || Character.isSurrogate((char) c)) {
+            return 2;
+        }
+        return 3;
+    }
+}
@@ -0,0 +1,116 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitador de intentos de inicio de sesión por IP y por correo.
+ * Cada cliente tiene una cubeta de tokens con la capacidad configurada que se recarga
+ * a razón de un token por intervalo. La cubeta se guarda como un único AtomicLong
+ * (instante teórico de llegada del algoritmo GCRA), por lo que consumir un token
+ * es una comparación y un CAS, sin bloqueos.
+ */
+@Component
+public class LimitadorLogin {
+
+    private final ConcurrentHashMap<String, AtomicLong> cubetas = new ConcurrentHashMap<>();
+    private final AtomicLong rechazos = new AtomicLong();
+    private final boolean habilitado;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+
+    /**
+     * Crea el limitador.
+     * @param habilitado Indica si el limitador está activo
+     * @param capacidad Intentos permitidos en ráfaga por cliente
+     * @param intervaloMs Milisegundos para recuperar un intento
+     */
+    public LimitadorLogin(@Value("${app.login.limite.habilitado:true}") boolean habilitado,
+                          @Value("${app.login.limite.capacidad:10}") int capacidad,
+                          @Value("${app.login.limite.intervalo-ms:1000}") long intervaloMs) {
+        if (capacidad < 1 || intervaloMs < 1) {
+            throw new IllegalArgumentException("La capacidad y el intervalo del limitador deben ser positivos");
+        }
+        this.habilitado = habilitado;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.toleranciaNanos = intervaloNanos * capacidad;
+    }
+
+    /**
+     * Intenta consumir un token para la IP y otro para el correo.
+     * @param ip Dirección IP del cliente
+     * @param correo Correo con el que se intenta iniciar sesión (puede ser nulo)
+     * @return 0 si el intento está permitido, o los segundos que el cliente debe esperar
+     */
+    public long intentar(String ip, String correo) {
+        if (!habilitado) {
+            return 0;
+        }
+        long ahora = System.nanoTime();
+        long espera = consumir("ip:" + ip, ahora);
+        if (espera == 0 && correo != null) {
+            espera = consumir("correo:" + correo.toLowerCase(Locale.ROOT), ahora);
+        }
+        if (espera > 0) {
+            rechazos.incrementAndGet();
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+        return 0;
+    }
+
+    /**
+     * Elimina las cubetas inactivas, es decir, las que ya se recargaron por completo.
+     * Una cubeta llena se comporta igual que una inexistente.
+     */
+    @Scheduled(fixedDelayString = "${app.login.limite.limpieza-ms:60000}")
+    public void eliminarInactivas() {
+        long ahora = System.nanoTime();
+        cubetas.values().removeIf(cubeta -> cubeta.get() - ahora <= 0);
+    }
+
+    /**
+     * Obtiene la cantidad de cubetas en memoria.
+     * @return Número de clientes con cubeta activa
+     */
+    public int getCubetasActivas() {
+        return cubetas.size();
+    }
+
+    /**
+     * Obtiene la cantidad de intentos rechazados desde el inicio.
+     * @return Número de rechazos
+     */
+    public long getRechazos() {
+        return rechazos.get();
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Consume un token de la cubeta de la clave indicada.
+     * @return 0 si se consumió, o los nanosegundos hasta que haya un token disponible
+     */
+    private long consumir(String clave, long ahora) {
+        AtomicLong cubeta = cubetas.get(clave);
+        if (cubeta == null) {
+            cubeta = cubetas.computeIfAbsent(clave, k -> new AtomicLong(ahora));
+        }
+        while (true) {
+            long llegadaTeorica = cubeta.get();
+            long siguiente = Math.max(llegadaTeorica - ahora, 0) + ahora + intervaloNanos;
+            long exceso = siguiente - ahora - toleranciaNanos;
+            if (exceso > 0) {
+                return exceso;
+            }
+            if (cubeta.compareAndSet(llegadaTeorica, siguiente)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaLimite;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite adaptativo de operaciones simultáneas contra la base de datos (algoritmo de gradiente).
+ * <p>
+ * Compara la latencia de cada operación con un promedio de largo plazo. Si la latencia se mantiene,
+ * el límite crece de a poco; si sube, el límite baja en proporción. Así aprende cuántas operaciones
+ * puede atender la base de datos sin encolarlas. Las operaciones que superan el límite se rechazan
+ * de inmediato con SobrecargaException, sin esperar, para que los hilos no queden atascados en JDBC
+ * cuando la base de datos se vuelve lenta.
+ * </p>
+ * <p>
+ * El límite solo se ajusta cuando al menos la mitad está en uso: con poca carga la latencia no dice
+ * nada sobre la capacidad. El promedio de largo plazo se corrige hacia abajo si la latencia actual es
+ * mucho menor, para que el límite se recupere cuando la base de datos vuelve a responder rápido.
+ * </p>
+ */
+@Component
+public class LimiteConcurrenciaBaseDatos {
+
+    // ERRORES PREDEFINIDOS
+
+    private static final SobrecargaException SOBRECARGA =
+            new SobrecargaException("La base de datos está saturada, intente nuevamente en unos segundos");
+
+    private static final int MUESTRAS_CALENTAMIENTO = 10;
+
+    private final AtomicInteger enVuelo = new AtomicInteger();
+    private final LongAdder atendidas = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+    private final boolean habilitado;
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final double suavizado;
+    private final double factorPromedio;
+
+    private volatile double limite;
+    private double latenciaLargaNanos;
+    private long latenciaCortaNanos;
+    private int muestras;
+
+    /**
+     * Crea el límite.
+     * @param habilitado Indica si el límite está activo
+     * @param inicial Límite inicial de operaciones simultáneas
+     * @param minimo Límite mínimo
+     * @param maximo Límite máximo
+     * @param tolerancia Aumento relativo de latencia que se tolera sin reducir el límite
+     * @param suavizado Peso de cada muestra en el nuevo límite (entre 0 y 1)
+     * @param ventana Cantidad de muestras del promedio de largo plazo
+     */
+    public LimiteConcurrenciaBaseDatos(@Value("${app.limite-bd.habilitado:true}") boolean habilitado,
+                                       @Value("${app.limite-bd.inicial:20}") int inicial,
+                                       @Value("${app.limite-bd.minimo:4}") int minimo,
+                                       @Value("${app.limite-bd.maximo:200}") int maximo,
+                                       @Value("${app.limite-bd.tolerancia:1.5}") double tolerancia,
+                                       @Value("${app.limite-bd.suavizado:0.2}") double suavizado,
+                                       @Value("${app.limite-bd.ventana:600}") int ventana) {
+        if (minimo < 1 || maximo < minimo || inicial < minimo || inicial > maximo) {
+            throw new IllegalArgumentException("El límite inicial debe estar entre el mínimo y el máximo, y el mínimo ser positivo");
+        }
+        if (tolerancia < 1 || suavizado <= 0 || suavizado > 1 || ventana < 1) {
+            throw new IllegalArgumentException("La tolerancia debe ser al menos 1, el suavizado estar entre 0 y 1 y la ventana ser positiva");
+        }
+        this.habilitado = habilitado;
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.suavizado = suavizado;
+        this.factorPromedio = 2.0 / (ventana + 1);
+    }
+
+    /**
+     * Ejecuta una operación contra la base de datos dentro del límite.
+     * @param operacion Operación a ejecutar
+     * @return Resultado de la operación
+     * @throws SobrecargaException Si ya hay tantas operaciones en curso como el límite
+     * @throws Exception Si la operación falla
+     */
+    public <T> T ejecutar(Callable<T> operacion) throws Exception {
+        entrar();
+        long inicio = System.nanoTime();
+        try {
+            return operacion.call();
+        } finally {
+            salir(inicio);
+        }
+    }
+
+    /**
+     * Ocupa un lugar para una operación, sin esperar.
+     * El lugar debe liberarse con salir.
+     * @throws SobrecargaException Si ya hay tantas operaciones en curso como el límite
+     */
+    public void entrar() {
+        if (!habilitado) {
+            return;
+        }
+        while (true) {
+            int actual = enVuelo.get();
+            if (actual >= (int) limite) {
+                rechazadas.increment();
+                throw SOBRECARGA;
+            }
+            if (enVuelo.compareAndSet(actual, actual + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar ocupado con entrar y ajusta el límite con la latencia observada.
+     * @param inicioNanos Instante de inicio de la operación, obtenido con System.nanoTime
+     */
+    public void salir(long inicioNanos) {
+        if (!habilitado) {
+            return;
+        }
+        int enCurso = enVuelo.getAndDecrement();
+        atendidas.increment();
+        registrar(System.nanoTime() - inicioNanos, enCurso);
+    }
+
+    /**
+     * Obtiene el estado del límite.
+     * @return Límite actual, operaciones en curso, latencias y contadores
+     */
+    public synchronized EstadisticaLimite getEstadistica() {
+        return new EstadisticaLimite((int) limite, enVuelo.get(), minimo, maximo,
+                latenciaLargaNanos / 1_000_000, latenciaCortaNanos / 1_000_000.0, atendidas.sum(), rechazadas.sum());
+    }
+
+    /**
+     * Obtiene el límite actual de operaciones simultáneas.
+     * @return Límite actual
+     */
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    /**
+     * Obtiene la cantidad de operaciones rechazadas desde el inicio.
+     * @return Número de rechazos
+     */
+    public long getRechazadas() {
+        return rechazadas.sum();
+    }
+
+    /**
+     * Ajusta el límite con una muestra de latencia.
+     * @param latenciaNanos Latencia de la operación
+     * @param enCurso Operaciones en curso cuando terminó, incluida ella misma
+     */
+    synchronized void registrar(long latenciaNanos, int enCurso) {
+        long latencia = Math.max(1, latenciaNanos);
+        latenciaCortaNanos = latencia;
+        if (muestras < MUESTRAS_CALENTAMIENTO) {
+            muestras++;
+            latenciaLargaNanos += (latencia - latenciaLargaNanos) / muestras;
+        } else {
+            latenciaLargaNanos += (latencia - latenciaLargaNanos) * factorPromedio;
+        }
+        if (latenciaLargaNanos / latencia > 2) {
+            latenciaLargaNanos *= 0.95;
+        }
+        double actual = limite;
+        if (enCurso < actual / 2) {
+            return;
+        }
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * latenciaLargaNanos / latencia));
+        double nuevo = actual * gradiente + Math.sqrt(actual);
+        nuevo = actual * (1 - suavizado) + nuevo * suavizado;
+        limite = Math.max(minimo, Math.min(maximo, nuevo));
+    }
+}
@@ -0,0 +1,102 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renombra las restricciones UNIQUE heredadas de las columnas que ahora tienen nombre fijo.
+ * <p>
+ * Las bases creadas con @Column(unique = true) tienen restricciones con nombres generados por Hibernate
+ * (UK_…); ddl-auto=update agrega la restricción con nombre de RestriccionesUnicas, pero no borra la
+ * anterior, y MySQL informa la que encuentra primero, por lo que un duplicado no se reconocía y respondía
+ * 500 en lugar de 409. Al iniciar, por cada columna única se crea la restricción con su nombre si falta
+ * y se eliminan las demás restricciones UNIQUE de una sola columna sobre ella. En MySQL la restricción
+ * es el índice, por lo que después el error nombra la restricción conocida.
+ * </p>
+ * <p>
+ * Se ejecuta después de que Hibernate actualiza el esquema. Si el usuario de la base de datos no puede
+ * modificar las tablas se registra una advertencia y se continúa.
+ * </p>
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class MigracionRestriccionesUnicas {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracionRestriccionesUnicas.class);
+
+    private static final List<String[]> RESTRICCIONES = List.of(
+            new String[]{"bombero", "run", RestriccionesUnicas.BOMBERO_RUN},
+            new String[]{"bombero", "telefono", RestriccionesUnicas.BOMBERO_TELEFONO},
+            new String[]{"credencial", "correo", RestriccionesUnicas.CREDENCIAL_CORREO});
+
+    private static final String CONSULTA_RESTRICCIONES = "SELECT tc.TABLE_NAME, tc.CONSTRAINT_NAME "
+            + "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc "
+            + "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME "
+            + "AND k.TABLE_NAME = tc.TABLE_NAME AND k.TABLE_SCHEMA = tc.TABLE_SCHEMA "
+            + "WHERE tc.CONSTRAINT_TYPE = 'UNIQUE' AND tc.TABLE_SCHEMA = ? AND LOWER(tc.TABLE_NAME) = ? "
+            + "GROUP BY tc.TABLE_NAME, tc.CONSTRAINT_NAME "
+            + "HAVING COUNT(*) = 1 AND MAX(LOWER(k.COLUMN_NAME)) = ?";
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Crea la migración.
+     * @param jdbc Acceso a la base de datos
+     */
+    public MigracionRestriccionesUnicas(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Deja cada columna única con una sola restricción, la de nombre conocido.
+     */
+    @PostConstruct
+    public void migrar() {
+        try {
+            jdbc.execute((ConnectionCallback<Void>) conexion -> {
+                DatabaseMetaData metadatos = conexion.getMetaData();
+                boolean mysql = metadatos.getDatabaseProductName().toLowerCase(Locale.ROOT).matches(".*(mysql|mariadb).*");
+                String esquema = mysql ? conexion.getCatalog() : conexion.getSchema();
+                String comillas = metadatos.getIdentifierQuoteString().trim();
+                for (String[] restriccion : RESTRICCIONES) {
+                    migrar(esquema, restriccion[0], restriccion[1], restriccion[2], mysql, comillas);
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron normalizar las restricciones UNIQUE; los duplicados con nombres heredados responderán 500", e);
+        }
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private void migrar(String esquema, String tabla, String columna, String nombre, boolean mysql, String comillas) {
+        List<String[]> existentes = jdbc.query(CONSULTA_RESTRICCIONES,
+                (rs, i) -> new String[]{rs.getString(1), rs.getString(2)}, esquema, tabla, columna);
+        if (existentes.isEmpty()) {
+            return;
+        }
+        String tablaReal = comillas + existentes.get(0)[0] + comillas;
+        if (existentes.stream().noneMatch(existente -> existente[1].equalsIgnoreCase(nombre))) {
+            jdbc.execute("ALTER TABLE " + tablaReal + " ADD CONSTRAINT " + nombre + " UNIQUE (" + columna + ")");
+            log.info("Restricción {} creada sobre {}.{}", nombre, tabla, columna);
+        }
+        for (String[] existente : existentes) {
+            if (!existente[1].equalsIgnoreCase(nombre)) {
+                jdbc.execute("ALTER TABLE " + tablaReal + (mysql ? " DROP INDEX " : " DROP CONSTRAINT ")
+                        + comillas + existente[1] + comillas);
+                log.info("Restricción heredada {} de {}.{} eliminada", existente[1], tabla, columna);
+            }
+        }
+    }
+}
@@ -0,0 +1,623 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.BomberoModificado;
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.evento.RolModificado;
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaNomina;
+import com.SAFE_Rescue.API_Administrador.repository.BomberoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Nómina completa de bomberos en memoria para los listados que se consultan con mucha frecuencia.
+ * <p>
+ * La instantánea es inmutable. Los bomberos se agrupan en bloques por rango de ID (TAMANO_BLOQUE IDs por
+ * bloque) y cada bloque guarda arreglos de enteros (ID, credencial, rol y fin de cada elemento) junto con
+ * el JSON ya serializado de sus bomberos, separados por coma. El listado se sirve escribiendo esos bytes,
+ * sin consultar la base de datos ni serializar por solicitud, y los lectores solo leen una referencia
+ * volátil, sin bloqueos.
+ * </p>
+ * <p>
+ * Después del commit de un cambio de bombero, credencial o rol se vuelven a leer solo los bomberos
+ * afectados y se reemplazan solo sus bloques; los demás se comparten con la instantánea anterior. Los
+ * parches se aplican de a uno y leen la base de datos dentro del cerrojo, por lo que el último parche
+ * refleja el último commit. La instantánea se reconstruye completa al iniciar, después de un parche
+ * fallido y cada reconstruccion-ms, lo que acota los cambios hechos sin eventos (SQL directo).
+ * </p>
+ */
+@Component
+public class NominaBomberos {
+
+    /**
+     * IDs consecutivos que comparten un bloque; un parche copia a lo más un bloque por bombero cambiado.
+     */
+    static final int TAMANO_BLOQUE = 256;
+
+    private static final int MAXIMO_IDS_CONSULTA = 1000;
+    private static final byte[] ABRE = {'['};
+    private static final byte[] COMA = {','};
+    private static final byte[] CIERRA = {']'};
+
+    private static final Logger log = LoggerFactory.getLogger(NominaBomberos.class);
+
+    private final BomberoRepository bomberoRepository;
+    private final ObjectWriter escritor;
+    private final TransactionTemplate transaccion;
+    private final boolean habilitado;
+    private final int tamanoPagina;
+    private final long reconstruccionMs;
+
+    // ESTADO (los escritores se coordinan con el cerrojo; los lectores solo leen la referencia)
+    private final Object cerrojo = new Object();
+    private volatile Nomina nomina;
+    private Cambios durante;
+    private volatile long construida;
+
+    // CONTADORES
+    private final LongAdder lecturas = new LongAdder();
+    private volatile long version;
+    private volatile long reconstrucciones;
+    private volatile long ultimaReconstruccionMs;
+    private volatile long parches;
+    private volatile long bomberosParchados;
+    private volatile long nanosParches;
+
+    /**
+     * Crea la nómina; la primera instantánea se construye en la primera revisión programada.
+     * @param bomberoRepository Repositorio de bomberos
+     * @param objectMapper Serializador JSON, el mismo que usan las respuestas HTTP
+     * @param transactionManager Administrador de transacciones para leer fuera de la transacción que confirmó
+     * @param habilitado Indica si el listado se sirve desde memoria
+     * @param tamanoPagina Bomberos leídos por consulta al reconstruir
+     * @param reconstruccionMs Antigüedad a partir de la cual la instantánea se reconstruye completa
+     */
+    public NominaBomberos(BomberoRepository bomberoRepository, ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.nomina.habilitado:true}") boolean habilitado,
+                          @Value("${app.nomina.tamano-pagina:2000}") int tamanoPagina,
+                          @Value("${app.nomina.reconstruccion-ms:300000}") long reconstruccionMs) {
+        this.bomberoRepository = bomberoRepository;
+        this.escritor = objectMapper.writerFor(Bombero.class);
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.habilitado = habilitado;
+        this.tamanoPagina = tamanoPagina;
+        this.reconstruccionMs = reconstruccionMs;
+    }
+
+    /**
+     * Obtiene el cuerpo JSON del listado completo de bomberos, ordenado por ID.
+     * @return Cuerpo del listado, o null si la instantánea no está disponible y se debe consultar la base de datos
+     */
+    public CuerpoNomina leer() {
+        Nomina actual = nomina;
+        if (!habilitado || actual == null) {
+            return null;
+        }
+        lecturas.increment();
+        return new CuerpoNomina(actual);
+    }
+
+    /**
+     * Vuelve a leer todos los bomberos por páginas y publica una instantánea nueva. Los cambios confirmados
+     * mientras tanto se vuelven a aplicar sobre ella, porque su página pudo leerse antes del commit.
+     */
+    public synchronized void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        synchronized (cerrojo) {
+            durante = new Cambios();
+        }
+        Nomina nueva = null;
+        try {
+            nueva = cargar();
+        } finally {
+            synchronized (cerrojo) {
+                Cambios pendientes = durante;
+                durante = null;
+                if (nueva != null) {
+                    publicar(nueva);
+                    construida = System.currentTimeMillis();
+                    aplicar(pendientes);
+                }
+            }
+        }
+        ultimaReconstruccionMs = (System.nanoTime() - inicio) / 1_000_000;
+        reconstrucciones++;
+    }
+
+    /**
+     * Construye la instantánea si no existe o si es más antigua que reconstruccion-ms.
+     */
+    @Scheduled(fixedDelayString = "${app.nomina.revision-ms:10000}")
+    public void revisar() {
+        if (!habilitado || (nomina != null && System.currentTimeMillis() - construida < reconstruccionMs)) {
+            return;
+        }
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo construir la nómina de bomberos en memoria; el listado se consultará en la base de datos", e);
+        }
+    }
+
+    /**
+     * Anota el cambio de un bombero para aplicarlo después del commit.
+     * @param evento Cambio del bombero
+     */
+    @EventListener
+    public void alModificarBombero(BomberoModificado evento) {
+        anotar(cambios -> cambios.bomberos.add(evento.getBomberoId()));
+    }
+
+    /**
+     * Anota el cambio de una credencial para actualizar al bombero que la usa después del commit.
+     * @param evento Cambio de la credencial
+     */
+    @EventListener
+    public void alModificarCredencial(CredencialModificada evento) {
+        anotar(cambios -> cambios.credenciales.add(evento.getCredencialId()));
+    }
+
+    /**
+     * Anota el cambio de un rol para actualizar a los bomberos que lo tienen después del commit.
+     * @param evento Cambio del rol
+     */
+    @EventListener
+    public void alModificarRol(RolModificado evento) {
+        anotar(cambios -> cambios.roles.add(evento.getRolId()));
+    }
+
+    /**
+     * Obtiene el tamaño de la instantánea vigente y el costo de mantenerla.
+     * @return Estadística de la nómina
+     */
+    public EstadisticaNomina getEstadistica() {
+        Nomina actual = nomina;
+        long totalParches = parches;
+        return new EstadisticaNomina(habilitado && actual != null,
+                actual != null ? actual.bomberos : 0,
+                actual != null ? actual.ocupados : 0,
+                actual != null ? actual.tamano : 0,
+                actual != null ? actual.bytesEstimados : 0,
+                version, reconstrucciones, ultimaReconstruccionMs, totalParches, bomberosParchados,
+                totalParches == 0 ? 0 : nanosParches / 1_000_000.0 / totalParches, lecturas.sum());
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Acumula el cambio en la transacción en curso y lo aplica después de su commit, junto con los demás
+     * de la misma transacción, o de inmediato si no hay transacción (eventos de otros nodos).
+     */
+    private void anotar(Consumer<Cambios> cambio) {
+        if (!habilitado) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            Cambios cambios = new Cambios();
+            cambio.accept(cambios);
+            aplicar(cambios);
+            return;
+        }
+        Cambios pendientes = (Cambios) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            Cambios nuevos = new Cambios();
+            TransactionSynchronizationManager.bindResource(this, nuevos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(nuevos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(NominaBomberos.this);
+                }
+            });
+            pendientes = nuevos;
+        }
+        cambio.accept(pendientes);
+    }
+
+    /**
+     * Vuelve a leer los bomberos afectados por los cambios y publica la instantánea con sus bloques
+     * reemplazados. Si falla, deja de servir la instantánea hasta la próxima reconstrucción.
+     */
+    private void aplicar(Cambios cambios) {
+        if (cambios.vacio()) {
+            return;
+        }
+        synchronized (cerrojo) {
+            if (durante != null) {
+                durante.agregar(cambios);
+            }
+            Nomina actual = nomina;
+            if (actual == null) {
+                return;
+            }
+            long inicio = System.nanoTime();
+            try {
+                Set<Integer> ids = actual.afectados(cambios);
+                if (ids.isEmpty()) {
+                    return;
+                }
+                publicar(actual.parchar(leer(ids)));
+                parches++;
+                bomberosParchados += ids.size();
+                nanosParches += System.nanoTime() - inicio;
+            } catch (RuntimeException e) {
+                log.warn("No se pudo actualizar la nómina de bomberos en memoria; se reconstruirá", e);
+                nomina = null;
+            }
+        }
+    }
+
+    private void publicar(Nomina nueva) {
+        version++;
+        nomina = nueva;
+    }
+
+    /**
+     * Lee los bomberos indicados con su credencial y rol, en una transacción nueva.
+     * @return Elemento por ID; null para los bomberos que ya no existen
+     */
+    private Map<Integer, Elemento> leer(Set<Integer> ids) {
+        Map<Integer, Elemento> leidos = new HashMap<>();
+        List<Integer> lista = new ArrayList<>(ids);
+        for (int desde = 0; desde < lista.size(); desde += MAXIMO_IDS_CONSULTA) {
+            List<Integer> parte = lista.subList(desde, Math.min(lista.size(), desde + MAXIMO_IDS_CONSULTA));
+            transaccion.executeWithoutResult(estado -> {
+                for (Bombero bombero : bomberoRepository.findAllByIdConRelaciones(parte)) {
+                    leidos.put(bombero.getId(), elemento(bombero));
+                }
+            });
+        }
+        for (Integer id : ids) {
+            leidos.putIfAbsent(id, null);
+        }
+        return leidos;
+    }
+
+    /**
+     * Lee todos los bomberos por páginas ordenadas por ID, cada una en su propia transacción para no
+     * retener las entidades, y arma los bloques a medida que avanza.
+     */
+    private Nomina cargar() {
+        List<Bloque> bloques = new ArrayList<>();
+        List<Elemento> elementos = new ArrayList<>();
+        int bloqueActual = -1;
+        int desde = 0;
+        while (true) {
+            int ultimo = desde;
+            List<Elemento> pagina = transaccion.execute(estado -> {
+                List<Elemento> leidos = new ArrayList<>(tamanoPagina);
+                for (Bombero bombero : bomberoRepository.findPaginaConRelaciones(ultimo, Limit.of(tamanoPagina))) {
+                    leidos.add(elemento(bombero));
+                }
+                return leidos;
+            });
+            for (Elemento elemento : pagina) {
+                int indice = elemento.id / TAMANO_BLOQUE;
+                if (indice != bloqueActual) {
+                    cerrarBloque(bloques, bloqueActual, elementos);
+                    elementos = new ArrayList<>();
+                    bloqueActual = indice;
+                }
+                elementos.add(elemento);
+            }
+            if (pagina.size() < tamanoPagina) {
+                break;
+            }
+            desde = pagina.get(pagina.size() - 1).id;
+        }
+        cerrarBloque(bloques, bloqueActual, elementos);
+        return new Nomina(bloques.toArray(new Bloque[0]));
+    }
+
+    private static void cerrarBloque(List<Bloque> bloques, int indice, List<Elemento> elementos) {
+        if (elementos.isEmpty()) {
+            return;
+        }
+        while (bloques.size() < indice) {
+            bloques.add(null);
+        }
+        bloques.add(Bloque.de(elementos));
+    }
+
+    private Elemento elemento(Bombero bombero) {
+        Credencial credencial = bombero.getCredencial();
+        int credencialId = credencial != null ? credencial.getId() : 0;
+        int rolId = credencial != null && credencial.getRol() != null ? credencial.getRol().getId() : 0;
+        try {
+            return new Elemento(bombero.getId(), credencialId, rolId, escritor.writeValueAsBytes(bombero));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el bombero " + bombero.getId(), e);
+        }
+    }
+
+    /**
+     * Cuerpo JSON del listado de una instantánea. Se escribe por partes (corchetes, bloques y comas)
+     * sin copiarlas en un solo arreglo.
+     */
+    public static final class CuerpoNomina extends AbstractResource {
+
+        private final Nomina nomina;
+
+        private CuerpoNomina(Nomina nomina) {
+            this.nomina = nomina;
+        }
+
+        /**
+         * @return Cantidad de bomberos del listado
+         */
+        public int getBomberos() {
+            return nomina.bomberos;
+        }
+
+        @Override
+        public long contentLength() {
+            return nomina.tamano;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            Iterator<byte[]> partes = nomina.partes.iterator();
+            return new SequenceInputStream(new Enumeration<>() {
+                @Override
+                public boolean hasMoreElements() {
+                    return partes.hasNext();
+                }
+
+                @Override
+                public InputStream nextElement() {
+                    return new ByteArrayInputStream(partes.next());
+                }
+            });
+        }
+
+        @Override
+        public String getDescription() {
+            return "Nómina de " + nomina.bomberos + " bomberos";
+        }
+    }
+
+    /**
+     * Instantánea inmutable de la nómina. El bloque i tiene los bomberos con ID entre i * TAMANO_BLOQUE
+     * y (i + 1) * TAMANO_BLOQUE - 1, o es null si no tiene ninguno.
+     */
+    private static final class Nomina {
+
+        private final Bloque[] bloques;
+        private final List<byte[]> partes;
+        private final int bomberos;
+        private final int ocupados;
+        private final long tamano;
+        private final long bytesEstimados;
+
+        private Nomina(Bloque[] bloques) {
+            this.bloques = bloques;
+            List<byte[]> lista = new ArrayList<>();
+            lista.add(ABRE);
+            int cantidad = 0;
+            long bytes = 2;
+            long estimados = 16 + 4L * bloques.length;
+            for (Bloque bloque : bloques) {
+                if (bloque == null) {
+                    continue;
+                }
+                if (lista.size() > 1) {
+                    lista.add(COMA);
+                    bytes++;
+                }
+                lista.add(bloque.json);
+                cantidad += bloque.ids.length;
+                bytes += bloque.json.length;
+                estimados += bloque.bytesEstimados();
+            }
+            lista.add(CIERRA);
+            this.partes = Collections.unmodifiableList(lista);
+            this.bomberos = cantidad;
+            this.ocupados = (lista.size() - 1) / 2;
+            this.tamano = bytes;
+            this.bytesEstimados = estimados + 16 + 4L * lista.size();
+        }
+
+        /**
+         * IDs de los bomberos cambiados y de los que usan las credenciales o roles cambiados.
+         */
+        private Set<Integer> afectados(Cambios cambios) {
+            Set<Integer> ids = new LinkedHashSet<>(cambios.bomberos);
+            if (cambios.credenciales.isEmpty() && cambios.roles.isEmpty()) {
+                return ids;
+            }
+            int[] credenciales = ordenados(cambios.credenciales);
+            int[] roles = ordenados(cambios.roles);
+            for (Bloque bloque : bloques) {
+                if (bloque == null) {
+                    continue;
+                }
+                for (int i = 0; i < bloque.ids.length; i++) {
+                    if (Arrays.binarySearch(credenciales, bloque.credenciales[i]) >= 0
+                            || Arrays.binarySearch(roles, bloque.roles[i]) >= 0) {
+                        ids.add(bloque.ids[i]);
+                    }
+                }
+            }
+            return ids;
+        }
+
+        private static int[] ordenados(Set<Integer> valores) {
+            int[] arreglo = valores.stream().mapToInt(Integer::intValue).toArray();
+            Arrays.sort(arreglo);
+            return arreglo;
+        }
+
+        /**
+         * Crea una instantánea que reemplaza solo los bloques de los bomberos leídos.
+         * @param leidos Elemento nuevo por ID, o null si el bombero se eliminó
+         */
+        private Nomina parchar(Map<Integer, Elemento> leidos) {
+            Map<Integer, TreeMap<Integer, Elemento>> porBloque = new HashMap<>();
+            int longitud = bloques.length;
+            for (Map.Entry<Integer, Elemento> leido : leidos.entrySet()) {
+                int indice = leido.getKey() / TAMANO_BLOQUE;
+                TreeMap<Integer, Elemento> elementos = porBloque.computeIfAbsent(indice, this::elementosDe);
+                if (leido.getValue() == null) {
+                    elementos.remove(leido.getKey());
+                } else {
+                    elementos.put(leido.getKey(), leido.getValue());
+                }
+                longitud = Math.max(longitud, indice + 1);
+            }
+            Bloque[] nuevos = Arrays.copyOf(bloques, longitud);
+            for (Map.Entry<Integer, TreeMap<Integer, Elemento>> bloque : porBloque.entrySet()) {
+                TreeMap<Integer, Elemento> elementos = bloque.getValue();
+                nuevos[bloque.getKey()] = elementos.isEmpty() ? null : Bloque.de(new ArrayList<>(elementos.values()));
+            }
+            int usados = nuevos.length;
+            while (usados > 0 && nuevos[usados - 1] == null) {
+                usados--;
+            }
+            return new Nomina(usados < nuevos.length ? Arrays.copyOf(nuevos, usados) : nuevos);
+        }
+
+        private TreeMap<Integer, Elemento> elementosDe(int indice) {
+            TreeMap<Integer, Elemento> elementos = new TreeMap<>();
+            Bloque bloque = indice < bloques.length ? bloques[indice] : null;
+            if (bloque != null) {
+                for (int i = 0; i < bloque.ids.length; i++) {
+                    elementos.put(bloque.ids[i], bloque.elemento(i));
+                }
+            }
+            return elementos;
+        }
+    }
+
+    /**
+     * Bomberos de un rango de IDs: arreglos paralelos ordenados por ID y su JSON separado por coma.
+     * fines[i] es la posición siguiente al último byte del bombero i.
+     */
+    private static final class Bloque {
+
+        private final int[] ids;
+        private final int[] credenciales;
+        private final int[] roles;
+        private final int[] fines;
+        private final byte[] json;
+
+        private Bloque(int[] ids, int[] credenciales, int[] roles, int[] fines, byte[] json) {
+            this.ids = ids;
+            this.credenciales = credenciales;
+            this.roles = roles;
+            this.fines = fines;
+            this.json = json;
+        }
+
+        private static Bloque de(List<Elemento> elementos) {
+            int cantidad = elementos.size();
+            int bytes = cantidad - 1;
+            for (Elemento elemento : elementos) {
+                bytes += elemento.json.length;
+            }
+            int[] ids = new int[cantidad];
+            int[] credenciales = new int[cantidad];
+            int[] roles = new int[cantidad];
+            int[] fines = new int[cantidad];
+            byte[] json = new byte[bytes];
+            int posicion = 0;
+            for (int i = 0; i < cantidad; i++) {
+                Elemento elemento = elementos.get(i);
+                if (i > 0) {
+                    json[posicion++] = ',';
+                }
+                System.arraycopy(elemento.json, 0, json, posicion, elemento.json.length);
+                posicion += elemento.json.length;
+                ids[i] = elemento.id;
+                credenciales[i] = elemento.credencialId;
+                roles[i] = elemento.rolId;
+                fines[i] = posicion;
+            }
+            return new Bloque(ids, credenciales, roles, fines, json);
+        }
+
+        private Elemento elemento(int i) {
+            int desde = i == 0 ? 0 : fines[i - 1] + 1;
+            return new Elemento(ids[i], credenciales[i], roles[i], Arrays.copyOfRange(json, desde, fines[i]));
+        }
+
+        /**
+         * Encabezados del objeto y de los cinco arreglos más su contenido.
+         */
+        private long bytesEstimados() {
+            return 32 + 5 * 16L + 16L * ids.length + json.length;
+        }
+    }
+
+    /**
+     * Bombero serializado con los IDs de su credencial y rol (0 si no tiene).
+     */
+    private record Elemento(int id, int credencialId, int rolId, byte[] json) {
+    }
+
+    /**
+     * IDs cambiados en una transacción o durante una reconstrucción.
+     */
+    private static final class Cambios {
+
+        private final Set<Integer> bomberos = new HashSet<>();
+        private final Set<Integer> credenciales = new HashSet<>();
+        private final Set<Integer> roles = new HashSet<>();
+
+        private boolean vacio() {
+            return bomberos.isEmpty() && credenciales.isEmpty() && roles.isEmpty();
+        }
+
+        private void agregar(Cambios otros) {
+            bomberos.addAll(otros.bomberos);
+            credenciales.addAll(otros.credenciales);
+            roles.addAll(otros.roles);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Padrón de personas para buscar duplicados aproximados sin comparar todos los pares.
+ * <p>
+ * Cada persona se guarda en arreglos paralelos: ID, RUN, nombre, apellido paterno y materno normalizados
+ * en un solo texto separado por '|', y la clave fonética de cada campo como hash. Al cerrar el padrón
+ * las personas se ordenan por RUN y se arman PASADAS índices de bloqueo: cada pasada agrupa a las personas
+ * que comparten la clave fonética de dos de sus tres campos (paterno y materno, nombre y paterno, nombre
+ * y materno), de modo que un error en cualquier campo deja al par en al menos un bloque común.
+ * </p>
+ * <p>
+ * Dentro de un bloque solo se compara cada persona con las ventana siguientes por RUN, por lo que un
+ * recorrido completo hace a lo más n * ventana * PASADAS comparaciones en lugar de n * (n - 1) / 2, y los
+ * RUN con un error de digitación quedan cerca. Un padrón cerrado no se modifica y se puede leer en paralelo.
+ * </p>
+ */
+final class PadronDuplicados {
+
+    /**
+     * Índices de bloqueo: pares de campos cuyas claves fonéticas deben coincidir.
+     */
+    static final int PASADAS = 3;
+
+    /**
+     * Distancia de edición máxima por campo que todavía aporta similitud.
+     */
+    static final int DISTANCIA_MAXIMA = 2;
+
+    /**
+     * Similitud de un campo cuya clave fonética coincide aunque la distancia de edición sea mayor.
+     */
+    private static final double SIMILITUD_FONETICA = 0.9;
+    private static final double PESO_NOMBRE = 0.75;
+    private static final double PESO_RUN = 0.25;
+
+    private int tamano;
+    private int[] ids;
+    private int[] runs;
+    private String[] nombres;
+    private int[] fonNombre;
+    private int[] fonPaterno;
+    private int[] fonMaterno;
+    private long[][] bloques;
+
+    /**
+     * Crea un padrón vacío.
+     * @param capacidad Personas esperadas
+     */
+    PadronDuplicados(int capacidad) {
+        int inicial = Math.max(16, capacidad);
+        ids = new int[inicial];
+        runs = new int[inicial];
+        nombres = new String[inicial];
+        fonNombre = new int[inicial];
+        fonPaterno = new int[inicial];
+        fonMaterno = new int[inicial];
+    }
+
+    /**
+     * Agrega una persona; solo antes de cerrar.
+     * @return Posición de la persona (cambia al cerrar, que ordena por RUN)
+     */
+    int agregar(int id, int run, String nombre, String paterno, String materno) {
+        if (bloques != null) {
+            throw new IllegalStateException("El padrón ya está cerrado");
+        }
+        if (tamano == ids.length) {
+            int capacidad = tamano + (tamano >> 1);
+            ids = Arrays.copyOf(ids, capacidad);
+            runs = Arrays.copyOf(runs, capacidad);
+            nombres = Arrays.copyOf(nombres, capacidad);
+            fonNombre = Arrays.copyOf(fonNombre, capacidad);
+            fonPaterno = Arrays.copyOf(fonPaterno, capacidad);
+            fonMaterno = Arrays.copyOf(fonMaterno, capacidad);
+        }
+        String n = ComparadorNombres.normalizar(nombre);
+        String p = ComparadorNombres.normalizar(paterno);
+        String m = ComparadorNombres.normalizar(materno);
+        ids[tamano] = id;
+        runs[tamano] = run;
+        nombres[tamano] = n + '|' + p + '|' + m;
+        fonNombre[tamano] = ComparadorNombres.fonetico(n).hashCode();
+        fonPaterno[tamano] = ComparadorNombres.fonetico(p).hashCode();
+        fonMaterno[tamano] = ComparadorNombres.fonetico(m).hashCode();
+        return tamano++;
+    }
+
+    /**
+     * Ordena por RUN y arma los índices de bloqueo. Cada índice es un arreglo de (clave del bloque, posición)
+     * empaquetados en un long y ordenados, por lo que un bloque es un tramo contiguo ordenado por RUN.
+     * @return El mismo padrón, cerrado
+     */
+    PadronDuplicados cerrar() {
+        if (bloques != null) {
+            return this;
+        }
+        ordenarPorRun();
+        bloques = new long[PASADAS][];
+        for (int pasada = 0; pasada < PASADAS; pasada++) {
+            long[] indice = new long[tamano];
+            for (int i = 0; i < tamano; i++) {
+                indice[i] = ((long) claveBloque(pasada, i) << 32) | i;
+            }
+            Arrays.sort(indice);
+            bloques[pasada] = indice;
+        }
+        return this;
+    }
+
+    /**
+     * Recorre todos los bloques y entrega cada par con puntaje mayor o igual al umbral una sola vez.
+     * @param umbral Puntaje mínimo
+     * @param ventana Personas siguientes por RUN con que se compara cada una dentro de su bloque
+     * @param destino Receptor de los pares (posiciones en este padrón)
+     * @return Comparaciones realizadas
+     */
+    long buscarPares(double umbral, int ventana, ReceptorPares destino) {
+        Set<Long> entregados = new HashSet<>();
+        long comparaciones = 0;
+        for (int pasada = 0; pasada < PASADAS; pasada++) {
+            long[] indice = bloques[pasada];
+            int inicioBloque = 0;
+            while (inicioBloque < tamano) {
+                long clave = indice[inicioBloque] >> 32;
+                int finBloque = inicioBloque + 1;
+                while (finBloque < tamano && indice[finBloque] >> 32 == clave) {
+                    finBloque++;
+                }
+                for (int a = inicioBloque; a < finBloque; a++) {
+                    int i = (int) indice[a];
+                    for (int b = a + 1; b < Math.min(finBloque, a + 1 + ventana); b++) {
+                        int j = (int) indice[b];
+                        double puntaje = puntaje(this, i, this, j);
+                        comparaciones++;
+                        if (puntaje >= umbral && entregados.add(((long) i << 32) | j)) {
+                            destino.recibir(i, j, similitudNombre(this, i, this, j), puntaje);
+                        }
+                    }
+                }
+                inicioBloque = finBloque;
+            }
+        }
+        return comparaciones;
+    }
+
+    /**
+     * Busca en este padrón cerrado a las personas parecidas a una persona de otro padrón, comparándola
+     * solo con las más cercanas por RUN dentro de cada uno de sus bloques.
+     * @param otro Padrón de la persona buscada (no necesita estar cerrado)
+     * @param posicion Posición de la persona en ese padrón
+     * @param umbral Puntaje mínimo
+     * @param ventana Personas comparadas por bloque, la mitad a cada lado de su RUN
+     * @param destino Receptor de los pares (posición en este padrón primero)
+     */
+    void buscarParecidos(PadronDuplicados otro, int posicion, double umbral, int ventana, ReceptorPares destino) {
+        Set<Integer> entregados = new HashSet<>();
+        for (int pasada = 0; pasada < PASADAS; pasada++) {
+            long[] indice = bloques[pasada];
+            int clave = otro.claveBloque(pasada, posicion);
+            int desde = inicioClave(indice, clave, false);
+            int hasta = inicioClave(indice, clave, true);
+            int centro = primeroConRun(indice, desde, hasta, otro.runs[posicion]);
+            for (int a = Math.max(desde, centro - ventana / 2); a < Math.min(hasta, centro + ventana - ventana / 2); a++) {
+                int i = (int) indice[a];
+                double puntaje = puntaje(this, i, otro, posicion);
+                if (puntaje >= umbral && entregados.add(i)) {
+                    destino.recibir(i, posicion, similitudNombre(this, i, otro, posicion), puntaje);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compara una persona de otro padrón con todas las de este, sin índices; para padrones pequeños
+     * que todavía reciben personas.
+     * @param otro Padrón de la persona buscada
+     * @param posicion Posición de la persona en ese padrón
+     * @param umbral Puntaje mínimo
+     * @param destino Receptor de los pares (posición en este padrón primero)
+     */
+    void compararConTodos(PadronDuplicados otro, int posicion, double umbral, ReceptorPares destino) {
+        for (int i = 0; i < tamano; i++) {
+            double puntaje = puntaje(this, i, otro, posicion);
+            if (puntaje >= umbral) {
+                destino.recibir(i, posicion, similitudNombre(this, i, otro, posicion), puntaje);
+            }
+        }
+    }
+
+    /**
+     * Puntaje de un par: 0.75 por la similitud del nombre completo y 0.25 si los RUN son cercanos.
+     */
+    static double puntaje(PadronDuplicados a, int i, PadronDuplicados b, int j) {
+        double nombre = similitudNombre(a, i, b, j);
+        return PESO_NOMBRE * nombre + (ComparadorNombres.runCercano(a.runs[i], b.runs[j]) ? PESO_RUN : 0);
+    }
+
+    /**
+     * Promedio de la similitud de nombre, apellido paterno y materno. La de cada campo es 1 menos la
+     * distancia de edición dividida por el largo mayor (0 si la distancia supera DISTANCIA_MAXIMA), o
+     * SIMILITUD_FONETICA si sus claves fonéticas coinciden y eso es mayor.
+     */
+    static double similitudNombre(PadronDuplicados a, int i, PadronDuplicados b, int j) {
+        String x = a.nombres[i];
+        String y = b.nombres[j];
+        int finX1 = x.indexOf('|');
+        int finX2 = x.indexOf('|', finX1 + 1);
+        int finY1 = y.indexOf('|');
+        int finY2 = y.indexOf('|', finY1 + 1);
+        return (similitud(x, 0, finX1, y, 0, finY1, a.fonNombre[i] == b.fonNombre[j])
+                + similitud(x, finX1 + 1, finX2, y, finY1 + 1, finY2, a.fonPaterno[i] == b.fonPaterno[j])
+                + similitud(x, finX2 + 1, x.length(), y, finY2 + 1, y.length(), a.fonMaterno[i] == b.fonMaterno[j])) / 3;
+    }
+
+    int getTamano() {
+        return tamano;
+    }
+
+    int getId(int posicion) {
+        return ids[posicion];
+    }
+
+    int getRun(int posicion) {
+        return runs[posicion];
+    }
+
+    boolean isRunCercano(int posicion, PadronDuplicados otro, int posicionOtro) {
+        return ComparadorNombres.runCercano(runs[posicion], otro.runs[posicionOtro]);
+    }
+
+    /**
+     * Memoria de los arreglos y de los textos normalizados (encabezado de objeto y arreglo más un byte por letra).
+     */
+    long bytesEstimados() {
+        long bytes = 6 * 16L + (long) ids.length * (4 * 5 + 4) + (bloques != null ? PASADAS * (16 + 8L * tamano) : 0);
+        for (int i = 0; i < tamano; i++) {
+            bytes += 24 + 16 + nombres[i].length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Receptor de los pares encontrados.
+     */
+    @FunctionalInterface
+    interface ReceptorPares {
+        void recibir(int posicion, int otraPosicion, double similitudNombre, double puntaje);
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private static double similitud(String x, int desdeX, int hastaX, String y, int desdeY, int hastaY, boolean mismoSonido) {
+        int largo = Math.max(hastaX - desdeX, hastaY - desdeY);
+        double similitud = 0;
+        if (largo == 0) {
+            similitud = 1;
+        } else {
+            int distancia = ComparadorNombres.distancia(x, desdeX, hastaX, y, desdeY, hastaY, DISTANCIA_MAXIMA);
+            if (distancia <= DISTANCIA_MAXIMA) {
+                similitud = 1 - (double) distancia / largo;
+            }
+        }
+        return mismoSonido ? Math.max(similitud, SIMILITUD_FONETICA) : similitud;
+    }
+
+    private int claveBloque(int pasada, int i) {
+        int a;
+        int b;
+        switch (pasada) {
+            case 0 -> {
+                a = fonPaterno[i];
+                b = fonMaterno[i];
+            }
+            case 1 -> {
+                a = fonNombre[i];
+                b = fonPaterno[i];
+            }
+            default -> {
+                a = fonNombre[i];
+                b = fonMaterno[i];
+            }
+        }
+        int h = (a * 31 + b) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Primera posición del índice cuya clave de bloque es mayor o igual (o mayor, si despues) que la indicada.
+     */
+    private static int inicioClave(long[] indice, int clave, boolean despues) {
+        int bajo = 0;
+        int alto = indice.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            int actual = (int) (indice[medio] >> 32);
+            if (actual < clave || (despues && actual == clave)) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Primera posición del tramo de un bloque (ordenado por RUN) con RUN mayor o igual al indicado.
+     */
+    private int primeroConRun(long[] indice, int desde, int hasta, int run) {
+        int bajo = desde;
+        int alto = hasta;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (runs[(int) indice[medio]] < run) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    private void ordenarPorRun() {
+        boolean ordenado = true;
+        for (int i = 1; i < tamano && ordenado; i++) {
+            ordenado = runs[i - 1] <= runs[i];
+        }
+        if (ordenado) {
+            return;
+        }
+        long[] orden = new long[tamano];
+        for (int i = 0; i < tamano; i++) {
+            orden[i] = ((long) runs[i] << 32) | i;
+        }
+        Arrays.sort(orden);
+        int[] nuevosIds = new int[ids.length];
+        int[] nuevosRuns = new int[ids.length];
+        String[] nuevosNombres = new String[ids.length];
+        int[] nuevosFonNombre = new int[ids.length];
+        int[] nuevosFonPaterno = new int[ids.length];
+        int[] nuevosFonMaterno = new int[ids.length];
+        for (int k = 0; k < tamano; k++) {
+            int i = (int) orden[k];
+            nuevosIds[k] = ids[i];
+            nuevosRuns[k] = runs[i];
+            nuevosNombres[k] = nombres[i];
+            nuevosFonNombre[k] = fonNombre[i];
+            nuevosFonPaterno[k] = fonPaterno[i];
+            nuevosFonMaterno[k] = fonMaterno[i];
+        }
+        ids = nuevosIds;
+        runs = nuevosRuns;
+        nombres = nuevosNombres;
+        fonNombre = nuevosFonNombre;
+        fonPaterno = nuevosFonPaterno;
+        fonMaterno = nuevosFonMaterno;
+    }
+}
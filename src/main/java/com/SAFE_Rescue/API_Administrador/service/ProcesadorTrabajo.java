@@ -0,0 +1,46 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.AvanceTrabajo;
+
+import java.util.Map;
+
+/**
+ * Procesador de un tipo de trabajo asíncrono.
+ * <p>
+ * TrabajoService invoca procesarLote repetidamente, cada vez dentro de una transacción nueva que
+ * también guarda el punto de control, por lo que un lote confirmado nunca se vuelve a procesar y
+ * un lote interrumpido se repite completo al reanudar. El punto de control debe bastar para
+ * continuar sin estado en memoria (por ejemplo, el último ID procesado).
+ * </p>
+ */
+public interface ProcesadorTrabajo {
+
+    /**
+     * Obtiene el tipo de trabajo que atiende este procesador.
+     * @return Tipo de trabajo
+     */
+    String getTipo();
+
+    /**
+     * Valida los parámetros al enviar el trabajo.
+     * @param parametros Parámetros del trabajo
+     * @throws com.SAFE_Rescue.API_Administrador.exception.ValidacionException Si los parámetros no son válidos
+     */
+    void validar(Map<String, String> parametros);
+
+    /**
+     * Cuenta los elementos a procesar.
+     * @param parametros Parámetros del trabajo
+     * @return Cantidad de elementos, o -1 si no se conoce
+     */
+    long contar(Map<String, String> parametros);
+
+    /**
+     * Procesa el lote que sigue al punto de control.
+     * @param parametros Parámetros del trabajo
+     * @param puntoControl Punto de control del último lote confirmado (0 al comenzar)
+     * @param tamanoLote Cantidad máxima de elementos del lote
+     * @return Avance del lote
+     */
+    AvanceTrabajo procesarLote(Map<String, String> parametros, long puntoControl, int tamanoLote);
+}
@@ -0,0 +1,322 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.ErrorDominioException;
+import com.SAFE_Rescue.API_Administrador.exception.NoProcesableException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.RespuestaIdempotente;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registro de claves de idempotencia (encabezado Idempotency-Key) de las operaciones de creación.
+ * <p>
+ * La primera solicitud con una clave la reserva, se ejecuta y guarda su resultado; los reintentos
+ * con la misma clave y el mismo contenido reciben ese resultado sin volver a ejecutar la operación.
+ * Se guardan las respuestas exitosas y los errores de dominio, que son deterministas; si la operación
+ * falla por cualquier otro motivo, incluida la sobrecarga, la reserva se libera para permitir el reintento.
+ * </p>
+ * <p>
+ * Las claves se guardan en una caché local acotada que expira tras el TTL configurado. Con
+ * app.idempotencia.persistente=true además se guardan en la tabla idempotencia, que comparten
+ * todos los nodos: la reserva es un INSERT sobre la clave primaria, por lo que solo un nodo
+ * ejecuta la operación.
+ * </p>
+ * <p>
+ * Mientras la operación está en curso la fila vence a los reserva-segundos, no al TTL: si el nodo cae
+ * antes de completarla, un reintento posterior toma la reserva vencida en lugar de recibir 409 durante
+ * todo el TTL. Al completarla el vencimiento pasa a ser el TTL. El vencimiento de la reserva identifica
+ * a su dueño, por lo que un nodo cuya reserva ya fue tomada por otro no sobrescribe ni libera la fila.
+ * </p>
+ */
+@Component
+public class RegistroIdempotencia {
+
+    /**
+     * Encabezado HTTP con la clave de idempotencia.
+     */
+    public static final String ENCABEZADO = "Idempotency-Key";
+
+    /**
+     * Encabezado que se agrega a las respuestas repetidas.
+     */
+    public static final String ENCABEZADO_REPETIDA = "Idempotent-Replayed";
+
+    private static final int LARGO_MAXIMO_CLAVE = 200;
+    private static final int LARGO_MAXIMO_CUERPO = 4000;
+    private static final int MAXIMO_INTENTOS_RESERVA = 3;
+
+    // ERRORES PREDEFINIDOS
+    private static final ValidacionException CLAVE_INVALIDA = new ValidacionException(ENCABEZADO, "La clave de idempotencia debe tener entre 1 y " + LARGO_MAXIMO_CLAVE + " caracteres");
+    private static final ConflictoException CLAVE_EN_CURSO = new ConflictoException(ENCABEZADO, "Hay una solicitud en curso con la misma clave de idempotencia");
+    private static final NoProcesableException CLAVE_REUTILIZADA = new NoProcesableException(ENCABEZADO, "La clave de idempotencia ya se usó con otro contenido");
+
+    private final Cache<String, RespuestaIdempotente> respuestas;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbc;
+    private final long ttlMillis;
+    private final long reservaMillis;
+    private final LongAdder repetidas = new LongAdder();
+
+    /**
+     * Crea el registro.
+     * @param maximo Cantidad máxima de claves guardadas en memoria
+     * @param ttlSegundos Segundos durante los que se recuerda una clave
+     * @param reservaSegundos Segundos tras los que otro nodo puede tomar una reserva que sigue en curso
+     * @param persistente Indica si las claves se guardan también en la base de datos
+     * @param objectMapper Serializador usado para calcular la huella de las solicitudes
+     * @param jdbc Acceso a la base de datos, solo se usa si el registro es persistente
+     */
+    public RegistroIdempotencia(@Value("${app.idempotencia.maximo:10000}") long maximo,
+                                @Value("${app.idempotencia.ttl-segundos:86400}") long ttlSegundos,
+                                @Value("${app.idempotencia.reserva-segundos:30}") long reservaSegundos,
+                                @Value("${app.idempotencia.persistente:false}") boolean persistente,
+                                ObjectMapper objectMapper,
+                                ObjectProvider<JdbcTemplate> jdbc) {
+        this.respuestas = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .build();
+        this.objectMapper = objectMapper;
+        this.jdbc = persistente ? jdbc.getObject() : null;
+        this.ttlMillis = Duration.ofSeconds(ttlSegundos).toMillis();
+        this.reservaMillis = Duration.ofSeconds(reservaSegundos).toMillis();
+    }
+
+    /**
+     * Crea la tabla de claves si el registro es persistente.
+     */
+    @PostConstruct
+    public void inicializar() {
+        if (jdbc != null) {
+            jdbc.execute("CREATE TABLE IF NOT EXISTS idempotencia ("
+                    + "clave VARCHAR(255) NOT NULL PRIMARY KEY, "
+                    + "huella CHAR(64) NOT NULL, "
+                    + "estado INT NOT NULL, "
+                    + "codigo VARCHAR(30), "
+                    + "campo VARCHAR(100), "
+                    + "cuerpo VARCHAR(" + LARGO_MAXIMO_CUERPO + "), "
+                    + "expira BIGINT NOT NULL)");
+        }
+    }
+
+    /**
+     * Ejecuta una operación de creación una sola vez por clave de idempotencia.
+     * Sin clave la operación se ejecuta directamente.
+     * @param clave Valor del encabezado Idempotency-Key, o null
+     * @param operacion Nombre de la operación, para que una misma clave no se comparta entre endpoints
+     * @param solicitud Contenido de la solicitud, del que se calcula la huella
+     * @param accion Operación a ejecutar
+     * @return Respuesta de la operación, o la respuesta guardada si es un reintento
+     * @throws ConflictoException Si la solicitud original con la misma clave aún se está procesando
+     * @throws NoProcesableException Si la clave ya se usó con otro contenido
+     */
+    public ResponseEntity<String> ejecutar(String clave, String operacion, Object solicitud,
+                                           Supplier<ResponseEntity<String>> accion) {
+        if (clave == null) {
+            return accion.get();
+        }
+        if (clave.isBlank() || clave.length() > LARGO_MAXIMO_CLAVE) {
+            throw CLAVE_INVALIDA;
+        }
+        String id = operacion + " " + clave;
+        String huella = huella(operacion, solicitud);
+
+        long vence = System.currentTimeMillis() + reservaMillis;
+        RespuestaIdempotente previa = reservar(id, huella, vence);
+        if (previa != null) {
+            return repetir(previa, huella);
+        }
+
+        ResponseEntity<String> respuesta;
+        try {
+            respuesta = accion.get();
+        } catch (SobrecargaException e) {
+            liberar(id, vence);
+            throw e;
+        } catch (ErrorDominioException e) {
+            completar(id, vence, new RespuestaIdempotente(huella, estadoDe(e), e.getCodigo(), e.getCampo(), e.getMessage()));
+            throw e;
+        } catch (RuntimeException | Error e) {
+            liberar(id, vence);
+            throw e;
+        }
+        if (respuesta.getStatusCode().is2xxSuccessful()) {
+            completar(id, vence, new RespuestaIdempotente(huella, respuesta.getStatusCode().value(), null, null, respuesta.getBody()));
+        } else {
+            liberar(id, vence);
+        }
+        return respuesta;
+    }
+
+    /**
+     * Elimina de la base de datos las claves expiradas.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotencia.limpieza-ms:600000}")
+    public void eliminarExpiradas() {
+        if (jdbc != null) {
+            jdbc.update("DELETE FROM idempotencia WHERE expira < ?", System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de claves guardadas en memoria.
+     * @return Número de claves
+     */
+    public long getTamano() {
+        return respuestas.estimatedSize();
+    }
+
+    /**
+     * Obtiene la cantidad de reintentos respondidos con un resultado guardado.
+     * @return Número de respuestas repetidas
+     */
+    public long getRepetidas() {
+        return repetidas.sum();
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    /**
+     * Reserva la clave para esta solicitud hasta vence.
+     * Si el INSERT choca con una fila que ya no se puede leer (expiró, incluida una reserva vencida de
+     * un nodo caído, o se liberó entre ambas sentencias) se reintenta, hasta MAXIMO_INTENTOS_RESERVA veces.
+     * @return null si la clave quedó reservada, o la respuesta ya registrada con esa clave
+     * @throws ConflictoException Si la clave sigue ocupada tras agotar los intentos
+     */
+    private RespuestaIdempotente reservar(String id, String huella, long vence) {
+        RespuestaIdempotente reserva = RespuestaIdempotente.enCurso(huella);
+        for (int intento = 0; intento < MAXIMO_INTENTOS_RESERVA; intento++) {
+            RespuestaIdempotente previa = respuestas.asMap().putIfAbsent(id, reserva);
+            if (previa != null || jdbc == null) {
+                return previa;
+            }
+            try {
+                jdbc.update("INSERT INTO idempotencia (clave, huella, estado, expira) VALUES (?, ?, ?, ?)",
+                        id, huella, RespuestaIdempotente.EN_CURSO, vence);
+                return null;
+            } catch (DuplicateKeyException e) {
+                previa = leer(id);
+                if (previa == null) {
+                    respuestas.asMap().remove(id, reserva);
+                    continue;
+                }
+                if (previa.isEnCurso()) {
+                    respuestas.asMap().remove(id, reserva);
+                } else {
+                    respuestas.put(id, previa);
+                }
+                return previa;
+            } catch (RuntimeException e) {
+                respuestas.asMap().remove(id, reserva);
+                throw e;
+            }
+        }
+        throw CLAVE_EN_CURSO;
+    }
+
+    private RespuestaIdempotente leer(String id) {
+        List<RespuestaIdempotente> filas = jdbc.query(
+                "SELECT huella, estado, codigo, campo, cuerpo FROM idempotencia WHERE clave = ? AND expira >= ?",
+                (rs, i) -> new RespuestaIdempotente(rs.getString(1), rs.getInt(2), rs.getString(3), rs.getString(4), rs.getString(5)),
+                id, System.currentTimeMillis());
+        if (filas.isEmpty()) {
+            jdbc.update("DELETE FROM idempotencia WHERE clave = ? AND expira < ?", id, System.currentTimeMillis());
+            return null;
+        }
+        return filas.get(0);
+    }
+
+    /**
+     * Guarda el resultado y extiende el vencimiento al TTL, solo si la reserva sigue siendo de esta solicitud.
+     */
+    private void completar(String id, long vence, RespuestaIdempotente respuesta) {
+        String cuerpo = respuesta.getCuerpo();
+        if (cuerpo != null && cuerpo.length() > LARGO_MAXIMO_CUERPO) {
+            liberar(id, vence);
+            return;
+        }
+        respuestas.put(id, respuesta);
+        if (jdbc != null) {
+            jdbc.update("UPDATE idempotencia SET estado = ?, codigo = ?, campo = ?, cuerpo = ?, expira = ? "
+                            + "WHERE clave = ? AND estado = ? AND expira = ?",
+                    respuesta.getEstado(), respuesta.getCodigo(), respuesta.getCampo(), cuerpo,
+                    System.currentTimeMillis() + ttlMillis, id, RespuestaIdempotente.EN_CURSO, vence);
+        }
+    }
+
+    private void liberar(String id, long vence) {
+        respuestas.invalidate(id);
+        if (jdbc != null) {
+            jdbc.update("DELETE FROM idempotencia WHERE clave = ? AND estado = ? AND expira = ?",
+                    id, RespuestaIdempotente.EN_CURSO, vence);
+        }
+    }
+
+    private ResponseEntity<String> repetir(RespuestaIdempotente previa, String huella) {
+        if (!previa.getHuella().equals(huella)) {
+            throw CLAVE_REUTILIZADA;
+        }
+        if (previa.isEnCurso()) {
+            throw CLAVE_EN_CURSO;
+        }
+        repetidas.increment();
+        if (previa.getCodigo() != null) {
+            throw reconstruir(previa);
+        }
+        return ResponseEntity.status(previa.getEstado())
+                .header(ENCABEZADO_REPETIDA, "true")
+                .body(previa.getCuerpo());
+    }
+
+    private String huella(String operacion, Object solicitud) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operacion.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(solicitud));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la solicitud", e);
+        }
+    }
+
+    private static int estadoDe(ErrorDominioException e) {
+        return switch (e.getCodigo()) {
+            case "NO_ENCONTRADO" -> HttpStatus.NOT_FOUND.value();
+            case "CONFLICTO" -> HttpStatus.CONFLICT.value();
+            case "NO_PROCESABLE" -> HttpStatus.UNPROCESSABLE_ENTITY.value();
+            default -> HttpStatus.BAD_REQUEST.value();
+        };
+    }
+
+    private static ErrorDominioException reconstruir(RespuestaIdempotente previa) {
+        return switch (previa.getCodigo()) {
+            case "NO_ENCONTRADO" -> new RecursoNoEncontradoException(previa.getCuerpo());
+            case "CONFLICTO" -> new ConflictoException(previa.getCampo(), previa.getCuerpo());
+            case "NO_PROCESABLE" -> new NoProcesableException(previa.getCampo(), previa.getCuerpo());
+            default -> new ValidacionException(previa.getCampo(), previa.getCuerpo());
+        };
+    }
+}
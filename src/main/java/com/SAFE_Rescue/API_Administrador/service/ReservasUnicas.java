@@ -0,0 +1,121 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conjunto de reservas en memoria para los valores que deben ser únicos (RUN, teléfono, correo).
+ * <p>
+ * Antes de insertar, cada creación reserva sus valores únicos; si otra solicitud de este nodo
+ * ya los tiene reservados, el duplicado se rechaza sin consultar la base de datos. La reserva
+ * se libera al terminar la transacción, confirmada o no. Las restricciones UNIQUE de la base de
+ * datos siguen siendo la garantía entre nodos: las reservas solo evitan la carrera local.
+ * </p>
+ * <p>
+ * Las reservas se reparten en franjas con su propio bloqueo, por lo que las solicitudes con
+ * valores distintos casi nunca compiten entre sí.
+ * </p>
+ */
+@Component
+public class ReservasUnicas {
+
+    private static final int FRANJAS = 64;
+
+    private final Object[] candados = new Object[FRANJAS];
+    private final List<Set<Clave>> franjas = new ArrayList<>(FRANJAS);
+    private final LongAdder rechazos = new LongAdder();
+
+    /**
+     * Crea el conjunto de reservas vacío.
+     */
+    public ReservasUnicas() {
+        for (int i = 0; i < FRANJAS; i++) {
+            candados[i] = new Object();
+            franjas.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * Reserva un valor único hasta que termine la transacción actual.
+     * Sin transacción activa el llamador debe liberar la reserva con liberar.
+     * @param campo Campo al que pertenece el valor, por ejemplo "run"
+     * @param valor Valor a reservar
+     * @return true si se reservó, false si otra solicitud ya lo tiene reservado
+     */
+    public boolean reservar(String campo, Object valor) {
+        Clave clave = new Clave(campo, valor);
+        int franja = franja(clave);
+        synchronized (candados[franja]) {
+            if (!franjas.get(franja).add(clave)) {
+                rechazos.increment();
+                return false;
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int estado) {
+                    liberar(campo, valor);
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Libera un valor reservado.
+     * @param campo Campo al que pertenece el valor
+     * @param valor Valor reservado
+     */
+    public void liberar(String campo, Object valor) {
+        Clave clave = new Clave(campo, valor);
+        int franja = franja(clave);
+        synchronized (candados[franja]) {
+            franjas.get(franja).remove(clave);
+        }
+    }
+
+    /**
+     * Indica si un valor está reservado.
+     * @param campo Campo al que pertenece el valor
+     * @param valor Valor a consultar
+     * @return true si el valor está reservado
+     */
+    public boolean estaReservado(String campo, Object valor) {
+        Clave clave = new Clave(campo, valor);
+        int franja = franja(clave);
+        synchronized (candados[franja]) {
+            return franjas.get(franja).contains(clave);
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de duplicados rechazados en memoria desde el inicio.
+     * @return Número de reservas rechazadas
+     */
+    public long getRechazos() {
+        return rechazos.sum();
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private static int franja(Clave clave) {
+        int h = clave.hashCode();
+        return (h ^ (h >>> 16)) & (FRANJAS - 1);
+    }
+
+    private record Clave(String campo, Object valor) {
+        private Clave {
+            Objects.requireNonNull(campo);
+            Objects.requireNonNull(valor);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Nombres de las restricciones UNIQUE de la base de datos y su traducción al campo que violan.
+ * Los mismos nombres se declaran en @Table de Bombero y Credencial para que el error de la
+ * base de datos identifique el campo exacto sin consultas adicionales. Los motores que informan
+ * el índice en lugar de la restricción (H2 conserva el índice heredado al renombrarla) se
+ * reconocen por la tabla y columna del mensaje; MigracionRestriccionesUnicas elimina los nombres
+ * heredados de las bases antiguas.
+ */
+public final class RestriccionesUnicas {
+
+    /**
+     * Restricción de RUN único de los bomberos.
+     */
+    public static final String BOMBERO_RUN = "uk_bombero_run";
+
+    /**
+     * Restricción de teléfono único de los bomberos.
+     */
+    public static final String BOMBERO_TELEFONO = "uk_bombero_telefono";
+
+    /**
+     * Restricción de correo único de las credenciales.
+     */
+    public static final String CREDENCIAL_CORREO = "uk_credencial_correo";
+
+    private static final Map<String, String> COLUMNAS = Map.of(
+            BOMBERO_RUN, "bombero(run",
+            BOMBERO_TELEFONO, "bombero(telefono",
+            CREDENCIAL_CORREO, "credencial(correo");
+
+    private RestriccionesUnicas() {
+    }
+
+    /**
+     * Obtiene el nombre de la restricción violada junto con el mensaje del motor, en minúsculas.
+     * Cada motor informa el nombre de forma distinta (con esquema, tabla o sufijos de índice),
+     * por lo que se devuelve el texto completo para compararlo con violaLa.
+     * @param e Error de integridad de datos
+     * @return Nombre de la restricción y mensaje, o cadena vacía si no se pudo determinar
+     */
+    public static String restriccionDe(DataIntegrityViolationException e) {
+        String nombre = "";
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion && violacion.getConstraintName() != null) {
+                nombre = violacion.getConstraintName() + " ";
+                break;
+            }
+        }
+        String mensaje = e.getMostSpecificCause().getMessage();
+        return (nombre + (mensaje != null ? mensaje : "")).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indica si la restricción informada corresponde a la indicada.
+     * @param restriccion Nombre obtenido con restriccionDe
+     * @param nombre Nombre de la restricción definido en esta clase
+     * @return true si corresponde
+     */
+    public static boolean violaLa(String restriccion, String nombre) {
+        return restriccion.contains(nombre) || restriccion.contains(COLUMNAS.get(nombre));
+    }
+}
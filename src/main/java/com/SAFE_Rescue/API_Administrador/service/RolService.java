@@ -1,14 +1,23 @@
 package com.SAFE_Rescue.API_Administrador.service;
 
+import com.SAFE_Rescue.API_Administrador.evento.EventoAuditoria;
+import com.SAFE_Rescue.API_Administrador.evento.RolModificado;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
 import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
-import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Servicio para la gestión integral de rol
@@ -16,17 +25,32 @@ import java.util.NoSuchElementException;
  * y validación de datos para credencial
  */
 @Service
+@Transactional
 public class RolService {
 
+    // ERRORES PREDEFINIDOS
+    private static final RecursoNoEncontradoException ROL_NO_ENCONTRADO = new RecursoNoEncontradoException("Rol no encontrado");
+    private static final ValidacionException ROL_NULO = new ValidacionException("rol", "El rol no puede ser nulo");
+    private static final ValidacionException NOMBRE_REQUERIDO = new ValidacionException("nombre", "El nombre del rol es requerido");
+    private static final ValidacionException NOMBRE_EXCEDE = new ValidacionException("nombre", "El valor nombre del rol excede máximo de caracteres (50)");
+
     // REPOSITORIOS INYECTADOS
     @Autowired private RolRepository rolRepository;
 
+    // SERVICIOS INYECTADOS
+    @Autowired private Auditoria auditoria;
+    @Autowired private BandejaSalida bandejaSalida;
+
+    // EVENTOS
+    @Autowired private ApplicationEventPublisher eventos;
+
     // MÉTODOS CRUD PRINCIPALES
 
     /**
      * Obtiene todas los roles registradas en el sistema.
      * @return Lista completa de roles
      */
+    @Transactional(readOnly = true)
     public List<Rol> findAll() {
         return rolRepository.findAll();
     }
@@ -35,11 +59,27 @@ public class RolService {
      * Busca un rol por su ID único.
      * @param id Identificador del rol
      * @return rol encontrado
-     * @throws NoSuchElementException Si no se encuentra el rol
+     * @throws RecursoNoEncontradoException Si no se encuentra el rol
      */
+    @Transactional(readOnly = true)
     public Rol findById(Integer id){
-        return rolRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("No se encontró rol con ID: " + id));
+        return rolRepository.findById(id).orElseThrow(() -> ROL_NO_ENCONTRADO);
+    }
+
+    /**
+     * Busca varios roles por sus IDs con una sola consulta IN.
+     * @param ids IDs solicitados
+     * @return Roles en el orden solicitado e IDs que no existen
+     * @throws ValidacionException Si no se indica ningún ID o se supera el máximo permitido
+     */
+    @Transactional(readOnly = true)
+    public ResultadoLote<Rol> findByIds(List<Integer> ids){
+        Set<Integer> unicos = IdsLote.normalizar(ids);
+        Map<Integer, Rol> encontrados = new HashMap<>();
+        for (Rol rol : rolRepository.findAllById(unicos)) {
+            encontrados.put(rol.getId(), rol);
+        }
+        return ResultadoLote.ordenar(unicos, encontrados);
     }
 
     /**
@@ -47,18 +87,23 @@ public class RolService {
      * Realiza validaciones y guarda relaciones con otros componentes.
      * @param rol Datos del rol a guardar
      * @return rol guardado con ID generado
-     * @throws RuntimeException Si ocurre algún error durante el proceso
-     * @throws IllegalArgumentException Si el rol no cumple con los parametros
+     * @throws ValidacionException Si el rol no cumple con los parametros
      */
     public Rol save(Rol rol) {
-        try {
-            validarRol(rol);
-            return rolRepository.save(rol);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Error al guardar la rol: " + e.getMessage());
-        } catch (Exception e) {
-            throw new RuntimeException("Error inesperado: " + e.getMessage());
+        validarRol(rol);
+        // Guardar un rol existente sin cambios (al crear credenciales) no debe invalidar a todos sus usuarios
+        Rol anterior = rol.getId() == 0 ? null : rolRepository.findById(rol.getId()).orElse(null);
+        boolean modificado = anterior == rol || anterior != null && !Objects.equals(anterior.getNombre(), rol.getNombre());
+        Rol guardado = rolRepository.save(rol);
+        if (anterior == null) {
+            eventos.publishEvent(new RolModificado(guardado.getId(), false));
+            auditoria.registrar(EventoAuditoria.Accion.CREAR, EventoAuditoria.Entidad.ROL, guardado.getId());
+            bandejaSalida.agregar(MensajeSalida.Tipo.ROL_CREADO, guardado.getId(), Map.of("nombre", guardado.getNombre()));
+        } else if (modificado) {
+            // Un cambio de nombre que llega al guardar una credencial se informa igual que una actualización
+            publicarActualizacion(guardado);
         }
+        return guardado;
     }
 
     /**
@@ -66,67 +111,68 @@ public class RolService {
      * @param rol Datos actualizados del rol
      * @param id Identificador del rol a actualizar
      * @return rol actualizado
-     * @throws IllegalArgumentException Si el rol es nulo o si el nombre del rol es nulo o excede los 50 caracteres
-     * @throws NoSuchElementException Si no se encuentra el rol a actualizar
-     * @throws RuntimeException Si ocurre algún error durante la actualización
+     * @throws ValidacionException Si el rol es nulo o si el nombre del rol es nulo o excede los 50 caracteres
+     * @throws RecursoNoEncontradoException Si no se encuentra el rol a actualizar
      */
     public Rol update(Rol rol ,Integer id) {
-        try {
-            if (rol == null) {
-                throw new IllegalArgumentException("El rol no puede ser nulo");
-            }
-
-            Rol antiguaRol = rolRepository.findById(id)
-                    .orElseThrow(() -> new NoSuchElementException("Rol no encontrada"));
-
-            //Control de errores
-            if (rol.getNombre() == null) {
-                throw new IllegalArgumentException("El Nombre no puede ser nulo");
-            }
-
-            if (rol.getNombre().length() > 50) {
-                throw new IllegalArgumentException("El Nombre no puede exceder los 50 caracteres");
-            }
-
-            antiguaRol.setNombre(rol.getNombre());
-
-            return rolRepository.save(antiguaRol);
-        }catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Error al actualizar el rol: " + e.getMessage());
-        } catch (NoSuchElementException  f) {
-            throw new NoSuchElementException("Error al actualizar el rol: " + f.getMessage());
-        } catch (Exception g) {
-            throw new RuntimeException("Error al actualizar el rol: " + g.getMessage());
+        if (rol == null) {
+            throw ROL_NULO;
         }
+
+        Rol antiguaRol = rolRepository.findById(id).orElseThrow(() -> ROL_NO_ENCONTRADO);
+
+        validarRol(rol);
+        antiguaRol.setNombre(rol.getNombre());
+
+        Rol actualizado = rolRepository.save(antiguaRol);
+        publicarActualizacion(actualizado);
+        return actualizado;
     }
 
     /**
      * Elimina un rol del sistema.
      * @param id Identificador del rol a eliminar
-     * @throws NoSuchElementException Si no se encuentra el rol
+     * @throws RecursoNoEncontradoException Si no se encuentra el rol
      */
     public void delete(Integer id){
 
         if (!rolRepository.existsById(id)) {
-            throw new NoSuchElementException("Rol no encontrada");
+            throw ROL_NO_ENCONTRADO;
         }
         rolRepository.deleteById(id);
+        eventos.publishEvent(new RolModificado(id, true));
+        auditoria.registrar(EventoAuditoria.Accion.ELIMINAR, EventoAuditoria.Entidad.ROL, id);
+        bandejaSalida.agregar(MensajeSalida.Tipo.ROL_ELIMINADO, id, Map.of());
     }
 
     // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
 
+    /**
+     * Informa la actualización de un rol a los componentes en memoria, a la auditoría y a la bandeja de salida.
+     * @param rol Rol actualizado
+     */
+    private void publicarActualizacion(Rol rol) {
+        eventos.publishEvent(new RolModificado(rol.getId(), false));
+        auditoria.registrar(EventoAuditoria.Accion.ACTUALIZAR, EventoAuditoria.Entidad.ROL, rol.getId());
+        bandejaSalida.agregar(MensajeSalida.Tipo.ROL_ACTUALIZADO, rol.getId(), Map.of("nombre", rol.getNombre()));
+    }
+
     /**
      * Valida el rol
      * @param rol rol
-     * @throws IllegalArgumentException Si el rol no cumple con las reglas de validación
+     * @throws ValidacionException Si el rol no cumple con las reglas de validación
      */
     public void validarRol(Rol rol) {
+        if (rol == null) {
+            throw ROL_NULO;
+        }
+
         if (rol.getNombre() == null) {
-            throw new IllegalArgumentException("El nombre del rol es requerido");
+            throw NOMBRE_REQUERIDO;
         }
 
         if (rol.getNombre().length() > 50) {
-            throw new IllegalArgumentException("El valor nombre del rol excede máximo de caracteres (50)");
+            throw NOMBRE_EXCEDE;
         }
     }
 
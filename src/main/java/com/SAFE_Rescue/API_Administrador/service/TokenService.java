@@ -0,0 +1,106 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.TokenSesion;
+import com.SAFE_Rescue.API_Administrador.modelo.TokenVerificado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Servicio para la emisión y verificación de tokens de sesión firmados.
+ * Las claves se leen de app.token.claves con el formato "id:secretoBase64,id2:secretoBase64" y deben
+ * ser las mismas en todos los nodos; la clave activa (app.token.clave-activa) se elige de ese conjunto.
+ * Para rotar, primero se agrega la clave nueva en todos los nodos y luego se la declara activa; la
+ * anterior se quita de la configuración cuando ya expiraron los tokens firmados con ella.
+ * Si no se configuran claves, se genera una clave aleatoria válida solo para este nodo.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private final VerificadorToken verificador = new VerificadorToken();
+    private final long duracionSegundos;
+
+    /**
+     * Crea el servicio y registra las claves configuradas.
+     * @param claves Claves de firma con el formato "id:secretoBase64" separadas por coma
+     * @param claveActiva Identificador de la clave con la que se firman los nuevos tokens (por defecto la primera)
+     * @param duracionMinutos Minutos de validez de cada token
+     * @throws IllegalArgumentException Si una clave está mal definida o la clave activa no está entre las configuradas
+     */
+    public TokenService(@Value("${app.token.claves:}") String claves,
+                        @Value("${app.token.clave-activa:}") String claveActiva,
+                        @Value("${app.token.duracion-minutos:60}") long duracionMinutos) {
+        this.duracionSegundos = duracionMinutos * 60;
+        for (String clave : claves.split(",")) {
+            String definicion = clave.trim();
+            if (definicion.isEmpty()) {
+                continue;
+            }
+            int separador = definicion.indexOf(':');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Clave de token mal definida, se espera id:secretoBase64");
+            }
+            String id = definicion.substring(0, separador);
+            verificador.agregarClave(id, Base64.getDecoder().decode(definicion.substring(separador + 1)),
+                    id.equals(claveActiva));
+        }
+        if (!claveActiva.isEmpty() && !claveActiva.equals(verificador.getClaveActiva())) {
+            throw new IllegalArgumentException("La clave activa " + claveActiva + " no está entre las claves de app.token.claves");
+        }
+        if (verificador.getClaveActiva() == null) {
+            log.warn("No hay claves de token configuradas (app.token.claves); se genera una clave local y "
+                    + "los tokens emitidos por este nodo no serán válidos en los demás");
+            byte[] secreto = new byte[32];
+            new SecureRandom().nextBytes(secreto);
+            verificador.agregarClave("local", secreto, true);
+        }
+    }
+
+    /**
+     * Emite el token de sesión para una credencial autenticada.
+     * @param credencial Credencial que inició sesión
+     * @return Token de sesión con su expiración
+     */
+    public TokenSesion emitir(Credencial credencial) {
+        long expira = Instant.now().getEpochSecond() + duracionSegundos;
+        int rolId = credencial.getRol() != null ? credencial.getRol().getId() : 0;
+        String token = verificador.emitir(credencial.getId(), rolId, expira);
+        return new TokenSesion("Login exitoso", token, "Bearer", expira);
+    }
+
+    /**
+     * Verifica un token sin acceder a la base de datos.
+     * @param token Token a verificar
+     * @return Contenido del token, o null si es inválido o expiró
+     */
+    public TokenVerificado verificar(String token) {
+        return verificar(token, Instant.now());
+    }
+
+    /**
+     * Verifica un token como si se presentara en el momento indicado, por ejemplo el de una solicitud
+     * que se procesa después.
+     * @param token Token a verificar
+     * @param momento Momento en que se presentó el token
+     * @return Contenido del token, o null si es inválido o ya había expirado en ese momento
+     */
+    public TokenVerificado verificar(String token, Instant momento) {
+        return verificador.verificar(token, momento.getEpochSecond());
+    }
+
+    /**
+     * Obtiene el identificador de la clave con la que se firman los nuevos tokens.
+     * @return Identificador de la clave activa
+     */
+    public String getClaveActiva() {
+        return verificador.getClaveActiva();
+    }
+}
@@ -0,0 +1,337 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.AvanceTrabajo;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
+import com.SAFE_Rescue.API_Administrador.repository.TrabajoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio de trabajos asíncronos de larga duración.
+ * <p>
+ * Enviar un trabajo lo guarda como PENDIENTE y lo encola en un pool acotado de hilos; la solicitud
+ * HTTP responde de inmediato con el ID. Cada trabajo se procesa en lotes, y cada lote corre en su
+ * propia transacción que bloquea la fila del trabajo, ejecuta el lote y guarda el nuevo punto de
+ * control. Así la cancelación espera a que termine el lote en curso y, tras un reinicio, los trabajos
+ * pendientes o en curso continúan desde el último lote confirmado. Los que no caben en la cola al
+ * reanudar se vuelven a encolar periódicamente a medida que se libera lugar.
+ * </p>
+ */
+@Service
+public class TrabajoService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrabajoService.class);
+
+    // ERRORES PREDEFINIDOS
+    private static final RecursoNoEncontradoException TRABAJO_NO_ENCONTRADO = new RecursoNoEncontradoException("Trabajo no encontrado");
+    private static final ValidacionException TIPO_REQUERIDO = new ValidacionException("tipo", "El tipo de trabajo es requerido");
+    private static final ValidacionException TIPO_DESCONOCIDO = new ValidacionException("tipo", "El tipo de trabajo no existe");
+    private static final ValidacionException PARAMETROS_EXCEDEN = new ValidacionException("parametros", "Los parámetros del trabajo exceden el máximo de caracteres (2000)");
+    private static final ConflictoException TRABAJO_TERMINADO = new ConflictoException("estado", "El trabajo ya terminó y no se puede cancelar");
+    private static final SobrecargaException COLA_LLENA = new SobrecargaException("Hay demasiados trabajos en cola, intente nuevamente más tarde");
+
+    private static final Set<Trabajo.Estado> ACTIVOS = EnumSet.of(Trabajo.Estado.PENDIENTE, Trabajo.Estado.EN_CURSO);
+    private static final TypeReference<Map<String, String>> TIPO_PARAMETROS = new TypeReference<>() {};
+
+    // REPOSITORIOS INYECTADOS
+    @Autowired private TrabajoRepository trabajoRepository;
+
+    // SERVICIOS INYECTADOS
+    @Autowired private List<ProcesadorTrabajo> listaProcesadores;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Value("${app.trabajos.hilos:2}")
+    private int hilos;
+
+    @Value("${app.trabajos.cola:100}")
+    private int cola;
+
+    @Value("${app.trabajos.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${app.trabajos.espera-sobrecarga-ms:1000}")
+    private long esperaSobrecargaMs;
+
+    private final Map<String, ProcesadorTrabajo> procesadores = new HashMap<>();
+    private final Set<Integer> enEjecucion = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> sinCola = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor ejecutor;
+    private TransactionTemplate transaccionLote;
+
+    /**
+     * Registra los procesadores por tipo y crea el pool de hilos.
+     */
+    @PostConstruct
+    public void inicializar() {
+        for (ProcesadorTrabajo procesador : listaProcesadores) {
+            if (procesadores.put(procesador.getTipo(), procesador) != null) {
+                throw new IllegalStateException("Hay más de un procesador para el tipo de trabajo " + procesador.getTipo());
+            }
+        }
+        AtomicInteger contador = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(cola), tarea -> {
+            Thread hilo = new Thread(tarea, "trabajo-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        transaccionLote = new TransactionTemplate(transactionManager);
+        transaccionLote.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Detiene el pool de hilos. Los lotes en curso se interrumpen y se repiten al reanudar.
+     */
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Reanuda los trabajos pendientes o en curso desde su último punto de control.
+     * Se ejecuta al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudar() {
+        for (Integer id : trabajoRepository.findIdsPorEstado(ACTIVOS)) {
+            try {
+                encolar(id);
+            } catch (RejectedExecutionException e) {
+                sinCola.add(id);
+            }
+        }
+        if (!sinCola.isEmpty()) {
+            log.warn("No hay lugar en la cola para reanudar {} trabajos; se encolarán a medida que se libere", sinCola.size());
+        }
+    }
+
+    /**
+     * Encola los trabajos que no cupieron en la cola al reanudar, mientras haya lugar.
+     * Solo considera los que este nodo dejó pendientes, no los que están procesando otros nodos.
+     */
+    @Scheduled(fixedDelayString = "${app.trabajos.reencolar-ms:5000}")
+    public void reencolar() {
+        for (Integer id : sinCola) {
+            try {
+                encolar(id);
+                sinCola.remove(id);
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    // MÉTODOS PRINCIPALES
+
+    /**
+     * Envía un trabajo para su ejecución asíncrona.
+     * @param tipo Tipo de trabajo
+     * @param parametros Parámetros del trabajo (puede ser nulo)
+     * @return Trabajo creado, en estado PENDIENTE
+     * @throws ValidacionException Si el tipo no existe o los parámetros no son válidos
+     * @throws SobrecargaException Si la cola de trabajos está llena
+     */
+    public Trabajo enviar(String tipo, Map<String, String> parametros) {
+        if (tipo == null || tipo.isBlank()) {
+            throw TIPO_REQUERIDO;
+        }
+        ProcesadorTrabajo procesador = procesadores.get(tipo);
+        if (procesador == null) {
+            throw TIPO_DESCONOCIDO;
+        }
+        Map<String, String> valores = parametros != null ? parametros : Map.of();
+        procesador.validar(valores);
+
+        Trabajo trabajo = new Trabajo();
+        trabajo.setTipo(tipo);
+        trabajo.setEstado(Trabajo.Estado.PENDIENTE);
+        String serializados = serializar(valores);
+        if (serializados.length() > 2000) {
+            throw PARAMETROS_EXCEDEN;
+        }
+        trabajo.setParametros(serializados);
+        trabajo.setTotal(procesador.contar(valores));
+        trabajo.setCreado(new Date());
+        Trabajo guardado = trabajoRepository.save(trabajo);
+        try {
+            encolar(guardado.getId());
+        } catch (RejectedExecutionException e) {
+            trabajoRepository.deleteById(guardado.getId());
+            throw COLA_LLENA;
+        }
+        return guardado;
+    }
+
+    /**
+     * Busca un trabajo por su ID.
+     * @param id ID del trabajo
+     * @return Trabajo con su estado y avance
+     * @throws RecursoNoEncontradoException Si no se encuentra el trabajo
+     */
+    public Trabajo findById(Integer id) {
+        return trabajoRepository.findById(id).orElseThrow(() -> TRABAJO_NO_ENCONTRADO);
+    }
+
+    /**
+     * Cancela un trabajo pendiente o en curso. Si hay un lote en proceso, se espera a que
+     * se confirme y el trabajo se detiene antes del siguiente.
+     * @param id ID del trabajo
+     * @return Trabajo cancelado
+     * @throws RecursoNoEncontradoException Si no se encuentra el trabajo
+     * @throws ConflictoException Si el trabajo ya terminó
+     */
+    public Trabajo cancelar(Integer id) {
+        Integer actualizados = transaccionLote.execute(estado ->
+                trabajoRepository.actualizarEstado(id, ACTIVOS, Trabajo.Estado.CANCELADO, new Date()));
+        if (actualizados == null || actualizados == 0) {
+            findById(id);
+            throw TRABAJO_TERMINADO;
+        }
+        return findById(id);
+    }
+
+    /**
+     * Obtiene la cantidad de trabajos esperando un hilo libre.
+     * @return Trabajos en cola
+     */
+    public int getEnCola() {
+        return ejecutor.getQueue().size() + sinCola.size();
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private void encolar(int id) {
+        if (!enEjecucion.add(id)) {
+            return;
+        }
+        try {
+            ejecutor.execute(() -> ejecutar(id));
+        } catch (RejectedExecutionException e) {
+            enEjecucion.remove(id);
+            throw e;
+        }
+    }
+
+    /**
+     * Procesa los lotes del trabajo hasta que termina, se cancela o falla.
+     * Si la base de datos está saturada el lote se revierte y se reintenta tras una espera.
+     */
+    private void ejecutar(int id) {
+        try {
+            boolean continuar = true;
+            while (continuar && !Thread.currentThread().isInterrupted()) {
+                try {
+                    continuar = Boolean.TRUE.equals(transaccionLote.execute(estado -> procesarLote(id)));
+                } catch (SobrecargaException e) {
+                    Thread.sleep(esperaSobrecargaMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            if (ejecutor.isShutdown()) {
+                log.info("El trabajo {} se detuvo al cerrar la aplicación; se reanudará al reiniciar", id);
+                return;
+            }
+            log.error("El trabajo {} falló", id, e);
+            marcarFallido(id, e);
+        } finally {
+            enEjecucion.remove(id);
+        }
+    }
+
+    /**
+     * Procesa un lote dentro de la transacción en curso.
+     * @return true si quedan lotes por procesar
+     */
+    private boolean procesarLote(int id) {
+        Trabajo trabajo = trabajoRepository.findByIdParaActualizar(id);
+        if (trabajo == null || !trabajo.getEstado().isActivo()) {
+            return false;
+        }
+        Date ahora = new Date();
+        if (trabajo.getEstado() == Trabajo.Estado.PENDIENTE) {
+            trabajo.setEstado(Trabajo.Estado.EN_CURSO);
+            trabajo.setIniciado(ahora);
+        }
+        ProcesadorTrabajo procesador = procesadores.get(trabajo.getTipo());
+        if (procesador == null) {
+            throw new IllegalStateException("No hay procesador para el tipo de trabajo " + trabajo.getTipo());
+        }
+        AvanceTrabajo avance = procesador.procesarLote(deserializar(trabajo.getParametros()), trabajo.getPuntoControl(), tamanoLote);
+        trabajo.setPuntoControl(avance.getPuntoControl());
+        trabajo.setProcesados(trabajo.getProcesados() + avance.getProcesados());
+        trabajo.setErrores(trabajo.getErrores() + avance.getErrores());
+        if (avance.isTerminado()) {
+            trabajo.setEstado(Trabajo.Estado.COMPLETADO);
+            trabajo.setFinalizado(new Date());
+        }
+        return !avance.isTerminado();
+    }
+
+    private void marcarFallido(int id, RuntimeException error) {
+        try {
+            transaccionLote.executeWithoutResult(estado -> {
+                Trabajo trabajo = trabajoRepository.findByIdParaActualizar(id);
+                if (trabajo != null && trabajo.getEstado().isActivo()) {
+                    String mensaje = String.valueOf(error.getMessage());
+                    trabajo.setEstado(Trabajo.Estado.FALLIDO);
+                    trabajo.setMensaje(mensaje.length() > 255 ? mensaje.substring(0, 255) : mensaje);
+                    trabajo.setFinalizado(new Date());
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("No se pudo registrar la falla del trabajo {}; se reanudará al reiniciar", id, e);
+        }
+    }
+
+    private String serializar(Map<String, String> parametros) {
+        try {
+            return objectMapper.writeValueAsString(parametros);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudieron serializar los parámetros del trabajo", e);
+        }
+    }
+
+    private Map<String, String> deserializar(String parametros) {
+        if (parametros == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(parametros, TIPO_PARAMETROS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Parámetros del trabajo dañados", e);
+        }
+    }
+}
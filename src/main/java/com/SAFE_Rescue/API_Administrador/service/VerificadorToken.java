@@ -0,0 +1,171 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.TokenVerificado;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Emisor y verificador de tokens de sesión firmados con HMAC-SHA256.
+ * <p>
+ * El token tiene la forma {@code clave.credencialId.rolId.expira.firma}, donde la firma
+ * cubre todo lo anterior al último punto. La verificación no accede a la base de datos,
+ * por lo que esta clase no depende de Spring y puede copiarse a los demás servicios
+ * de SAFE Rescue junto con las claves compartidas.
+ * </p>
+ * <p>
+ * Se pueden registrar varias claves a la vez: los tokens se firman con la clave activa
+ * y se aceptan con cualquiera de las registradas, lo que permite rotarlas sin invalidar
+ * las sesiones emitidas con la clave anterior.
+ * </p>
+ */
+public class VerificadorToken {
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(VerificadorToken::crearMac);
+
+    private volatile Map<String, SecretKeySpec> claves = Map.of();
+    private volatile String claveActiva;
+
+    /**
+     * Registra una clave de firma.
+     * @param id Identificador de la clave, sin puntos
+     * @param secreto Secreto compartido de al menos 32 bytes
+     * @param activa Indica si los nuevos tokens se firman con esta clave
+     * @throws IllegalArgumentException Si el identificador o el secreto no son válidos
+     */
+    public synchronized void agregarClave(String id, byte[] secreto, boolean activa) {
+        if (id == null || id.isEmpty() || id.indexOf('.') >= 0) {
+            throw new IllegalArgumentException("El identificador de la clave no puede ser vacío ni contener puntos");
+        }
+        if (secreto == null || secreto.length < 32) {
+            throw new IllegalArgumentException("El secreto de la clave debe tener al menos 32 bytes");
+        }
+        Map<String, SecretKeySpec> nuevas = new HashMap<>(claves);
+        nuevas.put(id, new SecretKeySpec(secreto, ALGORITMO));
+        claves = Map.copyOf(nuevas);
+        if (activa || claveActiva == null) {
+            claveActiva = id;
+        }
+    }
+
+    /**
+     * Retira una clave: los tokens firmados con ella dejan de ser válidos.
+     * @param id Identificador de la clave
+     * @throws IllegalArgumentException Si se intenta retirar la clave activa
+     */
+    public synchronized void retirarClave(String id) {
+        if (id.equals(claveActiva)) {
+            throw new IllegalArgumentException("No se puede retirar la clave activa");
+        }
+        Map<String, SecretKeySpec> nuevas = new HashMap<>(claves);
+        nuevas.remove(id);
+        claves = Map.copyOf(nuevas);
+    }
+
+    /**
+     * Obtiene los identificadores de las claves registradas.
+     * @return Conjunto de identificadores
+     */
+    public Set<String> getClaves() {
+        return claves.keySet();
+    }
+
+    /**
+     * Obtiene el identificador de la clave con la que se firman los nuevos tokens.
+     * @return Identificador de la clave activa
+     */
+    public String getClaveActiva() {
+        return claveActiva;
+    }
+
+    /**
+     * Emite un token firmado con la clave activa.
+     * @param credencialId Identificador de la credencial
+     * @param rolId Identificador del rol
+     * @param expira Expiración en segundos desde epoch
+     * @return Token firmado
+     * @throws IllegalStateException Si no hay claves registradas
+     */
+    public String emitir(int credencialId, int rolId, long expira) {
+        String id = claveActiva;
+        if (id == null) {
+            throw new IllegalStateException("No hay claves de firma registradas");
+        }
+        String contenido = id + "." + credencialId + "." + rolId + "." + expira;
+        byte[] firma = firmar(claves.get(id), contenido, contenido.length());
+        return contenido + "." + CODIFICADOR.encodeToString(firma);
+    }
+
+    /**
+     * Verifica la firma y la expiración de un token.
+     * @param token Token a verificar
+     * @param ahora Instante actual en segundos desde epoch
+     * @return Contenido del token, o null si el token es inválido o expiró
+     */
+    public TokenVerificado verificar(String token, long ahora) {
+        if (token == null) {
+            return null;
+        }
+        int p1 = token.indexOf('.');
+        int p2 = p1 < 0 ? -1 : token.indexOf('.', p1 + 1);
+        int p3 = p2 < 0 ? -1 : token.indexOf('.', p2 + 1);
+        int p4 = p3 < 0 ? -1 : token.indexOf('.', p3 + 1);
+        if (p4 < 0 || token.indexOf('.', p4 + 1) >= 0) {
+            return null;
+        }
+        String id = token.substring(0, p1);
+        SecretKeySpec clave = claves.get(id);
+        if (clave == null) {
+            return null;
+        }
+        try {
+            long expira = Long.parseLong(token, p3 + 1, p4, 10);
+            if (expira < ahora) {
+                return null;
+            }
+            byte[] esperada = firmar(clave, token, p4);
+            byte[] recibida = DECODIFICADOR.decode(token.substring(p4 + 1));
+            if (!MessageDigest.isEqual(esperada, recibida)) {
+                return null;
+            }
+            int credencialId = Integer.parseInt(token, p1 + 1, p2, 10);
+            int rolId = Integer.parseInt(token, p2 + 1, p3, 10);
+            return new TokenVerificado(credencialId, rolId, expira, id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // MÉTODOS PRIVADOS DE VALIDACIÓN Y UTILIDADES
+
+    private byte[] firmar(SecretKeySpec clave, String texto, int longitud) {
+        Mac mac = macs.get();
+        try {
+            mac.init(clave);
+        } catch (InvalidKeyException e) {
+            throw new IllegalStateException("Clave de firma inválida", e);
+        }
+        mac.update(texto.substring(0, longitud).getBytes(StandardCharsets.US_ASCII));
+        return mac.doFinal();
+    }
+
+    private static Mac crearMac() {
+        try {
+            return Mac.getInstance(ALGORITMO);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no está disponible", e);
+        }
+    }
+}
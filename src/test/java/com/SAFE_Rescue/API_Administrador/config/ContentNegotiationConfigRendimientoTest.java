@@ -0,0 +1,75 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Medición de los formatos de ContentNegotiationConfig: para JSON, CBOR y Smile, los bytes enviados (con y
+ * sin gzip) y el tiempo de serialización de List&lt;Bombero&gt;. Corre solo con mvn test -Prendimiento.
+ * Usa listas de 1.000 y 10.000 bomberos; con -Dformatos.tamanos=1000,10000,100000 se miden otras.
+ */
+@Tag("rendimiento")
+public class ContentNegotiationConfigRendimientoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentNegotiationConfigRendimientoTest.class);
+
+    /**
+     * Mide los bytes en el cable y el tiempo de serialización (el mejor de tres) de cada formato.
+     * Los tamaños de lista se indican con la propiedad de sistema formatos.tamanos.
+     */
+    @Test
+    public void rendimientoTest_BytesYSerializacion() throws Exception {
+        // Arrange
+        int[] tamanos = Arrays.stream(System.getProperty("formatos.tamanos", "1000,10000").split(","))
+                .mapToInt(tamano -> Integer.parseInt(tamano.trim())).toArray();
+        Map<String, ObjectMapper> formatos = ContentNegotiationConfigTest.formatos();
+
+        for (int tamano : tamanos) {
+            List<Bombero> bomberos = ContentNegotiationConfigTest.bomberos(tamano);
+            long bytesJson = 0;
+            for (Map.Entry<String, ObjectMapper> formato : formatos.entrySet()) {
+                // Act
+                byte[] cuerpo = null;
+                long mejor = Long.MAX_VALUE;
+                for (int ronda = 0; ronda < 3; ronda++) {
+                    long inicio = System.nanoTime();
+                    cuerpo = formato.getValue().writeValueAsBytes(bomberos);
+                    mejor = Math.min(mejor, System.nanoTime() - inicio);
+                }
+                int comprimido = gzip(cuerpo);
+                if (bytesJson == 0) {
+                    bytesJson = cuerpo.length;
+                }
+
+                // Assert
+                assertTrue(comprimido < cuerpo.length);
+                log.info("{} bomberos en {}: {} bytes ({} % de JSON), {} con gzip, serialización {} ms",
+                        tamano, formato.getKey(), cuerpo.length, Math.round(100.0 * cuerpo.length / bytesJson), comprimido,
+                        String.format("%.1f", mejor / 1e6));
+            }
+        }
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private static int gzip(byte[] cuerpo) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(cuerpo);
+        }
+        return salida.size();
+    }
+}
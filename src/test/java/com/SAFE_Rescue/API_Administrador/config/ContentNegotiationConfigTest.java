@@ -0,0 +1,69 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para ContentNegotiationConfig.
+ * Verifica que CBOR y Smile conservan el contenido de la lista de bomberos; la medición de bytes y tiempo
+ * de cada formato está en ContentNegotiationConfigRendimientoTest.
+ */
+public class ContentNegotiationConfigTest {
+
+    /**
+     * Prueba que una lista escrita en CBOR y en Smile se lee igual que escrita en JSON.
+     */
+    @Test
+    public void formatosTest_MismoContenido() throws Exception {
+        // Arrange
+        List<Bombero> bomberos = bomberos(50);
+        Map<String, ObjectMapper> formatos = formatos();
+        ObjectMapper json = formatos.get("JSON");
+
+        // Act & Assert
+        List<Map<String, Object>> esperado = json.readValue(json.writeValueAsBytes(bomberos), new TypeReference<>() {});
+        for (ObjectMapper mapper : formatos.values()) {
+            List<Map<String, Object>> leido = mapper.readValue(mapper.writeValueAsBytes(bomberos), new TypeReference<>() {});
+            assertEquals(esperado, leido);
+        }
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    static Map<String, ObjectMapper> formatos() {
+        ContentNegotiationConfig config = new ContentNegotiationConfig();
+        Map<String, ObjectMapper> formatos = new LinkedHashMap<>();
+        formatos.put("JSON", Jackson2ObjectMapperBuilder.json().build());
+        formatos.put("CBOR", config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper());
+        formatos.put("Smile", config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper());
+        return formatos;
+    }
+
+    static List<Bombero> bomberos(int cantidad) {
+        Faker faker = new Faker(new Random(1));
+        List<Rol> roles = List.of(new Rol(1, "Voluntario"), new Rol(2, "Teniente"), new Rol(3, "Capitán"));
+        List<Bombero> bomberos = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            bomberos.add(new Bombero(i, 10_000_000 + i, "1", faker.name().firstName(), faker.name().lastName(),
+                    faker.name().lastName(), new Date(), 900_000_000 + i,
+                    new Credencial(i, faker.internet().emailAddress(), faker.internet().password(), 0, true,
+                            roles.get(i % roles.size()))));
+        }
+        return bomberos;
+    }
+}
@@ -0,0 +1,78 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.service.Compartimentos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para FiltroCompartimentos.
+ */
+public class FiltroCompartimentosTest {
+
+    /**
+     * Prueba la clasificación de las solicitudes por ruta y método.
+     */
+    @Test
+    public void clasificarTest() {
+        // Act & Assert
+        assertEquals(Compartimentos.Clase.LOGIN, FiltroCompartimentos.clasificar(solicitud("POST", "/api-administrador/v1/credenciales/login")));
+        assertEquals(Compartimentos.Clase.LECTURA, FiltroCompartimentos.clasificar(solicitud("GET", "/api-administrador/v1/bomberos/1")));
+        assertEquals(Compartimentos.Clase.ESCRITURA, FiltroCompartimentos.clasificar(solicitud("POST", "/api-administrador/v1/bomberos")));
+        assertEquals(Compartimentos.Clase.ESCRITURA, FiltroCompartimentos.clasificar(solicitud("DELETE", "/api-administrador/v1/roles/1")));
+        assertNull(FiltroCompartimentos.clasificar(solicitud("GET", "/api-administrador/v1/metricas/compartimentos")));
+        assertNull(FiltroCompartimentos.clasificar(solicitud("POST", "/api-administrador/v1/tokens/introspeccion")));
+        assertNull(FiltroCompartimentos.clasificar(solicitud("POST", "/api-administrador/v1/tokens/verificar")));
+        assertNull(FiltroCompartimentos.clasificar(solicitud("GET", "/doc/swagger-ui.html")));
+    }
+
+    /**
+     * Prueba que una solicitud sin lugar en su compartimento se rechaza con 503 sin llegar al controlador.
+     */
+    @Test
+    public void rechazoTest() throws Exception {
+        // Arrange
+        Compartimentos compartimentos = new Compartimentos(true, 10, 1, 0, 1, 0, 1, 0, 0, 10);
+        FiltroCompartimentos filtro = new FiltroCompartimentos(compartimentos, new ObjectMapper());
+        compartimentos.entrar(Compartimentos.Clase.LOGIN);
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        MockFilterChain cadena = new MockFilterChain();
+
+        // Act
+        filtro.doFilter(solicitud("POST", "/api-administrador/v1/credenciales/login"), respuesta, cadena);
+
+        // Assert
+        assertEquals(503, respuesta.getStatus());
+        assertEquals("1", respuesta.getHeader("Retry-After"));
+        assertTrue(respuesta.getContentAsString().contains("SOBRECARGA"));
+        assertNull(cadena.getRequest());
+    }
+
+    /**
+     * Prueba que una solicitud admitida pasa al controlador y libera su lugar al terminar.
+     */
+    @Test
+    public void admitidaTest() throws Exception {
+        // Arrange
+        Compartimentos compartimentos = new Compartimentos(true, 10, 1, 0, 1, 0, 1, 0, 0, 10);
+        FiltroCompartimentos filtro = new FiltroCompartimentos(compartimentos, new ObjectMapper());
+        MockFilterChain cadena = new MockFilterChain();
+
+        // Act
+        filtro.doFilter(solicitud("GET", "/api-administrador/v1/bomberos"), new MockHttpServletResponse(), cadena);
+
+        // Assert
+        assertNotNull(cadena.getRequest());
+        assertTrue(compartimentos.entrar(Compartimentos.Clase.LECTURA));
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private MockHttpServletRequest solicitud(String metodo, String ruta) {
+        return new MockHttpServletRequest(metodo, ruta);
+    }
+}
@@ -0,0 +1,106 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.repository.BomberoRepository;
+import com.SAFE_Rescue.API_Administrador.service.LimiteConcurrenciaBaseDatos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para LimiteConexionesConfig.
+ * Verifica contra la base de datos real que las conexiones de las solicitudes pasan por el límite
+ * y las de segundo plano no.
+ */
+@SpringBootTest
+public class LimiteConexionesConfigTest {
+
+    @Autowired
+    private LimiteConcurrenciaBaseDatos limite;
+
+    @Autowired
+    private BomberoRepository bomberoRepository;
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Prueba que la conexión de una solicitud se registra en el límite y lo libera al devolverse.
+     */
+    @Test
+    public void solicitudLimitadaTest() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        long antes = limite.getEstadistica().getAtendidas();
+
+        // Act
+        bomberoRepository.count();
+
+        // Assert
+        assertTrue(limite.getEstadistica().getAtendidas() >= antes + 1);
+        assertEquals(0, limite.getEstadistica().getEnCurso());
+    }
+
+    /**
+     * Prueba que las conexiones pedidas desde un hilo de segundo plano, sin solicitud, no pasan por el límite.
+     */
+    @Test
+    public void segundoPlanoSinLimiteTest() throws Exception {
+        // Arrange
+        long antes = limite.getEstadistica().getAtendidas();
+        Thread segundoPlano = new Thread(bomberoRepository::count);
+
+        // Act
+        segundoPlano.start();
+        segundoPlano.join();
+
+        // Assert
+        assertEquals(antes, limite.getEstadistica().getAtendidas());
+    }
+
+    /**
+     * Prueba que sin lugar se rechaza antes de pedir la conexión y que cerrar dos veces libera un solo lugar.
+     */
+    @Test
+    public void rechazoAntesDeLaConexionTest() throws Exception {
+        // Arrange
+        EmbeddedDatabase base = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        LimiteConcurrenciaBaseDatos unico = new LimiteConcurrenciaBaseDatos(true, 1, 1, 1, 1.5, 0.2, 10);
+        DefaultListableBeanFactory fabrica = new DefaultListableBeanFactory();
+        fabrica.registerSingleton("limite", unico);
+        LimiteConexionesConfig.DataSourceLimitado dataSource =
+                new LimiteConexionesConfig.DataSourceLimitado(base, fabrica.getBeanProvider(LimiteConcurrenciaBaseDatos.class));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        try {
+            // Act
+            Connection primera = dataSource.getConnection();
+            assertThrows(SobrecargaException.class, dataSource::getConnection);
+            primera.close();
+            primera.close();
+
+            // Assert
+            assertEquals(0, unico.getEstadistica().getEnCurso());
+            assertEquals(1, unico.getRechazadas());
+            try (Connection segunda = dataSource.getConnection()) {
+                assertTrue(segunda.isValid(1));
+            }
+        } finally {
+            base.shutdown();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.SAFE_Rescue.API_Administrador.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas para ReplicaRoutingDataSource.
+ * Usa dos bases de datos H2 embebidas como primaria y réplica.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primaria;
+    private EmbeddedDatabase replica;
+
+    @BeforeEach
+    public void setUp() {
+        primaria = crearBase("primaria");
+        replica = crearBase("replica");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        primaria.shutdown();
+        replica.shutdown();
+    }
+
+    /**
+     * Prueba que el trabajo fuera de transacciones de solo lectura va a la primaria.
+     */
+    @Test
+    public void escrituraVaAPrimariaTest() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaria, replica, "", 5);
+
+        // Act
+        String origen = consultarOrigen(routing);
+
+        // Assert
+        assertEquals("primaria", origen);
+    }
+
+    /**
+     * Prueba que las transacciones de solo lectura se enrutan a la réplica.
+     */
+    @Test
+    public void lecturaVaAReplicaTest() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaria, replica, "", 5);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        String origen = consultarOrigen(new LazyConnectionDataSourceProxy(routing));
+
+        // Assert
+        assertEquals("replica", origen);
+    }
+
+    /**
+     * Prueba que las lecturas vuelven a la primaria si la réplica supera el retraso tolerado.
+     */
+    @Test
+    public void lecturaConRetrasoExcesivoVaAPrimariaTest() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaria, replica, "SELECT 30", 5);
+        routing.verificarReplica();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        String origen = consultarOrigen(routing);
+
+        // Assert
+        assertFalse(routing.isReplicaDisponible());
+        assertEquals("primaria", origen);
+    }
+
+    /**
+     * Prueba que la réplica vuelve a recibir lecturas cuando su retraso es aceptable.
+     */
+    @Test
+    public void replicaRecuperadaTest() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaria, replica, "SELECT 1", 5);
+
+        // Act
+        routing.verificarReplica();
+
+        // Assert
+        assertTrue(routing.isReplicaDisponible());
+    }
+
+    /**
+     * Prueba que un fallo al conectar con la réplica vuelve a la primaria.
+     */
+    @Test
+    public void replicaCaidaVaAPrimariaTest() throws SQLException {
+        // Arrange
+        DataSource replicaCaida = mock(DataSource.class);
+        when(replicaCaida.getConnection()).thenThrow(new SQLException("Conexión rechazada"));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaria, replicaCaida, "", 5);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        String origen = consultarOrigen(routing);
+
+        // Assert
+        assertFalse(routing.isReplicaDisponible());
+        assertEquals("primaria", origen);
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private EmbeddedDatabase crearBase(String nombre) {
+        EmbeddedDatabase base = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(nombre)
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(base);
+        jdbc.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+        jdbc.update("INSERT INTO origen VALUES (?)", nombre);
+        return base;
+    }
+
+    private String consultarOrigen(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT nombre FROM origen", String.class);
+    }
+}
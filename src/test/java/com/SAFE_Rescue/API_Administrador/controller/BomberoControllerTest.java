@@ -1,28 +1,51 @@
 package com.SAFE_Rescue.API_Administrador.controller;
 
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
 import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.BomberoParcial;
 import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.PosibleDuplicado;
+import com.SAFE_Rescue.API_Administrador.modelo.ReporteDuplicados;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
 import com.SAFE_Rescue.API_Administrador.service.BomberoService;
+import com.SAFE_Rescue.API_Administrador.service.DeteccionDuplicados;
+import com.SAFE_Rescue.API_Administrador.service.ImportacionBomberos;
+import com.SAFE_Rescue.API_Administrador.service.NominaBomberos;
+import com.SAFE_Rescue.API_Administrador.service.RegistroIdempotencia;
+import com.SAFE_Rescue.API_Administrador.service.TrabajoService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BomberoController.class)
+@Import(RegistroIdempotencia.class)
 public class BomberoControllerTest {
 
     @Autowired
@@ -31,6 +54,18 @@ public class BomberoControllerTest {
     @MockitoBean
     private BomberoService bomberoService;
 
+    @MockitoBean
+    private ImportacionBomberos importacionBomberos;
+
+    @MockitoBean
+    private NominaBomberos nominaBomberos;
+
+    @MockitoBean
+    private TrabajoService trabajoService;
+
+    @MockitoBean
+    private DeteccionDuplicados deteccionDuplicados;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -83,6 +118,79 @@ public class BomberoControllerTest {
                 .andExpect(jsonPath("$[0].credencial").value(bombero.getCredencial()));
     }
 
+    /**
+     * Prueba que verifica la obtención de los bomberos en formato binario CBOR.
+     * Asegura que se respeta el encabezado Accept y que el contenido es decodificable.
+     */
+    @Test
+    public void listarTest_Cbor() throws Exception {
+        // Arrange
+        when(bomberoService.findAll()).thenReturn(List.of(bombero));
+
+        // Act
+        byte[] cuerpo = mockMvc.perform(get("/api-administrador/v1/bomberos")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode bomberos = new CBORMapper().readTree(cuerpo);
+        assertEquals(bombero.getRun(), bomberos.get(0).get("run").asInt());
+        assertEquals(bombero.getNombre(), bomberos.get(0).get("nombre").asText());
+    }
+
+    /**
+     * Prueba que verifica la obtención de los bomberos desde la nómina en memoria.
+     * Asegura que se devuelve el JSON ya serializado sin consultar el servicio, y que CBOR sigue consultándolo.
+     */
+    @Test
+    public void listarTest_Nomina() throws Exception {
+        // Arrange
+        byte[] json = "[{\"id\":1,\"run\":12345678}]".getBytes(StandardCharsets.UTF_8);
+        NominaBomberos.CuerpoNomina nomina = mock(NominaBomberos.CuerpoNomina.class);
+        when(nomina.getBomberos()).thenReturn(1);
+        when(nomina.contentLength()).thenReturn((long) json.length);
+        when(nomina.getInputStream()).thenReturn(new ByteArrayInputStream(json));
+        when(nominaBomberos.leer()).thenReturn(nomina);
+        when(bomberoService.findAll()).thenReturn(List.of(bombero));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(json));
+        verify(bomberoService, never()).findAll();
+
+        mockMvc.perform(get("/api-administrador/v1/bomberos")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        verify(bomberoService).findAll();
+    }
+
+    /**
+     * Prueba que verifica la obtención de los bomberos con solo algunos campos.
+     * Asegura que la respuesta no incluye los campos no solicitados.
+     */
+    @Test
+    public void listarTest_Campos() throws Exception {
+        // Arrange
+        BomberoParcial parcial = new BomberoParcial();
+        parcial.setId(bombero.getId());
+        parcial.setRun(bombero.getRun());
+        when(bomberoService.findAllCampos("id,run")).thenReturn(List.of(parcial));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos").param("fields", "id,run"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bombero.getId()))
+                .andExpect(jsonPath("$[0].run").value(bombero.getRun()))
+                .andExpect(jsonPath("$[0].nombre").doesNotExist())
+                .andExpect(jsonPath("$[0].credencial").doesNotExist());
+    }
+
     /**
      * Prueba que verifica la búsqueda de un bombero existente por su ID.
      * Asegura que se devuelve un estado 200 OK y el bombero encontrado.
@@ -109,6 +217,98 @@ public class BomberoControllerTest {
                 .andExpect(jsonPath("$.credencial").value(bombero.getCredencial()));
     }
 
+    /**
+     * Prueba que verifica la búsqueda de bomberos por lote de IDs.
+     * Asegura que se devuelve un estado 200 OK con los encontrados y los faltantes.
+     */
+    @Test
+    public void listarPorIdsTest() throws Exception {
+        // Arrange
+        when(bomberoService.findByIds(List.of(1, 7))).thenReturn(new ResultadoLote<>(List.of(bombero), List.of(7)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos").param("ids", "1,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultados[0].id").value(bombero.getId()))
+                .andExpect(jsonPath("$.resultados[0].credencial.rol.nombre").value(bombero.getCredencial().getRol().getNombre()))
+                .andExpect(jsonPath("$.faltantes[0]").value(7));
+        verify(bomberoService, never()).findAll();
+    }
+
+    /**
+     * Prueba que verifica el rechazo de un lote con IDs no numéricos.
+     * Asegura que se devuelve un estado 400 BAD REQUEST.
+     */
+    @Test
+    public void listarPorIdsTest_IdInvalido() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos").param("ids", "1,x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo").value("VALIDACION"));
+    }
+
+    /**
+     * Prueba que verifica la búsqueda de un bombero por su RUN.
+     * Asegura que se devuelve un estado 200 OK con el bombero.
+     */
+    @Test
+    public void buscarBomberoPorRunTest() throws Exception {
+        // Arrange
+        when(bomberoService.findByRun(bombero.getRun())).thenReturn(bombero);
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos/run/{run}", bombero.getRun()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(bombero.getId()))
+                .andExpect(jsonPath("$.run").value(bombero.getRun()));
+    }
+
+    /**
+     * Prueba que verifica la búsqueda por RUN de un bombero inexistente.
+     * Asegura que se devuelve un estado 404 NOT FOUND.
+     */
+    @Test
+    public void buscarBomberoPorRunTest_BomberoNoExistente() throws Exception {
+        // Arrange
+        when(bomberoService.findByRun(12345678)).thenThrow(new RecursoNoEncontradoException("Bombero no encontrado"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos/run/{run}", 12345678))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.mensaje").value("Bombero no encontrado"));
+    }
+
+    /**
+     * Prueba que verifica la búsqueda de un bombero por su teléfono.
+     * Asegura que se devuelve un estado 200 OK con el bombero.
+     */
+    @Test
+    public void buscarBomberoPorTelefonoTest() throws Exception {
+        // Arrange
+        when(bomberoService.findByTelefono(bombero.getTelefono())).thenReturn(bombero);
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos/telefono/{telefono}", bombero.getTelefono()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(bombero.getId()))
+                .andExpect(jsonPath("$.telefono").value(bombero.getTelefono()));
+    }
+
+    /**
+     * Prueba que verifica la búsqueda por teléfono de un bombero inexistente.
+     * Asegura que se devuelve un estado 404 NOT FOUND.
+     */
+    @Test
+    public void buscarBomberoPorTelefonoTest_BomberoNoExistente() throws Exception {
+        // Arrange
+        when(bomberoService.findByTelefono(912345678)).thenThrow(new RecursoNoEncontradoException("Bombero no encontrado"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos/telefono/{telefono}", 912345678))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.mensaje").value("Bombero no encontrado"));
+    }
+
     /**
      * Prueba que verifica la creación de un nuevo bombero.
      * Asegura que se devuelve un estado 201 CREATED al agregar un bombero exitosamente.
@@ -123,7 +323,92 @@ public class BomberoControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bombero))) // Convertir Bombero a JSON
                 .andExpect(status().isCreated())
-                .andExpect(content().string("Bombero creado con éxito."));
+                .andExpect(content().string("Bombero creado con éxito."))
+                .andExpect(header().doesNotExist(DeteccionDuplicados.ENCABEZADO));
+        verify(deteccionDuplicados, never()).buscarSimilares(any(Bombero.class));
+    }
+
+    /**
+     * Prueba que verifica la creación de un bombero pidiendo buscar duplicados.
+     * Asegura que el bombero se crea y los IDs de los bomberos parecidos se informan en el encabezado.
+     */
+    @Test
+    public void agregarBomberoTest_PosiblesDuplicados() throws Exception {
+        // Arrange
+        when(bomberoService.save(any(Bombero.class))).thenReturn(bombero);
+        when(deteccionDuplicados.buscarSimilares(bombero)).thenReturn(List.of(
+                posibleDuplicado(bombero.getId(), 7, 0.95), posibleDuplicado(bombero.getId(), 12, 0.85)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .param("verificarDuplicados", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bombero)))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("Bombero creado con éxito."))
+                .andExpect(header().string(DeteccionDuplicados.ENCABEZADO, "7,12"));
+    }
+
+    /**
+     * Prueba que verifica la creación de un bombero cuando la búsqueda de duplicados falla.
+     * Asegura que la creación ya confirmada responde 201 sin el encabezado de aviso y que el reintento
+     * con la misma clave de idempotencia recibe la misma respuesta.
+     */
+    @Test
+    public void agregarBomberoTest_FallaBusquedaDuplicados() throws Exception {
+        // Arrange
+        when(bomberoService.save(any(Bombero.class))).thenReturn(bombero);
+        when(deteccionDuplicados.buscarSimilares(bombero)).thenThrow(new IllegalStateException("Base de datos no disponible"));
+        String cuerpo = objectMapper.writeValueAsString(bombero);
+
+        // Act & Assert
+        for (int intento = 0; intento < 2; intento++) {
+            mockMvc.perform(post("/api-administrador/v1/bomberos")
+                            .param("verificarDuplicados", "true")
+                            .header(RegistroIdempotencia.ENCABEZADO, "duplicados-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(cuerpo))
+                    .andExpect(status().isCreated())
+                    .andExpect(content().string("Bombero creado con éxito."))
+                    .andExpect(header().doesNotExist(DeteccionDuplicados.ENCABEZADO));
+        }
+        verify(bomberoService, times(1)).save(any(Bombero.class));
+    }
+
+    /**
+     * Prueba que verifica el análisis de bomberos duplicados.
+     * Asegura que se devuelve el reporte con el umbral y el límite indicados.
+     */
+    @Test
+    public void detectarDuplicadosTest() throws Exception {
+        // Arrange
+        when(deteccionDuplicados.analizar(0.9, 5)).thenReturn(new ReporteDuplicados(1000, 4200, 1, 35, 60000,
+                List.of(posibleDuplicado(3, 7, 0.95))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos/duplicados")
+                        .param("umbral", "0.9")
+                        .param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bomberos").value(1000))
+                .andExpect(jsonPath("$.comparaciones").value(4200))
+                .andExpect(jsonPath("$.duplicados[0].bomberoId").value(3))
+                .andExpect(jsonPath("$.duplicados[0].duplicadoId").value(7))
+                .andExpect(jsonPath("$.duplicados[0].puntaje").value(0.95));
+    }
+
+    /**
+     * Prueba que verifica el análisis de duplicados cuando ya hay uno en curso.
+     * Asegura que se devuelve un estado 503 SERVICE UNAVAILABLE.
+     */
+    @Test
+    public void detectarDuplicadosTest_EnCurso() throws Exception {
+        // Arrange
+        when(deteccionDuplicados.analizar(null, 100)).thenThrow(new SobrecargaException("Ya hay un análisis de duplicados en curso, intente más tarde"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos/duplicados"))
+                .andExpect(status().isServiceUnavailable());
     }
 
     /**
@@ -176,6 +461,53 @@ public class BomberoControllerTest {
                 .andExpect(content().string("Credencial asignada al bombero exitosamente"));
     }
 
+    /**
+     * Prueba que verifica la importación de bomberos desde un archivo CSV.
+     * Asegura que se devuelve un estado 202 ACCEPTED con el trabajo encolado y su ubicación.
+     */
+    @Test
+    public void importarBomberosTest() throws Exception {
+        // Arrange
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "bomberos.csv", "text/csv",
+                "run,dv,nombre,aPaterno,aMaterno,telefono,correo,contrasenia,rolId\n".getBytes());
+        Map<String, String> parametros = Map.of("archivo", UUID.randomUUID().toString());
+        Trabajo trabajo = new Trabajo();
+        trabajo.setId(7);
+        trabajo.setTipo(ImportacionBomberos.TIPO);
+        trabajo.setEstado(Trabajo.Estado.PENDIENTE);
+        when(importacionBomberos.preparar(any())).thenReturn(parametros);
+        when(trabajoService.enviar(ImportacionBomberos.TIPO, parametros)).thenReturn(trabajo);
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api-administrador/v1/bomberos/importar").file(archivo))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api-administrador/v1/trabajos/7"))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.estado").value("PENDIENTE"));
+    }
+
+    /**
+     * Prueba que verifica la descarga del reporte de una importación.
+     * Asegura que se devuelve un estado 200 OK con el reporte CSV de cada fila procesada.
+     */
+    @Test
+    public void reporteImportacionTest() throws Exception {
+        // Arrange
+        String importacion = UUID.randomUUID().toString();
+        when(importacionBomberos.buscarImportacion(7)).thenReturn(importacion);
+        doAnswer(invocacion -> {
+            Writer reporte = invocacion.getArgument(1);
+            reporte.write(ImportacionBomberos.ENCABEZADO_REPORTE + "\n2,CREADO,15,,\n3,ERROR,,run,El RUN ya existe\n");
+            return null;
+        }).when(importacionBomberos).escribirReporte(eq(importacion), any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos/importar/7/reporte"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string(ImportacionBomberos.ENCABEZADO_REPORTE + "\n2,CREADO,15,,\n3,ERROR,,run,El RUN ya existe\n"));
+    }
+
     // ERRORES
 
     /**
@@ -192,6 +524,21 @@ public class BomberoControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    /**
+     * Prueba que verifica el comportamiento al solicitar un campo no permitido.
+     * Asegura que se devuelve un estado 400 BAD REQUEST.
+     */
+    @Test
+    public void listarTest_CampoNoPermitido() throws Exception {
+        // Arrange
+        when(bomberoService.findAllCampos("contrasenia")).thenThrow(new ValidacionException("fields", "Campo no permitido: contrasenia"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/bomberos").param("fields", "contrasenia"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value("Campo no permitido: contrasenia"));
+    }
+
     /**
      * Prueba que verifica el comportamiento al buscar un bombero que no existe.
      * Asegura que se devuelve un estado 404 NOT FOUND.
@@ -199,12 +546,12 @@ public class BomberoControllerTest {
     @Test
     public void buscarBomberoTest_BomberoNoExistente() throws Exception {
         // Arrange
-        when(bomberoService.findByID(id)).thenThrow(new NoSuchElementException("Bombero no encontrado"));
+        when(bomberoService.findByID(id)).thenThrow(new RecursoNoEncontradoException("Bombero no encontrado"));
 
         // Act & Assert
         mockMvc.perform(get("/api-administrador/v1/bomberos/{id}", id))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Bombero no encontrado"));
+                .andExpect(jsonPath("$.mensaje").value("Bombero no encontrado"));
     }
 
     /**
@@ -214,14 +561,127 @@ public class BomberoControllerTest {
     @Test
     public void agregarBomberoTest_Error() throws Exception {
         // Arrange
-        when(bomberoService.save(any(Bombero.class))).thenThrow(new RuntimeException("Error al crear el bombero"));
+        when(bomberoService.save(any(Bombero.class))).thenThrow(new ValidacionException("nombre", "Error al crear el bombero"));
 
         // Act & Assert
         mockMvc.perform(post("/api-administrador/v1/bomberos")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bombero))) // Convertir Bombero a JSON
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string("Error al crear el bombero"));
+                .andExpect(jsonPath("$.mensaje").value("Error al crear el bombero"));
+    }
+
+    /**
+     * Prueba que verifica el manejo de un RUN ya registrado al agregar un bombero.
+     * Asegura que se devuelve un estado 409 CONFLICT con el campo en conflicto.
+     */
+    @Test
+    public void agregarBomberoTest_Conflicto() throws Exception {
+        // Arrange
+        when(bomberoService.save(any(Bombero.class))).thenThrow(new ConflictoException("run", "El RUN ya existe"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bombero)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.codigo").value("CONFLICTO"))
+                .andExpect(jsonPath("$.campo").value("run"))
+                .andExpect(jsonPath("$.mensaje").value("El RUN ya existe"));
+    }
+
+    /**
+     * Prueba que verifica que un reintento con la misma clave de idempotencia no vuelve a crear el bombero.
+     * Asegura que ambas respuestas son 201 CREATED y que la segunda se marca como repetida.
+     */
+    @Test
+    public void agregarBomberoTest_Idempotente() throws Exception {
+        // Arrange
+        when(bomberoService.save(any(Bombero.class))).thenReturn(bombero);
+        String cuerpo = objectMapper.writeValueAsString(bombero);
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .header(RegistroIdempotencia.ENCABEZADO, "reintento-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .header(RegistroIdempotencia.ENCABEZADO, "reintento-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(RegistroIdempotencia.ENCABEZADO_REPETIDA, "true"))
+                .andExpect(content().string("Bombero creado con éxito."));
+        verify(bomberoService, times(1)).save(any(Bombero.class));
+    }
+
+    /**
+     * Prueba que verifica que un reintento de una creación rechazada repite el error sin volver a ejecutarla.
+     * Asegura que ambas respuestas son 409 CONFLICT.
+     */
+    @Test
+    public void agregarBomberoTest_IdempotenteConflicto() throws Exception {
+        // Arrange
+        when(bomberoService.save(any(Bombero.class))).thenThrow(new ConflictoException("run", "El RUN ya existe"));
+        String cuerpo = objectMapper.writeValueAsString(bombero);
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .header(RegistroIdempotencia.ENCABEZADO, "reintento-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo))
+                .andExpect(status().isConflict());
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .header(RegistroIdempotencia.ENCABEZADO, "reintento-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.campo").value("run"));
+        verify(bomberoService, times(1)).save(any(Bombero.class));
+    }
+
+    /**
+     * Prueba que verifica que una clave de idempotencia no puede reutilizarse con otro contenido.
+     * Asegura que se devuelve un estado 422 UNPROCESSABLE ENTITY.
+     */
+    @Test
+    public void agregarBomberoTest_ClaveReutilizada() throws Exception {
+        // Arrange
+        when(bomberoService.save(any(Bombero.class))).thenReturn(bombero);
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .header(RegistroIdempotencia.ENCABEZADO, "reintento-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bombero)))
+                .andExpect(status().isCreated());
+        bombero.setNombre("Otro");
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .header(RegistroIdempotencia.ENCABEZADO, "reintento-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bombero)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.codigo").value("NO_PROCESABLE"));
+        verify(bomberoService, times(1)).save(any(Bombero.class));
+    }
+
+    /**
+     * Prueba que verifica el manejo de un error inesperado al agregar un bombero.
+     * Asegura que se devuelve un estado 500 sin exponer el detalle del error.
+     */
+    @Test
+    public void agregarBomberoTest_ErrorInterno() throws Exception {
+        // Arrange
+        when(bomberoService.save(any(Bombero.class))).thenThrow(new IllegalStateException("detalle interno"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/bomberos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bombero)))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.codigo").value("ERROR_INTERNO"))
+                .andExpect(jsonPath("$.mensaje").value("Error interno del servidor."));
     }
 
     /**
@@ -231,14 +691,14 @@ public class BomberoControllerTest {
     @Test
     public void actualizarBomberoTest_BomberoNoExistente() throws Exception {
         // Arrange
-        when(bomberoService.update(any(Bombero.class), eq(id))).thenThrow(new NoSuchElementException("Bombero no encontrado"));
+        when(bomberoService.update(any(Bombero.class), eq(id))).thenThrow(new RecursoNoEncontradoException("Bombero no encontrado"));
 
         // Act & Assert
         mockMvc.perform(put("/api-administrador/v1/bomberos/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bombero))) // Convertir Bombero a JSON
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Bombero no encontrado"));
+                .andExpect(jsonPath("$.mensaje").value("Bombero no encontrado"));
     }
 
     /**
@@ -248,12 +708,12 @@ public class BomberoControllerTest {
     @Test
     public void eliminarBomberoTest_BomberoNoExistente() throws Exception {
         // Arrange
-        doThrow(new NoSuchElementException("Bombero no encontrado")).when(bomberoService).delete(id);
+        doThrow(new RecursoNoEncontradoException("Bombero no encontrado")).when(bomberoService).delete(id);
 
         // Act & Assert
         mockMvc.perform(delete("/api-administrador/v1/bomberos/{id}", id))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Bombero no encontrado"));
+                .andExpect(jsonPath("$.mensaje").value("Bombero no encontrado"));
     }
 
 
@@ -266,13 +726,67 @@ public class BomberoControllerTest {
         // Arrange
         Integer bomberoId = 1;
         Integer credencialId = 1;
-        doThrow(new RuntimeException("Bombero no encontrado"))
+        doThrow(new RecursoNoEncontradoException("Bombero no encontrado"))
                 .when(bomberoService).asignarCredencial(bomberoId,credencialId);
 
         // Act & Assert
         mockMvc.perform(post("/api-administrador/v1/bomberos/{bomberoId}/asignar-credencial/{credencialId}", bomberoId, credencialId))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Bombero no encontrado"));
+                .andExpect(jsonPath("$.mensaje").value("Bombero no encontrado"));
+    }
+
+    /**
+     * Prueba que verifica la importación de un archivo sin las columnas requeridas.
+     * Asegura que se devuelve un estado 400 BAD REQUEST antes de procesar filas.
+     */
+    @Test
+    public void importarBomberosTest_FaltanColumnas() throws Exception {
+        // Arrange
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "bomberos.csv", "text/csv", "run,dv\n".getBytes());
+        when(importacionBomberos.preparar(any())).thenThrow(new ValidacionException("archivo", "Faltan columnas en el encabezado: nombre"));
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api-administrador/v1/bomberos/importar").file(archivo))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.campo").value("archivo"));
+        verify(trabajoService, never()).enviar(any(), any());
+    }
+
+    /**
+     * Prueba que verifica la importación con la cola de trabajos llena.
+     * Asegura que se devuelve un estado 503 SERVICE UNAVAILABLE y que el archivo recibido se descarta.
+     */
+    @Test
+    public void importarBomberosTest_ColaLlena() throws Exception {
+        // Arrange
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "bomberos.csv", "text/csv",
+                "run,dv,nombre,aPaterno,aMaterno,telefono,correo,contrasenia,rolId\n".getBytes());
+        Map<String, String> parametros = Map.of("archivo", UUID.randomUUID().toString());
+        when(importacionBomberos.preparar(any())).thenReturn(parametros);
+        when(trabajoService.enviar(ImportacionBomberos.TIPO, parametros)).thenThrow(new SobrecargaException("La cola de trabajos está llena"));
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api-administrador/v1/bomberos/importar").file(archivo))
+                .andExpect(status().isServiceUnavailable());
+        verify(importacionBomberos).descartar(parametros);
+    }
+
+    /**
+     * Prueba que verifica la importación sin adjuntar el archivo.
+     * Asegura que se devuelve un estado 400 BAD REQUEST.
+     */
+    @Test
+    public void importarBomberosTest_SinArchivo() throws Exception {
+        // Act & Assert
+        mockMvc.perform(multipart("/api-administrador/v1/bomberos/importar"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Crear un posible duplicado
+
+    private PosibleDuplicado posibleDuplicado(int bomberoId, int duplicadoId, double puntaje) {
+        return new PosibleDuplicado(bomberoId, 12345678, "Juan González Muñoz",
+                duplicadoId, 12345687, "Juan Gonzales Muñoz", 0.93, true, puntaje);
     }
 
     // Calcular Dígito verificador
@@ -1,22 +1,28 @@
 package com.SAFE_Rescue.API_Administrador.controller;
 
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
 import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
 import com.SAFE_Rescue.API_Administrador.modelo.Login;
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.modelo.TokenSesion;
 import com.SAFE_Rescue.API_Administrador.service.CredencialService;
+import com.SAFE_Rescue.API_Administrador.service.RegistroIdempotencia;
+import com.SAFE_Rescue.API_Administrador.service.LimitadorLogin;
+import com.SAFE_Rescue.API_Administrador.service.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -29,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * de los endpoints relacionados con las credenciales.
  */
 @WebMvcTest(CredencialController.class)
+@Import(RegistroIdempotencia.class)
 public class CredencialControllerTest {
 
     @Autowired
@@ -37,6 +44,12 @@ public class CredencialControllerTest {
     @MockitoBean
     private CredencialService credencialService;
 
+    @MockitoBean
+    private LimitadorLogin limitadorLogin;
+
+    @MockitoBean
+    private TokenService tokenService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -152,14 +165,18 @@ public class CredencialControllerTest {
     public void loginTest() throws Exception {
         // Arrange
         Login login = new Login("correo@ejemplo.com", "ContraseniaValida");
-        when(credencialService.verificarCredenciales(login.getCorreo(), login.getContrasenia())).thenReturn(true);
+        TokenSesion sesion = new TokenSesion("Login exitoso", "k1.1.1.1767225600.firma", "Bearer", 1767225600L);
+        when(credencialService.autenticar(login.getCorreo(), login.getContrasenia())).thenReturn(credencial);
+        when(tokenService.emitir(credencial)).thenReturn(sesion);
 
         // Act & Assert
         mockMvc.perform(post("/api-administrador/v1/credenciales/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(login))) // Convertir Login a JSON
                 .andExpect(status().isOk())
-                .andExpect(content().string("Login exitoso"));
+                .andExpect(jsonPath("$.mensaje").value("Login exitoso"))
+                .andExpect(jsonPath("$.token").value(sesion.getToken()))
+                .andExpect(jsonPath("$.tipo").value("Bearer"));
     }
 
     /**
@@ -202,12 +219,12 @@ public class CredencialControllerTest {
     @Test
     public void buscarCredencialTest_CredencialNoExistente() throws Exception {
         // Arrange
-        when(credencialService.findByID(id)).thenThrow(new NoSuchElementException("Credencial no encontrada"));
+        when(credencialService.findByID(id)).thenThrow(new RecursoNoEncontradoException("Credencial no encontrada"));
 
         // Act & Assert
         mockMvc.perform(get("/api-administrador/v1/credenciales/{id}", id))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Credencial no encontrada"));
+                .andExpect(jsonPath("$.mensaje").value("Credencial no encontrada"));
     }
 
     /**
@@ -217,14 +234,14 @@ public class CredencialControllerTest {
     @Test
     public void agregarCredencialTest_Error() throws Exception {
         // Arrange
-        when(credencialService.save(any(Credencial.class))).thenThrow(new RuntimeException("Error al crear la credencial"));
+        when(credencialService.save(any(Credencial.class))).thenThrow(new ValidacionException("nombre", "Error al crear la credencial"));
 
         // Act & Assert
         mockMvc.perform(post("/api-administrador/v1/credenciales")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(credencial))) // Convertir Credencial a JSON
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string("Error al crear la credencial"));
+                .andExpect(jsonPath("$.mensaje").value("Error al crear la credencial"));
     }
 
     /**
@@ -234,14 +251,14 @@ public class CredencialControllerTest {
     @Test
     public void actualizarCredencialTest_CredencialNoExistente() throws Exception {
         // Arrange
-        when(credencialService.update(any(Credencial.class), eq(id))).thenThrow(new NoSuchElementException("Credencial no encontrada"));
+        when(credencialService.update(any(Credencial.class), eq(id))).thenThrow(new RecursoNoEncontradoException("Credencial no encontrada"));
 
         // Act & Assert
         mockMvc.perform(put("/api-administrador/v1/credenciales/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(credencial))) // Convertir Credencial a JSON
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Credencial no encontrada"));
+                .andExpect(jsonPath("$.mensaje").value("Credencial no encontrada"));
     }
 
     /**
@@ -251,12 +268,12 @@ public class CredencialControllerTest {
     @Test
     public void eliminarCredencialTest_CredencialNoExistente() throws Exception {
         // Arrange
-        doThrow(new NoSuchElementException("Credencial no encontrada")).when(credencialService).delete(id);
+        doThrow(new RecursoNoEncontradoException("Credencial no encontrada")).when(credencialService).delete(id);
 
         // Act & Assert
         mockMvc.perform(delete("/api-administrador/v1/credenciales/{id}", id))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Credencial no encontrada"));
+                .andExpect(jsonPath("$.mensaje").value("Credencial no encontrada"));
     }
 
     /**
@@ -267,7 +284,7 @@ public class CredencialControllerTest {
     public void loginTest_Fallido() throws Exception {
         // Arrange
         Login login = new Login("correo@ejemplo.com", "ContraseniaIncorrecta");
-        when(credencialService.verificarCredenciales(login.getCorreo(), login.getContrasenia())).thenReturn(false);
+        when(credencialService.autenticar(login.getCorreo(), login.getContrasenia())).thenReturn(null);
 
         // Act & Assert
         mockMvc.perform(post("/api-administrador/v1/credenciales/login")
@@ -277,6 +294,25 @@ public class CredencialControllerTest {
                 .andExpect(content().string("Credenciales incorrectas"));
     }
 
+    /**
+     * Prueba que verifica el rechazo de un inicio de sesión que supera el límite de intentos.
+     * Asegura que se devuelve un estado 429 con Retry-After y que no se consulta el servicio.
+     */
+    @Test
+    public void loginTest_LimiteExcedido() throws Exception {
+        // Arrange
+        Login login = new Login("correo@ejemplo.com", "ContraseniaValida");
+        when(limitadorLogin.intentar(any(), eq(login.getCorreo()))).thenReturn(3L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/credenciales/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
+        verify(credencialService, never()).autenticar(any(), any());
+    }
+
     /**
      * Prueba que verifica el comportamiento al intentar asignar un rol a una credencial que no existe.
      * Asegura que se devuelve un estado 404 NOT FOUND.
@@ -286,12 +322,12 @@ public class CredencialControllerTest {
         // Arrange
         Integer credencialId = 1;
         Integer rolId = 1;
-        doThrow(new RuntimeException("Credencial no encontrada"))
+        doThrow(new RecursoNoEncontradoException("Credencial no encontrada"))
                 .when(credencialService).asignarRol(credencialId, rolId);
 
         // Act & Assert
         mockMvc.perform(post("/api-administrador/v1/credenciales/{credencialId}/asignar-rol/{rolId}", credencialId, rolId))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Credencial no encontrada"));
+                .andExpect(jsonPath("$.mensaje").value("Credencial no encontrada"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.SAFE_Rescue.API_Administrador.controller;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Login;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas del límite de login detrás de un balanceador.
+ * Levanta el servidor embebido para que la IP del cliente se resuelva desde X-Forwarded-For igual que en producción.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.login.limite.capacidad=2", "app.login.limite.intervalo-ms=60000"})
+@ActiveProfiles("test")
+public class LoginProxyTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    /**
+     * Prueba que dos clientes detrás del mismo proxy tienen cubetas distintas: agotar la de uno no
+     * rechaza al otro.
+     */
+    @Test
+    public void loginTest_CubetaPorClienteDetrasDelProxy() {
+        // Act
+        for (int i = 0; i < 2; i++) {
+            assertEquals(HttpStatus.UNAUTHORIZED, login("203.0.113.10", "proxy" + i + "@ejemplo.com").getStatusCode());
+        }
+        ResponseEntity<String> rechazado = login("203.0.113.10", "proxy2@ejemplo.com");
+        ResponseEntity<String> otroCliente = login("203.0.113.20", "proxy3@ejemplo.com");
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rechazado.getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, otroCliente.getStatusCode());
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private ResponseEntity<String> login(String ipCliente, String correo) {
+        HttpHeaders encabezados = new HttpHeaders();
+        encabezados.set("X-Forwarded-For", ipCliente);
+        return restTemplate.postForEntity("/api-administrador/v1/credenciales/login",
+                new HttpEntity<>(new Login(correo, "clave"), encabezados), String.class);
+    }
+}
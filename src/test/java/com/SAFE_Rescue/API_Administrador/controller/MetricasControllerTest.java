@@ -0,0 +1,290 @@
+package com.SAFE_Rescue.API_Administrador.controller;
+
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCache;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCoalescencia;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCompartimento;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaAuditoria;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaBandejaSalida;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaIndices;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaInvalidacion;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaBarrido;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaLimite;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaNomina;
+import com.SAFE_Rescue.API_Administrador.service.Auditoria;
+import com.SAFE_Rescue.API_Administrador.service.BandejaSalida;
+import com.SAFE_Rescue.API_Administrador.service.BusInvalidacion;
+import com.SAFE_Rescue.API_Administrador.service.BloqueoCredenciales;
+import com.SAFE_Rescue.API_Administrador.service.BomberoService;
+import com.SAFE_Rescue.API_Administrador.service.CacheCorreosDesconocidos;
+import com.SAFE_Rescue.API_Administrador.service.Compartimentos;
+import com.SAFE_Rescue.API_Administrador.service.CredencialService;
+import com.SAFE_Rescue.API_Administrador.service.EstadisticasCacheService;
+import com.SAFE_Rescue.API_Administrador.service.IndicesBomberos;
+import com.SAFE_Rescue.API_Administrador.service.LimitadorLogin;
+import com.SAFE_Rescue.API_Administrador.service.LimiteConcurrenciaBaseDatos;
+import com.SAFE_Rescue.API_Administrador.service.NominaBomberos;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Clase de prueba para el controlador MetricasController.
+ * Verifica los endpoints de consulta de métricas internas.
+ */
+@WebMvcTest(MetricasController.class)
+public class MetricasControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EstadisticasCacheService estadisticasCacheService;
+
+    @MockitoBean
+    private LimitadorLogin limitadorLogin;
+
+    @MockitoBean
+    private CacheCorreosDesconocidos correosDesconocidos;
+
+    @MockitoBean
+    private BomberoService bomberoService;
+
+    @MockitoBean
+    private CredencialService credencialService;
+
+    @MockitoBean
+    private Compartimentos compartimentos;
+
+    @MockitoBean
+    private LimiteConcurrenciaBaseDatos limiteBaseDatos;
+
+    @MockitoBean
+    private BloqueoCredenciales bloqueoCredenciales;
+
+    @MockitoBean
+    private Auditoria auditoria;
+
+    @MockitoBean
+    private BandejaSalida bandejaSalida;
+
+    @MockitoBean
+    private BusInvalidacion busInvalidacion;
+
+    @MockitoBean
+    private NominaBomberos nominaBomberos;
+
+    @MockitoBean
+    private IndicesBomberos indicesBomberos;
+
+    /**
+     * Prueba que verifica la obtención de las estadísticas de caché.
+     * Asegura que se devuelve un estado 200 OK con los datos de cada región.
+     */
+    @Test
+    public void estadisticasCacheTest() throws Exception {
+        // Arrange
+        EstadisticaCache region = new EstadisticaCache("credencial", 95, 5, 5, 5, 0.95, -1);
+        when(estadisticasCacheService.findAll()).thenReturn(List.of(region));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("credencial"))
+                .andExpect(jsonPath("$[0].aciertos").value(95))
+                .andExpect(jsonPath("$[0].tasaAciertos").value(0.95));
+    }
+
+    /**
+     * Prueba que verifica la obtención de las métricas del limitador de login.
+     * Asegura que se devuelven las cubetas activas y los rechazos.
+     */
+    @Test
+    public void limitadorLoginTest() throws Exception {
+        // Arrange
+        when(limitadorLogin.getCubetasActivas()).thenReturn(4);
+        when(limitadorLogin.getRechazos()).thenReturn(2L);
+        when(correosDesconocidos.getTamano()).thenReturn(7L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/login"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cubetasActivas").value(4))
+                .andExpect(jsonPath("$.rechazos").value(2))
+                .andExpect(jsonPath("$.correosDesconocidos").value(7));
+    }
+
+    /**
+     * Prueba que verifica la obtención de las estadísticas de coalescencia.
+     * Asegura que se devuelve una entrada por cada búsqueda agrupada.
+     */
+    @Test
+    public void coalescenciaTest() throws Exception {
+        // Arrange
+        when(bomberoService.getEstadisticaCoalescencia())
+                .thenReturn(new EstadisticaCoalescencia("bombero", 100, 40, 0.4));
+        when(credencialService.getEstadisticaCoalescencia())
+                .thenReturn(new EstadisticaCoalescencia("credencial", 10, 0, 0));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/coalescencia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].consulta").value("bombero"))
+                .andExpect(jsonPath("$[0].compartidas").value(40))
+                .andExpect(jsonPath("$[0].tasaCoalescencia").value(0.4))
+                .andExpect(jsonPath("$[1].consulta").value("credencial"));
+    }
+
+    /**
+     * Prueba que verifica la obtención del estado de los compartimentos.
+     * Asegura que se devuelve un estado 200 OK con la cola y los rechazos de cada clase.
+     */
+    @Test
+    public void compartimentosTest() throws Exception {
+        // Arrange
+        when(compartimentos.getEstadisticas()).thenReturn(List.of(
+                new EstadisticaCompartimento("LOGIN", 4, 4, 12, 50, 900, 35, 8.5, 120.0),
+                new EstadisticaCompartimento("LECTURA", 4, 1, 0, 100, 300, 0, 3.2, 40.0)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/compartimentos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].clase").value("LOGIN"))
+                .andExpect(jsonPath("$[0].enCola").value(12))
+                .andExpect(jsonPath("$[0].rechazadas").value(35))
+                .andExpect(jsonPath("$[1].clase").value("LECTURA"));
+    }
+
+    /**
+     * Prueba que verifica la obtención del estado del límite de la base de datos.
+     * Asegura que se devuelve un estado 200 OK con el límite aprendido y los rechazos.
+     */
+    @Test
+    public void limiteBaseDatosTest() throws Exception {
+        // Arrange
+        when(limiteBaseDatos.getEstadistica()).thenReturn(new EstadisticaLimite(12, 5, 4, 200, 1.8, 2.4, 5000, 40));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/limite-base-datos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limite").value(12))
+                .andExpect(jsonPath("$.enCurso").value(5))
+                .andExpect(jsonPath("$.rechazadas").value(40));
+    }
+
+    /**
+     * Prueba que verifica la obtención de los barridos de bloqueo de credenciales.
+     * Asegura que se devuelve un estado 200 OK con las credenciales procesadas por segundo.
+     */
+    @Test
+    public void bloqueoCredencialesTest() throws Exception {
+        // Arrange
+        when(bloqueoCredenciales.getEstadisticas()).thenReturn(List.of(
+                new EstadisticaBarrido("desactivacion", 400, 2, 250, 1600.0, false, new Date())));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/bloqueo-credenciales"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tarea").value("desactivacion"))
+                .andExpect(jsonPath("$[0].procesados").value(400))
+                .andExpect(jsonPath("$[0].porSegundo").value(1600.0));
+    }
+
+    /**
+     * Prueba que verifica la obtención del estado de la auditoría.
+     * Asegura que se devuelve un estado 200 OK con los eventos descartados y el retraso del consumidor.
+     */
+    @Test
+    public void auditoriaTest() throws Exception {
+        // Arrange
+        when(auditoria.getEstadistica()).thenReturn(
+                new EstadisticaAuditoria("tabla", "DESCARTAR", 8192, 3, 120, 4, 35, 5000, 2, 4995, 0, 40, 0));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/auditoria"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.destino").value("tabla"))
+                .andExpect(jsonPath("$.descartados").value(2))
+                .andExpect(jsonPath("$.retrasoMs").value(4));
+    }
+
+    /**
+     * Prueba que verifica la obtención del estado de la bandeja de salida.
+     * Asegura que se devuelve un estado 200 OK con los eventos pendientes y entregados.
+     */
+    @Test
+    public void bandejaSalidaTest() throws Exception {
+        // Arrange
+        when(bandejaSalida.getEstadistica()).thenReturn(
+                new EstadisticaBandejaSalida("archivo", 3, 1520, 40, 0, 850, 1900));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/bandeja-salida"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.destino").value("archivo"))
+                .andExpect(jsonPath("$.pendientes").value(3))
+                .andExpect(jsonPath("$.enviados").value(1520));
+    }
+
+    /**
+     * Prueba que verifica la obtención del estado de la invalidación entre nodos.
+     * Asegura que se devuelve un estado 200 OK con el costo de los sondeos y el retraso máximo.
+     */
+    @Test
+    public void invalidacionTest() throws Exception {
+        // Arrange
+        when(busInvalidacion.getEstadistica()).thenReturn(
+                new EstadisticaInvalidacion("nodo-1", 18345, 7200, 0.4, 950, 610, 2, 260.5, 740));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/invalidacion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nodo").value("nodo-1"))
+                .andExpect(jsonPath("$.promedioSondeoMs").value(0.4))
+                .andExpect(jsonPath("$.maximoRetrasoMs").value(740));
+    }
+
+    /**
+     * Prueba que verifica la obtención del estado de la nómina en memoria.
+     * Asegura que se devuelve un estado 200 OK con la memoria estimada y la duración de la reconstrucción.
+     */
+    @Test
+    public void nominaTest() throws Exception {
+        // Arrange
+        when(nominaBomberos.getEstadistica()).thenReturn(
+                new EstadisticaNomina(true, 100000, 391, 31457280, 33100000, 1520, 12, 1850, 1508, 2210, 1.2, 48200));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/nomina"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disponible").value(true))
+                .andExpect(jsonPath("$.bytesEstimados").value(33100000))
+                .andExpect(jsonPath("$.ultimaReconstruccionMs").value(1850));
+    }
+
+    /**
+     * Prueba que verifica la obtención del estado de los índices de RUN y teléfono.
+     * Asegura que se devuelve un estado 200 OK con los bomberos indexados y la memoria por bombero.
+     */
+    @Test
+    public void indicesTest() throws Exception {
+        // Arrange
+        when(indicesBomberos.getEstadistica()).thenReturn(
+                new EstadisticaIndices(true, 100000, 6291776, 62.9, 12, 240, 1508, 48200, 3));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/metricas/indices"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disponible").value(true))
+                .andExpect(jsonPath("$.bomberos").value(100000))
+                .andExpect(jsonPath("$.bytesPorBombero").value(62.9));
+    }
+}
@@ -1,5 +1,7 @@
 package com.SAFE_Rescue.API_Administrador.controller;
 
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
 import com.SAFE_Rescue.API_Administrador.service.RolService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,7 +17,6 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 
 import static org.mockito.Mockito.*;
@@ -154,12 +155,12 @@ public class RolControllerTest {
     @Test
     public void buscarRolTest_RolNoExistente() throws Exception {
         // Arrange
-        when(rolService.findById(id)).thenThrow(new NoSuchElementException("Rol no encontrado"));
+        when(rolService.findById(id)).thenThrow(new RecursoNoEncontradoException("Rol no encontrado"));
 
         // Act & Assert
         mockMvc.perform(get("/api-administrador/v1/roles/{id}", id))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Rol no encontrado"));
+                .andExpect(jsonPath("$.mensaje").value("Rol no encontrado"));
     }
 
     /**
@@ -169,14 +170,14 @@ public class RolControllerTest {
     @Test
     public void agregarRolTest_Error() throws Exception {
         // Arrange
-        when(rolService.save(any(Rol.class))).thenThrow(new RuntimeException("Error al crear el rol"));
+        when(rolService.save(any(Rol.class))).thenThrow(new ValidacionException("nombre", "Error al crear el rol"));
 
         // Act & Assert
         mockMvc.perform(post("/api-administrador/v1/roles")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(rol))) // Convertir Rol a JSON
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string("Error al crear el rol"));
+                .andExpect(jsonPath("$.mensaje").value("Error al crear el rol"));
     }
 
     /**
@@ -186,14 +187,14 @@ public class RolControllerTest {
     @Test
     public void actualizarRolTest_RolNoExistente() throws Exception {
         // Arrange
-        when(rolService.update(any(Rol.class), eq(id))).thenThrow(new NoSuchElementException("Rol no encontrado"));
+        when(rolService.update(any(Rol.class), eq(id))).thenThrow(new RecursoNoEncontradoException("Rol no encontrado"));
 
         // Act & Assert
         mockMvc.perform(put("/api-administrador/v1/roles/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(rol))) // Convertir Rol a JSON
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Rol no encontrado"));
+                .andExpect(jsonPath("$.mensaje").value("Rol no encontrado"));
     }
 
     /**
@@ -203,11 +204,11 @@ public class RolControllerTest {
     @Test
     public void eliminarRolTest_RolNoExistente() throws Exception {
         // Arrange
-        doThrow(new NoSuchElementException("Rol no encontrado")).when(rolService).delete(id);
+        doThrow(new RecursoNoEncontradoException("Rol no encontrado")).when(rolService).delete(id);
 
         // Act & Assert
         mockMvc.perform(delete("/api-administrador/v1/roles/{id}", id))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string("Rol no encontrada"));
+                .andExpect(jsonPath("$.mensaje").value("Rol no encontrado"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.SAFE_Rescue.API_Administrador.controller;
+
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.SolicitudTrabajo;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
+import com.SAFE_Rescue.API_Administrador.service.TrabajoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TrabajoController.class)
+public class TrabajoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TrabajoService trabajoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Trabajo trabajo;
+
+    /**
+     * Configura el entorno de pruebas antes de cada prueba.
+     * Crea un trabajo en curso con la mitad de su avance.
+     */
+    @BeforeEach
+    public void setUp() {
+        Date inicio = new Date(System.currentTimeMillis() - 2000);
+        trabajo = new Trabajo(7, "DESACTIVAR_CREDENCIALES", Trabajo.Estado.EN_CURSO, "{\"rolId\":\"3\"}",
+                40, 80, 40, 0, null, inicio, inicio, null);
+    }
+
+    /**
+     * Prueba que verifica el envío de un trabajo.
+     * Asegura que se devuelve un estado 202 ACCEPTED con el ID del trabajo y sin sus parámetros internos.
+     */
+    @Test
+    public void enviarTest() throws Exception {
+        // Arrange
+        when(trabajoService.enviar("DESACTIVAR_CREDENCIALES", Map.of("rolId", "3"))).thenReturn(trabajo);
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/trabajos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SolicitudTrabajo("DESACTIVAR_CREDENCIALES", Map.of("rolId", "3")))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.estado").value("EN_CURSO"))
+                .andExpect(jsonPath("$.parametros").doesNotExist());
+    }
+
+    /**
+     * Prueba que verifica el envío de un trabajo de tipo inexistente.
+     * Asegura que se devuelve un estado 400 BAD REQUEST.
+     */
+    @Test
+    public void enviarTest_TipoDesconocido() throws Exception {
+        // Arrange
+        when(trabajoService.enviar(eq("EXPORTAR_TODO"), any())).thenThrow(new ValidacionException("tipo", "El tipo de trabajo no existe"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/trabajos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SolicitudTrabajo("EXPORTAR_TODO", null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.campo").value("tipo"));
+    }
+
+    /**
+     * Prueba que verifica el envío de un trabajo con la cola llena.
+     * Asegura que se devuelve un estado 503 SERVICE UNAVAILABLE con Retry-After.
+     */
+    @Test
+    public void enviarTest_ColaLlena() throws Exception {
+        // Arrange
+        when(trabajoService.enviar(any(), any())).thenThrow(new SobrecargaException("Hay demasiados trabajos en cola"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/trabajos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SolicitudTrabajo("DESACTIVAR_CREDENCIALES", Map.of("rolId", "3")))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.codigo").value("SOBRECARGA"));
+    }
+
+    /**
+     * Prueba que verifica la consulta del avance de un trabajo.
+     * Asegura que se devuelve un estado 200 OK con el progreso y el rendimiento.
+     */
+    @Test
+    public void buscarTrabajoTest() throws Exception {
+        // Arrange
+        when(trabajoService.findById(7)).thenReturn(trabajo);
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/trabajos/{id}", 7))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.procesados").value(40))
+                .andExpect(jsonPath("$.progreso").value(50.0))
+                .andExpect(jsonPath("$.porSegundo").isNumber());
+    }
+
+    /**
+     * Prueba que verifica la consulta de un trabajo inexistente.
+     * Asegura que se devuelve un estado 404 NOT FOUND.
+     */
+    @Test
+    public void buscarTrabajoTest_NoEncontrado() throws Exception {
+        // Arrange
+        when(trabajoService.findById(99)).thenThrow(new RecursoNoEncontradoException("Trabajo no encontrado"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-administrador/v1/trabajos/{id}", 99))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Prueba que verifica la cancelación de un trabajo ya terminado.
+     * Asegura que se devuelve un estado 409 CONFLICT.
+     */
+    @Test
+    public void cancelarTest_Terminado() throws Exception {
+        // Arrange
+        when(trabajoService.cancelar(7)).thenThrow(new ConflictoException("estado", "El trabajo ya terminó y no se puede cancelar"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api-administrador/v1/trabajos/{id}/cancelar", 7))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.campo").value("estado"));
+    }
+}
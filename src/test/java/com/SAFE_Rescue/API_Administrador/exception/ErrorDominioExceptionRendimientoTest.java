@@ -0,0 +1,112 @@
+package com.SAFE_Rescue.API_Administrador.exception;
+
+import com.SAFE_Rescue.API_Administrador.controller.ManejadorErrores;
+import com.SAFE_Rescue.API_Administrador.modelo.ErrorRespuesta;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Medición del camino de una solicitud rechazada por validación antes (RuntimeException re-envuelta con
+ * mensajes concatenados) y después (constante sin traza traducida por ManejadorErrores).
+ * Corre solo con mvn test -Prendimiento. Usa 100 mil rechazos lanzados a 80 marcos de profundidad; con
+ * -Drechazos.cantidad=N se mide otra cantidad.
+ */
+@Tag("rendimiento")
+public class ErrorDominioExceptionRendimientoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ErrorDominioExceptionRendimientoTest.class);
+
+    private static final int PROFUNDIDAD = 80;
+    private static final ValidacionException NOMBRE_EXCEDE = new ValidacionException("nombre", "El valor nombre excede máximo de caracteres (50)");
+
+    /**
+     * Mide el tiempo y la memoria asignada por rechazo en ambos caminos (el mejor de tres rondas).
+     * La cantidad de rechazos se indica con la propiedad de sistema rechazos.cantidad.
+     */
+    @Test
+    public void rendimientoTest_SolicitudRechazada() {
+        // Arrange
+        int cantidad = Integer.getInteger("rechazos.cantidad", 100_000);
+        ManejadorErrores manejador = new ManejadorErrores();
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // Act
+        long[] antes = {Long.MAX_VALUE, 0};
+        long[] despues = {Long.MAX_VALUE, 0};
+        long largo = 0;
+        for (int ronda = 0; ronda < 3; ronda++) {
+            long asignados = hilos.getCurrentThreadAllocatedBytes();
+            long inicio = System.nanoTime();
+            for (int i = 0; i < cantidad; i++) {
+                try {
+                    guardarAntes(PROFUNDIDAD);
+                } catch (RuntimeException e) {
+                    largo += e.getMessage().length();
+                }
+            }
+            medir(antes, inicio, hilos.getCurrentThreadAllocatedBytes() - asignados);
+
+            asignados = hilos.getCurrentThreadAllocatedBytes();
+            inicio = System.nanoTime();
+            for (int i = 0; i < cantidad; i++) {
+                try {
+                    guardarDespues(PROFUNDIDAD);
+                } catch (ValidacionException e) {
+                    ResponseEntity<ErrorRespuesta> respuesta = manejador.validacion(e);
+                    largo += respuesta.getBody().getMensaje().length();
+                }
+            }
+            medir(despues, inicio, hilos.getCurrentThreadAllocatedBytes() - asignados);
+        }
+
+        // Assert
+        assertTrue(largo > 0);
+        assertTrue(despues[0] < antes[0]);
+        log.info("Solicitud rechazada a {} marcos: antes {} ns y {} bytes, después {} ns y {} bytes por rechazo",
+                PROFUNDIDAD, antes[0] / cantidad, antes[1] / cantidad, despues[0] / cantidad, despues[1] / cantidad);
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private static void medir(long[] mejor, long inicio, long bytes) {
+        long nanos = System.nanoTime() - inicio;
+        if (nanos < mejor[0]) {
+            mejor[0] = nanos;
+            mejor[1] = bytes;
+        }
+    }
+
+    /**
+     * Camino anterior: la validación lanza una RuntimeException nueva y el servicio la re-envuelve
+     * concatenando su mensaje.
+     */
+    private static void guardarAntes(int profundidad) {
+        if (profundidad > 0) {
+            guardarAntes(profundidad - 1);
+            return;
+        }
+        try {
+            throw new RuntimeException("El valor nombre excede máximo de caracteres (50)");
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error inesperado: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Camino actual: la validación lanza la constante sin traza.
+     */
+    private static void guardarDespues(int profundidad) {
+        if (profundidad > 0) {
+            guardarDespues(profundidad - 1);
+            return;
+        }
+        throw NOMBRE_EXCEDE;
+    }
+}
@@ -0,0 +1,29 @@
+package com.SAFE_Rescue.API_Administrador.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para ErrorDominioException.
+ * Verifica que los errores de dominio no capturan la traza; el camino de una solicitud rechazada se mide
+ * en ErrorDominioExceptionRendimientoTest.
+ */
+public class ErrorDominioExceptionTest {
+
+    private static final ValidacionException NOMBRE_EXCEDE = new ValidacionException("nombre", "El valor nombre excede máximo de caracteres (50)");
+
+    /**
+     * Prueba que un error de dominio no tiene traza ni admite excepciones suprimidas.
+     */
+    @Test
+    public void constructorTest_SinTraza() {
+        // Act
+        NOMBRE_EXCEDE.addSuppressed(new IllegalStateException());
+
+        // Assert
+        assertEquals(0, NOMBRE_EXCEDE.getStackTrace().length);
+        assertEquals(0, NOMBRE_EXCEDE.getSuppressed().length);
+        assertEquals("nombre", NOMBRE_EXCEDE.getCampo());
+    }
+}
@@ -0,0 +1,143 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaAuditoria;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para Auditoria.
+ * Registra operaciones reales de RolService y espera a que el consumidor las escriba en la tabla auditoria.
+ */
+@SpringBootTest(properties = "app.auditoria.destino=tabla")
+@ActiveProfiles("test")
+public class AuditoriaTest {
+
+    private static final long ESPERA_MAXIMA_MS = 5000;
+
+    @Autowired
+    private Auditoria auditoria;
+
+    @Autowired
+    private RolService rolService;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Integer> roles = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        rolRepository.deleteAllById(roles);
+    }
+
+    /**
+     * Prueba que una creación fuera de una solicitud se escribe con el autor sistema, y una dentro de una
+     * solicitud con token válido se escribe con la credencial del token y la IP de origen.
+     */
+    @Test
+    public void registrarTest_Autor() throws Exception {
+        // Arrange
+        // La prueba corre con una solicitud simulada; sin ella la operación es del sistema
+        RequestContextHolder.resetRequestAttributes();
+        Rol sistema = crearRol("Rol auditoría sistema");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.emitir(new Credencial(77, "a@b.cl", "clave", 0, true, null)).getToken());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        Rol conToken = crearRol("Rol auditoría token");
+
+        // Assert
+        Map<String, Object> registroSistema = esperarRegistro(sistema.getId());
+        assertEquals("CREAR", registroSistema.get("accion"));
+        assertEquals("sistema", registroSistema.get("actor"));
+        assertNull(registroSistema.get("origen"));
+
+        Map<String, Object> registroToken = esperarRegistro(conToken.getId());
+        assertEquals("credencial:77", registroToken.get("actor"));
+        assertEquals("10.0.0.7", registroToken.get("origen"));
+
+        EstadisticaAuditoria estadistica = auditoria.getEstadistica();
+        assertEquals("tabla", estadistica.getDestino());
+        assertTrue(estadistica.getEscritos() >= 2);
+        assertEquals(0, estadistica.getPerdidos());
+    }
+
+    /**
+     * Prueba que una operación de una transacción revertida no queda registrada.
+     */
+    @Test
+    public void registrarTest_TransaccionRevertida() throws Exception {
+        // Arrange
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+        // Act
+        Rol revertido = transaccion.execute(estado -> {
+            Rol rol = rolService.save(new Rol(0, "Rol auditoría revertido"));
+            estado.setRollbackOnly();
+            return rol;
+        });
+        Rol confirmado = crearRol("Rol auditoría confirmado");
+
+        // Assert
+        esperarRegistro(confirmado.getId());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from auditoria where entidad = 'ROL' and entidad_id = ?", Integer.class, revertido.getId()));
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private Rol crearRol(String nombre) {
+        Rol rol = rolService.save(new Rol(0, nombre));
+        roles.add(rol.getId());
+        return rol;
+    }
+
+    private Map<String, Object> esperarRegistro(int rolId) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        while (System.currentTimeMillis() < limite) {
+            List<Map<String, Object>> registros = jdbcTemplate.queryForList(
+                    "select accion, actor, origen from auditoria where entidad = 'ROL' and entidad_id = ?", rolId);
+            if (!registros.isEmpty()) {
+                Map<String, Object> registro = new HashMap<>();
+                registros.get(0).forEach((clave, valor) -> registro.put(clave.toLowerCase(), valor));
+                return registro;
+            }
+            Thread.sleep(20);
+        }
+        fail("El registro de auditoría del rol " + rolId + " no se escribió a tiempo");
+        return null;
+    }
+}
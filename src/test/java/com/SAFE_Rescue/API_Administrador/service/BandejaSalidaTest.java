@@ -0,0 +1,202 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaBandejaSalida;
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para BandejaSalida.
+ * Usa una base de datos H2 embebida compartida por dos bandejas, como si fueran dos nodos,
+ * cada una con su destino en memoria.
+ */
+public class BandejaSalidaTest {
+
+    private EmbeddedDatabase base;
+    private TransactionTemplate transaccion;
+    private DestinoSalidaMemoria destinoA;
+    private DestinoSalidaMemoria destinoB;
+    private BandejaSalida nodoA;
+    private BandejaSalida nodoB;
+
+    @BeforeEach
+    public void setUp() {
+        base = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        transaccion = new TransactionTemplate(new DataSourceTransactionManager(base));
+        // En la aplicación la tabla la crea Hibernate a partir de MensajeSalida
+        new JdbcTemplate(base).execute("CREATE TABLE bandeja_salida (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "tipo VARCHAR(40) NOT NULL, agregado_id INT NOT NULL, carga VARCHAR(2000) NOT NULL, fecha TIMESTAMP(3) NOT NULL)");
+        destinoA = new DestinoSalidaMemoria();
+        destinoB = new DestinoSalidaMemoria();
+        nodoA = crearBandeja(destinoA);
+        nodoB = crearBandeja(destinoB);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        base.shutdown();
+    }
+
+    /**
+     * Prueba que los eventos confirmados se entregan en orden y se borran, y los de una transacción
+     * revertida no se entregan.
+     */
+    @Test
+    public void retransmitirTest_SoloConfirmados() {
+        // Arrange
+        agregar(MensajeSalida.Tipo.ROL_CREADO, 1, Map.of("nombre", "Bombero"));
+        transaccion.executeWithoutResult(estado -> {
+            nodoA.agregar(MensajeSalida.Tipo.ROL_ELIMINADO, 2, Map.of());
+            estado.setRollbackOnly();
+        });
+        agregar(MensajeSalida.Tipo.CREDENCIAL_DESACTIVADA, 7, Map.of("correo", "a@b.cl", "rolId", 1, "activo", false));
+
+        // Act
+        int entregados = nodoA.retransmitir();
+
+        // Assert
+        assertEquals(2, entregados);
+        List<MensajeSalida> mensajes = destinoA.getMensajes();
+        assertEquals("ROL_CREADO", mensajes.get(0).getTipo());
+        assertEquals("{\"nombre\":\"Bombero\"}", mensajes.get(0).getCarga());
+        assertEquals("CREDENCIAL_DESACTIVADA", mensajes.get(1).getTipo());
+        assertEquals(7, mensajes.get(1).getAgregadoId());
+        assertTrue(mensajes.get(0).getId() < mensajes.get(1).getId());
+
+        EstadisticaBandejaSalida estadistica = nodoA.getEstadistica();
+        assertEquals(0, estadistica.getPendientes());
+        assertEquals(2, estadistica.getEnviados());
+        assertEquals("memoria", estadistica.getDestino());
+        assertEquals(0, nodoA.retransmitir());
+    }
+
+    /**
+     * Prueba que si el destino falla el lote queda pendiente y se entrega en la siguiente ejecución.
+     */
+    @Test
+    public void retransmitirTest_DestinoFalla() {
+        // Arrange
+        agregar(MensajeSalida.Tipo.ROL_ACTUALIZADO, 3, Map.of("nombre", "Capitán"));
+        destinoA.setFallar(true);
+
+        // Act
+        int fallidos = nodoA.retransmitir();
+        destinoA.setFallar(false);
+        int entregados = nodoA.retransmitir();
+
+        // Assert
+        assertEquals(0, fallidos);
+        assertEquals(1, entregados);
+        assertEquals(1, nodoA.getEstadistica().getErrores());
+        assertEquals(1, destinoA.getMensajes().size());
+    }
+
+    /**
+     * Prueba que dos nodos que retransmiten a la vez reciben lotes ordenados y disjuntos que, juntos,
+     * contienen cada evento exactamente una vez.
+     */
+    @Test
+    public void retransmitirTest_DosNodosEnParalelo() throws Exception {
+        // Arrange
+        int cantidad = 500;
+        transaccion.executeWithoutResult(estado -> {
+            for (int i = 1; i <= cantidad; i++) {
+                nodoA.agregar(MensajeSalida.Tipo.CREDENCIAL_DESACTIVADA, i, Map.of());
+            }
+        });
+        ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        // Act
+        Future<Integer> entregadosA = ejecutor.submit(retransmitirHastaVaciar(nodoA, inicio));
+        Future<Integer> entregadosB = ejecutor.submit(retransmitirHastaVaciar(nodoB, inicio));
+        inicio.countDown();
+        int total = entregadosA.get() + entregadosB.get();
+        ejecutor.shutdown();
+
+        // Assert
+        assertEquals(cantidad, total);
+        Set<Integer> agregados = new HashSet<>();
+        for (DestinoSalidaMemoria destino : List.of(destinoA, destinoB)) {
+            for (List<MensajeSalida> lote : destino.getLotes()) {
+                for (int i = 1; i < lote.size(); i++) {
+                    assertTrue(lote.get(i - 1).getId() < lote.get(i).getId());
+                }
+                for (MensajeSalida mensaje : lote) {
+                    assertTrue(agregados.add(mensaje.getAgregadoId()));
+                }
+            }
+        }
+        assertEquals(cantidad, agregados.size());
+        assertEquals(0, nodoB.getEstadistica().getPendientes());
+    }
+
+    /**
+     * Prueba que el destino en memoria, que es el destino por omisión, conserva solo los últimos lotes.
+     */
+    @Test
+    public void destinoMemoriaTest_ConservaLosUltimosLotes() {
+        // Arrange
+        int cantidad = DestinoSalidaMemoria.MAXIMO_LOTES + 5;
+
+        // Act
+        for (int i = 1; i <= cantidad; i++) {
+            destinoA.enviar(List.of(new MensajeSalida(i, MensajeSalida.Tipo.ROL_CREADO.name(), i, "{}", new Date())));
+        }
+
+        // Assert
+        List<List<MensajeSalida>> lotes = destinoA.getLotes();
+        assertEquals(DestinoSalidaMemoria.MAXIMO_LOTES, lotes.size());
+        assertEquals(6, lotes.get(0).get(0).getAgregadoId());
+        assertEquals(cantidad, lotes.get(lotes.size() - 1).get(0).getAgregadoId());
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private BandejaSalida crearBandeja(DestinoSalida destino) {
+        BandejaSalida bandeja = new BandejaSalida(destino, new JdbcTemplate(base), new ObjectMapper(),
+                new DataSourceTransactionManager(base), true, 10, 5, 30);
+        return bandeja;
+    }
+
+    private void agregar(MensajeSalida.Tipo tipo, int agregadoId, Map<String, Object> datos) {
+        transaccion.executeWithoutResult(estado -> nodoA.agregar(tipo, agregadoId, datos));
+    }
+
+    private Callable<Integer> retransmitirHastaVaciar(BandejaSalida bandeja, CountDownLatch inicio) {
+        return () -> {
+            inicio.await();
+            int total = 0;
+            int entregados;
+            do {
+                entregados = bandeja.retransmitir();
+                total += entregados;
+            } while (entregados > 0);
+            return total;
+        };
+    }
+}
@@ -0,0 +1,219 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaBarrido;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
+import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para BloqueoCredenciales.
+ * Ejecuta los barridos contra la base de datos real con lotes de dos credenciales.
+ */
+@SpringBootTest(properties = {"app.credenciales.bloqueo.tamano-lote=2", "app.credenciales.bloqueo.umbral=5",
+        "app.credenciales.bloqueo.pausa-ms=0"})
+@ActiveProfiles("test")
+@RecordApplicationEvents
+public class BloqueoCredencialesTest {
+
+    @Autowired
+    private BloqueoCredenciales bloqueoCredenciales;
+
+    @Autowired
+    private CredencialService credencialService;
+
+    @Autowired
+    private EstadoCredenciales estadoCredenciales;
+
+    @Autowired
+    private CredencialRepository credencialRepository;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    private Rol rol;
+    private final List<Credencial> credenciales = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        rol = rolRepository.save(new Rol(0, "Rol bloqueo"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        credencialRepository.deleteAll(credenciales);
+        rolRepository.delete(rol);
+    }
+
+    /**
+     * Prueba que se desactivan en varios lotes solo las credenciales activas que alcanzan el umbral,
+     * y que luego no pueden iniciar sesión.
+     */
+    @Test
+    public void desactivarTest() {
+        // Arrange
+        Credencial bajoUmbral = crear("bloqueo0@ejemplo.com", 4, true);
+        Credencial enUmbral = crear("bloqueo1@ejemplo.com", 5, true);
+        Credencial sobreUmbral = crear("bloqueo2@ejemplo.com", 7, true);
+        Credencial otraSobreUmbral = crear("bloqueo3@ejemplo.com", 9, true);
+        Credencial yaInactiva = crear("bloqueo4@ejemplo.com", 8, false);
+        estadoCredenciales.reconciliar();
+
+        // Act
+        bloqueoCredenciales.desactivar();
+
+        // Assert
+        assertTrue(activa(bajoUmbral));
+        assertFalse(activa(enUmbral));
+        assertFalse(activa(sobreUmbral));
+        assertFalse(activa(otraSobreUmbral));
+        assertFalse(activa(yaInactiva));
+        assertEquals(7, credencialRepository.findById(sobreUmbral.getId()).orElseThrow().getIntentosFallidos());
+        assertFalse(estadoCredenciales.estaActiva(enUmbral.getId()));
+        assertTrue(estadoCredenciales.estaActiva(bajoUmbral.getId()));
+        assertNull(credencialService.autenticar(enUmbral.getCorreo(), enUmbral.getContrasenia()));
+        assertNotNull(credencialService.autenticar(bajoUmbral.getCorreo(), bajoUmbral.getContrasenia()));
+
+        EstadisticaBarrido estadistica = bloqueoCredenciales.getEstadisticas().get(0);
+        assertEquals("desactivacion", estadistica.getTarea());
+        assertTrue(estadistica.getProcesados() >= 3);
+        assertTrue(estadistica.getLotes() >= 2);
+        assertFalse(estadistica.isIncompleto());
+    }
+
+    /**
+     * Prueba que el reinicio vuelve a cero los intentos de las credenciales activas
+     * y conserva los de las desactivadas.
+     */
+    @Test
+    public void reiniciarTest() {
+        // Arrange
+        Credencial activa = crear("reinicio0@ejemplo.com", 3, true);
+        Credencial otraActiva = crear("reinicio1@ejemplo.com", 1, true);
+        Credencial inactiva = crear("reinicio2@ejemplo.com", 8, false);
+
+        // Act
+        bloqueoCredenciales.reiniciar();
+
+        // Assert
+        assertEquals(0, credencialRepository.findById(activa.getId()).orElseThrow().getIntentosFallidos());
+        assertEquals(0, credencialRepository.findById(otraActiva.getId()).orElseThrow().getIntentosFallidos());
+        assertEquals(8, credencialRepository.findById(inactiva.getId()).orElseThrow().getIntentosFallidos());
+        assertTrue(bloqueoCredenciales.getEstadisticas().stream()
+                .anyMatch(estadistica -> estadistica.getTarea().equals("reinicio") && estadistica.getProcesados() >= 2));
+    }
+
+    /**
+     * Prueba que los intentos fallidos simultáneos de la misma credencial se cuentan todos.
+     */
+    @Test
+    public void autenticarTest_IntentosConcurrentes() throws Exception {
+        // Arrange
+        Credencial credencial = crear("concurrente0@ejemplo.com", 0, true);
+        int hilos = 8;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Future<Credencial>> intentos = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < hilos; i++) {
+                intentos.add(ejecutor.submit(() -> {
+                    largada.await();
+                    return credencialService.autenticar(credencial.getCorreo(), "incorrecta");
+                }));
+            }
+            largada.countDown();
+            for (Future<Credencial> intento : intentos) {
+                assertNull(intento.get());
+            }
+        } finally {
+            ejecutor.shutdown();
+        }
+
+        // Assert
+        assertEquals(hilos, credencialRepository.findById(credencial.getId()).orElseThrow().getIntentosFallidos());
+        assertTrue(activa(credencial));
+    }
+
+    /**
+     * Prueba que un intento fallido sobre una credencial ya desactivada por el barrido no la reactiva
+     * ni cuenta el intento.
+     */
+    @Test
+    public void autenticarTest_NoReactivaDesactivada() {
+        // Arrange
+        Credencial credencial = crear("reactivar0@ejemplo.com", 5, true);
+        bloqueoCredenciales.desactivar();
+
+        // Act
+        Credencial resultado = credencialService.autenticar(credencial.getCorreo(), "incorrecta");
+
+        // Assert
+        assertNull(resultado);
+        assertFalse(activa(credencial));
+        assertEquals(5, credencialRepository.findById(credencial.getId()).orElseThrow().getIntentosFallidos());
+    }
+
+    /**
+     * Prueba que un intento fallido saca de la caché de segundo nivel solo su credencial y no se publica
+     * como modificación.
+     */
+    @Test
+    public void autenticarTest_IntentoFallidoConservaLaCache() {
+        // Arrange
+        Credencial atacada = crear("cache0@ejemplo.com", 0, true);
+        Credencial otra = crear("cache1@ejemplo.com", 0, true);
+        credencialRepository.findById(atacada.getId());
+        credencialRepository.findById(otra.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Credencial.class, otra.getId()));
+        eventos.clear();
+
+        // Act
+        Credencial resultado = credencialService.autenticar(atacada.getCorreo(), "incorrecta");
+
+        // Assert
+        assertNull(resultado);
+        assertTrue(entityManagerFactory.getCache().contains(Credencial.class, otra.getId()));
+        assertFalse(entityManagerFactory.getCache().contains(Credencial.class, atacada.getId()));
+        assertEquals(1, credencialRepository.findById(atacada.getId()).orElseThrow().getIntentosFallidos());
+        assertEquals(0, eventos.stream(CredencialModificada.class).count());
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private Credencial crear(String correo, int intentos, boolean activa) {
+        Credencial credencial = credencialRepository.save(new Credencial(0, correo, "clave", intentos, activa, rol));
+        credenciales.add(credencial);
+        return credencial;
+    }
+
+    private boolean activa(Credencial credencial) {
+        return credencialRepository.findById(credencial.getId()).orElseThrow().isActivo();
+    }
+}
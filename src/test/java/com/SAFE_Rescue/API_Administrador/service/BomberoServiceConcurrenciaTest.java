@@ -0,0 +1,136 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.repository.BomberoRepository;
+import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de estrés de las creaciones concurrentes de bomberos contra la base de datos real.
+ * Verifica que los duplicados se rechazan con el campo exacto y que nunca se guardan dos filas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class BomberoServiceConcurrenciaTest {
+
+    private static final int HILOS = 16;
+
+    @Autowired
+    private BomberoService bomberoService;
+
+    @Autowired
+    private BomberoRepository bomberoRepository;
+
+    @Autowired
+    private CredencialRepository credencialRepository;
+
+    private final List<Bombero> creados = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        for (Bombero bombero : creados) {
+            bomberoRepository.deleteById(bombero.getId());
+            credencialRepository.deleteById(bombero.getCredencial().getId());
+        }
+    }
+
+    /**
+     * Prueba que de varias creaciones simultáneas con el mismo RUN solo una se guarda
+     * y el resto se rechaza como conflicto del campo run.
+     */
+    @Test
+    public void saveConcurrenteMismoRunTest() throws Exception {
+        // Arrange
+        int run = 23456789;
+
+        // Act
+        List<Object> resultados = crearConcurrente(i -> nuevoBombero(run, 930000000 + i, "run" + i + "@ejemplo.com"));
+
+        // Assert
+        assertResultados(resultados, "run");
+        assertTrue(bomberoRepository.findByRun(run).isPresent());
+    }
+
+    /**
+     * Prueba que de varias creaciones simultáneas con el mismo teléfono solo una se guarda
+     * y el resto se rechaza como conflicto del campo telefono.
+     */
+    @Test
+    public void saveConcurrenteMismoTelefonoTest() throws Exception {
+        // Act
+        List<Object> resultados = crearConcurrente(i -> nuevoBombero(24000000 + i, 940000000, "tel" + i + "@ejemplo.com"));
+
+        // Assert
+        assertResultados(resultados, "telefono");
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private void assertResultados(List<Object> resultados, String campo) {
+        long exitosos = 0;
+        for (Object resultado : resultados) {
+            if (resultado instanceof Bombero bombero) {
+                creados.add(bombero);
+                exitosos++;
+            } else {
+                ConflictoException conflicto = assertInstanceOf(ConflictoException.class, resultado);
+                assertEquals(campo, conflicto.getCampo());
+            }
+        }
+        assertEquals(1, exitosos);
+    }
+
+    private List<Object> crearConcurrente(Fabrica fabrica) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            CountDownLatch inicio = new CountDownLatch(1);
+            List<Future<Object>> futuros = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                Bombero bombero = fabrica.crear(i);
+                futuros.add(hilos.submit(() -> {
+                    inicio.await();
+                    try {
+                        return bomberoService.save(bombero);
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+            inicio.countDown();
+            List<Object> resultados = new ArrayList<>();
+            for (Future<Object> futuro : futuros) {
+                resultados.add(futuro.get(30, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private Bombero nuevoBombero(int run, int telefono, String correo) {
+        Credencial credencial = new Credencial(0, correo, "clave123", 0, true, new Rol(0, "Voluntario"));
+        return new Bombero(0, run, "K", "Juan", "Pérez", "González", new Date(), telefono, credencial);
+    }
+
+    private interface Fabrica {
+        Bombero crear(int indice);
+    }
+}
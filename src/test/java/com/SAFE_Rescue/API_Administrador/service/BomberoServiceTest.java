@@ -1,7 +1,12 @@
 package com.SAFE_Rescue.API_Administrador.service;
 
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
 import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.BomberoParcial;
 import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
 import com.SAFE_Rescue.API_Administrador.repository.BomberoRepository;
 import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
@@ -34,6 +39,15 @@ public class BomberoServiceTest {
     @MockitoBean
     private CredencialService credencialService;
 
+    @MockitoBean
+    private IndicesBomberos indicesBomberos;
+
+    @Autowired
+    private CacheBomberos cacheBomberos;
+
+    @Autowired
+    private ReservasUnicas reservasUnicas;
+
     private Faker faker;
     private int rut;
     private Bombero bombero;
@@ -45,6 +59,7 @@ public class BomberoServiceTest {
         id = 1;
         rut = faker.number().numberBetween(1000000, 99999999);
         bombero = new Bombero(1,rut,calcularDv(rut),faker.name().firstName(),faker.name().lastName(),faker.name().lastName(),new Date(),faker.number().numberBetween(100000000, 999999999),new Credencial(1, faker.internet().emailAddress(), faker.internet().password(), 0, true, new Rol(1, faker.job().position())));
+        cacheBomberos.invalidarTodo();
     }
 
     @Test
@@ -96,11 +111,28 @@ public class BomberoServiceTest {
         assertEquals(bombero.getCredencial().getRol().getNombre(),encontrado.getCredencial().getRol().getNombre());
     }
 
+    @Test
+    public void findAllCamposTest() {
+        // Arrange
+        BomberoParcial parcial = new BomberoParcial();
+        parcial.setRun(bombero.getRun());
+        parcial.setAPaterno(bombero.getAPaterno());
+        when(bomberoRepository.findAllCampos(Set.of("run", "aPaterno"))).thenReturn(List.of(parcial));
+
+        // Act
+        List<BomberoParcial> bomberos = bomberoService.findAllCampos("run, apaterno");
+
+        // Assert
+        assertEquals(1, bomberos.size());
+        assertEquals(bombero.getRun(), bomberos.get(0).getRun());
+        assertEquals(bombero.getAPaterno(), bomberos.get(0).getAPaterno());
+    }
+
     @Test
     public void saveTest() {
         // Arrange
         when(credencialService.save(bombero.getCredencial())).thenReturn(bombero.getCredencial());
-        when(bomberoRepository.save(bombero)).thenReturn(bombero);
+        when(bomberoRepository.saveAndFlush(bombero)).thenReturn(bombero);
 
         // Act
         Bombero guardado = bomberoService.save(bombero);
@@ -119,7 +151,7 @@ public class BomberoServiceTest {
         assertEquals(bombero.getCredencial().getIntentosFallidos(),guardado.getCredencial().getIntentosFallidos());
         assertEquals(bombero.getCredencial().isActivo(),guardado.getCredencial().isActivo());
         assertEquals(bombero.getCredencial().getRol().getNombre(),guardado.getCredencial().getRol().getNombre());
-        verify(bomberoRepository, times(1)).save(bombero);
+        verify(bomberoRepository, times(1)).saveAndFlush(bombero);
     }
 
 
@@ -131,7 +163,7 @@ public class BomberoServiceTest {
         Bombero bomberoExistente = new Bombero(1,rutExistente,calcularDv(rutExistente),faker.name().firstName(),faker.name().lastName(),faker.name().lastName(),new Date(),faker.number().numberBetween(100000000, 999999999),new Credencial(1, faker.internet().emailAddress(), faker.internet().password(), 0, true, new Rol(1, "Admin")));
         Bombero bomberoActualizado = new Bombero(1,rutActualizado,calcularDv(rutActualizado),faker.name().firstName(),faker.name().lastName(),faker.name().lastName(),new Date(),faker.number().numberBetween(100000000, 999999999),new Credencial(1, faker.internet().emailAddress(), faker.internet().password(), 0, true, new Rol(1, "Admin")));
         when(bomberoRepository.findById(id)).thenReturn(Optional.of(bomberoExistente));
-        when(bomberoRepository.save(bomberoExistente)).thenReturn(bomberoActualizado);
+        when(bomberoRepository.saveAndFlush(bomberoExistente)).thenReturn(bomberoActualizado);
 
         // Act
         Bombero actualizado = bomberoService.update(bomberoActualizado, id);
@@ -150,7 +182,7 @@ public class BomberoServiceTest {
         assertEquals(bomberoActualizado.getCredencial().getIntentosFallidos(),actualizado.getCredencial().getIntentosFallidos());
         assertEquals(bomberoActualizado.getCredencial().isActivo(),actualizado.getCredencial().isActivo());
         assertEquals(bomberoActualizado.getCredencial().getRol().getNombre(),actualizado.getCredencial().getRol().getNombre());
-        verify(bomberoRepository, times(1)).save(bomberoExistente);
+        verify(bomberoRepository, times(1)).saveAndFlush(bomberoExistente);
     }
 
     @Test
@@ -187,25 +219,183 @@ public class BomberoServiceTest {
 
     //ERRORES
 
+    @Test
+    public void findByIDTest_Cache() {
+        // Arrange
+        when(bomberoRepository.findById(id)).thenReturn(Optional.of(bombero));
+        Bombero primero = bomberoService.findByID(id);
+
+        // Act
+        primero.setNombre("Modificado");
+        Bombero segundo = bomberoService.findByID(id);
+
+        // Assert
+        verify(bomberoRepository, times(1)).findById(id);
+        assertNotSame(primero, segundo);
+        assertEquals(bombero.getNombre(), segundo.getNombre());
+        assertEquals(bombero.getCredencial().getRol().getNombre(), segundo.getCredencial().getRol().getNombre());
+    }
+
+    @Test
+    public void findByIdsTest() {
+        // Arrange
+        Bombero enCache = new Bombero(2, 11111111, "1", "Ana", "Soto", "Rojas", new Date(), 911111111, null);
+        when(bomberoRepository.findById(2)).thenReturn(Optional.of(enCache));
+        bomberoService.findByID(2);
+        when(bomberoRepository.findAllByIdConRelaciones(List.of(1, 5))).thenReturn(List.of(bombero));
+
+        // Act
+        ResultadoLote<Bombero> lote = bomberoService.findByIds(List.of(1, 2, 5, 1));
+
+        // Assert
+        assertEquals(List.of(1, 2), lote.getResultados().stream().map(Bombero::getId).toList());
+        assertEquals(List.of(5), lote.getFaltantes());
+        assertEquals(bombero.getCredencial().getRol().getNombre(), lote.getResultados().get(0).getCredencial().getRol().getNombre());
+        verify(bomberoRepository, times(1)).findAllByIdConRelaciones(List.of(1, 5));
+    }
+
+    @Test
+    public void findByIdsTest_ExcedeMaximo() {
+        // Arrange
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= ResultadoLote.MAXIMO_IDS + 1; i++) {
+            ids.add(i);
+        }
+
+        // Act & Assert
+        assertThrows(ValidacionException.class, () -> bomberoService.findByIds(ids));
+        verify(bomberoRepository, never()).findAllByIdConRelaciones(anyCollection());
+    }
+
+    @Test
+    public void findByRunTest() {
+        // Arrange
+        when(bomberoRepository.findByRun(rut)).thenReturn(Optional.of(bombero));
+        bomberoService.findByRun(rut);
+
+        // Act
+        Bombero encontrado = bomberoService.findByRun(rut);
+
+        // Assert
+        verify(bomberoRepository, times(1)).findByRun(rut);
+        assertEquals(bombero.getId(), encontrado.getId());
+        assertEquals(bombero.getRun(), encontrado.getRun());
+    }
+
+    @Test
+    public void findByRunTest_BomberoNoExistente() {
+        // Arrange
+        when(bomberoRepository.findByRun(rut)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(RecursoNoEncontradoException.class, () -> bomberoService.findByRun(rut));
+    }
+
+    @Test
+    public void deleteInvalidaCache() {
+        // Arrange
+        when(bomberoRepository.findById(id)).thenReturn(Optional.of(bombero));
+        when(bomberoRepository.existsById(id)).thenReturn(true);
+        bomberoService.findByID(id);
+
+        // Act
+        bomberoService.delete(id);
+        bomberoService.findByID(id);
+
+        // Assert
+        verify(bomberoRepository, times(2)).findById(id);
+    }
+
     @Test
     public void findByIDTest_BomberoNoExistente() {
         // Arrange
         when(bomberoRepository.findById(id)).thenReturn(Optional.empty());
 
         // Assert
-        assertThrows(NoSuchElementException.class, () -> bomberoService.findByID(id));
+        assertThrows(RecursoNoEncontradoException.class, () -> bomberoService.findByID(id));
+    }
+
+    @Test
+    public void findAllCamposTest_CampoNoPermitido() {
+        // Assert
+        assertThrows(ValidacionException.class, () -> bomberoService.findAllCampos("id,contrasenia"));
+        verify(bomberoRepository, never()).findAllCampos(any());
     }
 
     @Test
     public void saveTest_ErrorCorreoDuplicado() {
         // Arrange
-        Bombero bomberoS = new Bombero();
-        Credencial credencialS = new Credencial();
-        bomberoS.setCredencial(credencialS);
-        when(credencialService.save(credencialS)).thenThrow(new DataIntegrityViolationException(""));
+        when(credencialService.save(bombero.getCredencial())).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry 'correo@ejemplo.com' for key 'credencial.uk_credencial_correo'"));
+
+        // Act
+        ConflictoException exception = assertThrows(ConflictoException.class, () -> bomberoService.save(bombero));
+
+        // Assert
+        assertEquals("credencial.correo", exception.getCampo());
+        verify(bomberoRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void saveTest_ErrorIntegridadCredencialNoEsCorreo() {
+        // Arrange
+        DataIntegrityViolationException error = new DataIntegrityViolationException(
+                "Cannot add or update a child row: a foreign key constraint fails (fk_credencial_rol)");
+        when(credencialService.save(bombero.getCredencial())).thenThrow(error);
+
+        // Act
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> bomberoService.save(bombero));
+
+        // Assert
+        assertSame(error, exception);
+        verify(bomberoRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void saveTest_RunDuplicadoEnBaseDeDatos() {
+        // Arrange
+        when(credencialService.save(bombero.getCredencial())).thenReturn(bombero.getCredencial());
+        when(bomberoRepository.saveAndFlush(bombero)).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry '" + rut + "' for key 'bombero.uk_bombero_run'"));
+
+        // Act
+        ConflictoException exception = assertThrows(ConflictoException.class, () -> bomberoService.save(bombero));
+
+        // Assert
+        assertEquals("run", exception.getCampo());
+        verify(bomberoRepository, never()).existsByRun(anyInt());
+    }
+
+    @Test
+    public void saveTest_TelefonoReservado() {
+        // Arrange
+        reservasUnicas.reservar("telefono", bombero.getTelefono());
+
+        try {
+            // Act
+            ConflictoException exception = assertThrows(ConflictoException.class, () -> bomberoService.save(bombero));
+
+            // Assert
+            assertEquals("telefono", exception.getCampo());
+            verify(credencialService, never()).save(any());
+            verify(bomberoRepository, never()).saveAndFlush(any());
+        } finally {
+            reservasUnicas.liberar("telefono", bombero.getTelefono());
+        }
+    }
+
+    @Test
+    public void saveTest_LiberaReservas() {
+        // Arrange
+        when(credencialService.save(bombero.getCredencial())).thenReturn(bombero.getCredencial());
+        when(bomberoRepository.saveAndFlush(bombero)).thenReturn(bombero);
+
+        // Act
+        bomberoService.save(bombero);
 
         // Assert
-        assertThrows(RuntimeException.class, () -> bomberoService.save(bomberoS));
+        assertFalse(reservasUnicas.estaReservado("run", bombero.getRun()));
+        assertFalse(reservasUnicas.estaReservado("telefono", bombero.getTelefono()));
     }
 
     @Test
@@ -214,7 +404,7 @@ public class BomberoServiceTest {
         when(bomberoRepository.findById(id)).thenReturn(Optional.empty());
 
         // Assert
-        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> {
+        RecursoNoEncontradoException exception = assertThrows(RecursoNoEncontradoException.class, () -> {
             bomberoService.update(new Bombero(), id);
         });
     }
@@ -225,7 +415,7 @@ public class BomberoServiceTest {
         when(bomberoRepository.existsById(id)).thenReturn(false);
 
         // Assert
-        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> {
+        RecursoNoEncontradoException exception = assertThrows(RecursoNoEncontradoException.class, () -> {
             bomberoService.delete(id);
         });
         assertEquals("Bombero no encontrado", exception.getMessage());
@@ -237,7 +427,7 @@ public class BomberoServiceTest {
         bomberoV.setNombre(null);
 
         // Assert
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        ValidacionException exception = assertThrows(ValidacionException.class, () -> {
             bomberoService.validarBombero(bomberoV);
         });
     }
@@ -0,0 +1,92 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Date;
+
+/**
+ * Bomberos de prueba para las clases que levantan el contexto completo.
+ * Cada clase usa su propio rango de un millón de RUN y su propio prefijo de correo, con un rol creado
+ * para ella; el teléfono se deriva del RUN, por lo que tampoco se repite entre clases.
+ */
+class BomberosDePrueba {
+
+    private static final int RANGO = 1_000_000;
+    private static final int DESPLAZAMIENTO_TELEFONO = 500_000_000;
+
+    private final BomberoService bomberoService;
+    private final RolRepository rolRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String prefijo;
+    private final int runBase;
+    private final Rol rol;
+
+    /**
+     * Crea el rol de los bomberos de prueba.
+     * @param contexto Contexto de la prueba
+     * @param prefijo Prefijo de los correos de las credenciales y nombre del rol
+     * @param runBase Primer RUN del rango de la clase
+     */
+    BomberosDePrueba(ApplicationContext contexto, String prefijo, int runBase) {
+        this.bomberoService = contexto.getBean(BomberoService.class);
+        this.rolRepository = contexto.getBean(RolRepository.class);
+        this.jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        this.entityManagerFactory = contexto.getBean(EntityManagerFactory.class);
+        this.prefijo = prefijo;
+        this.runBase = runBase;
+        this.rol = rolRepository.save(new Rol(0, "Rol " + prefijo));
+    }
+
+    Rol getRol() {
+        return rol;
+    }
+
+    int run(int i) {
+        return runBase + i;
+    }
+
+    int telefono(int i) {
+        return DESPLAZAMIENTO_TELEFONO + run(i);
+    }
+
+    /**
+     * Arma, sin guardarlo, el bombero i del rango.
+     */
+    Bombero bombero(int i) {
+        return bombero(i, "Nombre" + i, "Paterno", "Materno");
+    }
+
+    Bombero bombero(int i, String nombre, String paterno, String materno) {
+        return new Bombero(0, run(i), "1", nombre, paterno, materno, new Date(), telefono(i),
+                new Credencial(0, prefijo + i + "@ejemplo.com", "clave" + i, 0, true, rol));
+    }
+
+    /**
+     * Guarda el bombero i del rango con BomberoService, que publica sus eventos.
+     */
+    Bombero crear(int i) {
+        return bomberoService.save(bombero(i));
+    }
+
+    Bombero crear(int i, String nombre, String paterno, String materno) {
+        return bomberoService.save(bombero(i, nombre, paterno, materno));
+    }
+
+    /**
+     * Borra los bomberos del rango, incluidos los insertados con SQL directo, sus credenciales y el rol.
+     */
+    void limpiar() {
+        jdbcTemplate.update("delete from bombero where run >= ? and run < ?", runBase, runBase + RANGO);
+        jdbcTemplate.update("delete from credencial where correo like ?", prefijo + "%@ejemplo.com");
+        rolRepository.delete(rol);
+        // Las credenciales borradas con SQL directo no salen solas de la caché de segundo nivel
+        entityManagerFactory.getCache().evictAll();
+    }
+}
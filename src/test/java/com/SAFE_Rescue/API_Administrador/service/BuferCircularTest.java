@@ -0,0 +1,94 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para BuferCircular.
+ * Verifica la capacidad, el rechazo con el búfer lleno y la entrega exacta con varios productores.
+ */
+public class BuferCircularTest {
+
+    /**
+     * Prueba que la capacidad se redondea a potencia de dos y que, lleno, el búfer rechaza elementos
+     * hasta que el consumidor libera casillas.
+     */
+    @Test
+    public void ofrecerTest_BuferLleno() {
+        // Arrange
+        BuferCircular<Integer> bufer = new BuferCircular<>(3);
+
+        // Act & Assert
+        assertEquals(4, bufer.getCapacidad());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(bufer.ofrecer(i));
+        }
+        assertFalse(bufer.ofrecer(4));
+        assertEquals(4, bufer.getPendientes());
+        assertEquals(0, bufer.tomar());
+        assertTrue(bufer.ofrecer(4));
+
+        List<Integer> drenados = new ArrayList<>();
+        assertEquals(4, bufer.drenar(drenados, 10));
+        assertEquals(List.of(1, 2, 3, 4), drenados);
+        assertNull(bufer.tomar());
+        assertEquals(0, bufer.getPendientes());
+    }
+
+    /**
+     * Prueba que con varios productores concurrentes y un consumidor cada elemento se entrega una sola
+     * vez y en el orden en que lo publicó cada productor.
+     */
+    @Test
+    public void drenarTest_VariosProductores() throws Exception {
+        // Arrange
+        int productores = 4;
+        int porProductor = 50_000;
+        BuferCircular<long[]> bufer = new BuferCircular<>(256);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(productores);
+        CountDownLatch inicio = new CountDownLatch(1);
+        for (int p = 0; p < productores; p++) {
+            int productor = p;
+            ejecutor.submit(() -> {
+                inicio.await();
+                for (int i = 0; i < porProductor; i++) {
+                    long[] elemento = {productor, i};
+                    while (!bufer.ofrecer(elemento)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Act
+        inicio.countDown();
+        long[] siguiente = new long[productores];
+        List<long[]> lote = new ArrayList<>();
+        long recibidos = 0;
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (recibidos < (long) productores * porProductor && System.nanoTime() < limite) {
+            lote.clear();
+            bufer.drenar(lote, 64);
+            for (long[] elemento : lote) {
+                // Assert
+                assertEquals(siguiente[(int) elemento[0]]++, elemento[1]);
+            }
+            recibidos += lote.size();
+        }
+        ejecutor.shutdown();
+
+        // Assert
+        assertEquals((long) productores * porProductor, recibidos);
+        assertNull(bufer.tomar());
+        assertTrue(ejecutor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,219 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.BomberoModificado;
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.evento.RolModificado;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaInvalidacion;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para BusInvalidacion.
+ * Usa una base de datos H2 embebida compartida por dos buses, como si fueran dos nodos; los eventos
+ * que cada bus vuelve a publicar se registran y se entregan de nuevo al mismo bus, como haría Spring.
+ */
+public class BusInvalidacionTest {
+
+    private EmbeddedDatabase base;
+    private TransactionTemplate transaccion;
+    private final List<Object> recibidosA = new ArrayList<>();
+    private final List<Object> recibidosB = new ArrayList<>();
+    private BusInvalidacion nodoA;
+    private BusInvalidacion nodoB;
+
+    @BeforeEach
+    public void setUp() {
+        base = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        transaccion = new TransactionTemplate(new DataSourceTransactionManager(base));
+        // En la aplicación la tabla la crea Hibernate a partir de Invalidacion
+        new JdbcTemplate(base).execute("CREATE TABLE invalidacion (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "entidad VARCHAR(20) NOT NULL, entidad_id INT NOT NULL, correo VARCHAR(80), activa BOOLEAN NOT NULL, "
+                + "eliminada BOOLEAN NOT NULL, nodo VARCHAR(64) NOT NULL, fecha TIMESTAMP(3) NOT NULL)");
+        nodoA = crearBus("nodo-a", recibidosA, 100, 60_000);
+        nodoB = crearBus("nodo-b", recibidosB, 100, 60_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        base.shutdown();
+    }
+
+    /**
+     * Prueba que los cambios confirmados en un nodo se aplican en el otro, que el nodo de origen los
+     * ignora, que los eventos reproducidos no se vuelven a anotar y que los revertidos no se anotan.
+     */
+    @Test
+    public void sondearTest_CambiosDeOtroNodo() {
+        // Arrange
+        transaccion.executeWithoutResult(estado -> {
+            nodoA.alModificarCredencial(new CredencialModificada(7, "a@b.cl", false, false));
+            nodoA.alModificarRol(new RolModificado(3, false));
+        });
+        transaccion.executeWithoutResult(estado -> {
+            nodoA.alModificarBombero(new BomberoModificado(99, true));
+            estado.setRollbackOnly();
+        });
+        nodoA.alModificarBombero(new BomberoModificado(5, true));
+
+        // Act
+        int aplicadasB = nodoB.sondear();
+        int aplicadasA = nodoA.sondear();
+
+        // Assert
+        assertEquals(3, aplicadasB);
+        assertEquals(List.of(new CredencialModificada(7, "a@b.cl", false, false), new RolModificado(3, false),
+                new BomberoModificado(5, true)), recibidosB);
+        assertEquals(0, aplicadasA);
+        assertTrue(recibidosA.isEmpty());
+        assertEquals(3, contarFilas());
+
+        EstadisticaInvalidacion estadistica = nodoB.getEstadistica();
+        assertEquals(3, estadistica.getUltimoId());
+        assertEquals(3, estadistica.getFilasLeidas());
+        assertEquals(3, estadistica.getAplicadas());
+        assertEquals(0, nodoB.sondear());
+    }
+
+    /**
+     * Prueba que un ID confirmado después de que se leyó uno mayor no se pierde.
+     */
+    @Test
+    public void sondearTest_ConfirmacionTardia() throws Exception {
+        // Arrange
+        CountDownLatch insertada = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        CompletableFuture<Void> lenta = CompletableFuture.runAsync(() -> transaccion.executeWithoutResult(estado -> {
+            insertarFila("nodo-a", 10);
+            insertada.countDown();
+            esperar(confirmar);
+        }));
+        assertTrue(insertada.await(5, TimeUnit.SECONDS));
+        nodoA.alModificarCredencial(new CredencialModificada(11, null, true, false));
+
+        // Act
+        int antes = nodoB.sondear();
+        confirmar.countDown();
+        lenta.get(5, TimeUnit.SECONDS);
+        int despues = nodoB.sondear();
+
+        // Assert
+        assertEquals(1, antes);
+        assertEquals(1, despues);
+        assertEquals(11, ((CredencialModificada) recibidosB.get(0)).getCredencialId());
+        assertEquals(10, ((CredencialModificada) recibidosB.get(1)).getCredencialId());
+        assertEquals(2, nodoB.getEstadistica().getUltimoId());
+        assertEquals(0, nodoB.getEstadistica().getHuecosDescartados());
+    }
+
+    /**
+     * Prueba que un ID de una transacción revertida se descarta al vencer la espera de huecos.
+     */
+    @Test
+    public void sondearTest_HuecoDescartado() {
+        // Arrange
+        BusInvalidacion sinEspera = crearBus("nodo-c", new ArrayList<>(), 100, 0);
+        transaccion.executeWithoutResult(estado -> {
+            insertarFila("nodo-a", 1);
+            estado.setRollbackOnly();
+        });
+        nodoA.alModificarCredencial(new CredencialModificada(2, null, true, false));
+
+        // Act
+        int aplicadas = sinEspera.sondear();
+
+        // Assert
+        assertEquals(1, aplicadas);
+        assertEquals(1, sinEspera.getEstadistica().getHuecosDescartados());
+        assertEquals(2, sinEspera.getEstadistica().getUltimoId());
+    }
+
+    /**
+     * Prueba que mientras se espera un hueco se siguen leyendo los cambios posteriores aunque superen
+     * un lote, y que el hueco se aplica cuando su transacción confirma.
+     */
+    @Test
+    public void sondearTest_HuecoConMasDeUnLote() throws Exception {
+        // Arrange
+        List<Object> recibidos = new ArrayList<>();
+        BusInvalidacion loteChico = crearBus("nodo-c", recibidos, 2, 60_000);
+        CountDownLatch insertada = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        CompletableFuture<Void> lenta = CompletableFuture.runAsync(() -> transaccion.executeWithoutResult(estado -> {
+            insertarFila("nodo-a", 100);
+            insertada.countDown();
+            esperar(confirmar);
+        }));
+        assertTrue(insertada.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            nodoA.alModificarCredencial(new CredencialModificada(100 + i, null, true, false));
+        }
+
+        // Act
+        int aplicadas = 0;
+        for (int sondeo = 0; sondeo < 3; sondeo++) {
+            aplicadas += loteChico.sondear();
+        }
+        confirmar.countDown();
+        lenta.get(5, TimeUnit.SECONDS);
+        int tardia = loteChico.sondear();
+
+        // Assert
+        assertEquals(5, aplicadas);
+        assertEquals(1, tardia);
+        assertEquals(100, ((CredencialModificada) recibidos.get(5)).getCredencialId());
+        assertEquals(6, loteChico.getEstadistica().getUltimoId());
+        assertEquals(0, loteChico.getEstadistica().getHuecosDescartados());
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private BusInvalidacion crearBus(String nodo, List<Object> recibidos, int tamanoLote, long esperaHuecosMs) {
+        BusInvalidacion[] bus = new BusInvalidacion[1];
+        bus[0] = new BusInvalidacion(new JdbcTemplate(base), evento -> {
+            recibidos.add(evento);
+            if (evento instanceof CredencialModificada credencial) {
+                bus[0].alModificarCredencial(credencial);
+            }
+        }, new DefaultListableBeanFactory().getBeanProvider(EntityManagerFactory.class), true, tamanoLote, esperaHuecosMs, 60_000, nodo);
+        bus[0].inicializar();
+        return bus[0];
+    }
+
+    private void insertarFila(String nodo, int credencialId) {
+        new JdbcTemplate(base).update("INSERT INTO invalidacion (entidad, entidad_id, correo, activa, eliminada, nodo, fecha) "
+                + "VALUES ('CREDENCIAL', ?, NULL, TRUE, FALSE, ?, ?)", credencialId, nodo, new Timestamp(System.currentTimeMillis()));
+    }
+
+    private int contarFilas() {
+        return new JdbcTemplate(base).queryForObject("SELECT COUNT(*) FROM invalidacion", Integer.class);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
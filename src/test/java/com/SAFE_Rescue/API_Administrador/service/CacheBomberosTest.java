@@ -0,0 +1,77 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.BomberoInstantanea;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para CacheBomberos.
+ * Verifica que, con réplica de lectura, una lectura de solo lectura hecha justo después de invalidar
+ * un bombero no vuelve a llenar la caché con una versión que la réplica todavía puede tener atrasada.
+ */
+public class CacheBomberosTest {
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    /**
+     * Prueba que tras invalidar un bombero su lectura desde la réplica no se guarda, que la lectura
+     * desde la primaria sí, y que otros bomberos no se ven afectados.
+     */
+    @Test
+    public void guardarTest_LecturaDeReplicaTrasInvalidar() {
+        // Arrange
+        CacheBomberos cache = new CacheBomberos(1_000_000, 600, "jdbc:mysql://replica/db", 60);
+        cache.invalidar(1);
+        long generacion = cache.getGeneracion();
+
+        // Act
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        cache.guardar(instantanea(1), generacion);
+        cache.guardar(instantanea(2), generacion);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        BomberoInstantanea deReplica = cache.buscarPorId(1);
+        cache.guardar(instantanea(1), generacion);
+
+        // Assert
+        assertNull(deReplica);
+        assertNotNull(cache.buscarPorId(1));
+        assertNotNull(cache.buscarPorId(2));
+    }
+
+    /**
+     * Prueba que sin réplica configurada las lecturas de solo lectura se guardan aunque el bombero
+     * se haya invalidado recién.
+     */
+    @Test
+    public void guardarTest_SinReplica() {
+        // Arrange
+        CacheBomberos cache = new CacheBomberos(1_000_000, 600, "", 60);
+        cache.invalidarTodo();
+        long generacion = cache.getGeneracion();
+
+        // Act
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        cache.guardar(instantanea(1), generacion);
+
+        // Assert
+        assertNotNull(cache.buscarPorId(1));
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private static BomberoInstantanea instantanea(int id) {
+        return BomberoInstantanea.de(new Bombero(id, 10_000_000 + id, "1", "Nombre", "Paterno", "Materno", new Date(),
+                900_000_000 + id, new Credencial(id, "cache" + id + "@ejemplo.com", "clave", 0, true, new Rol(1, "Rol"))));
+    }
+}
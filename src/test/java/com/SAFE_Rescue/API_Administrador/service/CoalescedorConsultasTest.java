@@ -0,0 +1,90 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para CoalescedorConsultas.
+ * Verifica que las consultas concurrentes de la misma clave comparten una sola carga.
+ */
+public class CoalescedorConsultasTest {
+
+    /**
+     * Prueba que varios hilos que piden la misma clave a la vez ejecutan una sola carga.
+     */
+    @Test
+    public void obtenerTest_ConsultasConcurrentes() throws Exception {
+        // Arrange
+        CoalescedorConsultas<Integer, String> coalescedor = new CoalescedorConsultas<>("prueba");
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<String>> resultados = new ArrayList<>();
+        resultados.add(hilos.submit(() -> coalescedor.obtener(1, () -> {
+            cargas.incrementAndGet();
+            cargaIniciada.countDown();
+            esperar(liberarCarga);
+            return "bombero-1";
+        })));
+        assertTrue(cargaIniciada.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            resultados.add(hilos.submit(() -> coalescedor.obtener(1, () -> {
+                cargas.incrementAndGet();
+                return "otra-carga";
+            })));
+        }
+        while (coalescedor.getEstadistica().getCompartidas() < 7) {
+            Thread.onSpinWait();
+        }
+        liberarCarga.countDown();
+
+        // Assert
+        for (Future<String> resultado : resultados) {
+            assertEquals("bombero-1", resultado.get(5, TimeUnit.SECONDS));
+        }
+        hilos.shutdown();
+        assertEquals(1, cargas.get());
+        assertEquals(7, coalescedor.getEstadistica().getCompartidas());
+        assertEquals(7.0 / 8, coalescedor.getEstadistica().getTasaCoalescencia());
+    }
+
+    /**
+     * Prueba que la excepción de la carga se propaga y que la clave se libera después.
+     */
+    @Test
+    public void obtenerTest_ExcepcionLiberaClave() {
+        // Arrange
+        CoalescedorConsultas<Integer, String> coalescedor = new CoalescedorConsultas<>("prueba");
+
+        // Act & Assert
+        assertThrows(NoSuchElementException.class, () -> coalescedor.obtener(1, () -> {
+            throw new NoSuchElementException("No encontrado");
+        }));
+        assertEquals("encontrado", coalescedor.obtener(1, () -> "encontrado"));
+        assertEquals(0, coalescedor.getEstadistica().getCompartidas());
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para ComparadorNombres.
+ * Verifica la normalización, la clave fonética, la distancia de edición acotada y la cercanía de RUN.
+ */
+public class ComparadorNombresTest {
+
+    /**
+     * Prueba que la normalización quita tildes, signos y espacios repetidos y pasa a minúsculas.
+     */
+    @Test
+    public void normalizarTest() {
+        // Act & Assert
+        assertEquals("jose maria", ComparadorNombres.normalizar("  José  MARÍA "));
+        assertEquals("nunez perez", ComparadorNombres.normalizar("Núñez-Pérez"));
+        assertEquals("obrien", ComparadorNombres.normalizar("O'Brien"));
+        assertEquals("", ComparadorNombres.normalizar(null));
+    }
+
+    /**
+     * Prueba que las grafías que suenan igual en español tienen la misma clave fonética y las distintas no.
+     */
+    @Test
+    public void foneticoTest_MismoSonido() {
+        // Act & Assert
+        assertEquals(clave("González"), clave("Gonsales"));
+        assertEquals(clave("Vásquez"), clave("Basques"));
+        assertEquals(clave("Hernández"), clave("Ernandes"));
+        assertEquals(clave("Jiménez"), clave("Gimenez"));
+        assertEquals(clave("Villagra"), clave("Biyagra"));
+        assertEquals(clave("Cecilia"), clave("Sesilia"));
+        assertEquals(clave("Guerra"), clave("Guera"));
+        assertEquals(clave("Ximena"), clave("Jimena"));
+        assertEquals(clave("Mattos"), clave("Matos"));
+        assertNotEquals(clave("Muñoz"), clave("Núñez"));
+        assertNotEquals(clave("Castro"), clave("Casto"));
+    }
+
+    /**
+     * Prueba la distancia de edición dentro y fuera del máximo, también sobre tramos de un texto mayor.
+     */
+    @Test
+    public void distanciaTest() {
+        // Act & Assert
+        assertEquals(0, distancia("gonzalez", "gonzalez", 2));
+        assertEquals(1, distancia("gonzalez", "gonzales", 2));
+        assertEquals(2, distancia("gonzalez", "gonsales", 2));
+        assertEquals(3, distancia("gonzalez", "gomsalis", 2));
+        assertEquals(1, distancia("perez", "peres", 2));
+        assertEquals(1, distancia("ana", "anna", 2));
+        assertEquals(3, distancia("ana", "anastasia", 2));
+        assertEquals(4, distancia("", "abcd", 5));
+        assertEquals(1, ComparadorNombres.distancia("x|soto|y", 2, 6, "sotto", 0, 5, 2));
+    }
+
+    /**
+     * Prueba que un RUN con un dígito cambiado, agregado, omitido o dos dígitos contiguos intercambiados
+     * es cercano, y que dos cambios no lo son.
+     */
+    @Test
+    public void runCercanoTest() {
+        // Act & Assert
+        assertTrue(ComparadorNombres.runCercano(12345678, 12345678));
+        assertTrue(ComparadorNombres.runCercano(12345678, 12345679));
+        assertTrue(ComparadorNombres.runCercano(12345678, 12345687));
+        assertTrue(ComparadorNombres.runCercano(12345678, 1234567));
+        assertTrue(ComparadorNombres.runCercano(2345678, 12345678));
+        assertFalse(ComparadorNombres.runCercano(12345678, 12345699));
+        assertFalse(ComparadorNombres.runCercano(12345678, 21345687));
+        assertFalse(ComparadorNombres.runCercano(12345678, 123456));
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private static String clave(String nombre) {
+        return ComparadorNombres.fonetico(ComparadorNombres.normalizar(nombre));
+    }
+
+    private static int distancia(String a, String b, int maximo) {
+        return ComparadorNombres.distancia(a, 0, a.length(), b, 0, b.length(), maximo);
+    }
+}
@@ -0,0 +1,139 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaCompartimento;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para Compartimentos.
+ */
+public class CompartimentosTest {
+
+    /**
+     * Prueba que un compartimento saturado no afecta a los demás.
+     * Con todos los lugares de login ocupados y su cola llena, las lecturas y escrituras
+     * entran sin esperar.
+     */
+    @Test
+    public void saturacionLoginNoAfectaOtrasClasesTest() throws Exception {
+        // Arrange
+        Compartimentos compartimentos = crear(2, 1, 1000);
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch ocupados = new CountDownLatch(2);
+            CountDownLatch liberar = new CountDownLatch(1);
+            for (int i = 0; i < 2; i++) {
+                hilos.submit(() -> {
+                    compartimentos.entrar(Compartimentos.Clase.LOGIN);
+                    ocupados.countDown();
+                    liberar.await();
+                    compartimentos.salir(Compartimentos.Clase.LOGIN, 0);
+                    return null;
+                });
+            }
+            assertTrue(ocupados.await(5, TimeUnit.SECONDS));
+            Future<Boolean> enCola = hilos.submit(() -> compartimentos.entrar(Compartimentos.Clase.LOGIN));
+            esperarCola(compartimentos, "LOGIN", 1);
+
+            // Act
+            long inicio = System.nanoTime();
+            boolean loginRechazado = !compartimentos.entrar(Compartimentos.Clase.LOGIN);
+            boolean lectura = compartimentos.entrar(Compartimentos.Clase.LECTURA);
+            boolean escritura = compartimentos.entrar(Compartimentos.Clase.ESCRITURA);
+            long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            liberar.countDown();
+
+            // Assert
+            assertTrue(loginRechazado);
+            assertTrue(lectura);
+            assertTrue(escritura);
+            assertTrue(duracionMs < 500, "La cola llena y las otras clases no deben esperar: " + duracionMs + " ms");
+            assertTrue(enCola.get(5, TimeUnit.SECONDS));
+            assertEquals(1, estadistica(compartimentos, "LOGIN").getRechazadas());
+            assertEquals(0, estadistica(compartimentos, "LECTURA").getRechazadas());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    /**
+     * Prueba que una solicitud en cola se rechaza al agotar la espera máxima.
+     */
+    @Test
+    public void esperaAgotadaTest() {
+        // Arrange
+        Compartimentos compartimentos = crear(1, 5, 50);
+        compartimentos.entrar(Compartimentos.Clase.ESCRITURA);
+
+        // Act
+        boolean resultado = compartimentos.entrar(Compartimentos.Clase.ESCRITURA);
+
+        // Assert
+        assertFalse(resultado);
+        EstadisticaCompartimento escritura = estadistica(compartimentos, "ESCRITURA");
+        assertEquals(1, escritura.getEnProceso());
+        assertEquals(0, escritura.getEnCola());
+        assertEquals(1, escritura.getRechazadas());
+    }
+
+    /**
+     * Prueba que al salir se libera el lugar y se registra la latencia.
+     */
+    @Test
+    public void salirRegistraLatenciaTest() {
+        // Arrange
+        Compartimentos compartimentos = crear(1, 0, 10);
+        compartimentos.entrar(Compartimentos.Clase.LECTURA);
+
+        // Act
+        compartimentos.salir(Compartimentos.Clase.LECTURA, TimeUnit.MILLISECONDS.toNanos(30));
+
+        // Assert
+        assertTrue(compartimentos.entrar(Compartimentos.Clase.LECTURA));
+        EstadisticaCompartimento lectura = estadistica(compartimentos, "LECTURA");
+        assertEquals(1, lectura.getAtendidas());
+        assertEquals(30.0, lectura.getLatenciaPromedioMs(), 0.001);
+        assertEquals(30.0, lectura.getLatenciaMaximaMs(), 0.001);
+    }
+
+    /**
+     * Prueba que deshabilitados los compartimentos no limitan las solicitudes.
+     */
+    @Test
+    public void deshabilitadoTest() {
+        // Arrange
+        Compartimentos compartimentos = new Compartimentos(false, 10, 1, 0, 1, 0, 1, 0, 0, 10);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertTrue(compartimentos.entrar(Compartimentos.Clase.LOGIN));
+        }
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private Compartimentos crear(int concurrencia, int cola, long esperaMs) {
+        return new Compartimentos(true, esperaMs, concurrencia, cola, concurrencia, cola, concurrencia, cola, 0, 10);
+    }
+
+    private EstadisticaCompartimento estadistica(Compartimentos compartimentos, String clase) {
+        List<EstadisticaCompartimento> estadisticas = compartimentos.getEstadisticas();
+        return estadisticas.stream().filter(e -> e.getClase().equals(clase)).findFirst().orElseThrow();
+    }
+
+    private void esperarCola(Compartimentos compartimentos, String clase, int tamano) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (estadistica(compartimentos, clase).getEnCola() < tamano && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+        assertEquals(tamano, estadistica(compartimentos, clase).getEnCola());
+    }
+}
@@ -1,6 +1,10 @@
 package com.SAFE_Rescue.API_Administrador.service;
 
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
 import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
 import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
 import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
@@ -37,6 +41,12 @@ public class CredencialServiceTest {
     @MockitoBean
     private RolRepository rolRepository;
 
+    @MockitoBean
+    private BandejaSalida bandejaSalida;
+
+    @Autowired
+    private CacheCorreosDesconocidos correosDesconocidos;
+
     private Faker faker;
     private Credencial credencial;
     private Integer id;
@@ -50,7 +60,7 @@ public class CredencialServiceTest {
         faker = new Faker();
         credencial = new Credencial(1, faker.internet().emailAddress(), faker.internet().password(), 0, true, new Rol(1, faker.job().position()));
         id = 1;
-
+        correosDesconocidos.invalidarTodo();
     }
 
     /**
@@ -97,6 +107,26 @@ public class CredencialServiceTest {
         assertEquals(credencial.getRol().getNombre(), encontrada.getRol().getNombre());
     }
 
+    /**
+     * Prueba que cada búsqueda por ID recibe su propia copia y no la entidad leída del repositorio.
+     * Asegura que modificar el resultado de una búsqueda no afecta a otra.
+     */
+    @Test
+    public void findByIDTest_CopiaPorLlamador() {
+        // Arrange
+        when(credencialRepository.findById(id)).thenReturn(Optional.of(credencial));
+
+        // Act
+        Credencial primera = credencialService.findByID(id);
+        primera.setActivo(!credencial.isActivo());
+        Credencial segunda = credencialService.findByID(id);
+
+        // Assert
+        assertNotSame(credencial, primera);
+        assertNotSame(primera, segunda);
+        assertEquals(credencial.isActivo(), segunda.isActivo());
+    }
+
     /**
      * Prueba que verifica la creación y guardado de una nueva credencial.
      * Asegura que la credencial se guarda correctamente en el repositorio.
@@ -105,7 +135,7 @@ public class CredencialServiceTest {
     public void saveTest() {
         // Arrange
         when(rolService.save(credencial.getRol())).thenReturn(credencial.getRol());
-        when(credencialRepository.save(credencial)).thenReturn(credencial);
+        when(credencialRepository.saveAndFlush(credencial)).thenReturn(credencial);
 
         // Act
         Credencial guardado = credencialService.save(credencial);
@@ -118,7 +148,7 @@ public class CredencialServiceTest {
         assertEquals(credencial.isActivo(), guardado.isActivo());
         assertEquals(credencial.getRol().getId(), guardado.getRol().getId());
         assertEquals(credencial.getRol().getNombre(), guardado.getRol().getNombre());
-        verify(credencialRepository, times(1)).save(credencial);
+        verify(credencialRepository, times(1)).saveAndFlush(credencial);
     }
 
     /**
@@ -131,7 +161,7 @@ public class CredencialServiceTest {
         Credencial credencialExistente = new Credencial(id, faker.internet().emailAddress(), "oldPassword", 0, true, new Rol(1, "Usuario"));
         Credencial credencialActualizada = new Credencial(id, faker.job().position(), "newPassword", 0, true, new Rol(2, "Administrador"));
         when(credencialRepository.findById(id)).thenReturn(Optional.of(credencialExistente));
-        when(credencialRepository.save(credencialExistente)).thenReturn(credencialActualizada);
+        when(credencialRepository.saveAndFlush(credencialExistente)).thenReturn(credencialActualizada);
 
         // Act
         Credencial actualizada = credencialService.update(credencialActualizada, id);
@@ -144,7 +174,28 @@ public class CredencialServiceTest {
         assertEquals(credencialActualizada.isActivo(), actualizada.isActivo());
         assertEquals(credencialActualizada.getRol().getId(), actualizada.getRol().getId());
         assertEquals(credencialActualizada.getRol().getNombre(), actualizada.getRol().getNombre());
-        verify(credencialRepository, times(1)).save(credencialExistente);
+        verify(credencialRepository, times(1)).saveAndFlush(credencialExistente);
+    }
+
+    /**
+     * Prueba que verifica que desactivar una credencial activa publica el evento para otros módulos,
+     * y que actualizarla sin cambiar su estado no lo publica.
+     */
+    @Test
+    public void updateTest_DesactivacionPublicada() {
+        // Arrange
+        Credencial credencialExistente = new Credencial(id, "activa@ejemplo.com", "clave", 0, true, new Rol(2, "Usuario"));
+        when(credencialRepository.findById(id)).thenReturn(Optional.of(credencialExistente));
+        when(credencialRepository.saveAndFlush(credencialExistente)).thenReturn(credencialExistente);
+
+        // Act
+        credencialService.update(new Credencial(id, null, null, 0, true, null), id);
+        credencialService.update(new Credencial(id, null, null, 0, false, null), id);
+
+        // Assert
+        verify(bandejaSalida, times(1)).agregar(MensajeSalida.Tipo.CREDENCIAL_DESACTIVADA, id,
+                Map.of("correo", "activa@ejemplo.com", "rolId", 2, "activo", false));
+        verifyNoMoreInteractions(bandejaSalida);
     }
 
     /**
@@ -204,7 +255,7 @@ public class CredencialServiceTest {
         Rol rol = new Rol(1, faker.job().position());
         Credencial credencial = new Credencial(1, faker.internet().emailAddress(), faker.internet().password(), 0, true, null);
 
-        when(credencialRepository.findById(1)).thenReturn(Optional.of(credencial));
+        when(credencialRepository.findById(id)).thenReturn(Optional.of(credencial));
         when(rolRepository.findById(1)).thenReturn(Optional.of(rol));
 
         // Act
@@ -227,7 +278,7 @@ public class CredencialServiceTest {
         when(credencialRepository.findById(id)).thenReturn(Optional.empty());
 
         // Assert
-        assertThrows(NoSuchElementException.class, () ->  credencialService.findByID(id));
+        assertThrows(RecursoNoEncontradoException.class, () ->  credencialService.findByID(id));
     }
 
     /**
@@ -241,10 +292,15 @@ public class CredencialServiceTest {
         Credencial credencialT = new Credencial(1, correoDuplicado, faker.internet().password(), 0, true, new Rol(1, faker.job().position()));
 
         when(rolService.save(credencialT.getRol())).thenReturn(credencialT.getRol());
-        when(credencialRepository.save(credencialT)).thenThrow(new DataIntegrityViolationException(""));
+        when(credencialRepository.saveAndFlush(credencialT)).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry '" + correoDuplicado + "' for key 'credencial.uk_credencial_correo'"));
+
+        // Act
+        ConflictoException exception = assertThrows(ConflictoException.class, () -> credencialService.save(credencialT));
 
         // Assert
-        assertThrows(RuntimeException.class, () -> credencialService.save(credencialT));
+        assertEquals("correo", exception.getCampo());
+        verify(credencialRepository, never()).existsByCorreo(any());
     }
 
 
@@ -258,7 +314,7 @@ public class CredencialServiceTest {
         when(credencialRepository.findById(id)).thenReturn(Optional.empty());
 
         // Assert
-        assertThrows(NoSuchElementException.class, () -> credencialService.update(new Credencial(), id));
+        assertThrows(RecursoNoEncontradoException.class, () -> credencialService.update(new Credencial(), id));
     }
 
     /**
@@ -271,7 +327,7 @@ public class CredencialServiceTest {
         when(credencialRepository.existsById(id)).thenReturn(false);
 
         // Assert
-        assertThrows(NoSuchElementException.class, () -> credencialService.delete(id));
+        assertThrows(RecursoNoEncontradoException.class, () -> credencialService.delete(id));
     }
 
     /**
@@ -282,7 +338,7 @@ public class CredencialServiceTest {
     public void validarCredencialContraseniaNula() {
         Credencial credencialV = new Credencial();
         credencialV.setContrasenia(null);
-        assertThrows(IllegalArgumentException.class, () -> credencialService.validarCredencial(credencialV));
+        assertThrows(ValidacionException.class, () -> credencialService.validarCredencial(credencialV));
     }
 
     /**
@@ -304,7 +360,7 @@ public class CredencialServiceTest {
     public void validarCredencialCorreoNulo() {
         Credencial credencialV = new Credencial();
         credencialV.setCorreo(null);
-        assertThrows(IllegalArgumentException.class, () -> credencialService.validarCredencial(credencialV));
+        assertThrows(ValidacionException.class, () -> credencialService.validarCredencial(credencialV));
     }
 
     /**
@@ -326,7 +382,7 @@ public class CredencialServiceTest {
     public void validarCredencialIntentosFallidosNegativos() {
         Credencial credencialV = new Credencial();
         credencialV.setIntentosFallidos(-1);
-        assertThrows(IllegalArgumentException.class, () -> credencialService.validarCredencial(credencialV));
+        assertThrows(ValidacionException.class, () -> credencialService.validarCredencial(credencialV));
     }
 
     /**
@@ -345,6 +401,28 @@ public class CredencialServiceTest {
 
         assertFalse(resultado);
         assertEquals(1, credencialV.getIntentosFallidos());
+        verify(credencialRepository, times(1)).incrementarIntentos(credencialV.getId());
+        verify(credencialRepository, never()).save(any());
+    }
+
+    /**
+     * Prueba que verifica la verificación de una credencial desactivada con la contraseña correcta.
+     * Asegura que se rechaza sin contar un nuevo intento fallido.
+     */
+    @Test
+    public void verificarCredencialesDesactivada() {
+        Credencial credencialV = new Credencial();
+        credencialV.setContrasenia("ContraseniaValida");
+        credencialV.setIntentosFallidos(5);
+        credencialV.setActivo(false);
+
+        when(credencialRepository.findByCorreo("correo@ejemplo.com")).thenReturn(credencialV);
+
+        boolean resultado = credencialService.verificarCredenciales("correo@ejemplo.com", "ContraseniaValida");
+
+        assertFalse(resultado);
+        assertEquals(5, credencialV.getIntentosFallidos());
+        verify(credencialRepository, never()).save(any());
     }
 
     /**
@@ -360,6 +438,43 @@ public class CredencialServiceTest {
         assertFalse(resultado);
     }
 
+    /**
+     * Prueba que verifica que un correo desconocido se rechaza sin volver a consultar el repositorio.
+     */
+    @Test
+    public void autenticarCorreoDesconocidoEnCache() {
+        // Arrange
+        when(credencialRepository.findByCorreo("desconocido@ejemplo.com")).thenReturn(null);
+        credencialService.autenticar("desconocido@ejemplo.com", "Contrasenia");
+
+        // Act
+        Credencial resultado = credencialService.autenticar("DESCONOCIDO@ejemplo.com", "Contrasenia");
+
+        // Assert
+        assertNull(resultado);
+        verify(credencialRepository, times(1)).findByCorreo(anyString());
+    }
+
+    /**
+     * Prueba que verifica que guardar una credencial olvida su correo de la caché de desconocidos.
+     */
+    @Test
+    public void saveInvalidaCorreoDesconocido() {
+        // Arrange
+        when(credencialRepository.findByCorreo(credencial.getCorreo())).thenReturn(null);
+        credencialService.autenticar(credencial.getCorreo(), credencial.getContrasenia());
+        when(rolService.save(credencial.getRol())).thenReturn(credencial.getRol());
+        when(credencialRepository.saveAndFlush(credencial)).thenReturn(credencial);
+        when(credencialRepository.findByCorreo(credencial.getCorreo())).thenReturn(credencial);
+
+        // Act
+        credencialService.save(credencial);
+        Credencial resultado = credencialService.autenticar(credencial.getCorreo(), credencial.getContrasenia());
+
+        // Assert
+        assertNotNull(resultado);
+    }
+
     /**
      * Prueba que verifica el manejo de un rol no encontrado al asignar un rol.
      * Asegura que se lanza la excepción correspondiente.
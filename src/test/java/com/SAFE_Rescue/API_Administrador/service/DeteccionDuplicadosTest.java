@@ -0,0 +1,143 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.PosibleDuplicado;
+import com.SAFE_Rescue.API_Administrador.modelo.ReporteDuplicados;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para DeteccionDuplicados.
+ * Verifica el análisis completo sobre el padrón y el aviso para un bombero recién creado, tanto con los
+ * bomberos agregados después del último padrón como con los incluidos en él.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class DeteccionDuplicadosTest {
+
+    private static final int RUN_BASE = 70_000_000;
+
+    @Autowired
+    private DeteccionDuplicados deteccionDuplicados;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    private BomberosDePrueba bomberos;
+
+    @BeforeEach
+    public void setUp() {
+        bomberos = new BomberosDePrueba(contexto, "duplicados", RUN_BASE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bomberos.limpiar();
+        deteccionDuplicados.reconstruir();
+    }
+
+    /**
+     * Prueba que el análisis encuentra a un bombero registrado dos veces con errores en un apellido y en
+     * el RUN, y no a otro que solo comparte los apellidos.
+     */
+    @Test
+    public void analizarTest_ErroresDeDigitacion() {
+        // Arrange
+        Bombero original = bomberos.crear(12, "Juan", "González", "Muñoz");
+        Bombero repetido = bomberos.crear(21, "Juan", "Gonzales", "Muñoz");
+        Bombero distinto = bomberos.crear(35, "Pedro", "González", "Muñoz");
+        deteccionDuplicados.reconstruir();
+
+        // Act
+        ReporteDuplicados reporte = deteccionDuplicados.analizar(null, DeteccionDuplicados.MAXIMO_LIMITE);
+
+        // Assert
+        List<PosibleDuplicado> pares = reporte.getDuplicados().stream()
+                .filter(par -> par.getRun() >= RUN_BASE && par.getRun() < RUN_BASE + 1_000_000)
+                .toList();
+        assertEquals(1, pares.size());
+        PosibleDuplicado par = pares.get(0);
+        assertEquals(List.of(original.getId(), repetido.getId()).stream().sorted().toList(),
+                List.of(par.getBomberoId(), par.getDuplicadoId()).stream().sorted().toList());
+        assertTrue(par.isRunCercano());
+        assertTrue(par.getNombre().startsWith("Juan Gonz"));
+        assertTrue(par.getPuntaje() >= 0.8);
+        assertNotEquals(distinto.getId(), par.getBomberoId());
+        assertTrue(reporte.getBomberos() >= 3);
+        assertTrue(reporte.getComparaciones() > 0);
+        assertTrue(reporte.getAntiguedadPadronMs() >= 0);
+    }
+
+    /**
+     * Prueba que con un límite menor que los pares encontrados se devuelven los de mayor puntaje, los
+     * mismos que encabezan el análisis sin límite, y que el total informado los cuenta a todos.
+     */
+    @Test
+    public void analizarTest_LimiteConservaLosMejores() {
+        // Arrange
+        bomberos.crear(50, "Ximena", "Vásquez", "Pérez");
+        bomberos.crear(51, "Ximena", "Vasquez", "Pérez");
+        bomberos.crear(60, "Francisco", "Rodríguez", "Soto");
+        bomberos.crear(65, "Francisca", "Rodrigues", "Soto");
+        bomberos.crear(70, "Tomás", "Fuentes", "Rojas");
+        bomberos.crear(90, "Tomas", "Fuentes", "Rojas");
+        deteccionDuplicados.reconstruir();
+
+        // Act
+        ReporteDuplicados todos = deteccionDuplicados.analizar(0.5, DeteccionDuplicados.MAXIMO_LIMITE);
+        ReporteDuplicados mejores = deteccionDuplicados.analizar(0.5, 2);
+
+        // Assert
+        assertTrue(todos.getEncontrados() >= 3);
+        assertEquals(todos.getEncontrados(), mejores.getEncontrados());
+        assertEquals(2, mejores.getDuplicados().size());
+        assertEquals(todos.getDuplicados().subList(0, 2).stream().map(PosibleDuplicado::getPuntaje).toList(),
+                mejores.getDuplicados().stream().map(PosibleDuplicado::getPuntaje).toList());
+    }
+
+    /**
+     * Prueba que el umbral y el límite fuera de rango se rechazan.
+     */
+    @Test
+    public void analizarTest_ParametrosInvalidos() {
+        // Act & Assert
+        assertEquals("umbral", assertThrows(ValidacionException.class, () -> deteccionDuplicados.analizar(0.0, 10)).getCampo());
+        assertEquals("umbral", assertThrows(ValidacionException.class, () -> deteccionDuplicados.analizar(1.5, 10)).getCampo());
+        assertEquals("limite", assertThrows(ValidacionException.class, () -> deteccionDuplicados.analizar(null, 0)).getCampo());
+    }
+
+    /**
+     * Prueba que un bombero recién creado se compara con los creados después del último padrón y, tras
+     * reconstruirlo, con los del padrón, sin aparecer como duplicado de sí mismo.
+     */
+    @Test
+    public void buscarSimilaresTest_RecienCreado() {
+        // Arrange
+        deteccionDuplicados.reconstruir();
+        Bombero original = bomberos.crear(40, "Ximena", "Vásquez", "Pérez");
+        Bombero repetido = bomberos.crear(41, "Jimena", "Vasques", "Perez");
+
+        // Act
+        List<PosibleDuplicado> recientes = deteccionDuplicados.buscarSimilares(repetido);
+        deteccionDuplicados.reconstruir();
+        List<PosibleDuplicado> enPadron = deteccionDuplicados.buscarSimilares(repetido);
+
+        // Assert
+        for (List<PosibleDuplicado> similares : List.of(recientes, enPadron)) {
+            assertEquals(1, similares.size());
+            assertEquals(repetido.getId(), similares.get(0).getBomberoId());
+            assertEquals(original.getId(), similares.get(0).getDuplicadoId());
+            assertEquals("Ximena Vásquez Pérez", similares.get(0).getNombreDuplicado());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Medición de EstadoCredenciales: tiempo y memoria asignada por consulta de introspección.
+ * Corre solo con mvn test -Prendimiento. Usa 1 millón de credenciales; con -Dcredenciales.cantidad=N se
+ * mide otra cantidad.
+ */
+@Tag("rendimiento")
+public class EstadoCredencialesRendimientoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadoCredencialesRendimientoTest.class);
+
+    /**
+     * Mide el tiempo por consulta y los bytes asignados por el hilo durante las consultas, con la mitad
+     * de las credenciales activas. La cantidad de credenciales se indica con la propiedad de sistema
+     * credenciales.cantidad.
+     */
+    @Test
+    public void rendimientoTest_Consulta() {
+        // Arrange
+        int cantidad = Integer.getInteger("credenciales.cantidad", 1_000_000);
+        List<Integer> activas = new ArrayList<>(cantidad / 2);
+        for (int id = 0; id < cantidad; id += 2) {
+            activas.add(id);
+        }
+        CredencialRepository credencialRepository = mock(CredencialRepository.class);
+        when(credencialRepository.findIdsActivos()).thenReturn(activas);
+        EstadoCredenciales estado = new EstadoCredenciales();
+        ReflectionTestUtils.setField(estado, "credencialRepository", credencialRepository);
+        estado.reconciliar();
+        int[] consultas = new Random(3).ints(10_000_000, 0, cantidad).toArray();
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // Act
+        int encontradas = 0;
+        long nanos = 0;
+        long bytes = 0;
+        for (int ronda = 0; ronda < 3; ronda++) {
+            encontradas = 0;
+            long asignadosAntes = hilos.getCurrentThreadAllocatedBytes();
+            long inicio = System.nanoTime();
+            for (int id : consultas) {
+                if (estado.estaActiva(id)) {
+                    encontradas++;
+                }
+            }
+            nanos = System.nanoTime() - inicio;
+            bytes = hilos.getCurrentThreadAllocatedBytes() - asignadosAntes;
+        }
+
+        // Assert
+        assertEquals(cantidad / 2, estado.getActivas());
+        assertTrue(encontradas > 0);
+        log.info("Introspección con {} credenciales: {} ns por consulta, {} bytes asignados en {} consultas, mapa de bits de {} KB",
+                cantidad, String.format("%.1f", (double) nanos / consultas.length), bytes, consultas.length, (cantidad / 8) / 1024);
+    }
+}
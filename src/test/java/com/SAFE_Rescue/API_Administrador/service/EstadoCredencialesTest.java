@@ -0,0 +1,102 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.evento.CredencialModificada;
+import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para EstadoCredenciales.
+ * Verifica la reconciliación con el repositorio y la actualización por eventos; el tiempo y la memoria
+ * por consulta se miden en EstadoCredencialesRendimientoTest.
+ */
+public class EstadoCredencialesTest {
+
+    private EstadoCredenciales estado;
+    private CredencialRepository credencialRepository;
+
+    @BeforeEach
+    public void setUp() {
+        credencialRepository = mock(CredencialRepository.class);
+        estado = new EstadoCredenciales();
+        ReflectionTestUtils.setField(estado, "credencialRepository", credencialRepository);
+    }
+
+    /**
+     * Prueba que la reconciliación carga las credenciales activas del repositorio.
+     */
+    @Test
+    public void reconciliarTest() {
+        // Arrange
+        when(credencialRepository.findIdsActivos()).thenReturn(List.of(1, 63, 64, 200));
+
+        // Act
+        estado.reconciliar();
+
+        // Assert
+        assertTrue(estado.estaActiva(1));
+        assertTrue(estado.estaActiva(63));
+        assertTrue(estado.estaActiva(64));
+        assertTrue(estado.estaActiva(200));
+        assertFalse(estado.estaActiva(2));
+        assertFalse(estado.estaActiva(5000));
+        assertFalse(estado.estaActiva(-1));
+        assertEquals(4, estado.getActivas());
+    }
+
+    /**
+     * Prueba que los eventos de modificación activan, desactivan y eliminan credenciales.
+     */
+    @Test
+    public void alModificarCredencialTest() {
+        // Arrange
+        when(credencialRepository.findIdsActivos()).thenReturn(List.of(1, 2));
+        estado.reconciliar();
+
+        // Act
+        estado.alModificarCredencial(new CredencialModificada(1, null, false, false));
+        estado.alModificarCredencial(new CredencialModificada(2, null, false, true));
+        estado.alModificarCredencial(new CredencialModificada(1000, null, true, false));
+
+        // Assert
+        assertFalse(estado.estaActiva(1));
+        assertFalse(estado.estaActiva(2));
+        assertTrue(estado.estaActiva(1000));
+        assertEquals(1, estado.getActivas());
+    }
+
+    /**
+     * Prueba que un cambio confirmado mientras la reconciliación lee la base de datos no se pierde
+     * al reemplazar el conjunto, aunque la lectura no lo incluya.
+     */
+    @Test
+    public void reconciliarTest_CambioDuranteLaLectura() {
+        // Arrange
+        when(credencialRepository.findIdsActivos()).thenReturn(List.of(1, 2));
+        estado.reconciliar();
+        when(credencialRepository.findIdsActivos()).thenAnswer(invocacion -> {
+            estado.alModificarCredencial(new CredencialModificada(1, null, false, false));
+            estado.alModificarCredencial(new CredencialModificada(3, null, true, false));
+            return List.of(1, 2);
+        });
+
+        // Act
+        estado.reconciliar();
+
+        // Assert
+        assertFalse(estado.estaActiva(1));
+        assertTrue(estado.estaActiva(2));
+        assertTrue(estado.estaActiva(3));
+        estado.alModificarCredencial(new CredencialModificada(2, null, false, false));
+        when(credencialRepository.findIdsActivos()).thenReturn(List.of(1, 2));
+        estado.reconciliar();
+        assertTrue(estado.estaActiva(1));
+        assertFalse(estado.estaActiva(3));
+    }
+}
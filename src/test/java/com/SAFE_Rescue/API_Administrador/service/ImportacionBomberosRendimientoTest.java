@@ -0,0 +1,94 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
+import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
+import com.SAFE_Rescue.API_Administrador.repository.TrabajoRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Medición de la importación masiva de bomberos con el tamaño de lote y los lotes en vuelo por defecto.
+ * Corre solo con mvn test -Prendimiento. Usa 2000 filas; con -Dimportacion.filas=100000 se mide el caso
+ * de 100 mil filas.
+ */
+@SpringBootTest(properties = "app.importacion.directorio=target/importaciones")
+@ActiveProfiles("test")
+@Tag("rendimiento")
+public class ImportacionBomberosRendimientoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionBomberosRendimientoTest.class);
+
+    private static final String ENCABEZADO = "run,dv,nombre,aPaterno,aMaterno,telefono,correo,contrasenia,rolId\n";
+    private static final int RUN_BASE = 41_000_000;
+    private static final int TELEFONO_BASE = 610_000_000;
+
+    @Autowired
+    private ImportacionBomberos importacionBomberos;
+
+    @Autowired
+    private TrabajoService trabajoService;
+
+    @Autowired
+    private TrabajoRepository trabajoRepository;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mide el tiempo de la importación de un archivo generado, desde que el trabajo empieza hasta que termina.
+     * La cantidad de filas se indica con la propiedad de sistema importacion.filas.
+     */
+    @Test
+    public void importarTest_Rendimiento() throws Exception {
+        // Arrange
+        int cantidad = Integer.getInteger("importacion.filas", 2000);
+        Rol rol = rolRepository.save(new Rol(0, "Rol rendimiento importación"));
+        StringBuilder archivo = new StringBuilder(ENCABEZADO);
+        for (int i = 1; i <= cantidad; i++) {
+            archivo.append(RUN_BASE + i).append(",1,Nombre").append(i).append(",Paterno,Materno,").append(TELEFONO_BASE + i)
+                    .append(",rendimiento").append(i).append("@ejemplo.com,clave").append(i).append(',').append(rol.getId()).append('\n');
+        }
+        Trabajo trabajo = null;
+
+        try {
+            // Act
+            trabajo = trabajoService.enviar(ImportacionBomberos.TIPO, importacionBomberos.preparar(
+                    new ByteArrayInputStream(archivo.toString().getBytes(StandardCharsets.UTF_8))));
+            long limite = System.currentTimeMillis() + 600_000;
+            while (trabajo.getEstado().isActivo() && System.currentTimeMillis() < limite) {
+                Thread.sleep(20);
+                trabajo = trabajoService.findById(trabajo.getId());
+            }
+
+            // Assert
+            long milisegundos = trabajo.getFinalizado().getTime() - trabajo.getIniciado().getTime();
+            assertEquals(cantidad, trabajo.getProcesados());
+            log.info("Importación de {} bomberos: {} ms ({} filas/s)", cantidad, milisegundos,
+                    String.format("%.0f", cantidad * 1000.0 / Math.max(1, milisegundos)));
+        } finally {
+            jdbcTemplate.update("delete from bombero where run >= ? and run < ?", RUN_BASE, RUN_BASE + 1_000_000);
+            jdbcTemplate.update("delete from credencial where correo like 'rendimiento%@ejemplo.com'");
+            rolRepository.delete(rol);
+            if (trabajo != null) {
+                jdbcTemplate.update("delete from resultado_importacion where importacion = ?",
+                        importacionBomberos.buscarImportacion(trabajo.getId()));
+                trabajoRepository.deleteById(trabajo.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.AvanceTrabajo;
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
+import com.SAFE_Rescue.API_Administrador.repository.BomberoRepository;
+import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
+import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
+import com.SAFE_Rescue.API_Administrador.repository.TrabajoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para ImportacionBomberos.
+ * Importa archivos como trabajos asíncronos con lotes pequeños y rondas de dos lotes, para ejercitar
+ * varios lotes en vuelo y la reanudación desde el punto de control entre rondas.
+ * La medición de rendimiento está en ImportacionBomberosRendimientoTest.
+ */
+@SpringBootTest(properties = {"app.importacion.tamano-lote=4", "app.importacion.lotes-en-vuelo=2",
+        "app.importacion.directorio=target/importaciones"})
+@ActiveProfiles("test")
+public class ImportacionBomberosTest {
+
+    private static final String ENCABEZADO = "run,dv,nombre,aPaterno,aMaterno,telefono,correo,contrasenia,rolId\n";
+    private static final int RUN_BASE = 40_000_000;
+    private static final int TELEFONO_BASE = 600_000_000;
+
+    @Autowired
+    private ImportacionBomberos importacionBomberos;
+
+    @Autowired
+    private BomberoRepository bomberoRepository;
+
+    @Autowired
+    private CredencialRepository credencialRepository;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TrabajoService trabajoService;
+
+    @Autowired
+    private TrabajoRepository trabajoRepository;
+
+    private final List<Integer> trabajos = new ArrayList<>();
+    private final List<String> importaciones = new ArrayList<>();
+    private Rol rol;
+
+    @BeforeEach
+    public void setUp() {
+        rol = rolRepository.save(new Rol(0, "Rol importación"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from bombero where run >= ? and run < ?", RUN_BASE, RUN_BASE + 1_000_000);
+        jdbcTemplate.update("delete from credencial where correo like 'importacion%@ejemplo.com'");
+        rolRepository.delete(rol);
+        for (Integer trabajo : trabajos) {
+            importaciones.add(importacionBomberos.buscarImportacion(trabajo));
+        }
+        for (String importacion : importaciones) {
+            jdbcTemplate.update("delete from resultado_importacion where importacion = ?", importacion);
+        }
+        trabajoRepository.deleteAllById(trabajos);
+    }
+
+    /**
+     * Prueba que las filas válidas se crean y las inválidas se informan con su campo, sin detener la importación.
+     */
+    @Test
+    public void importarTest_FilasValidasEInvalidas() throws Exception {
+        // Arrange
+        bomberoRepository.save(new Bombero(0, RUN_BASE + 99, "1", "Existente", "Uno", "Dos", new Date(), TELEFONO_BASE + 99, null));
+        String archivo = ENCABEZADO
+                + fila(1, "1")
+                + fila(2, "KK")
+                + fila(3, "3")
+                + (RUN_BASE + 1) + ",1,Repetido,Apellido,Apellido," + (TELEFONO_BASE + 50) + ",importacion50@ejemplo.com,clave," + rol.getId() + "\n"
+                + fila(99, "9")
+                + "abc,1,Nombre,Apellido,Apellido,1,importacion70@ejemplo.com,clave," + rol.getId() + "\n"
+                + fila(4, "4") + "\n"
+                + (RUN_BASE + 5) + ",5,Juan,Pérez,Soto," + (TELEFONO_BASE + 5) + ",importacion5@ejemplo.com,clave,999999\n";
+
+        // Act
+        Trabajo trabajo = importar(archivo);
+
+        // Assert
+        List<String> lineas = reporte(trabajo).lines().toList();
+        assertEquals(Trabajo.Estado.COMPLETADO, trabajo.getEstado());
+        assertEquals(10, trabajo.getPuntoControl());
+        assertEquals(ImportacionBomberos.ENCABEZADO_REPORTE, lineas.get(0));
+        assertTrue(lineas.get(1).startsWith("2,CREADO,"));
+        assertEquals("3,ERROR,,dv,El valor DV excede máximo de caracteres (1)", lineas.get(2));
+        assertTrue(lineas.get(3).startsWith("4,CREADO,"));
+        assertEquals("5,ERROR,,run,El RUN está repetido en el archivo", lineas.get(4));
+        assertEquals("6,ERROR,,run,El RUN ya existe", lineas.get(5));
+        assertEquals("7,ERROR,,run,El RUN debe ser un número", lineas.get(6));
+        assertTrue(lineas.get(7).startsWith("8,CREADO,"));
+        assertEquals("10,ERROR,,rolId,El rol no existe", lineas.get(8));
+        assertEquals(9, lineas.size());
+        assertEquals(3, trabajo.getProcesados());
+        assertEquals(5, trabajo.getErrores());
+
+        Bombero creado = bomberoRepository.findByRun(RUN_BASE + 3).orElseThrow();
+        assertEquals(Integer.parseInt(lineas.get(3).split(",")[2]), creado.getId());
+        assertEquals("importacion3@ejemplo.com", creado.getCredencial().getCorreo());
+        assertEquals(rol.getId(), creado.getCredencial().getRol().getId());
+        assertNotNull(credencialRepository.findByCorreo("importacion1@ejemplo.com"));
+    }
+
+    /**
+     * Prueba que un RUN repetido en otro lote del archivo hace que ese lote se guarde fila a fila
+     * y solo se rechace la fila repetida.
+     */
+    @Test
+    public void importarTest_RepetidoEntreLotes() throws Exception {
+        // Arrange
+        String archivo = ENCABEZADO
+                + fila(1, "1") + fila(2, "2") + fila(3, "3") + fila(4, "4")
+                + fila(5, "5") + (RUN_BASE + 2) + ",2,Otro,Apellido,Apellido," + (TELEFONO_BASE + 60) + ",importacion60@ejemplo.com,clave," + rol.getId() + "\n"
+                + fila(7, "7") + fila(8, "8");
+
+        // Act
+        Trabajo trabajo = importar(archivo);
+
+        // Assert
+        List<String> lineas = reporte(trabajo).lines().toList();
+        assertEquals("7,ERROR,,run,El RUN ya existe", lineas.get(6));
+        assertEquals(7, trabajo.getProcesados());
+        assertEquals(1, trabajo.getErrores());
+        assertTrue(bomberoRepository.findByRun(RUN_BASE + 8).isPresent());
+        assertNull(credencialRepository.findByCorreo("importacion60@ejemplo.com"));
+    }
+
+    /**
+     * Prueba que un archivo sin las columnas requeridas se rechaza al recibirlo, sin conservarlo.
+     */
+    @Test
+    public void prepararTest_FaltanColumnas() throws Exception {
+        // Arrange
+        long archivos = archivosGuardados();
+
+        // Act & Assert
+        ValidacionException e = assertThrows(ValidacionException.class,
+                () -> importacionBomberos.preparar(entrada("run,dv,nombre\n1,1,Juan\n")));
+        assertEquals("archivo", e.getCampo());
+        assertTrue(e.getMessage().contains("aPaterno"));
+        assertTrue(e.getMessage().contains("rolId"));
+        assertEquals(archivos, archivosGuardados());
+    }
+
+    /**
+     * Prueba que un trabajo de importación enviado directamente no puede apuntar a un archivo arbitrario.
+     */
+    @Test
+    public void validarTest_ArchivoArbitrario() {
+        // Act & Assert
+        assertEquals("archivo", assertThrows(ValidacionException.class,
+                () -> trabajoService.enviar(ImportacionBomberos.TIPO, Map.of("archivo", "../application.properties"))).getCampo());
+    }
+
+    /**
+     * Prueba que una ronda repetida porque el trabajo no alcanzó a registrar la anterior continúa después
+     * de las filas ya confirmadas, sin informarlas como existentes, y que su avance las incluye.
+     */
+    @Test
+    public void procesarLoteTest_RondaRepetida() throws Exception {
+        // Arrange
+        StringBuilder archivo = new StringBuilder(ENCABEZADO);
+        for (int i = 1; i <= 10; i++) {
+            archivo.append(fila(i, "1"));
+        }
+        Map<String, String> parametros = importacionBomberos.preparar(entrada(archivo.toString()));
+        importaciones.add(parametros.get("archivo"));
+
+        // Act
+        AvanceTrabajo primera = importacionBomberos.procesarLote(parametros, 0, 500);
+        AvanceTrabajo repetida = importacionBomberos.procesarLote(parametros, 0, 500);
+
+        // Assert
+        assertEquals(new AvanceTrabajo(9, 8, 0, false), primera);
+        assertEquals(new AvanceTrabajo(11, 10, 0, true), repetida);
+        StringWriter reporte = new StringWriter();
+        importacionBomberos.escribirReporte(parametros.get("archivo"), reporte);
+        List<String> lineas = reporte.toString().lines().toList();
+        assertEquals(11, lineas.size());
+        assertTrue(lineas.stream().skip(1).allMatch(linea -> linea.contains(",CREADO,")));
+    }
+
+    /**
+     * Prueba que un archivo que no está en UTF-8 se rechaza al recibirlo, sin conservarlo.
+     */
+    @Test
+    public void prepararTest_NoEsUtf8() throws Exception {
+        // Arrange
+        long archivos = archivosGuardados();
+        byte[] latin1 = (ENCABEZADO + fila(1, "1").replace("Paterno", "Muñoz")).getBytes(StandardCharsets.ISO_8859_1);
+
+        // Act & Assert
+        ValidacionException e = assertThrows(ValidacionException.class,
+                () -> importacionBomberos.preparar(new ByteArrayInputStream(latin1)));
+        assertEquals("archivo", e.getCampo());
+        assertEquals(archivos, archivosGuardados());
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private Trabajo importar(String archivo) throws Exception {
+        Trabajo trabajo = trabajoService.enviar(ImportacionBomberos.TIPO, importacionBomberos.preparar(entrada(archivo)));
+        trabajos.add(trabajo.getId());
+        long limite = System.currentTimeMillis() + 120_000;
+        while (trabajo.getEstado().isActivo() && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            trabajo = trabajoService.findById(trabajo.getId());
+        }
+        return trabajo;
+    }
+
+    private String reporte(Trabajo trabajo) throws Exception {
+        StringWriter reporte = new StringWriter();
+        importacionBomberos.escribirReporte(importacionBomberos.buscarImportacion(trabajo.getId()), reporte);
+        return reporte.toString();
+    }
+
+    private long archivosGuardados() throws Exception {
+        try (Stream<Path> archivos = Files.list(Path.of("target/importaciones"))) {
+            return archivos.count();
+        }
+    }
+
+    private InputStream entrada(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String fila(int i, String dv) {
+        return (RUN_BASE + i) + "," + dv + ",Nombre" + i + ",Paterno,Materno," + (TELEFONO_BASE + i)
+                + ",importacion" + i + "@ejemplo.com,clave" + i + "," + rol.getId() + "\n";
+    }
+}
@@ -0,0 +1,87 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Medición de la memoria por entrada y del tiempo de búsqueda de IndiceEntero frente a un HashMap de Integer.
+ * Corre solo con mvn test -Prendimiento. Usa 1 millón de entradas; con -Dindice.entradas=N se mide otra
+ * cantidad.
+ */
+@Tag("rendimiento")
+public class IndiceEnteroRendimientoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceEnteroRendimientoTest.class);
+
+    /**
+     * Mide la memoria retenida por entrada del índice y de un HashMap de Integer con las mismas claves
+     * (RUN consecutivos hacia IDs), y el tiempo de un millón de búsquedas al azar en cada uno (la última de tres rondas).
+     * La cantidad de entradas se indica con la propiedad de sistema indice.entradas.
+     */
+    @Test
+    public void memoriaTest_FrenteAHashMap() {
+        // Arrange
+        int cantidad = Integer.getInteger("indice.entradas", 1_000_000);
+        int runBase = 10_000_000;
+
+        // Act
+        long antes = memoriaUsada();
+        IndiceEntero indice = new IndiceEntero(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            indice.poner(runBase + i, i + 1);
+        }
+        long bytesIndice = memoriaUsada() - antes;
+
+        antes = memoriaUsada();
+        Map<Integer, Integer> mapa = new HashMap<>(cantidad * 4 / 3 + 1);
+        for (int i = 0; i < cantidad; i++) {
+            mapa.put(runBase + i, i + 1);
+        }
+        long bytesMapa = memoriaUsada() - antes;
+
+        int[] buscadas = new Random(7).ints(1_000_000, runBase, runBase + cantidad).toArray();
+        long suma = 0;
+        long nanosIndice = 0;
+        long nanosMapa = 0;
+        for (int ronda = 0; ronda < 3; ronda++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < 1_000_000; i++) {
+                suma += indice.buscar(buscadas[i]);
+            }
+            nanosIndice = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            for (int i = 0; i < 1_000_000; i++) {
+                suma -= mapa.get(buscadas[i]);
+            }
+            nanosMapa = System.nanoTime() - inicio;
+        }
+
+        // Assert
+        assertEquals(0, suma);
+        assertEquals(cantidad, indice.getTamano());
+        assertEquals(cantidad, mapa.size());
+        log.info("Índice de {} entradas: IndiceEntero {} bytes/entrada (estimado {}), HashMap<Integer,Integer> {} bytes/entrada; "
+                        + "1M búsquedas: IndiceEntero {} ms, HashMap {} ms",
+                cantidad, String.format("%.1f", (double) bytesIndice / cantidad),
+                String.format("%.1f", (double) indice.getBytesEstimados() / cantidad),
+                String.format("%.1f", (double) bytesMapa / cantidad), nanosIndice / 1_000_000, nanosMapa / 1_000_000);
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
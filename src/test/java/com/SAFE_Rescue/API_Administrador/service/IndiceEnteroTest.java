@@ -0,0 +1,128 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para IndiceEntero.
+ * Compara el índice con un HashMap bajo inserciones, reemplazos y eliminaciones al azar y verifica las
+ * búsquedas durante escrituras concurrentes. La medición de memoria está en IndiceEnteroRendimientoTest.
+ */
+public class IndiceEnteroTest {
+
+    /**
+     * Prueba que las búsquedas, los reemplazos y la eliminación condicional se comportan como un HashMap,
+     * incluidas las claves que colisionan, el crecimiento desde la capacidad mínima y las claves negativas.
+     */
+    @Test
+    public void ponerQuitarTest_IgualAHashMap() {
+        // Arrange
+        IndiceEntero indice = new IndiceEntero(0);
+        Map<Integer, Integer> esperado = new HashMap<>();
+        Random azar = new Random(42);
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            int clave = azar.nextInt(5000) - 1000;
+            int valor = azar.nextInt(1000);
+            if (azar.nextInt(3) == 0) {
+                Integer actual = esperado.get(clave);
+                if (actual != null && azar.nextBoolean()) {
+                    valor = actual;
+                }
+                boolean coincide = actual != null && actual == valor;
+                assertEquals(coincide, indice.quitar(clave, valor));
+                if (coincide) {
+                    esperado.remove(clave);
+                }
+            } else {
+                indice.poner(clave, valor);
+                esperado.put(clave, valor);
+            }
+        }
+
+        // Assert
+        assertEquals(esperado.size(), indice.getTamano());
+        for (int clave = -1000; clave < 4000; clave++) {
+            Integer valor = esperado.get(clave);
+            assertEquals(valor != null ? valor : IndiceEntero.AUSENTE, indice.buscar(clave));
+        }
+        assertTrue(indice.getTamano() <= indice.getCapacidad() * 0.6);
+        assertEquals(1, Integer.bitCount(indice.getCapacidad()));
+    }
+
+    /**
+     * Prueba que quitar no elimina una clave asociada a otro valor y que los valores y claves fuera
+     * de rango se rechazan.
+     */
+    @Test
+    public void quitarTest_OtroValor() {
+        // Arrange
+        IndiceEntero indice = new IndiceEntero(10);
+        indice.poner(12345678, 7);
+
+        // Act & Assert
+        assertFalse(indice.quitar(12345678, 8));
+        assertEquals(7, indice.buscar(12345678));
+        assertTrue(indice.quitar(12345678, 7));
+        assertEquals(IndiceEntero.AUSENTE, indice.buscar(12345678));
+        assertThrows(IllegalArgumentException.class, () -> indice.poner(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> indice.poner(Integer.MIN_VALUE, 1));
+    }
+
+    /**
+     * Prueba que las búsquedas concurrentes con inserciones, redimensionamientos y eliminaciones siempre
+     * encuentran las claves que no cambian.
+     */
+    @Test
+    public void buscarTest_EscriturasConcurrentes() throws Exception {
+        // Arrange
+        IndiceEntero indice = new IndiceEntero(0);
+        for (int i = 0; i < 1000; i++) {
+            indice.poner(i * 2, i);
+        }
+        AtomicBoolean escribiendo = new AtomicBoolean(true);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+
+        // Act
+        Future<?> escritor = ejecutor.submit(() -> {
+            for (int ronda = 0; ronda < 20; ronda++) {
+                for (int i = 0; i < 20_000; i++) {
+                    indice.poner(i * 2 + 1, i);
+                }
+                for (int i = 0; i < 20_000; i++) {
+                    indice.quitar(i * 2 + 1, i);
+                }
+            }
+            escribiendo.set(false);
+        });
+        Future<?>[] lectores = new Future<?>[3];
+        for (int l = 0; l < lectores.length; l++) {
+            lectores[l] = ejecutor.submit(() -> {
+                while (escribiendo.get()) {
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i, indice.buscar(i * 2));
+                    }
+                }
+            });
+        }
+        escritor.get(60, TimeUnit.SECONDS);
+        for (Future<?> lector : lectores) {
+            lector.get(60, TimeUnit.SECONDS);
+        }
+        ejecutor.shutdown();
+
+        // Assert
+        assertEquals(1000, indice.getTamano());
+    }
+}
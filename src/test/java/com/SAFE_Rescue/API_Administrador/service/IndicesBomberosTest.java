@@ -0,0 +1,152 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaIndices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para IndicesBomberos.
+ * Verifica la construcción desde la tabla, la actualización después de cada commit y su uso en las
+ * búsquedas por RUN y teléfono y en la validación de valores repetidos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class IndicesBomberosTest {
+
+    @Autowired
+    private IndicesBomberos indicesBomberos;
+
+    @Autowired
+    private BomberoService bomberoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    private BomberosDePrueba bomberos;
+
+    @BeforeEach
+    public void setUp() {
+        bomberos = new BomberosDePrueba(contexto, "indices", 60_000_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bomberos.limpiar();
+        indicesBomberos.reconstruir();
+    }
+
+    /**
+     * Prueba que la reconstrucción indexa los bomberos insertados con SQL directo, sin eventos.
+     */
+    @Test
+    public void reconstruirTest_DesdeLaTabla() {
+        // Arrange
+        Bombero bombero = bomberos.crear(1);
+        jdbcTemplate.update("update bombero set run = ?, telefono = ? where id = ?", bomberos.run(2), bomberos.telefono(2), bombero.getId());
+
+        // Act
+        indicesBomberos.reconstruir();
+
+        // Assert
+        assertEquals(IndiceEntero.AUSENTE, indicesBomberos.buscarPorRun(bomberos.run(1)));
+        assertEquals(bombero.getId(), indicesBomberos.buscarPorRun(bomberos.run(2)));
+        assertEquals(bombero.getId(), indicesBomberos.buscarPorTelefono(bomberos.telefono(2)));
+        assertTrue(indicesBomberos.getEstadistica().getBomberos() >= 1);
+    }
+
+    /**
+     * Prueba que las creaciones, los cambios de RUN y teléfono y las eliminaciones se reflejan apenas se
+     * confirman, sin reconstruir, y que las búsquedas del servicio los usan.
+     */
+    @Test
+    public void parcharTest_CambiosConfirmados() {
+        // Arrange
+        indicesBomberos.reconstruir();
+        long reconstrucciones = indicesBomberos.getEstadistica().getReconstrucciones();
+
+        // Act
+        Bombero primero = bomberos.crear(1);
+        Bombero segundo = bomberos.crear(2);
+        Bombero cambio = new Bombero();
+        cambio.setRun(bomberos.run(3));
+        cambio.setTelefono(bomberos.telefono(3));
+        bomberoService.update(cambio, primero.getId());
+        bomberoService.delete(segundo.getId());
+
+        // Assert
+        assertEquals(IndiceEntero.AUSENTE, indicesBomberos.buscarPorRun(bomberos.run(1)));
+        assertEquals(primero.getId(), indicesBomberos.buscarPorRun(bomberos.run(3)));
+        assertEquals(primero.getId(), indicesBomberos.buscarPorTelefono(bomberos.telefono(3)));
+        assertEquals(IndiceEntero.AUSENTE, indicesBomberos.buscarPorRun(bomberos.run(2)));
+        assertEquals(primero.getId(), bomberoService.findByRun(bomberos.run(3)).getId());
+        assertEquals(primero.getId(), bomberoService.findByTelefono(bomberos.telefono(3)).getId());
+        assertThrows(RecursoNoEncontradoException.class, () -> bomberoService.findByTelefono(bomberos.telefono(2)));
+
+        EstadisticaIndices estadistica = indicesBomberos.getEstadistica();
+        assertEquals(reconstrucciones, estadistica.getReconstrucciones());
+        assertTrue(estadistica.getParches() >= 4);
+    }
+
+    /**
+     * Prueba que un RUN o teléfono que el índice asigna a otro bombero se rechaza en la validación, y que
+     * una entrada desactualizada (bombero borrado con SQL directo) no produce un conflicto falso.
+     */
+    @Test
+    public void validarBomberoTest_ValoresRepetidos() {
+        // Arrange
+        indicesBomberos.reconstruir();
+        Bombero existente = bomberos.crear(1);
+        Bombero borrado = bomberos.crear(2);
+        jdbcTemplate.update("delete from bombero where id = ?", borrado.getId());
+        Bombero mismoRun = bomberos.bombero(1);
+        mismoRun.setTelefono(bomberos.telefono(9));
+        Bombero mismoTelefono = bomberos.bombero(9);
+        mismoTelefono.setTelefono(existente.getTelefono());
+
+        // Act
+        ConflictoException run = assertThrows(ConflictoException.class, () -> bomberoService.validarBombero(mismoRun));
+        ConflictoException telefono = assertThrows(ConflictoException.class, () -> bomberoService.validarBombero(mismoTelefono));
+
+        // Assert
+        assertEquals("run", run.getCampo());
+        assertEquals("telefono", telefono.getCampo());
+        assertEquals(borrado.getId(), indicesBomberos.buscarPorRun(bomberos.run(2)));
+        assertDoesNotThrow(() -> bomberoService.validarBombero(bomberos.bombero(2)));
+    }
+
+    /**
+     * Prueba que un RUN o teléfono que todavía no está en el índice (cambiado con SQL directo, sin eventos)
+     * se busca en la base de datos antes de informar que no existe.
+     */
+    @Test
+    public void findByRunTest_AusenteEnElIndice() {
+        // Arrange
+        indicesBomberos.reconstruir();
+        Bombero bombero = bomberos.crear(1);
+        jdbcTemplate.update("update bombero set run = ?, telefono = ? where id = ?", bomberos.run(4), bomberos.telefono(4), bombero.getId());
+
+        // Act
+        Bombero porRun = bomberoService.findByRun(bomberos.run(4));
+        Bombero porTelefono = bomberoService.findByTelefono(bomberos.telefono(4));
+
+        // Assert
+        assertEquals(IndiceEntero.AUSENTE, indicesBomberos.buscarPorRun(bomberos.run(4)));
+        assertEquals(bombero.getId(), porRun.getId());
+        assertEquals(bombero.getId(), porTelefono.getId());
+        assertThrows(RecursoNoEncontradoException.class, () -> bomberoService.findByRun(bomberos.run(5)));
+    }
+}
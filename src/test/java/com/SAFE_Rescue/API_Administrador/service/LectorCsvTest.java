@@ -0,0 +1,110 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para LectorCsv.
+ * Verifica el separador, las comillas, los fines de línea, la numeración de los registros y su posición en bytes.
+ */
+public class LectorCsvTest {
+
+    /**
+     * Prueba la lectura de campos entre comillas con comas, comillas duplicadas y saltos de línea.
+     */
+    @Test
+    public void siguienteTest_Comillas() throws Exception {
+        // Arrange
+        LectorCsv lector = new LectorCsv(new StringReader("nombre,nota\n\"Pérez, Juan\",\"dijo \"\"hola\"\"\nadiós\"\nAna,\n"));
+
+        // Act
+        List<String> primero = lector.siguiente();
+        List<String> segundo = lector.siguiente();
+
+        // Assert
+        assertEquals(List.of("Pérez, Juan", "dijo \"hola\"\nadiós"), primero);
+        assertEquals(List.of("Ana", ""), segundo);
+        assertNull(lector.siguiente());
+    }
+
+    /**
+     * Prueba que se detecta el punto y coma como separador y se descarta la marca BOM.
+     */
+    @Test
+    public void constructorTest_PuntoYComaConBom() throws Exception {
+        // Arrange
+        LectorCsv lector = new LectorCsv(new StringReader("\uFEFFRun;DV\r\n12345678;5\r\n"));
+
+        // Act
+        List<String> registro = lector.siguiente();
+
+        // Assert
+        assertEquals(List.of("Run", "DV"), lector.getEncabezado());
+        assertEquals(0, lector.indice("run"));
+        assertEquals(1, lector.indice("dv"));
+        assertEquals(-1, lector.indice("telefono"));
+        assertEquals(List.of("12345678", "5"), registro);
+    }
+
+    /**
+     * Prueba que las líneas vacías se omiten pero cuentan para el número de registro.
+     */
+    @Test
+    public void getRegistroTest_LineasVacias() throws Exception {
+        // Arrange
+        LectorCsv lector = new LectorCsv(new StringReader("run\n1\n\n\n4"));
+
+        // Act & Assert
+        assertEquals(List.of("1"), lector.siguiente());
+        assertEquals(2, lector.getRegistro());
+        assertEquals(List.of("4"), lector.siguiente());
+        assertEquals(5, lector.getRegistro());
+        assertNull(lector.siguiente());
+    }
+
+    /**
+     * Prueba que un archivo vacío no tiene encabezado ni registros.
+     */
+    @Test
+    public void constructorTest_ArchivoVacio() throws Exception {
+        // Arrange
+        LectorCsv lector = new LectorCsv(new StringReader(""));
+
+        // Act & Assert
+        assertTrue(lector.getEncabezado().isEmpty());
+        assertNull(lector.siguiente());
+    }
+
+    /**
+     * Prueba que la posición en bytes permite continuar el archivo en el registro siguiente, con la marca BOM,
+     * caracteres de varios bytes, fin de línea CR solo y líneas vacías.
+     */
+    @Test
+    public void continuarTest_DesdeLaPosicion() throws Exception {
+        // Arrange
+        String contenido = "\uFEFFnombre,nota\r\nÑuñoa,\"dijo \uD83D\uDE92\"\r\rAna,7\n\nLuis,5\n";
+        byte[] archivo = contenido.getBytes(StandardCharsets.UTF_8);
+        LectorCsv lector = new LectorCsv(new StringReader(contenido));
+        assertEquals(List.of("Ñuñoa", "dijo \uD83D\uDE92"), lector.siguiente());
+
+        // Act
+        long posicion = lector.getPosicion();
+        String resto = new String(Arrays.copyOfRange(archivo, (int) posicion, archivo.length), StandardCharsets.UTF_8);
+        LectorCsv continuacion = lector.continuar(new StringReader(resto), posicion, lector.getRegistro());
+
+        // Assert
+        assertEquals(List.of("Ana", "7"), continuacion.siguiente());
+        assertEquals(4, continuacion.getRegistro());
+        assertEquals(0, continuacion.indice("nombre"));
+        assertEquals(List.of("Luis", "5"), continuacion.siguiente());
+        assertEquals(6, continuacion.getRegistro());
+        assertEquals(archivo.length, continuacion.getPosicion());
+        assertNull(continuacion.siguiente());
+    }
+}
@@ -0,0 +1,82 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Medición de LimitadorLogin: costo de un intento permitido frente al limitador deshabilitado.
+ * Corre solo con mvn test -Prendimiento. Usa 5 millones de intentos por hilo; con -Dlimitador.intentos=N
+ * se mide otra cantidad.
+ */
+@Tag("rendimiento")
+public class LimitadorLoginRendimientoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LimitadorLoginRendimientoTest.class);
+
+    /**
+     * Mide el costo de un intento permitido (dos cubetas existentes, un CAS en cada una) en un hilo y en
+     * cuatro hilos con clientes distintos, frente al mismo recorrido con el limitador deshabilitado.
+     * La cantidad de intentos por hilo se indica con la propiedad de sistema limitador.intentos.
+     */
+    @Test
+    public void rendimientoTest_CaminoPermitido() throws Exception {
+        // Arrange
+        int intentos = Integer.getInteger("limitador.intentos", 5_000_000);
+        LimitadorLogin habilitado = new LimitadorLogin(true, Integer.MAX_VALUE / 2, 1);
+        LimitadorLogin deshabilitado = new LimitadorLogin(false, 1, 1);
+        String[] correos = new String[64];
+        for (int i = 0; i < correos.length; i++) {
+            correos[i] = "correo" + i + "@ejemplo.com";
+        }
+
+        // Act
+        double base = 0;
+        double limitado = 0;
+        for (int ronda = 0; ronda < 3; ronda++) {
+            base = nanosPorIntento(deshabilitado, 0, intentos, correos);
+            limitado = nanosPorIntento(habilitado, 0, intentos, correos);
+        }
+        ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+        Future<?>[] hilos = new Future<?>[4];
+        long inicio = System.nanoTime();
+        for (int h = 0; h < hilos.length; h++) {
+            int hilo = h + 1;
+            hilos[h] = ejecutor.submit(() -> nanosPorIntento(habilitado, hilo, intentos, correos));
+        }
+        for (Future<?> hilo : hilos) {
+            hilo.get(120, TimeUnit.SECONDS);
+        }
+        double concurrente = (double) (System.nanoTime() - inicio) / intentos;
+        ejecutor.shutdown();
+
+        // Assert
+        assertEquals(0, habilitado.getRechazos());
+        log.info("Intento de login permitido: {} ns con el limitador, {} ns deshabilitado ({} ns de sobrecosto); "
+                        + "4 hilos: {} ns por ronda de 4 intentos",
+                Math.round(limitado), Math.round(base), Math.round(limitado - base), Math.round(concurrente));
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private static double nanosPorIntento(LimitadorLogin limitador, int hilo, int intentos, String[] correos) {
+        String ip = "10.0.0." + hilo;
+        long permitidos = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < intentos; i++) {
+            if (limitador.intentar(ip, correos[i & (correos.length - 1)]) == 0) {
+                permitidos++;
+            }
+        }
+        assertEquals(intentos, permitidos);
+        return (double) (System.nanoTime() - inicio) / intentos;
+    }
+}
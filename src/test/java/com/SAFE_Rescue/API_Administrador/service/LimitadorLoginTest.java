@@ -0,0 +1,78 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para LimitadorLogin.
+ * Verifica la capacidad de ráfaga, la separación por clave y la recarga de tokens; el costo de un intento
+ * permitido se mide en LimitadorLoginRendimientoTest.
+ */
+public class LimitadorLoginTest {
+
+    /**
+     * Prueba que se permiten tantos intentos como la capacidad y luego se rechaza.
+     */
+    @Test
+    public void intentarTest_CapacidadAgotada() {
+        // Arrange
+        LimitadorLogin limitador = new LimitadorLogin(true, 3, 60000);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limitador.intentar("10.0.0.1", "correo" + i + "@ejemplo.com"));
+        }
+        long espera = limitador.intentar("10.0.0.1", "otro@ejemplo.com");
+        assertTrue(espera > 0 && espera <= 60);
+        assertEquals(1, limitador.getRechazos());
+    }
+
+    /**
+     * Prueba que el límite por correo aplica aunque los intentos vengan de distintas IP.
+     */
+    @Test
+    public void intentarTest_LimitePorCorreo() {
+        // Arrange
+        LimitadorLogin limitador = new LimitadorLogin(true, 2, 60000);
+
+        // Act & Assert
+        assertEquals(0, limitador.intentar("10.0.0.1", "correo@ejemplo.com"));
+        assertEquals(0, limitador.intentar("10.0.0.2", "CORREO@ejemplo.com"));
+        assertTrue(limitador.intentar("10.0.0.3", "correo@ejemplo.com") > 0);
+        assertEquals(0, limitador.intentar("10.0.0.3", "otro@ejemplo.com"));
+    }
+
+    /**
+     * Prueba que los tokens se recuperan tras el intervalo y las cubetas llenas se eliminan.
+     */
+    @Test
+    public void intentarTest_Recarga() throws InterruptedException {
+        // Arrange
+        LimitadorLogin limitador = new LimitadorLogin(true, 1, 20);
+        assertEquals(0, limitador.intentar("10.0.0.1", null));
+        assertTrue(limitador.intentar("10.0.0.1", null) > 0);
+
+        // Act
+        Thread.sleep(40);
+
+        // Assert
+        limitador.eliminarInactivas();
+        assertEquals(0, limitador.getCubetasActivas());
+        assertEquals(0, limitador.intentar("10.0.0.1", null));
+    }
+
+    /**
+     * Prueba que el limitador deshabilitado permite todos los intentos.
+     */
+    @Test
+    public void intentarTest_Deshabilitado() {
+        // Arrange
+        LimitadorLogin limitador = new LimitadorLogin(false, 1, 60000);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limitador.intentar("10.0.0.1", "correo@ejemplo.com"));
+        }
+    }
+}
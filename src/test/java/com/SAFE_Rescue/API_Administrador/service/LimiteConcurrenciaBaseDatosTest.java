@@ -0,0 +1,207 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.SobrecargaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para LimiteConcurrenciaBaseDatos.
+ * Usa una base de datos H2 embebida cuya obtención de conexiones puede hacerse lenta a voluntad.
+ */
+public class LimiteConcurrenciaBaseDatosTest {
+
+    private static final long MILISEGUNDO = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private EmbeddedDatabase base;
+    private BaseLenta baseLenta;
+
+    @BeforeEach
+    public void setUp() {
+        base = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("limite")
+                .build();
+        baseLenta = new BaseLenta(base);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        base.shutdown();
+    }
+
+    /**
+     * Prueba que las operaciones que superan el límite se rechazan de inmediato.
+     */
+    @Test
+    public void rechazaSinEsperarTest() {
+        // Arrange
+        LimiteConcurrenciaBaseDatos limite = crearLimite(2, 1);
+        limite.entrar();
+        limite.entrar();
+
+        // Act & Assert
+        assertThrows(SobrecargaException.class, limite::entrar);
+        assertEquals(1, limite.getRechazadas());
+        assertEquals(2, limite.getEstadistica().getEnCurso());
+    }
+
+    /**
+     * Prueba que el límite crece mientras la latencia se mantiene estable con el límite en uso.
+     */
+    @Test
+    public void creceConLatenciaEstableTest() {
+        // Arrange
+        LimiteConcurrenciaBaseDatos limite = crearLimite(10, 2);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limite.registrar(MILISEGUNDO, limite.getLimite());
+        }
+
+        // Assert
+        assertTrue(limite.getLimite() > 10);
+    }
+
+    /**
+     * Prueba que el límite baja cuando la latencia sube respecto de la de referencia,
+     * sin quedar por debajo del mínimo.
+     */
+    @Test
+    public void reduceConLatenciaCrecienteTest() {
+        // Arrange
+        LimiteConcurrenciaBaseDatos limite = crearLimite(40, 4);
+        for (int i = 0; i < 20; i++) {
+            limite.registrar(MILISEGUNDO, limite.getLimite());
+        }
+        int antes = limite.getLimite();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limite.registrar(20 * MILISEGUNDO, limite.getLimite());
+        }
+
+        // Assert
+        assertTrue(limite.getLimite() < antes / 2);
+        assertTrue(limite.getLimite() >= 4);
+    }
+
+    /**
+     * Prueba que con poca carga la latencia no modifica el límite.
+     */
+    @Test
+    public void pocaCargaNoAjustaTest() {
+        // Arrange
+        LimiteConcurrenciaBaseDatos limite = crearLimite(20, 4);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limite.registrar((i % 2 == 0 ? 1 : 30) * MILISEGUNDO, 1);
+        }
+
+        // Assert
+        assertEquals(20, limite.getLimite());
+    }
+
+    /**
+     * Prueba que cuando la base de datos se vuelve lenta y llega más carga el límite baja y el exceso
+     * de operaciones se rechaza en lugar de quedar esperando conexiones.
+     */
+    @Test
+    public void baseDeDatosLentaTest() throws Exception {
+        // Arrange
+        LimiteConcurrenciaBaseDatos limite = crearLimite(16, 2);
+        JdbcTemplate jdbc = new JdbcTemplate(baseLenta);
+        ejecutarConcurrente(limite, jdbc, 16, 100);
+        int limiteRapido = limite.getLimite();
+
+        // Act
+        baseLenta.retrasoMs = 20;
+        int rechazadas = ejecutarConcurrente(limite, jdbc, 64, 20);
+
+        // Assert
+        assertTrue(limite.getLimite() < limiteRapido / 2, "El límite debería bajar con la base de datos lenta");
+        assertTrue(rechazadas > 0);
+        assertEquals(0, limite.getEstadistica().getEnCurso());
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private LimiteConcurrenciaBaseDatos crearLimite(int inicial, int minimo) {
+        return new LimiteConcurrenciaBaseDatos(true, inicial, minimo, 200, 1.5, 0.2, 600);
+    }
+
+    private int ejecutarConcurrente(LimiteConcurrenciaBaseDatos limite, JdbcTemplate jdbc,
+                                    int hilos, int iteraciones) throws Exception {
+        AtomicInteger rechazadas = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                tareas.add(ejecutor.submit(() -> {
+                    inicio.await();
+                    for (int i = 0; i < iteraciones; i++) {
+                        try {
+                            limite.ejecutar(() -> jdbc.queryForObject("SELECT 1", Integer.class));
+                        } catch (SobrecargaException e) {
+                            rechazadas.incrementAndGet();
+                            Thread.sleep(1);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            inicio.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        return rechazadas.get();
+    }
+
+    /**
+     * DataSource que simula una base de datos lenta retrasando la obtención de cada conexión.
+     */
+    private static final class BaseLenta extends DelegatingDataSource {
+
+        private volatile long retrasoMs;
+
+        private BaseLenta(EmbeddedDatabase base) {
+            super(base);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (retrasoMs > 0) {
+                try {
+                    Thread.sleep(retrasoMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrumpido", e);
+                }
+            }
+            return super.getConnection();
+        }
+    }
+}
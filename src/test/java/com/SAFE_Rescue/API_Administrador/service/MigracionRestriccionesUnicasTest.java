@@ -0,0 +1,88 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para MigracionRestriccionesUnicas.
+ * Usa una base de datos H2 embebida con las tablas como las dejaban @Column(unique = true) y ddl-auto=update.
+ */
+public class MigracionRestriccionesUnicasTest {
+
+    private EmbeddedDatabase base;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    public void setUp() {
+        base = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbc = new JdbcTemplate(base);
+        jdbc.execute("CREATE TABLE bombero (id INT PRIMARY KEY, run INT NOT NULL, telefono INT NOT NULL, "
+                + "CONSTRAINT UK_lhw2k8aq1dwu5yd3gxsk3lrq UNIQUE (run), "
+                + "CONSTRAINT uk_bombero_run UNIQUE (run), "
+                + "CONSTRAINT UK_9ux5f3ukbe2tqjbe6f0opq1cq UNIQUE (telefono))");
+        jdbc.execute("CREATE TABLE credencial (id INT PRIMARY KEY, correo VARCHAR(80) NOT NULL, "
+                + "CONSTRAINT uk_credencial_correo UNIQUE (correo))");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        base.shutdown();
+    }
+
+    /**
+     * Prueba que las restricciones heredadas se eliminan, que la que falta se crea y que un duplicado
+     * se informa luego con el nombre conocido.
+     */
+    @Test
+    public void migrarTest_RestriccionesHeredadas() {
+        // Act
+        new MigracionRestriccionesUnicas(jdbc).migrar();
+
+        // Assert
+        assertEquals(List.of("UK_BOMBERO_RUN"), restricciones("run"));
+        assertEquals(List.of("UK_BOMBERO_TELEFONO"), restricciones("telefono"));
+        assertEquals(List.of("UK_CREDENCIAL_CORREO"), restricciones("correo"));
+        jdbc.update("INSERT INTO bombero VALUES (1, 11111111, 911111111)");
+        DataIntegrityViolationException error = assertThrows(DataIntegrityViolationException.class,
+                () -> jdbc.update("INSERT INTO bombero VALUES (2, 22222222, 911111111)"));
+        assertTrue(RestriccionesUnicas.violaLa(RestriccionesUnicas.restriccionDe(error), RestriccionesUnicas.BOMBERO_TELEFONO));
+    }
+
+    /**
+     * Prueba que una segunda ejecución no cambia nada.
+     */
+    @Test
+    public void migrarTest_Repetida() {
+        // Arrange
+        MigracionRestriccionesUnicas migracion = new MigracionRestriccionesUnicas(jdbc);
+        migracion.migrar();
+
+        // Act
+        migracion.migrar();
+
+        // Assert
+        assertEquals(List.of("UK_BOMBERO_RUN"), restricciones("run"));
+        assertEquals(List.of("UK_BOMBERO_TELEFONO"), restricciones("telefono"));
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private List<String> restricciones(String columna) {
+        return jdbc.queryForList("SELECT tc.CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc "
+                + "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME "
+                + "WHERE tc.CONSTRAINT_TYPE = 'UNIQUE' AND LOWER(k.COLUMN_NAME) = ?", String.class, columna);
+    }
+}
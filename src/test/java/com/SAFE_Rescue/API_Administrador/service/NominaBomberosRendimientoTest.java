@@ -0,0 +1,98 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaNomina;
+import com.SAFE_Rescue.API_Administrador.repository.BomberoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Medición de la reconstrucción de NominaBomberos, de su memoria estimada y de un parche.
+ * Corre solo con mvn test -Prendimiento. Usa 2000 bomberos; con -Dnomina.filas=100000 se mide el caso
+ * de 100 mil.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("rendimiento")
+public class NominaBomberosRendimientoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(NominaBomberosRendimientoTest.class);
+
+    @Autowired
+    private NominaBomberos nominaBomberos;
+
+    @Autowired
+    private BomberoRepository bomberoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    private BomberosDePrueba bomberos;
+
+    @BeforeEach
+    public void setUp() {
+        bomberos = new BomberosDePrueba(contexto, "rendimientonomina", 51_000_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bomberos.limpiar();
+        nominaBomberos.reconstruir();
+    }
+
+    /**
+     * Mide la reconstrucción completa (la segunda, con el código ya compilado), la memoria estimada y un
+     * parche sobre una nómina generada.
+     * La cantidad de bomberos se indica con la propiedad de sistema nomina.filas.
+     */
+    @Test
+    public void reconstruirTest_Rendimiento() throws Exception {
+        // Arrange
+        int cantidad = Integer.getInteger("nomina.filas", 2000);
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        for (int desde = 0; desde < cantidad; desde += 1000) {
+            List<Bombero> lote = new ArrayList<>();
+            for (int i = desde; i < Math.min(cantidad, desde + 1000); i++) {
+                lote.add(bomberos.bombero(10 + i));
+            }
+            transaccion.executeWithoutResult(estado -> bomberoRepository.insertarLote(lote));
+        }
+
+        // Act
+        nominaBomberos.reconstruir();
+        long primeraMs = nominaBomberos.getEstadistica().getUltimaReconstruccionMs();
+        nominaBomberos.reconstruir();
+        Bombero cambiado = bomberos.crear(1);
+        EstadisticaNomina estadistica = nominaBomberos.getEstadistica();
+
+        // Assert
+        assertTrue(estadistica.getBomberos() >= cantidad + 1);
+        assertNotNull(NominaBomberosTest.buscar(objectMapper.readTree(NominaBomberosTest.leer(nominaBomberos.leer())),
+                cambiado.getId()));
+        log.info("Nómina de {} bomberos: reconstrucción {} ms (primera {} ms), JSON {} bytes, memoria estimada {} bytes, parche {} ms",
+                estadistica.getBomberos(), estadistica.getUltimaReconstruccionMs(), primeraMs, estadistica.getBytesJson(),
+                estadistica.getBytesEstimados(), String.format("%.2f", estadistica.getPromedioParcheMs()));
+    }
+}
@@ -0,0 +1,141 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Bombero;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.EstadisticaNomina;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para NominaBomberos.
+ * Compara la instantánea con la serialización normal y verifica los parches después de cada commit.
+ * La medición de la reconstrucción está en NominaBomberosRendimientoTest.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class NominaBomberosTest {
+
+    @Autowired
+    private NominaBomberos nominaBomberos;
+
+    @Autowired
+    private BomberoService bomberoService;
+
+    @Autowired
+    private CredencialService credencialService;
+
+    @Autowired
+    private RolService rolService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    private BomberosDePrueba bomberos;
+
+    @BeforeEach
+    public void setUp() {
+        bomberos = new BomberosDePrueba(contexto, "nomina", 50_000_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bomberos.limpiar();
+        nominaBomberos.reconstruir();
+    }
+
+    /**
+     * Prueba que el listado desde memoria es idéntico, byte a byte, a serializar la consulta de todos los bomberos.
+     */
+    @Test
+    public void reconstruirTest_IgualALaSerializacion() throws Exception {
+        // Arrange
+        bomberos.crear(1);
+        bomberos.crear(2);
+        bomberos.crear(3);
+
+        // Act
+        nominaBomberos.reconstruir();
+        NominaBomberos.CuerpoNomina cuerpo = nominaBomberos.leer();
+
+        // Assert
+        List<Bombero> todos = new ArrayList<>(bomberoService.findAll());
+        todos.sort(Comparator.comparingInt(Bombero::getId));
+        String esperado = objectMapper.writeValueAsString(todos);
+        assertEquals(todos.size(), cuerpo.getBomberos());
+        assertEquals(esperado, leer(cuerpo));
+        assertEquals(esperado.getBytes(StandardCharsets.UTF_8).length, cuerpo.contentLength());
+    }
+
+    /**
+     * Prueba que creaciones, actualizaciones, cambios de credencial y de rol y eliminaciones se reflejan
+     * apenas se confirman, sin reconstruir la instantánea.
+     */
+    @Test
+    public void parcharTest_CambiosConfirmados() throws Exception {
+        // Arrange
+        Bombero primero = bomberos.crear(1);
+        nominaBomberos.reconstruir();
+        long reconstrucciones = nominaBomberos.getEstadistica().getReconstrucciones();
+
+        // Act
+        Bombero segundo = bomberos.crear(2);
+        primero.setNombre("Renombrado");
+        bomberoService.update(primero, primero.getId());
+        Credencial credencial = segundo.getCredencial();
+        credencial.setActivo(false);
+        credencialService.update(credencial, credencial.getId());
+        Rol rol = bomberos.getRol();
+        rol.setNombre("Rol nómina renombrado");
+        rolService.update(rol, rol.getId());
+        Bombero tercero = bomberos.crear(3);
+        bomberoService.delete(tercero.getId());
+
+        // Assert
+        JsonNode nomina = objectMapper.readTree(leer(nominaBomberos.leer()));
+        assertEquals("Renombrado", buscar(nomina, primero.getId()).get("nombre").asText());
+        assertFalse(buscar(nomina, segundo.getId()).get("credencial").get("activo").asBoolean());
+        assertEquals("Rol nómina renombrado", buscar(nomina, segundo.getId()).get("credencial").get("rol").get("nombre").asText());
+        assertEquals("Rol nómina renombrado", buscar(nomina, primero.getId()).get("credencial").get("rol").get("nombre").asText());
+        assertNull(buscar(nomina, tercero.getId()));
+
+        EstadisticaNomina estadistica = nominaBomberos.getEstadistica();
+        assertEquals(reconstrucciones, estadistica.getReconstrucciones());
+        assertTrue(estadistica.getParches() > 0);
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    static String leer(NominaBomberos.CuerpoNomina cuerpo) throws Exception {
+        try (InputStream entrada = cuerpo.getInputStream()) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static JsonNode buscar(JsonNode nomina, int id) {
+        for (JsonNode bombero : nomina) {
+            if (bombero.get("id").asInt() == id) {
+                return bombero;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Medición de un recorrido completo de PadronDuplicados por bloques frente a la comparación de todos los pares.
+ * Corre solo con mvn test -Prendimiento. Usa 200 mil personas; con -Dduplicados.filas=1000000 se mide con
+ * un millón.
+ */
+@Tag("rendimiento")
+public class PadronDuplicadosRendimientoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PadronDuplicadosRendimientoTest.class);
+
+    /**
+     * Mide un recorrido completo por bloques frente a la comparación de todos los pares, estimada con una
+     * muestra de pares al azar. La cantidad de personas se indica con la propiedad de sistema duplicados.filas.
+     */
+    @Test
+    public void rendimientoTest_RecorridoCompleto() {
+        // Arrange
+        int cantidad = Integer.getInteger("duplicados.filas", 200_000);
+        int repetidos = cantidad / 1000;
+        Random azar = new Random(3);
+
+        // Act
+        long inicio = System.nanoTime();
+        PadronDuplicados padron = new PadronDuplicados(cantidad);
+        Set<Long> esperados = PadronDuplicadosTest.generar(padron, cantidad, repetidos, azar);
+        padron.cerrar();
+        long nanosCarga = System.nanoTime() - inicio;
+
+        Set<Long> encontrados = new HashSet<>();
+        inicio = System.nanoTime();
+        long comparaciones = padron.buscarPares(PadronDuplicadosTest.UMBRAL, PadronDuplicadosTest.VENTANA,
+                (i, j, similitud, puntaje) -> encontrados.add(PadronDuplicadosTest.par(padron.getId(i), padron.getId(j))));
+        long nanosBloques = System.nanoTime() - inicio;
+
+        int muestra = 2_000_000;
+        double suma = 0;
+        inicio = System.nanoTime();
+        for (int k = 0; k < muestra; k++) {
+            suma += PadronDuplicados.puntaje(padron, azar.nextInt(cantidad), padron, azar.nextInt(cantidad));
+        }
+        double nanosPorPar = (double) (System.nanoTime() - inicio) / muestra;
+        double todosLosPares = (double) cantidad * (cantidad - 1) / 2;
+
+        // Assert
+        assertTrue(suma > 0);
+        assertTrue(encontrados.containsAll(esperados));
+        assertTrue(comparaciones <= (long) cantidad * PadronDuplicadosTest.VENTANA * PadronDuplicados.PASADAS);
+        log.info("Duplicados en {} personas: carga {} ms, {} MB estimados; por bloques {} comparaciones en {} ms "
+                        + "({} pares, {} de {} sembrados); todos los pares {} comparaciones, estimado {} s",
+                cantidad, nanosCarga / 1_000_000, String.format("%.0f", padron.bytesEstimados() / 1e6), comparaciones,
+                nanosBloques / 1_000_000, encontrados.size(), esperados.size(), repetidos,
+                String.format("%.3g", todosLosPares), String.format("%.0f", todosLosPares * nanosPorPar / 1e9));
+    }
+}
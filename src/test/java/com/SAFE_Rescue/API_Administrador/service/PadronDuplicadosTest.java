@@ -0,0 +1,175 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para PadronDuplicados.
+ * Verifica que el recorrido por bloques encuentra los registros repetidos con errores de digitación,
+ * y compara sus resultados con la comparación de todos los pares. La medición de un recorrido completo
+ * está en PadronDuplicadosRendimientoTest.
+ */
+public class PadronDuplicadosTest {
+
+    static final double UMBRAL = 0.8;
+    static final int VENTANA = 20;
+    private static final String[] SILABAS = {"ca", "ro", "mi", "lo", "ta", "ne", "sa", "vi", "du", "gue",
+            "ri", "po", "fa", "le", "mo", "bu", "ti", "ña", "za", "che", "pa", "jo", "ge", "cu", "lla"};
+
+    /**
+     * Prueba que un par con errores de digitación en un apellido y en el RUN se encuentra, y que dos
+     * personas que solo comparten los apellidos no.
+     */
+    @Test
+    public void buscarParesTest_ErroresDeDigitacion() {
+        // Arrange
+        PadronDuplicados padron = new PadronDuplicados(4);
+        padron.agregar(1, 12345678, "Juan", "González", "Muñoz");
+        padron.agregar(2, 9876543, "Pedro", "Soto", "Rojas");
+        padron.agregar(3, 12345687, "Juan", "Gonzales", "Muñoz");
+        padron.agregar(4, 11222333, "María", "Soto", "Rojas");
+        padron.cerrar();
+        List<int[]> pares = new ArrayList<>();
+
+        // Act
+        long comparaciones = padron.buscarPares(UMBRAL, VENTANA, (i, j, similitud, puntaje) -> {
+            assertTrue(puntaje >= UMBRAL);
+            assertTrue(similitud > 0.9);
+            pares.add(new int[]{padron.getId(i), padron.getId(j)});
+        });
+
+        // Assert
+        assertEquals(1, pares.size());
+        assertEquals(Set.of(1, 3), Set.of(pares.get(0)[0], pares.get(0)[1]));
+        assertTrue(comparaciones < 4 * 3 / 2 * PadronDuplicados.PASADAS);
+    }
+
+    /**
+     * Prueba que se encuentran todos los duplicados con un error en un solo campo y que cada par que
+     * entrega el recorrido por bloques también lo entrega la comparación de todos los pares.
+     */
+    @Test
+    public void buscarParesTest_FrenteAFuerzaBruta() {
+        // Arrange
+        Random azar = new Random(11);
+        int cantidad = 3000;
+        PadronDuplicados padron = new PadronDuplicados(cantidad);
+        Set<Long> esperados = generar(padron, cantidad, 100, azar);
+        padron.cerrar();
+
+        // Act
+        Set<Long> encontrados = new HashSet<>();
+        padron.buscarPares(UMBRAL, VENTANA, (i, j, similitud, puntaje) -> encontrados.add(par(padron.getId(i), padron.getId(j))));
+        Set<Long> todos = new HashSet<>();
+        for (int i = 0; i < cantidad; i++) {
+            for (int j = i + 1; j < cantidad; j++) {
+                if (PadronDuplicados.puntaje(padron, i, padron, j) >= UMBRAL) {
+                    todos.add(par(padron.getId(i), padron.getId(j)));
+                }
+            }
+        }
+
+        // Assert
+        assertTrue(encontrados.containsAll(esperados));
+        assertTrue(todos.containsAll(encontrados));
+    }
+
+    /**
+     * Prueba que una persona de otro padrón encuentra a su duplicado comparándose solo con su bloque.
+     */
+    @Test
+    public void buscarParecidosTest() {
+        // Arrange
+        Random azar = new Random(5);
+        PadronDuplicados padron = new PadronDuplicados(5000);
+        generar(padron, 5000, 0, azar);
+        padron.agregar(99_999, 15_555_555, "Ximena", "Vásquez", "Pérez");
+        padron.cerrar();
+        PadronDuplicados sonda = new PadronDuplicados(1);
+        sonda.agregar(0, 15_555_565, "Jimena", "Vasques", "Perez");
+        List<Integer> ids = new ArrayList<>();
+
+        // Act
+        padron.buscarParecidos(sonda, 0, UMBRAL, VENTANA, (i, j, similitud, puntaje) -> ids.add(padron.getId(i)));
+
+        // Assert
+        assertEquals(List.of(99_999), ids);
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    /**
+     * Agrega personas con RUN distintos y nombres y apellidos elegidos de vocabularios de palabras armadas
+     * con sílabas, con una distribución sesgada como la de los apellidos reales (el más común lo lleva
+     * cerca del 2 % de las personas). Las últimas repetidos son copias de otras con un error en un campo
+     * y, la mitad de las veces, el último dígito del RUN cambiado.
+     * @return Pares de IDs de las copias con su original
+     */
+    static Set<Long> generar(PadronDuplicados padron, int cantidad, int repetidos, Random azar) {
+        String[] nombres = vocabulario(1500, azar);
+        String[] apellidos = vocabulario(3000, azar);
+        int originales = cantidad - repetidos;
+        String[][] personas = new String[originales][];
+        int[] runs = new int[originales];
+        for (int i = 0; i < originales; i++) {
+            personas[i] = new String[]{elegir(nombres, azar), elegir(apellidos, azar), elegir(apellidos, azar)};
+            runs[i] = 5_000_000 + i * 17;
+            padron.agregar(i + 1, runs[i], personas[i][0], personas[i][1], personas[i][2]);
+        }
+        Set<Long> esperados = new HashSet<>();
+        for (int k = 0; k < repetidos; k++) {
+            int original = azar.nextInt(originales);
+            String[] copia = personas[original].clone();
+            int campo = azar.nextInt(3);
+            copia[campo] = errorDeDigitacion(copia[campo], azar);
+            int run = azar.nextBoolean() ? runs[original] : runs[original] / 10 * 10 + (runs[original] + 1) % 10;
+            padron.agregar(originales + k + 1, run, copia[0], copia[1], copia[2]);
+            esperados.add(par(original + 1, originales + k + 1));
+        }
+        return esperados;
+    }
+
+    private static String[] vocabulario(int cantidad, Random azar) {
+        Set<String> palabras = new HashSet<>();
+        while (palabras.size() < cantidad) {
+            palabras.add(palabra(azar));
+        }
+        return palabras.toArray(new String[0]);
+    }
+
+    private static String elegir(String[] vocabulario, Random azar) {
+        double u = azar.nextDouble();
+        return vocabulario[(int) (vocabulario.length * u * u)];
+    }
+
+    private static String palabra(Random azar) {
+        StringBuilder palabra = new StringBuilder();
+        int silabas = 2 + azar.nextInt(3);
+        for (int s = 0; s < silabas; s++) {
+            palabra.append(SILABAS[azar.nextInt(SILABAS.length)]);
+        }
+        palabra.setCharAt(0, Character.toUpperCase(palabra.charAt(0)));
+        return palabra.toString();
+    }
+
+    private static String errorDeDigitacion(String texto, Random azar) {
+        int posicion = 1 + azar.nextInt(texto.length() - 1);
+        char letra = (char) ('a' + azar.nextInt(26));
+        return switch (azar.nextInt(3)) {
+            case 0 -> texto.substring(0, posicion) + letra + texto.substring(posicion + 1);
+            case 1 -> texto.substring(0, posicion) + texto.substring(posicion + 1);
+            default -> texto.substring(0, posicion) + letra + texto.substring(posicion);
+        };
+    }
+
+    static long par(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+}
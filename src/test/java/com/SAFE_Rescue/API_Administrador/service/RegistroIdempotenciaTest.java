@@ -0,0 +1,254 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para RegistroIdempotencia.
+ * Usa una base de datos H2 embebida compartida por dos registros, como si fueran dos nodos.
+ */
+public class RegistroIdempotenciaTest {
+
+    private static final long RESERVA_SEGUNDOS = 5;
+
+    private EmbeddedDatabase base;
+    private RegistroIdempotencia nodoA;
+    private RegistroIdempotencia nodoB;
+    private AtomicInteger ejecuciones;
+
+    @BeforeEach
+    public void setUp() {
+        base = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        nodoA = crearRegistro();
+        nodoB = crearRegistro();
+        ejecuciones = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        base.shutdown();
+    }
+
+    /**
+     * Prueba que un reintento en otro nodo recibe la respuesta original sin ejecutar la operación.
+     */
+    @Test
+    public void reintentoEnOtroNodoTest() {
+        // Arrange
+        nodoA.ejecutar("clave-1", "POST /bomberos", Map.of("run", 1), this::crear);
+
+        // Act
+        ResponseEntity<String> respuesta = nodoB.ejecutar("clave-1", "POST /bomberos", Map.of("run", 1), this::crear);
+
+        // Assert
+        assertEquals(1, ejecuciones.get());
+        assertEquals(HttpStatus.CREATED, respuesta.getStatusCode());
+        assertEquals("creado", respuesta.getBody());
+        assertEquals("true", respuesta.getHeaders().getFirst(RegistroIdempotencia.ENCABEZADO_REPETIDA));
+        assertEquals(1, nodoB.getRepetidas());
+    }
+
+    /**
+     * Prueba que mientras la solicitud original se procesa un reintento en otro nodo es rechazado.
+     */
+    @Test
+    public void solicitudEnCursoTest() {
+        // Act & Assert
+        nodoA.ejecutar("clave-2", "POST /bomberos", Map.of("run", 1), () -> {
+            assertThrows(ConflictoException.class,
+                    () -> nodoB.ejecutar("clave-2", "POST /bomberos", Map.of("run", 1), this::crear));
+            return crear();
+        });
+        assertEquals(1, ejecuciones.get());
+    }
+
+    /**
+     * Prueba que los errores de dominio se repiten sin volver a ejecutar la operación.
+     */
+    @Test
+    public void errorDominioRepetidoTest() {
+        // Arrange
+        assertThrows(ValidacionException.class, () -> nodoA.ejecutar("clave-3", "POST /bomberos", Map.of("run", -1), this::rechazar));
+
+        // Act
+        ValidacionException error = assertThrows(ValidacionException.class,
+                () -> nodoB.ejecutar("clave-3", "POST /bomberos", Map.of("run", -1), this::rechazar));
+
+        // Assert
+        assertEquals(1, ejecuciones.get());
+        assertEquals("run", error.getCampo());
+        assertEquals("El RUN debe ser un número positivo", error.getMessage());
+    }
+
+    /**
+     * Prueba que un error inesperado libera la clave para que el reintento vuelva a ejecutarse.
+     */
+    @Test
+    public void errorInesperadoLiberaClaveTest() {
+        // Arrange
+        assertThrows(IllegalStateException.class, () -> nodoA.ejecutar("clave-4", "POST /bomberos", Map.of("run", 1), () -> {
+            ejecuciones.incrementAndGet();
+            throw new IllegalStateException("Conexión perdida");
+        }));
+
+        // Act
+        ResponseEntity<String> respuesta = nodoB.ejecutar("clave-4", "POST /bomberos", Map.of("run", 1), this::crear);
+
+        // Assert
+        assertEquals(2, ejecuciones.get());
+        assertNull(respuesta.getHeaders().getFirst(RegistroIdempotencia.ENCABEZADO_REPETIDA));
+    }
+
+    /**
+     * Prueba que la misma clave en otra operación no comparte el resultado.
+     */
+    @Test
+    public void claveEnOtraOperacionTest() {
+        // Arrange
+        nodoA.ejecutar("clave-5", "POST /bomberos", Map.of("run", 1), this::crear);
+
+        // Act
+        nodoA.ejecutar("clave-5", "POST /credenciales", Map.of("run", 1), this::crear);
+
+        // Assert
+        assertEquals(2, ejecuciones.get());
+    }
+
+    /**
+     * Prueba que una reserva expirada que dejó otro nodo se reemplaza y la operación se ejecuta.
+     */
+    @Test
+    public void reservaExpiradaTest() {
+        // Arrange
+        new JdbcTemplate(base).update("INSERT INTO idempotencia (clave, huella, estado, expira) VALUES (?, ?, ?, ?)",
+                "POST /bomberos clave-6", "huella", 0, System.currentTimeMillis() - 1000);
+
+        // Act
+        ResponseEntity<String> respuesta = nodoA.ejecutar("clave-6", "POST /bomberos", Map.of("run", 1), this::crear);
+
+        // Assert
+        assertEquals(1, ejecuciones.get());
+        assertEquals(HttpStatus.CREATED, respuesta.getStatusCode());
+    }
+
+    /**
+     * Prueba que una reserva en curso vence a los reserva-segundos y no al TTL, y que al completarse su
+     * vencimiento pasa a ser el TTL.
+     */
+    @Test
+    public void reservaEnCursoTest_VenceAntesQueElTtl() {
+        // Arrange
+        JdbcTemplate jdbc = new JdbcTemplate(base);
+        long[] enCurso = new long[1];
+
+        // Act
+        long inicio = System.currentTimeMillis();
+        nodoA.ejecutar("clave-8", "POST /bomberos", Map.of("run", 1), () -> {
+            enCurso[0] = expira(jdbc, "POST /bomberos clave-8");
+            return crear();
+        });
+        long completada = expira(jdbc, "POST /bomberos clave-8");
+
+        // Assert
+        assertTrue(enCurso[0] <= System.currentTimeMillis() + RESERVA_SEGUNDOS * 1000);
+        assertTrue(completada >= inicio + 60_000);
+    }
+
+    /**
+     * Prueba que si la reserva vence mientras el nodo original sigue ejecutando, otro nodo la toma y la
+     * respuesta tardía del original no sobrescribe la del nodo que la tomó.
+     */
+    @Test
+    public void reservaVencidaTest_TomadaPorOtroNodo() {
+        // Arrange
+        JdbcTemplate jdbc = new JdbcTemplate(base);
+
+        // Act
+        nodoA.ejecutar("clave-9", "POST /bomberos", Map.of("run", 1), () -> {
+            jdbc.update("UPDATE idempotencia SET expira = ? WHERE clave = ?", System.currentTimeMillis() - 1, "POST /bomberos clave-9");
+            ResponseEntity<String> tomada = nodoB.ejecutar("clave-9", "POST /bomberos", Map.of("run", 1), this::crear);
+            assertNull(tomada.getHeaders().getFirst(RegistroIdempotencia.ENCABEZADO_REPETIDA));
+            ejecuciones.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body("tardío");
+        });
+
+        // Assert
+        assertEquals(2, ejecuciones.get());
+        assertEquals("creado", jdbc.queryForObject("SELECT cuerpo FROM idempotencia WHERE clave = ?", String.class,
+                "POST /bomberos clave-9"));
+    }
+
+    /**
+     * Prueba que si la clave sigue ocupada pero nunca se puede leer, la reserva se rinde con 409 tras
+     * un número acotado de intentos en lugar de reintentar sin fin.
+     */
+    @Test
+    public void reservaAgotaIntentosTest() {
+        // Arrange
+        JdbcTemplate sinLectura = new JdbcTemplate(base) {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> mapeador, Object... argumentos) {
+                return List.of();
+            }
+        };
+        sinLectura.update("INSERT INTO idempotencia (clave, huella, estado, expira) VALUES (?, ?, ?, ?)",
+                "POST /bomberos clave-7", "huella", 0, System.currentTimeMillis() + 60_000);
+        RegistroIdempotencia registro = crearRegistro(sinLectura);
+
+        // Act & Assert
+        assertThrows(ConflictoException.class,
+                () -> registro.ejecutar("clave-7", "POST /bomberos", Map.of("run", 1), this::crear));
+        assertEquals(0, ejecuciones.get());
+        assertEquals(0, registro.getTamano());
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private RegistroIdempotencia crearRegistro() {
+        return crearRegistro(new JdbcTemplate(base));
+    }
+
+    private RegistroIdempotencia crearRegistro(JdbcTemplate jdbc) {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("jdbcTemplate", jdbc);
+        RegistroIdempotencia registro = new RegistroIdempotencia(100, 60, RESERVA_SEGUNDOS, true, new ObjectMapper(),
+                beans.getBeanProvider(JdbcTemplate.class));
+        registro.inicializar();
+        return registro;
+    }
+
+    private static long expira(JdbcTemplate jdbc, String clave) {
+        return jdbc.queryForObject("SELECT expira FROM idempotencia WHERE clave = ?", Long.class, clave);
+    }
+
+    private ResponseEntity<String> crear() {
+        ejecuciones.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body("creado");
+    }
+
+    private ResponseEntity<String> rechazar() {
+        ejecuciones.incrementAndGet();
+        throw new ValidacionException("run", "El RUN debe ser un número positivo");
+    }
+}
@@ -0,0 +1,123 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para ReservasUnicas.
+ */
+public class ReservasUnicasTest {
+
+    private static final int HILOS = 32;
+
+    private final ReservasUnicas reservas = new ReservasUnicas();
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Prueba de estrés: muchos hilos reservan el mismo valor a la vez y solo uno lo obtiene.
+     */
+    @Test
+    public void reservaConcurrenteMismoValorTest() throws Exception {
+        for (int ronda = 0; ronda < 200; ronda++) {
+            // Arrange
+            int run = 10000000 + ronda;
+
+            // Act
+            List<Boolean> resultados = ejecutarConcurrente(i -> reservas.reservar("run", run));
+
+            // Assert
+            assertEquals(1, resultados.stream().filter(Boolean::booleanValue).count(), "ronda " + ronda);
+            assertTrue(reservas.estaReservado("run", run));
+        }
+        assertEquals(200L * (HILOS - 1), reservas.getRechazos());
+    }
+
+    /**
+     * Prueba que los valores distintos se reservan a la vez sin rechazos.
+     */
+    @Test
+    public void reservaConcurrenteValoresDistintosTest() throws Exception {
+        // Act
+        List<Boolean> resultados = ejecutarConcurrente(i -> reservas.reservar("telefono", 900000000 + i));
+
+        // Assert
+        assertTrue(resultados.stream().allMatch(Boolean::booleanValue));
+        assertEquals(0, reservas.getRechazos());
+    }
+
+    /**
+     * Prueba que el mismo valor en campos distintos no entra en conflicto.
+     */
+    @Test
+    public void camposDistintosTest() {
+        // Act & Assert
+        assertTrue(reservas.reservar("run", 12345678));
+        assertTrue(reservas.reservar("telefono", 12345678));
+    }
+
+    /**
+     * Prueba que la reserva se libera al terminar la transacción.
+     */
+    @Test
+    public void liberaAlTerminarTransaccionTest() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        reservas.reservar("correo", "ana@ejemplo.com");
+
+        // Act
+        for (TransactionSynchronization sincronizacion : TransactionSynchronizationManager.getSynchronizations()) {
+            sincronizacion.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Assert
+        assertFalse(reservas.estaReservado("correo", "ana@ejemplo.com"));
+        assertTrue(reservas.reservar("correo", "ana@ejemplo.com"));
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private List<Boolean> ejecutarConcurrente(Tarea tarea) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            CountDownLatch inicio = new CountDownLatch(1);
+            List<Future<Boolean>> futuros = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                int indice = i;
+                futuros.add(hilos.submit(() -> {
+                    inicio.await();
+                    return tarea.ejecutar(indice);
+                }));
+            }
+            inicio.countDown();
+            List<Boolean> resultados = new ArrayList<>();
+            for (Future<Boolean> futuro : futuros) {
+                resultados.add(futuro.get(10, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private interface Tarea {
+        boolean ejecutar(int indice);
+    }
+}
@@ -1,5 +1,9 @@
 package com.SAFE_Rescue.API_Administrador.service;
 
+import com.SAFE_Rescue.API_Administrador.exception.RecursoNoEncontradoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.MensajeSalida;
+import com.SAFE_Rescue.API_Administrador.modelo.ResultadoLote;
 import com.SAFE_Rescue.API_Administrador.modelo.Rol;
 import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
 import net.datafaker.Faker;
@@ -10,7 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +29,9 @@ public class RolServiceTest {
     @MockitoBean
     private RolRepository rolRepository;
 
+    @MockitoBean
+    private BandejaSalida bandejaSalida;
+
     private Faker faker;
     private Rol rol;
     private Rol rolNulo;
@@ -72,6 +79,35 @@ public class RolServiceTest {
         assertEquals(rol.getNombre(), encontrado.getNombre());
     }
 
+    /**
+     * Prueba para buscar roles por lote de IDs.
+     * Verifica que se respeta el orden solicitado, se ignoran repetidos y se informan los faltantes.
+     */
+    @Test
+    public void findByIdsTest() {
+        // Arrange
+        Rol otro = new Rol(2, faker.job().position());
+        when(rolRepository.findAllById(anyIterable())).thenReturn(List.of(rol, otro));
+
+        // Act
+        ResultadoLote<Rol> lote = rolService.findByIds(List.of(2, 9, 1, 2));
+
+        // Assert
+        assertEquals(List.of(2, 1), lote.getResultados().stream().map(Rol::getId).toList());
+        assertEquals(List.of(9), lote.getFaltantes());
+        verify(rolRepository, times(1)).findAllById(anyIterable());
+    }
+
+    /**
+     * Prueba que una búsqueda por lote sin IDs es rechazada sin consultar la base de datos.
+     */
+    @Test
+    public void findByIdsTest_SinIds() {
+        // Act & Assert
+        assertThrows(ValidacionException.class, () -> rolService.findByIds(List.of()));
+        verify(rolRepository, never()).findAllById(anyIterable());
+    }
+
     /**
      * Prueba para guardar un nuevo rol en el sistema.
      */
@@ -89,6 +125,29 @@ public class RolServiceTest {
         verify(rolRepository, times(1)).save(rol);
     }
 
+    /**
+     * Prueba que guardar un rol existente con otro nombre, como ocurre al guardar una credencial,
+     * se informa a la auditoría y a la bandeja de salida igual que una actualización, y que guardarlo
+     * sin cambios no informa nada.
+     */
+    @Test
+    public void saveTest_RolExistenteRenombrado() {
+        // Arrange
+        Rol rolExistente = new Rol(id, "Voluntario");
+        Rol renombrado = new Rol(id, "Voluntario activo");
+        Rol sinCambios = new Rol(id, "Voluntario");
+        when(rolRepository.findById(id)).thenReturn(Optional.of(rolExistente));
+        when(rolRepository.save(any(Rol.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+
+        // Act
+        rolService.save(sinCambios);
+        rolService.save(renombrado);
+
+        // Assert
+        verify(bandejaSalida, times(1)).agregar(MensajeSalida.Tipo.ROL_ACTUALIZADO, id, Map.of("nombre", "Voluntario activo"));
+        verifyNoMoreInteractions(bandejaSalida);
+    }
+
     /**
      * Prueba para actualizar un rol existente.
      */
@@ -108,6 +167,7 @@ public class RolServiceTest {
         assertEquals(rolActualizado.getNombre(), actualizado.getNombre());
         assertEquals(id, actualizado.getId());
         verify(rolRepository, times(1)).save(rolExistente);
+        verify(bandejaSalida).agregar(MensajeSalida.Tipo.ROL_ACTUALIZADO, id, Map.of("nombre", rolActualizado.getNombre()));
     }
 
     /**
@@ -124,6 +184,7 @@ public class RolServiceTest {
 
         // Assert
         verify(rolRepository, times(1)).deleteById(id);
+        verify(bandejaSalida).agregar(MensajeSalida.Tipo.ROL_ELIMINADO, id, Map.of());
     }
 
     /**
@@ -155,7 +216,7 @@ public class RolServiceTest {
         when(rolRepository.existsById(id)).thenReturn(false);
 
         // Assert
-        assertThrows(NoSuchElementException.class, () -> rolService.findById(id));
+        assertThrows(RecursoNoEncontradoException.class, () -> rolService.findById(id));
     }
 
 
@@ -165,7 +226,7 @@ public class RolServiceTest {
     @Test
     public void saveRolValidacionTest() {
         // Assert
-        assertThrows(IllegalArgumentException.class, () -> rolService.save(rolNulo));
+        assertThrows(ValidacionException.class, () -> rolService.save(rolNulo));
     }
 
     /**
@@ -177,7 +238,7 @@ public class RolServiceTest {
         when(rolRepository.findById(id)).thenReturn(Optional.empty());
 
         // Assert
-        assertThrows(NoSuchElementException.class, () -> rolService.update(rol,id));
+        assertThrows(RecursoNoEncontradoException.class, () -> rolService.update(rol,id));
     }
 
     /**
@@ -189,7 +250,7 @@ public class RolServiceTest {
         when(rolRepository.findById(id)).thenReturn(Optional.of(new Rol(id,"NombreValido")));
 
         // Assert
-        assertThrows(IllegalArgumentException.class, () -> rolService.update(rolNulo,1));
+        assertThrows(ValidacionException.class, () -> rolService.update(rolNulo,1));
     }
 
 
@@ -202,7 +263,7 @@ public class RolServiceTest {
         when(rolRepository.existsById(id)).thenReturn(false);
 
         // Assert
-        assertThrows(NoSuchElementException.class, () -> rolService.delete(id));
+        assertThrows(RecursoNoEncontradoException.class, () -> rolService.delete(id));
     }
 
     /**
@@ -211,7 +272,7 @@ public class RolServiceTest {
     @Test
     public void validarRolNombreNuloTest() {
         // Assert
-        assertThrows(IllegalArgumentException.class, () -> rolService.validarRol(rolNulo));
+        assertThrows(ValidacionException.class, () -> rolService.validarRol(rolNulo));
     }
 
     /**
@@ -223,6 +284,6 @@ public class RolServiceTest {
         Rol rolInvalido = new Rol(1,"EsteNombreEsDemasiadoLargoParaElLimiteDeCincuentaCaracteres");
 
         // Assert
-        assertThrows(IllegalArgumentException.class, () -> rolService.validarRol(rolInvalido));
+        assertThrows(ValidacionException.class, () -> rolService.validarRol(rolInvalido));
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para TokenService.
+ * Verifica que la clave activa se elige del conjunto compartido y que los tokens de un nodo se aceptan en otro.
+ */
+public class TokenServiceTest {
+
+    private static final String K1 = "k1:" + Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String K2 = "k2:" + Base64.getEncoder().encodeToString("clave-compartida-de-32-bytes-k2!".getBytes());
+
+    /**
+     * Prueba que durante una rotación un nodo que ya firma con la clave nueva y otro que todavía firma
+     * con la anterior aceptan los tokens del otro.
+     */
+    @Test
+    public void verificarTest_ClaveCompartidaEntreNodos() {
+        // Arrange
+        TokenService nodoRotado = new TokenService(K1 + "," + K2, "k2", 60);
+        TokenService nodoAnterior = new TokenService(K1 + "," + K2, "k1", 60);
+        Credencial credencial = new Credencial(12, "nodo@ejemplo.com", "clave", 0, true, new Rol(3, "Rol"));
+
+        // Act
+        String deRotado = nodoRotado.emitir(credencial).getToken();
+        String deAnterior = nodoAnterior.emitir(credencial).getToken();
+
+        // Assert
+        assertEquals("k2", nodoRotado.getClaveActiva());
+        assertEquals(12, nodoAnterior.verificar(deRotado).getCredencialId());
+        assertEquals(12, nodoRotado.verificar(deAnterior).getCredencialId());
+    }
+
+    /**
+     * Prueba que un token se verifica según el momento en que se presentó: vale dentro de su duración
+     * aunque se verifique después, y no vale si ya había expirado en ese momento.
+     */
+    @Test
+    public void verificarTest_EnMomento() {
+        // Arrange
+        TokenService tokenService = new TokenService(K1, "k1", 1);
+        Instant emitido = Instant.now();
+        String token = tokenService.emitir(new Credencial(5, "momento@ejemplo.com", "clave", 0, true, null)).getToken();
+
+        // Act & Assert
+        assertEquals(5, tokenService.verificar(token, emitido.plusSeconds(30)).getCredencialId());
+        assertNull(tokenService.verificar(token, emitido.plusSeconds(120)));
+    }
+
+    /**
+     * Prueba que sin clave activa se usa la primera configurada y que una clave activa que no está en
+     * el conjunto se rechaza al iniciar.
+     */
+    @Test
+    public void constructorTest_ClaveActiva() {
+        // Act & Assert
+        assertEquals("k1", new TokenService(K1 + "," + K2, "", 60).getClaveActiva());
+        assertThrows(IllegalArgumentException.class, () -> new TokenService(K1, "k3", 60));
+        assertEquals("local", new TokenService("", "", 60).getClaveActiva());
+    }
+}
@@ -0,0 +1,282 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.exception.ConflictoException;
+import com.SAFE_Rescue.API_Administrador.exception.ValidacionException;
+import com.SAFE_Rescue.API_Administrador.modelo.AvanceTrabajo;
+import com.SAFE_Rescue.API_Administrador.modelo.Credencial;
+import com.SAFE_Rescue.API_Administrador.modelo.Rol;
+import com.SAFE_Rescue.API_Administrador.modelo.Trabajo;
+import com.SAFE_Rescue.API_Administrador.repository.CredencialRepository;
+import com.SAFE_Rescue.API_Administrador.repository.RolRepository;
+import com.SAFE_Rescue.API_Administrador.repository.TrabajoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para TrabajoService.
+ * Ejecuta los trabajos contra la base de datos real con un procesador de prueba que cuenta elementos.
+ */
+@SpringBootTest(properties = {"app.trabajos.tamano-lote=10", "app.trabajos.reencolar-ms=100"})
+@ActiveProfiles("test")
+@Import(TrabajoServiceTest.ConfiguracionProcesador.class)
+public class TrabajoServiceTest {
+
+    @Autowired
+    private TrabajoService trabajoService;
+
+    @Autowired
+    private TrabajoRepository trabajoRepository;
+
+    @Autowired
+    private CredencialRepository credencialRepository;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private ProcesadorConteo procesadorConteo;
+
+    private final List<Integer> trabajos = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        procesadorConteo.inicios.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        trabajoRepository.deleteAllById(trabajos);
+    }
+
+    /**
+     * Prueba que un trabajo se procesa por lotes hasta completarse.
+     */
+    @Test
+    public void enviarTest_Completa() throws Exception {
+        // Act
+        Trabajo trabajo = enviar(Map.of("total", "25"));
+        Trabajo terminado = esperarFin(trabajo.getId());
+
+        // Assert
+        assertEquals(Trabajo.Estado.COMPLETADO, terminado.getEstado());
+        assertEquals(25, terminado.getProcesados());
+        assertEquals(25, terminado.getTotal());
+        assertEquals(25, terminado.getPuntoControl());
+        assertEquals(List.of(0L, 10L, 20L), procesadorConteo.inicios);
+        assertNotNull(terminado.getFinalizado());
+    }
+
+    /**
+     * Prueba que el envío de un tipo inexistente se rechaza sin crear el trabajo.
+     */
+    @Test
+    public void enviarTest_TipoDesconocido() {
+        // Act & Assert
+        ValidacionException e = assertThrows(ValidacionException.class, () -> trabajoService.enviar("NO_EXISTE", Map.of()));
+        assertEquals("tipo", e.getCampo());
+    }
+
+    /**
+     * Prueba que cancelar un trabajo en curso lo detiene antes del siguiente lote
+     * y conserva los lotes ya confirmados.
+     */
+    @Test
+    public void cancelarTest() throws Exception {
+        // Arrange
+        Trabajo trabajo = enviar(Map.of("total", "1000", "retrasoMs", "50"));
+        Thread.sleep(120);
+
+        // Act
+        Trabajo cancelado = trabajoService.cancelar(trabajo.getId());
+        Thread.sleep(200);
+
+        // Assert
+        Trabajo actual = trabajoService.findById(trabajo.getId());
+        assertEquals(Trabajo.Estado.CANCELADO, cancelado.getEstado());
+        assertEquals(Trabajo.Estado.CANCELADO, actual.getEstado());
+        assertTrue(actual.getProcesados() < 1000);
+        assertEquals(actual.getProcesados(), actual.getPuntoControl());
+        assertThrows(ConflictoException.class, () -> trabajoService.cancelar(trabajo.getId()));
+    }
+
+    /**
+     * Prueba que un trabajo en curso al reiniciar continúa desde su punto de control.
+     */
+    @Test
+    public void reanudarTest_DesdePuntoControl() throws Exception {
+        // Arrange
+        Trabajo interrumpido = new Trabajo(0, ProcesadorConteo.TIPO, Trabajo.Estado.EN_CURSO, "{\"total\":\"25\"}",
+                20, 25, 20, 0, null, new Date(), new Date(), null);
+        interrumpido = trabajoRepository.save(interrumpido);
+        trabajos.add(interrumpido.getId());
+
+        // Act
+        trabajoService.reanudar();
+        Trabajo terminado = esperarFin(interrumpido.getId());
+
+        // Assert
+        assertEquals(Trabajo.Estado.COMPLETADO, terminado.getEstado());
+        assertEquals(25, terminado.getProcesados());
+        assertEquals(List.of(20L), procesadorConteo.inicios);
+    }
+
+    /**
+     * Prueba que los trabajos que no caben en la cola al reanudar se encolan después, cuando se libera
+     * lugar, en vez de quedar pendientes hasta el siguiente reinicio.
+     */
+    @Test
+    public void reanudarTest_ColaLlena() throws Exception {
+        // Arrange
+        List<Trabajo> pendientes = new ArrayList<>();
+        for (int i = 0; i < 105; i++) {
+            pendientes.add(new Trabajo(0, ProcesadorConteo.TIPO, Trabajo.Estado.PENDIENTE, "{\"total\":\"1\",\"retrasoMs\":\"5\"}",
+                    0, 1, 0, 0, null, new Date(), null, null));
+        }
+        for (Trabajo pendiente : trabajoRepository.saveAll(pendientes)) {
+            trabajos.add(pendiente.getId());
+        }
+
+        // Act
+        trabajoService.reanudar();
+
+        // Assert
+        for (Integer id : trabajos) {
+            assertEquals(Trabajo.Estado.COMPLETADO, esperarFin(id).getEstado());
+        }
+    }
+
+    /**
+     * Prueba que un error en un lote marca el trabajo como fallido sin perder los lotes anteriores.
+     */
+    @Test
+    public void ejecutarTest_Falla() throws Exception {
+        // Act
+        Trabajo trabajo = enviar(Map.of("total", "50", "fallarEn", "15"));
+        Trabajo terminado = esperarFin(trabajo.getId());
+
+        // Assert
+        assertEquals(Trabajo.Estado.FALLIDO, terminado.getEstado());
+        assertEquals(10, terminado.getPuntoControl());
+        assertEquals("Fallo simulado en 15", terminado.getMensaje());
+    }
+
+    /**
+     * Prueba de punta a punta de la desactivación masiva de las credenciales de un rol.
+     */
+    @Test
+    public void desactivarCredencialesTest() throws Exception {
+        // Arrange
+        Rol rol = rolRepository.save(new Rol(0, "Rol desactivación"));
+        List<Credencial> credenciales = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            credenciales.add(credencialRepository.save(new Credencial(0, "desactivar" + i + "@ejemplo.com", "clave" + i, 0, true, rol)));
+        }
+
+        try {
+            // Act
+            Trabajo trabajo = trabajoService.enviar(DesactivacionCredenciales.TIPO, Map.of("rolId", String.valueOf(rol.getId())));
+            trabajos.add(trabajo.getId());
+            Trabajo terminado = esperarFin(trabajo.getId());
+
+            // Assert
+            assertEquals(Trabajo.Estado.COMPLETADO, terminado.getEstado());
+            assertEquals(3, terminado.getTotal());
+            assertEquals(3, terminado.getProcesados());
+            for (Credencial credencial : credenciales) {
+                assertFalse(credencialRepository.findById(credencial.getId()).orElseThrow().isActivo());
+            }
+        } finally {
+            credencialRepository.deleteAll(credenciales);
+            rolRepository.delete(rol);
+        }
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private Trabajo enviar(Map<String, String> parametros) {
+        Trabajo trabajo = trabajoService.enviar(ProcesadorConteo.TIPO, parametros);
+        trabajos.add(trabajo.getId());
+        return trabajo;
+    }
+
+    private Trabajo esperarFin(int id) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        Trabajo trabajo = trabajoService.findById(id);
+        while (trabajo.getEstado().isActivo() && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            trabajo = trabajoService.findById(id);
+        }
+        return trabajo;
+    }
+
+    @TestConfiguration
+    static class ConfiguracionProcesador {
+
+        @Bean
+        ProcesadorConteo procesadorConteo() {
+            return new ProcesadorConteo();
+        }
+    }
+
+    /**
+     * Procesador de prueba que cuenta hasta el total indicado, con retraso y falla opcionales.
+     */
+    static class ProcesadorConteo implements ProcesadorTrabajo {
+
+        static final String TIPO = "CONTAR";
+
+        final List<Long> inicios = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String getTipo() {
+            return TIPO;
+        }
+
+        @Override
+        public void validar(Map<String, String> parametros) {
+            if (!parametros.containsKey("total")) {
+                throw new ValidacionException("total", "El total es requerido");
+            }
+        }
+
+        @Override
+        public long contar(Map<String, String> parametros) {
+            return Long.parseLong(parametros.get("total"));
+        }
+
+        @Override
+        public AvanceTrabajo procesarLote(Map<String, String> parametros, long puntoControl, int tamanoLote) {
+            inicios.add(puntoControl);
+            long total = contar(parametros);
+            long fin = Math.min(total, puntoControl + tamanoLote);
+            String fallarEn = parametros.get("fallarEn");
+            if (fallarEn != null && Long.parseLong(fallarEn) >= puntoControl && Long.parseLong(fallarEn) < fin) {
+                throw new IllegalStateException("Fallo simulado en " + fallarEn);
+            }
+            String retraso = parametros.get("retrasoMs");
+            if (retraso != null) {
+                try {
+                    Thread.sleep(Long.parseLong(retraso));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new AvanceTrabajo(fin, (int) (fin - puntoControl), 0, fin >= total);
+        }
+    }
+}
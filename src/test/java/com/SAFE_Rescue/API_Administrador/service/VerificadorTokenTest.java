@@ -0,0 +1,98 @@
+package com.SAFE_Rescue.API_Administrador.service;
+
+import com.SAFE_Rescue.API_Administrador.modelo.TokenVerificado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para VerificadorToken.
+ * Verifica la emisión, la detección de alteraciones, la expiración y la rotación de claves.
+ */
+public class VerificadorTokenTest {
+
+    private static final long AHORA = 1_700_000_000L;
+
+    private VerificadorToken verificador;
+
+    @BeforeEach
+    public void setUp() {
+        verificador = new VerificadorToken();
+        verificador.agregarClave("k1", secreto((byte) 1), true);
+    }
+
+    @Test
+    public void verificarTest() {
+        // Arrange
+        String token = verificador.emitir(12, 3, AHORA + 60);
+
+        // Act
+        TokenVerificado verificado = verificador.verificar(token, AHORA);
+
+        // Assert
+        assertNotNull(verificado);
+        assertEquals(12, verificado.getCredencialId());
+        assertEquals(3, verificado.getRolId());
+        assertEquals(AHORA + 60, verificado.getExpira());
+        assertEquals("k1", verificado.getClave());
+    }
+
+    @Test
+    public void verificarTest_TokenAlterado() {
+        // Arrange
+        String token = verificador.emitir(12, 3, AHORA + 60);
+        String alterado = token.replace("k1.12.", "k1.13.");
+
+        // Assert
+        assertNull(verificador.verificar(alterado, AHORA));
+        assertNull(verificador.verificar("k1.12.3", AHORA));
+        assertNull(verificador.verificar("basura", AHORA));
+        assertNull(verificador.verificar(null, AHORA));
+    }
+
+    @Test
+    public void verificarTest_TokenExpirado() {
+        // Arrange
+        String token = verificador.emitir(12, 3, AHORA - 1);
+
+        // Assert
+        assertNull(verificador.verificar(token, AHORA));
+    }
+
+    @Test
+    public void rotacionTest() {
+        // Arrange
+        String tokenAnterior = verificador.emitir(12, 3, AHORA + 60);
+
+        // Act
+        verificador.agregarClave("k2", secreto((byte) 2), true);
+        String tokenNuevo = verificador.emitir(12, 3, AHORA + 60);
+
+        // Assert
+        assertTrue(tokenNuevo.startsWith("k2."));
+        assertNotNull(verificador.verificar(tokenAnterior, AHORA));
+        assertNotNull(verificador.verificar(tokenNuevo, AHORA));
+
+        verificador.retirarClave("k1");
+        assertNull(verificador.verificar(tokenAnterior, AHORA));
+        assertThrows(IllegalArgumentException.class, () -> verificador.retirarClave("k2"));
+    }
+
+    @Test
+    public void agregarClaveTest_SecretoCorto() {
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> verificador.agregarClave("k3", new byte[8], false));
+        assertThrows(IllegalArgumentException.class, () -> verificador.agregarClave("k.3", secreto((byte) 3), false));
+    }
+
+    // MÉTODOS DE UTILIDAD
+
+    private byte[] secreto(byte valor) {
+        byte[] secreto = new byte[32];
+        Arrays.fill(secreto, valor);
+        return secreto;
+    }
+}